@@ -3,6 +3,8 @@ package com.vetcare.config;
 
 import com.vetcare.models.*;
 import com.vetcare.repositories.*;
+import com.vetcare.services.VisitRollupSupport;
+import com.vetcare.services.VisitSlotSupport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -26,6 +28,8 @@ public class DataInitializer implements CommandLineRunner{
     private final VeterinarianRepository veterinarianRepository;
     private final PetRepository petRepository;
     private final VisitRepository visitRepository;
+    private final VisitSlotSupport visitSlotSupport;
+    private final VisitRollupSupport visitRollupSupport;
 
     @Override
     @Transactional
@@ -277,7 +281,9 @@ public class DataInitializer implements CommandLineRunner{
                 .clinic(clinics.get(2))
                 .build()
         );
-        visitRepository.saveAll(visits);
+        List<Visit> savedVisits = visitRepository.saveAllAndFlush(visits);
+        visitSlotSupport.occupy(savedVisits);
+        visitRollupSupport.add(savedVisits);
         log.info("Created {} visits", visits.size());
     }
 }
@@ -0,0 +1,100 @@
+package com.vetcare.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read/write splitting, enabled with vetcare.datasource.routing.enabled=true.
+ * Connections are fetched lazily, on the first statement, so by then the transaction
+ * has marked them read-only: @Transactional(readOnly = true) goes to a replica,
+ * everything else (and Flyway) to spring.datasource. With virtual threads on, the primary and
+ * each replica pool get their own bulkhead from {@link DatabaseBulkheads}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "vetcare.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // Writes and the reads that fall back to the primary draw on one pool, so they share its bulkhead
+    @Bean
+    public DataSource primaryConnections(HikariDataSource primaryDataSource, ObjectProvider<DatabaseBulkheads> bulkheads) {
+        DatabaseBulkheads databaseBulkheads = bulkheads.getIfAvailable();
+        return databaseBulkheads != null ? databaseBulkheads.primary(primaryDataSource) : primaryDataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindow().toMillis(), System::currentTimeMillis);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryConnections") DataSource primary,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             DataSourceRoutingProperties properties,
+                                                             ObjectProvider<DatabaseBulkheads> bulkheads) {
+        DatabaseBulkheads databaseBulkheads = bulkheads.getIfAvailable();
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (DataSourceRoutingProperties.Replica replica : properties.getReplicas()) {
+            String name = replica.getName() != null ? replica.getName() : "replica-" + replicas.size();
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+            dataSource.setPoolName(name);
+            dataSource.setReadOnly(true);
+            dataSource.setConnectionTimeout(2_000);
+            replicas.add(new ReplicaRoutingDataSource.Replica(name,
+                databaseBulkheads != null ? databaseBulkheads.replica(name, dataSource) : dataSource));
+        }
+        if (replicas.isEmpty()) {
+            log.warn("Datasource routing is enabled but no replicas are configured; all reads use the primary");
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker,
+            properties.getMaxLag(), properties.getLagQuery(), System::currentTimeMillis);
+        routing.startHealthChecks(properties.getHealthCheckInterval());
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryConnections") DataSource primary,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadYourWritesTracker readYourWritesTracker,
+                                                                             DataSourceRoutingProperties properties) {
+        return new FilterRegistrationBean<>(new ReadYourWritesFilter(readYourWritesTracker, properties.getSessionHeader()));
+    }
+}
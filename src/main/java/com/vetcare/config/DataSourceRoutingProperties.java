@@ -0,0 +1,41 @@
+package com.vetcare.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "vetcare.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    // Off by default: everything goes to spring.datasource
+    private boolean enabled;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Replicas further behind than this are skipped
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // How long after a write a client session keeps reading from replicas that may not have it yet
+    private Duration readYourWritesWindow = Duration.ofSeconds(30);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    // Returns the replica lag in seconds: the Seconds_Behind_Source column if present, otherwise the first column
+    private String lagQuery = "SHOW REPLICA STATUS";
+
+    // Request header identifying the client session for read-your-writes
+    private String sessionHeader = "X-Client-Session";
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,52 @@
+package com.vetcare.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Puts connection pools behind {@link BulkheadDataSource}s, one per pool and sized to it, so
+ * callers only queue for the pool their connection will come from: with replica routing, reads
+ * served by a replica do not take permits from the primary.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DatabaseBulkheads {
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    private final VirtualThreadProperties properties;
+
+    // The spring.datasource pool; vetcare.virtual-threads.bulkhead-permits overrides its size
+    public BulkheadDataSource primary(DataSource pool) {
+        Integer permits = properties.getBulkheadPermits();
+        return wrap("primary", pool, permits != null ? permits : poolSize(pool));
+    }
+
+    public BulkheadDataSource replica(String name, DataSource pool) {
+        return wrap(name, pool, poolSize(pool));
+    }
+
+    private BulkheadDataSource wrap(String name, DataSource pool, int permits) {
+        log.info("Database bulkhead for {}: {} connections", name, permits);
+        return new BulkheadDataSource(pool, permits, properties.getBulkheadTimeout());
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int size = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                // Unset until the pool starts, which then applies Hikari's default of 10
+                return size > 0 ? size : HIKARI_DEFAULT_POOL_SIZE;
+            }
+        } catch (SQLException ex) {
+            log.debug("Could not read the connection pool size: {}", ex.getMessage());
+        }
+        throw new IllegalStateException("Set vetcare.virtual-threads.bulkhead-permits: the connection pool size is unknown");
+    }
+}
@@ -0,0 +1,20 @@
+package com.vetcare.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a list GET whose weak ETag is derived from the change counters of the given tables,
+ * i.e. every table the returned DTOs read from. Checked by {@link ListETagInterceptor} before
+ * the handler runs.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ListETag {
+
+    String[] value();
+}
@@ -0,0 +1,34 @@
+package com.vetcare.config;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.vetcare.services.ChangeCounters;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+// Answers 304 for @ListETag handlers without running the query; otherwise just adds the ETag header
+@Component
+@RequiredArgsConstructor
+public class ListETagInterceptor implements HandlerInterceptor {
+
+    private final ChangeCounters changeCounters;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        ListETag listETag = handlerMethod.getMethodAnnotation(ListETag.class);
+        if (listETag == null) {
+            return true;
+        }
+        String eTag = changeCounters.weakETag(listETag.value());
+        return !new ServletWebRequest(request, response).checkNotModified(eTag);
+    }
+}
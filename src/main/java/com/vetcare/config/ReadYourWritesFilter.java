@@ -0,0 +1,51 @@
+package com.vetcare.config;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Binds the client session header to the request thread and records its writes
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final ReadYourWritesTracker tracker;
+    private final String sessionHeader;
+
+    public ReadYourWritesFilter(ReadYourWritesTracker tracker, String sessionHeader) {
+        this.tracker = tracker;
+        this.sessionHeader = sessionHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String session = request.getHeader(sessionHeader);
+        if (session == null || session.isBlank()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        tracker.bind(session);
+        try {
+            if (write) {
+                tracker.beginWrite();
+            }
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                if (write) {
+                    tracker.endWrite();
+                }
+            }
+        } finally {
+            tracker.unbind();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.vetcare.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+// Remembers when each client session last wrote, so its reads can avoid replicas that have not caught up
+public class ReadYourWritesTracker {
+
+    private final ThreadLocal<String> currentSession = new ThreadLocal<>();
+    private final Map<String, SessionWrites> sessions = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    public ReadYourWritesTracker(long windowMillis, LongSupplier clock) {
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+    }
+
+    public void bind(String session) {
+        currentSession.set(session);
+    }
+
+    public void unbind() {
+        currentSession.remove();
+    }
+
+    // Lets work handed to other threads for the same request bind the same session
+    public String currentSession() {
+        return currentSession.get();
+    }
+
+    // A write counts as in flight until endWrite, so a read racing the response still goes to the primary
+    public void beginWrite() {
+        String session = currentSession.get();
+        if (session != null) {
+            sessions.computeIfAbsent(session, key -> new SessionWrites()).inFlight.incrementAndGet();
+        }
+    }
+
+    public void endWrite() {
+        String session = currentSession.get();
+        SessionWrites writes = session != null ? sessions.get(session) : null;
+        if (writes != null) {
+            writes.lastWriteAt = clock.getAsLong();
+            writes.inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Time of the current session's last write inside the window, Long.MAX_VALUE while a
+     * write is in flight, or null when the session has nothing recent.
+     */
+    public Long lastWriteOfCurrentSession() {
+        String session = currentSession.get();
+        SessionWrites writes = session != null ? sessions.get(session) : null;
+        if (writes == null) {
+            return null;
+        }
+        if (writes.inFlight.get() > 0) {
+            return Long.MAX_VALUE;
+        }
+        long lastWriteAt = writes.lastWriteAt;
+        return clock.getAsLong() - lastWriteAt <= windowMillis ? lastWriteAt : null;
+    }
+
+    public void evictExpired() {
+        long now = clock.getAsLong();
+        sessions.entrySet().removeIf(entry ->
+            entry.getValue().inFlight.get() == 0 && now - entry.getValue().lastWriteAt > windowMillis);
+    }
+
+    private static final class SessionWrites {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long lastWriteAt;
+    }
+}
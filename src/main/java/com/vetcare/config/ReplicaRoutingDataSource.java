@@ -0,0 +1,184 @@
+package com.vetcare.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Target for read-only connections: picks a healthy replica round-robin, skipping replicas
+ * that lag too much or have not yet applied the current session's last write, and falls
+ * back to the primary when none qualifies.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    // MySQL reports lag in whole seconds, so a reported 0 can still hide up to a second
+    private static final long LAG_PRECISION_MILLIS = 1000;
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final long maxLagMillis;
+    private final String lagQuery;
+    private final LongSupplier clock;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private ScheduledExecutorService healthChecks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, ReadYourWritesTracker tracker,
+                                    Duration maxLag, String lagQuery, LongSupplier clock) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.tracker = tracker;
+        this.maxLagMillis = maxLag.toMillis();
+        this.lagQuery = lagQuery;
+        this.clock = clock;
+    }
+
+    public void startHealthChecks(Duration interval) {
+        healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecks.scheduleWithFixedDelay(this::refreshReplicaStatus, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Long lastWrite = tracker.lastWriteOfCurrentSession();
+        int start = replicas.isEmpty() ? 0 : Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.canServe(lastWrite, maxLagMillis)) {
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.markDown(e.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    // Replicas are pooled with the configured credentials, so other credentials go to the primary
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void refreshReplicaStatus() {
+        for (Replica replica : replicas) {
+            replica.refresh(lagQuery, clock.getAsLong());
+        }
+        tracker.evictExpired();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMillis;
+        private volatile long checkedAt;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public long getLagMillis() {
+            return lagMillis;
+        }
+
+        // At the last check the replica had applied every write up to checkedAt - lag
+        boolean canServe(Long lastWrite, long maxLagMillis) {
+            if (!healthy || lagMillis > maxLagMillis) {
+                return false;
+            }
+            return lastWrite == null || checkedAt - lagMillis - LAG_PRECISION_MILLIS > lastWrite;
+        }
+
+        void refresh(String lagQuery, long now) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+                try (ResultSet result = statement.executeQuery(lagQuery)) {
+                    Long lagSeconds = result.next() ? readLagSeconds(result) : null;
+                    if (lagSeconds == null) {
+                        markDown("replication is not running");
+                        return;
+                    }
+                    lagMillis = TimeUnit.SECONDS.toMillis(lagSeconds);
+                    checkedAt = now;
+                    if (!healthy) {
+                        log.info("Replica {} is available, lag {} s", name, lagSeconds);
+                    }
+                    healthy = true;
+                }
+            } catch (SQLException e) {
+                markDown(e.getMessage());
+            }
+        }
+
+        void markDown(String reason) {
+            if (healthy) {
+                log.warn("Replica {} unavailable, reads fall back to the primary: {}", name, reason);
+            }
+            healthy = false;
+        }
+
+        private static Long readLagSeconds(ResultSet result) throws SQLException {
+            ResultSetMetaData metaData = result.getMetaData();
+            int column = 1;
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                String label = metaData.getColumnLabel(i);
+                if ("Seconds_Behind_Source".equalsIgnoreCase(label) || "Seconds_Behind_Master".equalsIgnoreCase(label)) {
+                    column = i;
+                    break;
+                }
+            }
+            long seconds = result.getLong(column);
+            return result.wasNull() ? null : seconds;
+        }
+    }
+}
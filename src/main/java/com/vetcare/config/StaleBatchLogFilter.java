@@ -0,0 +1,28 @@
+package com.vetcare.config;
+
+import org.hibernate.StaleStateException;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Drops Hibernate's HHH100501 error for a JDBC batch that failed only because a versioned row
+ * had changed underneath it. That is the expected optimistic-locking conflict: the client gets
+ * a 409 and OptimisticUpdateSupport logs it. Every other batch failure is still logged.
+ * Registered in logback-spring.xml.
+ */
+public class StaleBatchLogFilter extends TurboFilter {
+
+    static final String BATCH_LOGGER = "org.hibernate.orm.jdbc.batch";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (t instanceof StaleStateException && logger.getName().equals(BATCH_LOGGER)) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,60 @@
+package com.vetcare.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Virtual-thread request execution, enabled with spring.threads.virtual.enabled=true: Tomcat
+ * then runs each request on its own virtual thread, so requests blocked on JDBC no longer use
+ * up a fixed request pool. The database becomes the limit instead; each connection pool is put
+ * behind its own {@link BulkheadDataSource} by {@link DatabaseBulkheads}, and pinned virtual
+ * threads are reported by a {@link PinnedThreadMonitor}.
+ * <p>
+ * A virtual thread that blocks inside a synchronized block or method stays pinned to its carrier
+ * thread, and with few carriers a handful of such threads stalls every request. So the in-memory
+ * indexes that hold their lock while they query the database (catalogs, availability, triage
+ * queues, waitlist) use a ReentrantLock, which lets the thread unmount while it waits, instead
+ * of a monitor.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadConfig {
+
+    @Bean
+    public DatabaseBulkheads databaseBulkheads(VirtualThreadProperties properties) {
+        return new DatabaseBulkheads(properties);
+    }
+
+    // With replica routing the bean is a proxy over several pools, which DataSourceRoutingConfig
+    // puts behind their own bulkheads; a single one here would make replica reads queue for the primary
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(ObjectProvider<DatabaseBulkheads> bulkheads) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof LazyConnectionDataSourceProxy) {
+                    return bean;
+                }
+                return bulkheads.getObject().primary(dataSource);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "vetcare.virtual-threads", name = "pinning-diagnostics", havingValue = "true",
+        matchIfMissing = true)
+    public PinnedThreadMonitor pinnedThreadMonitor(VirtualThreadProperties properties) {
+        PinnedThreadMonitor monitor = new PinnedThreadMonitor(properties.getPinnedThreshold());
+        monitor.start();
+        return monitor;
+    }
+}
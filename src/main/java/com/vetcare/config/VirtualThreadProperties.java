@@ -0,0 +1,24 @@
+package com.vetcare.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "vetcare.virtual-threads")
+public class VirtualThreadProperties {
+
+    // Primary connections handed out at once; defaults to the maximum pool size of spring.datasource.
+    // Replica pools always get a bulkhead of their own size
+    private Integer bulkheadPermits;
+
+    // How long a request waits for a permit before failing with 503
+    private Duration bulkheadTimeout = Duration.ofSeconds(5);
+
+    // Logs virtual threads pinned to their carrier for longer than pinnedThreshold
+    private boolean pinningDiagnostics = true;
+
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
@@ -0,0 +1,49 @@
+package com.vetcare.controllers;
+
+import com.vetcare.dto.CacheStatisticsDTO;
+import com.vetcare.services.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cache/statistics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Cache", description = "Second-level cache monitoring")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @Operation(
+        summary = "Get cache statistics",
+        description = "Returns second-level and query cache hits and misses, per region, together with the number of JDBC statements prepared"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CacheStatisticsDTO.class)))
+    })
+    @GetMapping
+    public ResponseEntity<CacheStatisticsDTO> getStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getStatistics());
+    }
+
+    @Operation(
+        summary = "Reset cache statistics",
+        description = "Sets every counter back to zero, e.g. before measuring a workload; cached entries are kept"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Statistics reset")
+    })
+    @DeleteMapping
+    public ResponseEntity<Void> resetStatistics() {
+        cacheStatisticsService.resetStatistics();
+        return ResponseEntity.noContent().build();
+    }
+}
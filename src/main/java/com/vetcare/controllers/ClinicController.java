@@ -1,8 +1,13 @@
 package com.vetcare.controllers;
 
+import com.vetcare.config.ListETag;
 import com.vetcare.dto.ClinicDTO;
+import com.vetcare.dto.ClinicSummaryDTO;
 import com.vetcare.dto.CreateClinicDTO;
+import com.vetcare.dto.PageDTO;
 import com.vetcare.services.ClinicService;
+import com.vetcare.services.ResourceVersionService;
+import com.vetcare.services.VisitStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,9 +17,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -27,6 +37,10 @@ public class ClinicController {
     
     private final ClinicService clinicService;
     
+    private final ResourceVersionService resourceVersionService;
+    
+    private final VisitStreamService visitStreamService;
+    
     @Operation(
         summary = "Get all active clinics",
         description = "Retrieves a list of all active veterinary clinic locations"
@@ -35,11 +49,47 @@ public class ClinicController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved list of clinics",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ClinicDTO.class)))
     })
+    @ListETag({"clinics"})
     @GetMapping
     public ResponseEntity<List<ClinicDTO>> getAllClinics() {
         return ResponseEntity.ok(clinicService.findAllActive());
     }
     
+    @Operation(
+        summary = "Get clinics page",
+        description = "Retrieves a page of clinics. Sortable by id, name, city and createdAt. " +
+                      "Set count=false to skip the total count"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved page of clinics"),
+        @ApiResponse(responseCode = "400", description = "Invalid page size or sort key", content = @Content)
+    })
+    @ListETag({"clinics"})
+    @GetMapping(params = "size")
+    public ResponseEntity<PageDTO<ClinicDTO>> getClinicsPage(
+            @ParameterObject Pageable pageable,
+            @Parameter(description = "Include the total count (Page) or skip it (Slice)")
+            @RequestParam(defaultValue = "true") boolean count,
+            @Parameter(description = "Include inactive clinics")
+            @RequestParam(defaultValue = "false") boolean includeInactive) {
+        return ResponseEntity.ok(includeInactive
+            ? clinicService.findAll(pageable, count)
+            : clinicService.findAllActive(pageable, count));
+    }
+    
+    @Operation(
+        summary = "Get active clinic summaries",
+        description = "Retrieves id, name, city and phone of every active clinic (for clinic pickers)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved clinic summaries")
+    })
+    @ListETag({"clinics"})
+    @GetMapping("/summary")
+    public ResponseEntity<List<ClinicSummaryDTO>> getClinicSummaries() {
+        return ResponseEntity.ok(clinicService.findActiveSummaries());
+    }
+    
     @Operation(
         summary = "Get clinic by ID",
         description = "Retrieves detailed information about a specific clinic location"
@@ -47,12 +97,18 @@ public class ClinicController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Clinic found successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ClinicDTO.class))),
-        @ApiResponse(responseCode = "404", description = "Clinic not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Clinic not found", content = @Content),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content)
     })
     @GetMapping("/{id}")
     public ResponseEntity<ClinicDTO> getClinicById(
             @Parameter(description = "ID of the clinic to retrieve", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
+        if (resourceVersionService.clinic(id)
+                .filter(version -> request.checkNotModified(version.eTag(), version.lastModified())).isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return ResponseEntity.ok(clinicService.findById(id));
     }
     
@@ -63,6 +119,7 @@ public class ClinicController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved clinics in the city")
     })
+    @ListETag({"clinics"})
     @GetMapping("/city/{city}")
     public ResponseEntity<List<ClinicDTO>> getClinicsByCity(
             @Parameter(description = "Name of the city", required = true, example = "Bogotá")
@@ -139,4 +196,24 @@ public class ClinicController {
         clinicService.deactivate(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+    
+    @Operation(
+        summary = "Stream clinic visit events",
+        description = "Server-sent events for every visit of the clinic created, updated, deleted or changing status, " +
+                "sent once the change commits. Reconnecting with Last-Event-ID replays what was missed; a RESYNC event " +
+                "means events were lost and the visits must be reloaded"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+        @ApiResponse(responseCode = "404", description = "Clinic not found", content = @Content)
+    })
+    @GetMapping(value = "/{id}/visits/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamVisits(
+            @Parameter(description = "ID of the clinic", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "ID of the last event received, to resume after a disconnect")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return visitStreamService.subscribe(id, lastEventId);
+    }
+}
@@ -2,8 +2,12 @@ package com.vetcare.controllers;
 
 import java.util.List;
 
+import com.vetcare.config.ListETag;
 import com.vetcare.dto.*;
+import com.vetcare.services.OwnerDashboardService;
+import com.vetcare.services.OwnerImportService;
 import com.vetcare.services.OwnerService;
+import com.vetcare.services.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,9 +17,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequestMapping("/api/owners")
@@ -25,25 +34,55 @@ import org.springframework.web.bind.annotation.*;
 public class OwnerController {
 
         private final OwnerService ownerService;
+        private final ResourceVersionService resourceVersionService;
+        private final OwnerImportService ownerImportService;
+        private final OwnerDashboardService ownerDashboardService;
 
         @Operation(summary = "List all active owners", 
                 description = "Retrieves a list of all registered and active owners in the system")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "List retrieved successfully")
         })
+        @ListETag({"owners"})
         @GetMapping
         public ResponseEntity<List<OwnerDTO>> getAllOwners() {
                 return ResponseEntity.ok(ownerService.findAllActive());
         }
 
+        @Operation(summary = "List owners page", 
+                description = "Retrieves a page of owners. Sortable by id, firstName, lastName, email, city and createdAt. " +
+                        "Set count=false to skip the total count")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid page size or sort key")
+        })
+        @ListETag({"owners"})
+        @GetMapping(params = "size")
+        public ResponseEntity<PageDTO<OwnerDTO>> getOwnersPage(
+                        @ParameterObject Pageable pageable,
+                        @Parameter(description = "Include the total count (Page) or skip it (Slice)") 
+                        @RequestParam(defaultValue = "true") boolean count,
+                        @Parameter(description = "Include inactive owners") 
+                        @RequestParam(defaultValue = "false") boolean includeInactive) {
+                return ResponseEntity.ok(includeInactive
+                                ? ownerService.findAll(pageable, count)
+                                : ownerService.findAllActive(pageable, count));
+        }
+
         @Operation(summary = "Get owner by ID", description = "Retrieves details of a specific owner")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Owner found"),
-                        @ApiResponse(responseCode = "404", description = "Owner not found")
+                        @ApiResponse(responseCode = "404", description = "Owner not found"),
+                        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
         })
         @GetMapping("/{id}")
         public ResponseEntity<OwnerDTO> getOwnerById(
-                        @Parameter(description = "ID of the owner to retrieve",required = true, example = "1") @PathVariable Long id) {
+                        @Parameter(description = "ID of the owner to retrieve",required = true, example = "1") @PathVariable Long id,
+                        WebRequest request) {
+                if (resourceVersionService.owner(id)
+                                .filter(version -> request.checkNotModified(version.eTag(), version.lastModified())).isPresent()) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+                }
                 return ResponseEntity.ok(ownerService.findById(id));
         }
 
@@ -51,24 +90,58 @@ public class OwnerController {
                 description = "Retrieves an owner including all their registered pets")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Owner with pets found"),
-                        @ApiResponse(responseCode = "404", description = "Owner not found")
+                        @ApiResponse(responseCode = "404", description = "Owner not found"),
+                        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match")
         })
         @GetMapping("/{id}/pets")
         public ResponseEntity<OwnerWithPetsDTO> getOwnerWithPets(
-                        @Parameter(description = "ID of the owner", required = true, example = "1") @PathVariable Long id) {
+                        @Parameter(description = "ID of the owner", required = true, example = "1") @PathVariable Long id,
+                        WebRequest request) {
+                if (resourceVersionService.ownerWithPets(id)
+                                .filter(version -> request.checkNotModified(version.eTag(), version.lastModified())).isPresent()) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+                }
                 return ResponseEntity.ok(ownerService.findByIdWithPets(id));
         }
 
+        @Operation(summary = "Get owner dashboard",
+                description = "Retrieves the owner, their pets, upcoming visits and recent visit history in one response; " +
+                        "the parts are loaded concurrently")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Dashboard retrieved successfully",
+                                content = @Content(mediaType = "application/json", schema = @Schema(implementation = OwnerDashboardDTO.class))),
+                        @ApiResponse(responseCode = "404", description = "Owner not found", content = @Content),
+                        @ApiResponse(responseCode = "503", description = "Not loaded within vetcare.dashboard.timeout", content = @Content)
+        })
+        @GetMapping("/{id}/dashboard")
+        public ResponseEntity<OwnerDashboardDTO> getOwnerDashboard(
+                        @Parameter(description = "ID of the owner", required = true, example = "1") @PathVariable Long id) {
+                return ResponseEntity.ok(ownerDashboardService.findByOwnerId(id));
+        }
+
         @Operation(summary = "Search owners by name", description = "Searches owners by first or last name (partial match)")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Search completed")
         })
+        @ListETag({"owners"})
         @GetMapping("/search")
         public ResponseEntity<List<OwnerDTO>> searchOwners(
                         @Parameter(description = "First or last name to search") @RequestParam String name) {
                 return ResponseEntity.ok(ownerService.searchByName(name));
         }
 
+        @Operation(summary = "Search owner summaries by name", 
+                description = "Searches active owners by first or last name and returns id, full name, email and phone only")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Search completed")
+        })
+        @ListETag({"owners"})
+        @GetMapping("/search/summary")
+        public ResponseEntity<List<OwnerSummaryDTO>> searchOwnerSummaries(
+                        @Parameter(description = "First or last name to search") @RequestParam String name) {
+                return ResponseEntity.ok(ownerService.searchSummariesByName(name));
+        }
+
         @Operation(summary = "Create new owner", description = "Registers a new owner in the system")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "201", description = "Owner created successfully"),
@@ -87,6 +160,19 @@ public class OwnerController {
                 return new ResponseEntity<>(createdOwner, HttpStatus.CREATED);
         }
 
+        @Operation(summary = "Import owners from CSV", 
+                description = "Streams a CSV file with header firstName,lastName,email,documentNumber,phone,address,city " +
+                        "and inserts the valid rows in batches. Duplicate emails or documents are rejected and listed in the result")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Import finished"),
+                        @ApiResponse(responseCode = "400", description = "Empty or unreadable file, or missing required columns")
+        })
+        @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        public ResponseEntity<ImportResultDTO> importOwners(
+                        @Parameter(description = "CSV file (UTF-8)", required = true) @RequestParam("file") MultipartFile file) {
+                return ResponseEntity.ok(ownerImportService.importOwners(file));
+        }
+
         @Operation(summary = "Update owner", description = "Updates information of an existing owner")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Owner updated successfully"),
@@ -129,4 +215,15 @@ public class OwnerController {
                 return ResponseEntity.noContent().build();
         }
 
+        @Operation(summary = "Deactivate owners in bulk", 
+                description = "Marks the given owners as inactive with set-based updates; already inactive or unknown IDs are skipped")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Owners deactivated"),
+                        @ApiResponse(responseCode = "400", description = "No IDs or too many IDs")
+        })
+        @PatchMapping("/bulk/deactivate")
+        public ResponseEntity<BulkUpdateResultDTO> deactivateOwners(@Valid @RequestBody BulkIdsDTO bulkIdsDTO) {
+                return ResponseEntity.ok(ownerService.deactivateAll(bulkIdsDTO.getIds()));
+        }
+
 }
@@ -1,7 +1,11 @@
 package com.vetcare.controllers;
 
+import com.vetcare.config.ListETag;
 import com.vetcare.dto.*;
+import com.vetcare.services.PetImportService;
+import com.vetcare.services.PetMedicalRecordService;
 import com.vetcare.services.PetService;
+import com.vetcare.services.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,9 +15,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -26,6 +36,10 @@ public class PetController {
     
     private final PetService petService;
     
+    private final ResourceVersionService resourceVersionService;
+    private final PetImportService petImportService;
+    private final PetMedicalRecordService petMedicalRecordService;
+    
     @Operation(
         summary = "Get all active pets",
         description = "Retrieves a list of all active pets registered in the system"
@@ -34,11 +48,34 @@ public class PetController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved list of pets",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = PetDTO.class)))
     })
+    @ListETag({"pets", "owners", "pet_types", "clinics"})
     @GetMapping
     public ResponseEntity<List<PetDTO>> getAllPets() {
         return ResponseEntity.ok(petService.findAllActive());
     }
     
+    @Operation(
+        summary = "Get pets page",
+        description = "Retrieves a page of pets. Sortable by id, name, birthDate, breed and createdAt. " +
+                      "Set count=false to skip the total count"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved page of pets"),
+        @ApiResponse(responseCode = "400", description = "Invalid page size or sort key", content = @Content)
+    })
+    @ListETag({"pets", "owners", "pet_types", "clinics"})
+    @GetMapping(params = "size")
+    public ResponseEntity<PageDTO<PetDTO>> getPetsPage(
+            @ParameterObject Pageable pageable,
+            @Parameter(description = "Include the total count (Page) or skip it (Slice)")
+            @RequestParam(defaultValue = "true") boolean count,
+            @Parameter(description = "Include inactive pets")
+            @RequestParam(defaultValue = "false") boolean includeInactive) {
+        return ResponseEntity.ok(includeInactive
+            ? petService.findAll(pageable, count)
+            : petService.findAllActive(pageable, count));
+    }
+    
     @Operation(
         summary = "Get pet by ID",
         description = "Retrieves detailed information about a specific pet including owner and type"
@@ -46,15 +83,38 @@ public class PetController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Pet found successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = PetDTO.class))),
-        @ApiResponse(responseCode = "404", description = "Pet not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Pet not found", content = @Content),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content)
     })
     @GetMapping("/{id}")
     public ResponseEntity<PetDTO> getPetById(
             @Parameter(description = "ID of the pet to retrieve", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
+        if (resourceVersionService.pet(id)
+                .filter(version -> request.checkNotModified(version.eTag(), version.lastModified())).isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return ResponseEntity.ok(petService.findById(id));
     }
     
+    @Operation(
+        summary = "Get a pet's medical record",
+        description = "Retrieves the pet with every visit, latest first, including the veterinarian and clinic of each. " +
+                      "Served from a precomputed record that is regenerated after each change to the pet or its visits"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Medical record found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PetMedicalRecordDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Pet not found", content = @Content)
+    })
+    @GetMapping(value = "/{id}/medical-record", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getPetMedicalRecord(
+            @Parameter(description = "ID of the pet", required = true, example = "1")
+            @PathVariable Long id) {
+        return ResponseEntity.ok(petMedicalRecordService.findDocument(id));
+    }
+    
     @Operation(
         summary = "Get pets by owner",
         description = "Retrieves all pets registered for a specific owner"
@@ -62,6 +122,7 @@ public class PetController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved owner's pets")
     })
+    @ListETag({"pets", "owners", "pet_types", "clinics"})
     @GetMapping("/owner/{ownerId}")
     public ResponseEntity<List<PetDTO>> getPetsByOwner(
             @Parameter(description = "ID of the owner", required = true, example = "1")
@@ -69,6 +130,21 @@ public class PetController {
         return ResponseEntity.ok(petService.findByOwnerId(ownerId));
     }
     
+    @Operation(
+        summary = "Get pet summaries by owner",
+        description = "Retrieves id, name, birth date, breed, gender and type name of an owner's pets"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved owner's pet summaries")
+    })
+    @ListETag({"pets", "pet_types"})
+    @GetMapping("/owner/{ownerId}/summary")
+    public ResponseEntity<List<PetSummaryDTO>> getPetSummariesByOwner(
+            @Parameter(description = "ID of the owner", required = true, example = "1")
+            @PathVariable Long ownerId) {
+        return ResponseEntity.ok(petService.findSummariesByOwnerId(ownerId));
+    }
+    
     @Operation(
         summary = "Search pets by name",
         description = "Searches for pets by name (partial match)"
@@ -76,6 +152,7 @@ public class PetController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search completed successfully")
     })
+    @ListETag({"pets", "owners", "pet_types", "clinics"})
     @GetMapping("/search")
     public ResponseEntity<List<PetDTO>> searchPets(
             @Parameter(description = "Pet name to search for", required = true, example = "Max")
@@ -105,6 +182,23 @@ public class PetController {
         return new ResponseEntity<>(createdPet, HttpStatus.CREATED);
     }
     
+    @Operation(
+        summary = "Import pets from CSV",
+        description = "Streams a CSV file with header name,birthDate,breed,gender,color,weight,medicalNotes,photoUrl," +
+                "ownerId|ownerEmail,petTypeId|petType,clinicId and inserts the valid rows in batches. " +
+                "Rejected rows are listed in the result"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import finished",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportResultDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Empty or unreadable file, or missing required columns", content = @Content)
+    })
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResultDTO> importPets(
+            @Parameter(description = "CSV file (UTF-8)", required = true) @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(petImportService.importPets(file));
+    }
+    
     @Operation(
         summary = "Update pet",
         description = "Updates the information of an existing pet"
@@ -112,7 +206,10 @@ public class PetController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Pet updated successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = PetDTO.class))),
-        @ApiResponse(responseCode = "404", description = "Pet not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Pet not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Pet changed since the given version or by a concurrent update; body carries its current state",
+                    content = @Content),
+        @ApiResponse(responseCode = "412", description = "If-Match does not match the current ETag", content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<PetDTO> updatePet(
@@ -123,8 +220,10 @@ public class PetController {
                 required = true,
                 content = @Content(schema = @Schema(implementation = UpdatePetDTO.class))
             )
-            @Valid @RequestBody UpdatePetDTO updatePetDTO) {
-        return ResponseEntity.ok(petService.update(id, updatePetDTO));
+            @Valid @RequestBody UpdatePetDTO updatePetDTO,
+            @Parameter(description = "Optional ETag from a previous GET of the pet")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ResponseEntity.ok(petService.update(id, updatePetDTO, ifMatch));
     }
     
     @Operation(
@@ -158,4 +257,33 @@ public class PetController {
         petService.deactivate(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+    
+    @Operation(
+        summary = "Deactivate pets in bulk",
+        description = "Marks the given pets as inactive with set-based updates; already inactive or unknown IDs are skipped"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Pets deactivated",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkUpdateResultDTO.class))),
+        @ApiResponse(responseCode = "400", description = "No IDs or too many IDs", content = @Content)
+    })
+    @PatchMapping("/bulk/deactivate")
+    public ResponseEntity<BulkUpdateResultDTO> deactivatePets(
+            @Valid @RequestBody BulkIdsDTO bulkIdsDTO) {
+        return ResponseEntity.ok(petService.deactivateAll(bulkIdsDTO.getIds()));
+    }
+    
+    @Operation(
+        summary = "Rebuild pet medical records",
+        description = "Regenerates the precomputed medical record of every pet, in chunks. Used to fill the records in " +
+                      "after an upgrade and to pick up renamed veterinarians, clinics or pet types"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Records rebuilt",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkUpdateResultDTO.class)))
+    })
+    @PostMapping("/medical-records/rebuild")
+    public ResponseEntity<BulkUpdateResultDTO> rebuildMedicalRecords() {
+        return ResponseEntity.ok(petMedicalRecordService.rebuildAll());
+    }
+}
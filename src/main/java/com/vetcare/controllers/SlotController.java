@@ -0,0 +1,59 @@
+package com.vetcare.controllers;
+
+import com.vetcare.dto.AvailableSlotDTO;
+import com.vetcare.services.AvailabilityService;
+import com.vetcare.services.VisitSlotSupport;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/slots")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Slots", description = "Search for free appointment times")
+public class SlotController {
+
+    private final AvailabilityService availabilityService;
+    private final VisitSlotSupport visitSlotSupport;
+
+    @Operation(
+        summary = "Find the next free slots",
+        description = "Returns the earliest times, across veterinarians, at which a visit of the given duration fits inside " +
+                "the clinic's working hours without overlapping existing visits. Filters are optional and combine; " +
+                "the search covers the configured booking horizon and is answered from memory"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Free slots, earliest first",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AvailableSlotDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid duration or count", content = @Content)
+    })
+    @GetMapping("/next")
+    public ResponseEntity<List<AvailableSlotDTO>> findNextSlots(
+            @Parameter(description = "Only veterinarians with this specialty", example = "2")
+            @RequestParam(required = false) Long specialtyId,
+            @Parameter(description = "Only clinics in this city", example = "Bogotá")
+            @RequestParam(required = false) String city,
+            @Parameter(description = "Only this clinic", example = "1")
+            @RequestParam(required = false) Long clinicId,
+            @Parameter(description = "Earliest start (ISO-8601); defaults to now", example = "2025-10-30T08:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Visit duration in minutes; the configured default when omitted", example = "30")
+            @RequestParam(required = false) Integer durationMinutes,
+            @Parameter(description = "Number of slots to return", example = "5")
+            @RequestParam(defaultValue = "5") int count) {
+        int duration = visitSlotSupport.durationOrDefault(durationMinutes);
+        return ResponseEntity.ok(availabilityService.findNext(specialtyId, city, clinicId, from, duration, count));
+    }
+}
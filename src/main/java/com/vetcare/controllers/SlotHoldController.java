@@ -0,0 +1,77 @@
+package com.vetcare.controllers;
+
+import com.vetcare.dto.CreateSlotHoldDTO;
+import com.vetcare.dto.SlotHoldDTO;
+import com.vetcare.services.SlotHoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/visits/holds")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Slot Holds", description = "Temporary holds on a time slot during the booking flow")
+public class SlotHoldController {
+
+    private final SlotHoldService slotHoldService;
+
+    @Operation(
+        summary = "Hold a time slot",
+        description = "Reserves a veterinarian's time at a clinic for a limited time while the booking is confirmed. " +
+                "Other visits and holds for that time are rejected until the hold is consumed by creating the visit " +
+                "with its holdId, cancelled, or expires"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Slot held",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SlotHoldDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input or TTL too long", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Veterinarian or clinic not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "The time is already booked or held", content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<SlotHoldDTO> createHold(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Slot to hold",
+                required = true,
+                content = @Content(schema = @Schema(implementation = CreateSlotHoldDTO.class))
+            )
+            @Valid @RequestBody CreateSlotHoldDTO createSlotHoldDTO) {
+        return new ResponseEntity<>(slotHoldService.create(createSlotHoldDTO), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Get hold", description = "Retrieves an active hold")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Hold found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SlotHoldDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Hold not found, consumed or expired", content = @Content)
+    })
+    @GetMapping("/{holdId}")
+    public ResponseEntity<SlotHoldDTO> getHold(
+            @Parameter(description = "ID of the hold", required = true)
+            @PathVariable String holdId) {
+        return ResponseEntity.ok(slotHoldService.findById(holdId));
+    }
+
+    @Operation(summary = "Release hold", description = "Frees the held time before the hold expires")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Hold released", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Hold not found, consumed or expired", content = @Content)
+    })
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<Void> releaseHold(
+            @Parameter(description = "ID of the hold", required = true)
+            @PathVariable String holdId) {
+        slotHoldService.cancel(holdId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.vetcare.controllers;
 
+import com.vetcare.dto.CatalogDeltaDTO;
 import com.vetcare.dto.SpecialtyDTO;
 import com.vetcare.services.SpecialtyService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -39,6 +40,22 @@ public class SpecialtyController {
         return ResponseEntity.ok(specialtyService.findAllActive());
     }
     
+    @Operation(
+        summary = "Get specialty changes since a catalog version",
+        description = "Returns the specialties added, changed or deleted after sinceVersion together with the current version. "
+            + "Omit sinceVersion (or send 0) to download the whole catalog once, then poll with the returned version"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CatalogDeltaDTO.class)))
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<CatalogDeltaDTO<SpecialtyDTO>> getSpecialtyChanges(
+            @Parameter(description = "Catalog version the client already has", example = "1718000000123")
+            @RequestParam(defaultValue = "0") long sinceVersion) {
+        return ResponseEntity.ok(specialtyService.findChangesSince(sinceVersion));
+    }
+    
     @Operation(
         summary = "Get specialty by ID",
         description = "Retrieves detailed information about a specific medical specialty"
@@ -0,0 +1,102 @@
+package com.vetcare.controllers;
+
+import com.vetcare.dto.TriageCheckInDTO;
+import com.vetcare.dto.TriageEntryDTO;
+import com.vetcare.dto.TriageQueueDTO;
+import com.vetcare.models.Visit;
+import com.vetcare.services.TriageQueueService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/clinics/{clinicId}/queue")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Triage Queue", description = "Waiting-room queue of checked-in visits")
+public class TriageQueueController {
+
+    private final TriageQueueService triageQueueService;
+
+    @Operation(
+        summary = "Get triage queue",
+        description = "Retrieves the clinic's checked-in visits ordered by urgency, appointment time and arrival. " +
+                "Later changes are sent as queue events on the clinic's visit stream, numbered after the snapshot version"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Queue retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TriageQueueDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Clinic not found", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<TriageQueueDTO> getQueue(
+            @Parameter(description = "ID of the clinic", required = true, example = "1")
+            @PathVariable Long clinicId) {
+        return ResponseEntity.ok(triageQueueService.snapshot(clinicId));
+    }
+
+    @Operation(summary = "Check in visit", description = "Marks a scheduled visit as arrived and adds it to the queue")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Visit checked in",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TriageEntryDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input or visit not scheduled", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Visit not found at this clinic", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Visit already checked in", content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<TriageEntryDTO> checkIn(
+            @Parameter(description = "ID of the clinic", required = true, example = "1")
+            @PathVariable Long clinicId,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Visit to check in and its urgency",
+                required = true,
+                content = @Content(schema = @Schema(implementation = TriageCheckInDTO.class))
+            )
+            @Valid @RequestBody TriageCheckInDTO triageCheckInDTO) {
+        return new ResponseEntity<>(triageQueueService.checkIn(clinicId, triageCheckInDTO), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Change urgency", description = "Moves a waiting visit to the place of its new urgency")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Urgency changed",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TriageEntryDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Visit not waiting in the queue", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Visit not found at this clinic", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Visit changed meanwhile", content = @Content)
+    })
+    @PatchMapping("/{visitId}")
+    public ResponseEntity<TriageEntryDTO> reprioritize(
+            @Parameter(description = "ID of the clinic", required = true, example = "1")
+            @PathVariable Long clinicId,
+            @Parameter(description = "ID of the visit", required = true, example = "1")
+            @PathVariable Long visitId,
+            @Parameter(description = "New urgency", required = true, example = "URGENT")
+            @RequestParam Visit.TriageUrgency urgency) {
+        return ResponseEntity.ok(triageQueueService.reprioritize(clinicId, visitId, urgency));
+    }
+
+    @Operation(summary = "Check out visit", description = "Takes a waiting visit out of the queue without starting it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Visit removed from the queue", content = @Content),
+        @ApiResponse(responseCode = "400", description = "Visit not waiting in the queue", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Visit not found at this clinic", content = @Content)
+    })
+    @DeleteMapping("/{visitId}")
+    public ResponseEntity<Void> checkOut(
+            @Parameter(description = "ID of the clinic", required = true, example = "1")
+            @PathVariable Long clinicId,
+            @Parameter(description = "ID of the visit", required = true, example = "1")
+            @PathVariable Long visitId) {
+        triageQueueService.checkOut(clinicId, visitId);
+        return ResponseEntity.noContent().build();
+    }
+}
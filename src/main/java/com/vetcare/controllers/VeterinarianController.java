@@ -1,7 +1,9 @@
 package com.vetcare.controllers;
 
+import com.vetcare.config.ListETag;
 import com.vetcare.dto.*;
 import com.vetcare.services.VeterinarianService;
+import com.vetcare.services.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,9 +13,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -26,6 +31,8 @@ public class VeterinarianController {
     
     private final VeterinarianService veterinarianService;
     
+    private final ResourceVersionService resourceVersionService;
+    
     @Operation(
         summary = "Get all active veterinarians",
         description = "Retrieves a list of all active veterinarians in the system"
@@ -34,11 +41,49 @@ public class VeterinarianController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved list of veterinarians",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = VeterinarianDTO.class)))
     })
+    @ListETag({"veterinarians", "clinics", "specialties"})
     @GetMapping
     public ResponseEntity<List<VeterinarianDTO>> getAllVeterinarians() {
         return ResponseEntity.ok(veterinarianService.findAllActive());
     }
     
+    @Operation(
+        summary = "Get veterinarians page",
+        description = "Retrieves a page of veterinarians. Sortable by id, firstName, lastName, licenseNumber and createdAt. " +
+                      "Set count=false to skip the total count"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved page of veterinarians"),
+        @ApiResponse(responseCode = "400", description = "Invalid page size or sort key", content = @Content)
+    })
+    @ListETag({"veterinarians", "clinics", "specialties"})
+    @GetMapping(params = "size")
+    public ResponseEntity<PageDTO<VeterinarianDTO>> getVeterinariansPage(
+            @ParameterObject Pageable pageable,
+            @Parameter(description = "Include the total count (Page) or skip it (Slice)")
+            @RequestParam(defaultValue = "true") boolean count,
+            @Parameter(description = "Include inactive veterinarians")
+            @RequestParam(defaultValue = "false") boolean includeInactive) {
+        return ResponseEntity.ok(includeInactive
+            ? veterinarianService.findAll(pageable, count)
+            : veterinarianService.findAllActive(pageable, count));
+    }
+    
+    @Operation(
+        summary = "Get active veterinarian summaries",
+        description = "Retrieves id, full name, license and email of active veterinarians, optionally for one clinic"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved veterinarian summaries")
+    })
+    @ListETag({"veterinarians"})
+    @GetMapping("/summary")
+    public ResponseEntity<List<VeterinarianSummaryDTO>> getVeterinarianSummaries(
+            @Parameter(description = "ID of the clinic", example = "1")
+            @RequestParam(required = false) Long clinicId) {
+        return ResponseEntity.ok(veterinarianService.findActiveSummaries(clinicId));
+    }
+    
     @Operation(
         summary = "Get veterinarian by ID",
         description = "Retrieves detailed information about a specific veterinarian including their specialties"
@@ -46,12 +91,18 @@ public class VeterinarianController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Veterinarian found successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = VeterinarianDTO.class))),
-        @ApiResponse(responseCode = "404", description = "Veterinarian not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Veterinarian not found", content = @Content),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content)
     })
     @GetMapping("/{id}")
     public ResponseEntity<VeterinarianDTO> getVeterinarianById(
             @Parameter(description = "ID of the veterinarian to retrieve", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
+        if (resourceVersionService.veterinarian(id)
+                .filter(version -> request.checkNotModified(version.eTag(), version.lastModified())).isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return ResponseEntity.ok(veterinarianService.findById(id));
     }
     
@@ -62,6 +113,7 @@ public class VeterinarianController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved veterinarians with the specialty")
     })
+    @ListETag({"veterinarians", "clinics", "specialties"})
     @GetMapping("/specialty/{specialtyId}")
     public ResponseEntity<List<VeterinarianDTO>> getVeterinariansBySpecialty(
             @Parameter(description = "ID of the specialty", required = true, example = "1")
@@ -181,4 +233,19 @@ public class VeterinarianController {
         veterinarianService.deactivate(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+    
+    @Operation(
+        summary = "Deactivate veterinarians in bulk",
+        description = "Marks the given veterinarians as inactive with set-based updates; already inactive or unknown IDs are skipped"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Veterinarians deactivated",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkUpdateResultDTO.class))),
+        @ApiResponse(responseCode = "400", description = "No IDs or too many IDs", content = @Content)
+    })
+    @PatchMapping("/bulk/deactivate")
+    public ResponseEntity<BulkUpdateResultDTO> deactivateVeterinarians(
+            @Valid @RequestBody BulkIdsDTO bulkIdsDTO) {
+        return ResponseEntity.ok(veterinarianService.deactivateAll(bulkIdsDTO.getIds()));
+    }
+}
@@ -0,0 +1,92 @@
+package com.vetcare.controllers;
+
+import com.vetcare.dto.BulkUpdateResultDTO;
+import com.vetcare.dto.VisitDailyStatsDTO;
+import com.vetcare.services.VisitAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics/visits")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Visit analytics", description = "Daily visit counts and revenue for management dashboards")
+public class VisitAnalyticsController {
+
+    private final VisitAnalyticsService visitAnalyticsService;
+
+    @Operation(
+        summary = "Get daily visit figures of a clinic",
+        description = "Number of visits and sum of their cost per day and status, across the clinic's veterinarians. " +
+                      "Days without visits are left out"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved daily figures",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = VisitDailyStatsDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid or too long date range", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Clinic not found", content = @Content)
+    })
+    @GetMapping("/clinics/{clinicId}/daily")
+    public ResponseEntity<List<VisitDailyStatsDTO>> getClinicDaily(
+            @Parameter(description = "ID of the clinic", required = true, example = "1")
+            @PathVariable Long clinicId,
+            @Parameter(description = "First day (ISO-8601 format)", required = true, example = "2025-10-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, included (ISO-8601 format)", required = true, example = "2025-10-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(visitAnalyticsService.findClinicDaily(clinicId, from, to));
+    }
+
+    @Operation(
+        summary = "Get daily visit figures of a veterinarian",
+        description = "Number of visits and sum of their cost per day and status, across the clinics the veterinarian " +
+                      "worked at. Days without visits are left out"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved daily figures",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = VisitDailyStatsDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid or too long date range", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Veterinarian not found", content = @Content)
+    })
+    @GetMapping("/veterinarians/{veterinarianId}/daily")
+    public ResponseEntity<List<VisitDailyStatsDTO>> getVeterinarianDaily(
+            @Parameter(description = "ID of the veterinarian", required = true, example = "1")
+            @PathVariable Long veterinarianId,
+            @Parameter(description = "First day (ISO-8601 format)", required = true, example = "2025-10-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, included (ISO-8601 format)", required = true, example = "2025-10-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(visitAnalyticsService.findVeterinarianDaily(veterinarianId, from, to));
+    }
+
+    @Operation(
+        summary = "Rebuild daily visit figures",
+        description = "Recomputes the figures of the given days from the visits, a few days per transaction. " +
+                      "Only needed after visits were changed outside the API"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Figures rebuilt",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkUpdateResultDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content)
+    })
+    @PostMapping("/rebuild")
+    public ResponseEntity<BulkUpdateResultDTO> rebuild(
+            @Parameter(description = "First day (ISO-8601 format)", required = true, example = "2025-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, included (ISO-8601 format)", required = true, example = "2025-12-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(visitAnalyticsService.rebuild(from, to));
+    }
+}
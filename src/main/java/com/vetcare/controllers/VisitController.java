@@ -1,8 +1,10 @@
 package com.vetcare.controllers;
 
+import com.vetcare.config.ListETag;
 import com.vetcare.dto.*;
 import com.vetcare.models.Visit;
 import com.vetcare.services.VisitService;
+import com.vetcare.services.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,9 +15,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -29,6 +33,8 @@ public class VisitController {
     
     private final VisitService visitService;
     
+    private final ResourceVersionService resourceVersionService;
+    
     @Operation(
         summary = "Get all visits",
         description = "Retrieves a list of all medical visits in the system"
@@ -37,11 +43,31 @@ public class VisitController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved list of visits",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = VisitDTO.class)))
     })
+    @ListETag({"visits", "pets", "pet_types", "veterinarians", "clinics"})
     @GetMapping
     public ResponseEntity<List<VisitDTO>> getAllVisits() {
         return ResponseEntity.ok(visitService.findAll());
     }
     
+    @Operation(
+        summary = "Get visits page",
+        description = "Retrieves visits ordered from the most recent, one page at a time. " +
+                      "Pass the returned nextCursor to fetch the following page"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved page of visits"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size", content = @Content)
+    })
+    @ListETag({"visits", "pets", "pet_types", "veterinarians", "clinics"})
+    @GetMapping(params = "size")
+    public ResponseEntity<CursorPageDTO<VisitDTO>> getVisitsPage(
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (capped by the server)", example = "50")
+            @RequestParam Integer size) {
+        return ResponseEntity.ok(visitService.findAll(cursor, size));
+    }
+    
     @Operation(
         summary = "Get visit by ID",
         description = "Retrieves detailed information about a specific medical visit including pet, veterinarian, and clinic"
@@ -49,12 +75,18 @@ public class VisitController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Visit found successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = VisitDTO.class))),
-        @ApiResponse(responseCode = "404", description = "Visit not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Visit not found", content = @Content),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content)
     })
     @GetMapping("/{id}")
     public ResponseEntity<VisitDTO> getVisitById(
             @Parameter(description = "ID of the visit to retrieve", required = true, example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
+        if (resourceVersionService.visit(id)
+                .filter(version -> request.checkNotModified(version.eTag(), version.lastModified())).isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return ResponseEntity.ok(visitService.findById(id));
     }
     
@@ -65,6 +97,7 @@ public class VisitController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved pet's visit history")
     })
+    @ListETag({"visits", "pets", "pet_types", "veterinarians", "clinics"})
     @GetMapping("/pet/{petId}")
     public ResponseEntity<List<VisitDTO>> getVisitsByPet(
             @Parameter(description = "ID of the pet", required = true, example = "1")
@@ -72,6 +105,26 @@ public class VisitController {
         return ResponseEntity.ok(visitService.findByPetId(petId));
     }
     
+    @Operation(
+        summary = "Get visits page by pet",
+        description = "Retrieves a page of a pet's visit history, most recent first"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved page of pet's visit history"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size", content = @Content)
+    })
+    @ListETag({"visits", "pets", "pet_types", "veterinarians", "clinics"})
+    @GetMapping(value = "/pet/{petId}", params = "size")
+    public ResponseEntity<CursorPageDTO<VisitDTO>> getVisitsPageByPet(
+            @Parameter(description = "ID of the pet", required = true, example = "1")
+            @PathVariable Long petId,
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (capped by the server)", example = "50")
+            @RequestParam Integer size) {
+        return ResponseEntity.ok(visitService.findByPetId(petId, cursor, size));
+    }
+    
     @Operation(
         summary = "Get visits by veterinarian",
         description = "Retrieves all visits attended by a specific veterinarian"
@@ -79,6 +132,7 @@ public class VisitController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved veterinarian's visits")
     })
+    @ListETag({"visits", "pets", "pet_types", "veterinarians", "clinics"})
     @GetMapping("/veterinarian/{veterinarianId}")
     public ResponseEntity<List<VisitDTO>> getVisitsByVeterinarian(
             @Parameter(description = "ID of the veterinarian", required = true, example = "1")
@@ -86,6 +140,26 @@ public class VisitController {
         return ResponseEntity.ok(visitService.findByVeterinarianId(veterinarianId));
     }
     
+    @Operation(
+        summary = "Get visits page by veterinarian",
+        description = "Retrieves a page of the visits attended by a veterinarian, most recent first"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved page of veterinarian's visits"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size", content = @Content)
+    })
+    @ListETag({"visits", "pets", "pet_types", "veterinarians", "clinics"})
+    @GetMapping(value = "/veterinarian/{veterinarianId}", params = "size")
+    public ResponseEntity<CursorPageDTO<VisitDTO>> getVisitsPageByVeterinarian(
+            @Parameter(description = "ID of the veterinarian", required = true, example = "1")
+            @PathVariable Long veterinarianId,
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (capped by the server)", example = "50")
+            @RequestParam Integer size) {
+        return ResponseEntity.ok(visitService.findByVeterinarianId(veterinarianId, cursor, size));
+    }
+    
     @Operation(
         summary = "Get visits by date range",
         description = "Retrieves all visits within a specific date and time range"
@@ -93,6 +167,7 @@ public class VisitController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved visits in date range")
     })
+    @ListETag({"visits", "pets", "pet_types", "veterinarians", "clinics"})
     @GetMapping("/date-range")
     public ResponseEntity<List<VisitDTO>> getVisitsByDateRange(
             @Parameter(description = "Start date and time (ISO-8601 format)", required = true, example = "2025-10-01T00:00:00")
@@ -102,6 +177,28 @@ public class VisitController {
         return ResponseEntity.ok(visitService.findByDateRange(startDate, endDate));
     }
     
+    @Operation(
+        summary = "Get visits page by date range",
+        description = "Retrieves a page of the visits within a date and time range, most recent first"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved page of visits in date range"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size", content = @Content)
+    })
+    @ListETag({"visits", "pets", "pet_types", "veterinarians", "clinics"})
+    @GetMapping(value = "/date-range", params = "size")
+    public ResponseEntity<CursorPageDTO<VisitDTO>> getVisitsPageByDateRange(
+            @Parameter(description = "Start date and time (ISO-8601 format)", required = true, example = "2025-10-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date and time (ISO-8601 format)", required = true, example = "2025-10-31T23:59:59")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Opaque cursor returned by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (capped by the server)", example = "50")
+            @RequestParam Integer size) {
+        return ResponseEntity.ok(visitService.findByDateRange(startDate, endDate, cursor, size));
+    }
+    
     @Operation(
         summary = "Create new visit",
         description = "Schedules a new medical visit or appointment"
@@ -124,6 +221,32 @@ public class VisitController {
         return new ResponseEntity<>(createdVisit, HttpStatus.CREATED);
     }
     
+    @Operation(
+        summary = "Create visits in batch",
+        description = "Creates several visits in one transaction, e.g. a multi-visit treatment plan. " +
+                "Each item is validated on its own and gets its own result; with allOrNothing=true " +
+                "nothing is created unless every item is valid"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "All visits created",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = VisitBatchResultDTO.class))),
+        @ApiResponse(responseCode = "200", description = "Some or all visits rejected, see the per-item results",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = VisitBatchResultDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Empty batch or too many visits", content = @Content)
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<VisitBatchResultDTO> createVisitsBatch(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Visits to be created",
+                required = true
+            )
+            @RequestBody List<CreateVisitDTO> createVisitDTOs,
+            @Parameter(description = "Create nothing if any visit is rejected")
+            @RequestParam(defaultValue = "false") boolean allOrNothing) {
+        VisitBatchResultDTO result = visitService.createBatch(createVisitDTOs, allOrNothing);
+        return new ResponseEntity<>(result, result.getRejected() == 0 ? HttpStatus.CREATED : HttpStatus.OK);
+    }
+    
     @Operation(
         summary = "Update visit",
         description = "Updates the information of an existing medical visit"
@@ -131,7 +254,10 @@ public class VisitController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Visit updated successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = VisitDTO.class))),
-        @ApiResponse(responseCode = "404", description = "Visit not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Visit not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Visit changed since the given version or by a concurrent update; body carries its current state",
+                    content = @Content),
+        @ApiResponse(responseCode = "412", description = "If-Match does not match the current ETag", content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<VisitDTO> updateVisit(
@@ -142,8 +268,10 @@ public class VisitController {
                 required = true,
                 content = @Content(schema = @Schema(implementation = UpdateVisitDTO.class))
             )
-            @Valid @RequestBody UpdateVisitDTO updateVisitDTO) {
-        return ResponseEntity.ok(visitService.update(id, updateVisitDTO));
+            @Valid @RequestBody UpdateVisitDTO updateVisitDTO,
+            @Parameter(description = "Optional ETag from a previous GET of the visit")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ResponseEntity.ok(visitService.update(id, updateVisitDTO, ifMatch));
     }
     
     @Operation(
@@ -153,15 +281,43 @@ public class VisitController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Visit status updated successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = VisitDTO.class))),
-        @ApiResponse(responseCode = "404", description = "Visit not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Visit not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Visit changed since the given version or by a concurrent update; body carries its current state",
+                    content = @Content),
+        @ApiResponse(responseCode = "412", description = "If-Match does not match the current ETag", content = @Content)
     })
     @PatchMapping("/{id}/status")
     public ResponseEntity<VisitDTO> updateVisitStatus(
             @Parameter(description = "ID of the visit", required = true, example = "1")
             @PathVariable Long id,
             @Parameter(description = "New status", required = true, example = "COMPLETED")
-            @RequestParam Visit.VisitStatus status) {
-        return ResponseEntity.ok(visitService.updateStatus(id, status));
+            @RequestParam Visit.VisitStatus status,
+            @Parameter(description = "Version the change is based on", example = "3")
+            @RequestParam(required = false) Long version,
+            @Parameter(description = "Optional ETag from a previous GET of the visit")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ResponseEntity.ok(visitService.updateStatus(id, status, version, ifMatch));
+    }
+    
+    @Operation(
+        summary = "Update visit status in bulk",
+        description = "Sets the status of many visits at once, selected by ids or by a filter (from/to range plus optional " +
+                "clinicId, veterinarianId and currentStatus). Runs as chunked set-based updates"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statuses updated",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkUpdateResultDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Neither ids nor a valid date range given", content = @Content)
+    })
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<BulkUpdateResultDTO> updateVisitsStatus(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "New status and the visits it applies to",
+                required = true,
+                content = @Content(schema = @Schema(implementation = BulkVisitStatusDTO.class))
+            )
+            @Valid @RequestBody BulkVisitStatusDTO bulkVisitStatusDTO) {
+        return ResponseEntity.ok(visitService.bulkUpdateStatus(bulkVisitStatusDTO));
     }
     
     @Operation(
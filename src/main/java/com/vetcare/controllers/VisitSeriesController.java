@@ -0,0 +1,111 @@
+package com.vetcare.controllers;
+
+import com.vetcare.dto.BulkUpdateResultDTO;
+import com.vetcare.dto.CreateVisitSeriesDTO;
+import com.vetcare.dto.UpdateVisitSeriesDTO;
+import com.vetcare.dto.VisitSeriesDTO;
+import com.vetcare.services.VisitSeriesService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/visits/series")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Visit series", description = "Recurring appointments booked, edited and cancelled as a whole")
+public class VisitSeriesController {
+
+    private final VisitSeriesService visitSeriesService;
+
+    @Operation(
+        summary = "Book a recurring series",
+        description = "Expands a repetition rule (daily, weekly or monthly, every N, for a number of visits or until a date) " +
+                "into visits with the same veterinarian. Any occurrence clashing with the veterinarian's schedule rejects " +
+                "the series, unless skipConflicts is set"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Series booked",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = VisitSeriesDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid rule or too many occurrences", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Pet, veterinarian or clinic not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Occurrences clash with the veterinarian's schedule", content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<VisitSeriesDTO> createSeries(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Series to be booked",
+                required = true,
+                content = @Content(schema = @Schema(implementation = CreateVisitSeriesDTO.class))
+            )
+            @Valid @RequestBody CreateVisitSeriesDTO createVisitSeriesDTO) {
+        return new ResponseEntity<>(visitSeriesService.create(createVisitSeriesDTO), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Get visit series", description = "Retrieves a series with all its visits in date order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Series found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = VisitSeriesDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Series not found", content = @Content)
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<VisitSeriesDTO> getSeriesById(
+            @Parameter(description = "ID of the series", required = true, example = "1")
+            @PathVariable Long id) {
+        return ResponseEntity.ok(visitSeriesService.findById(id));
+    }
+
+    @Operation(
+        summary = "Edit this and following visits",
+        description = "Moves, resizes or renames every scheduled visit of the series from fromVisitId on in one update. " +
+                "Visits already started, completed or cancelled are left alone"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Series updated",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = VisitSeriesDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Nothing to change, or the visit is not part of the series", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Series or visit not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "The new times clash with the veterinarian's schedule", content = @Content)
+    })
+    @PutMapping("/{id}/following")
+    public ResponseEntity<VisitSeriesDTO> updateFollowing(
+            @Parameter(description = "ID of the series", required = true, example = "1")
+            @PathVariable Long id,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Change to apply",
+                required = true,
+                content = @Content(schema = @Schema(implementation = UpdateVisitSeriesDTO.class))
+            )
+            @Valid @RequestBody UpdateVisitSeriesDTO updateVisitSeriesDTO) {
+        return ResponseEntity.ok(visitSeriesService.updateFollowing(id, updateVisitSeriesDTO));
+    }
+
+    @Operation(
+        summary = "Cancel this and following visits",
+        description = "Cancels every scheduled visit of the series from fromVisitId on, or the whole series without it, " +
+                "and frees their time"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Visits cancelled",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkUpdateResultDTO.class))),
+        @ApiResponse(responseCode = "400", description = "The visit is not part of the series", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Series or visit not found", content = @Content)
+    })
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<BulkUpdateResultDTO> cancelFollowing(
+            @Parameter(description = "ID of the series", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "First visit to cancel", example = "12")
+            @RequestParam(required = false) Long fromVisitId) {
+        return ResponseEntity.ok(visitSeriesService.cancelFollowing(id, fromVisitId));
+    }
+}
@@ -0,0 +1,118 @@
+package com.vetcare.controllers;
+
+import com.vetcare.dto.CreateWaitlistEntryDTO;
+import com.vetcare.dto.VisitDTO;
+import com.vetcare.dto.WaitlistEntryDTO;
+import com.vetcare.services.WaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Waitlist", description = "Waitlist backfilled from cancelled visits")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @Operation(
+        summary = "Join the waitlist",
+        description = "Adds a pet to the waitlist for a veterinarian, a clinic or a specialty within a time window. " +
+                "When a matching visit is cancelled, the freed time is offered to the entry for a limited time"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Entry created",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = WaitlistEntryDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Pet, veterinarian, clinic or specialty not found", content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<WaitlistEntryDTO> createEntry(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Waitlist entry to be created",
+                required = true,
+                content = @Content(schema = @Schema(implementation = CreateWaitlistEntryDTO.class))
+            )
+            @Valid @RequestBody CreateWaitlistEntryDTO createWaitlistEntryDTO) {
+        return new ResponseEntity<>(waitlistService.create(createWaitlistEntryDTO), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Get waitlist entry", description = "Retrieves an entry, including the slot offered to it if any")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Entry found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = WaitlistEntryDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Entry not found", content = @Content)
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<WaitlistEntryDTO> getEntryById(
+            @Parameter(description = "ID of the waitlist entry", required = true, example = "1")
+            @PathVariable Long id) {
+        return ResponseEntity.ok(waitlistService.findById(id));
+    }
+
+    @Operation(summary = "Get waitlist entries by pet", description = "Retrieves a pet's waitlist entries, newest first")
+    @ApiResponse(responseCode = "200", description = "Entries retrieved successfully")
+    @GetMapping("/pet/{petId}")
+    public ResponseEntity<List<WaitlistEntryDTO>> getEntriesByPet(
+            @Parameter(description = "ID of the pet", required = true, example = "1")
+            @PathVariable Long petId) {
+        return ResponseEntity.ok(waitlistService.findByPetId(petId));
+    }
+
+    @Operation(summary = "Accept offer", description = "Books the offered slot as a visit")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Visit created",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = VisitDTO.class))),
+        @ApiResponse(responseCode = "400", description = "No pending offer, or it expired", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Entry not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "The slot was taken meanwhile", content = @Content)
+    })
+    @PostMapping("/{id}/accept")
+    public ResponseEntity<VisitDTO> acceptOffer(
+            @Parameter(description = "ID of the waitlist entry", required = true, example = "1")
+            @PathVariable Long id) {
+        return new ResponseEntity<>(waitlistService.accept(id), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Decline offer", description = "Keeps the entry waiting and offers the slot to the next entry")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Offer declined",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = WaitlistEntryDTO.class))),
+        @ApiResponse(responseCode = "400", description = "No pending offer", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Entry not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "The offer changed meanwhile", content = @Content)
+    })
+    @PostMapping("/{id}/decline")
+    public ResponseEntity<WaitlistEntryDTO> declineOffer(
+            @Parameter(description = "ID of the waitlist entry", required = true, example = "1")
+            @PathVariable Long id) {
+        return ResponseEntity.ok(waitlistService.decline(id));
+    }
+
+    @Operation(summary = "Leave the waitlist", description = "Removes the entry; a pending offer passes to the next entry")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Entry removed", content = @Content),
+        @ApiResponse(responseCode = "400", description = "Entry already booked, expired or cancelled", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Entry not found", content = @Content)
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteEntry(
+            @Parameter(description = "ID of the waitlist entry", required = true, example = "1")
+            @PathVariable Long id) {
+        waitlistService.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.vetcare.dto;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A free time at which a veterinarian can take a visit")
+public class AvailableSlotDTO {
+
+    @Schema(description = "Veterinarian ID", example = "3")
+    private Long veterinarianId;
+    
+    @Schema(description = "Veterinarian full name", example = "Laura Gómez")
+    private String veterinarianName;
+    
+    @Schema(description = "Clinic ID", example = "1")
+    private Long clinicId;
+    
+    @Schema(description = "Clinic name", example = "VetCare Centro")
+    private String clinicName;
+    
+    @Schema(description = "Clinic city", example = "Bogotá")
+    private String city;
+    
+    @Schema(description = "Start of the free time", example = "2025-10-30T10:00:00")
+    private LocalDateTime start;
+    
+    @Schema(description = "End of the requested visit", example = "2025-10-30T10:30:00")
+    private LocalDateTime end;
+}
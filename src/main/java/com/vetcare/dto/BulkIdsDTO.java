@@ -0,0 +1,22 @@
+package com.vetcare.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request body listing the IDs a bulk operation applies to")
+public class BulkIdsDTO {
+
+    @Schema(description = "IDs to update", example = "[1, 2, 3]")
+    @NotEmpty(message = "At least one ID is required")
+    private List<Long> ids;
+}
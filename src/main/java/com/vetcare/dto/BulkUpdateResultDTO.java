@@ -0,0 +1,21 @@
+package com.vetcare.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk update")
+public class BulkUpdateResultDTO {
+
+    @Schema(description = "Rows changed; rows already in the target state are not counted", example = "342")
+    private long affected;
+    
+    @Schema(description = "Transactions the update was split into", example = "1")
+    private int chunks;
+}
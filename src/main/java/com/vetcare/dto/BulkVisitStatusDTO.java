@@ -0,0 +1,43 @@
+package com.vetcare.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.vetcare.models.Visit;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request body for changing the status of many visits, selected by IDs or by a filter with a date range")
+public class BulkVisitStatusDTO {
+
+    @Schema(description = "New status", example = "COMPLETED")
+    @NotNull(message = "Status is required")
+    private Visit.VisitStatus status;
+    
+    @Schema(description = "Visit IDs; when present the filter fields are ignored", example = "[10, 11, 12]")
+    private List<Long> ids;
+    
+    @Schema(description = "Filter: visits from this date and time (inclusive)", example = "2025-10-30T00:00:00")
+    private LocalDateTime from;
+    
+    @Schema(description = "Filter: visits before this date and time (exclusive)", example = "2025-10-31T00:00:00")
+    private LocalDateTime to;
+    
+    @Schema(description = "Filter: clinic ID", example = "1")
+    private Long clinicId;
+    
+    @Schema(description = "Filter: veterinarian ID", example = "1")
+    private Long veterinarianId;
+    
+    @Schema(description = "Filter: only visits currently in this status", example = "SCHEDULED")
+    private Visit.VisitStatus currentStatus;
+}
@@ -0,0 +1,30 @@
+package com.vetcare.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Hit/miss counters of one second-level cache region")
+public class CacheRegionStatisticsDTO {
+
+    @Schema(description = "Region name as configured in ehcache.xml", example = "pet-types")
+    private String region;
+
+    @Schema(description = "Lookups answered from the cache", example = "1250")
+    private long hits;
+
+    @Schema(description = "Lookups that had to go to the database", example = "4")
+    private long misses;
+
+    @Schema(description = "Entries stored after a miss or a write", example = "4")
+    private long puts;
+
+    @Schema(description = "Entries currently held in memory, -1 if the provider does not report it", example = "4")
+    private long entriesInMemory;
+}
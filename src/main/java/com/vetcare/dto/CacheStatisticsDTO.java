@@ -0,0 +1,41 @@
+package com.vetcare.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Second-level and query cache statistics since startup or the last reset")
+public class CacheStatisticsDTO {
+
+    @Schema(description = "False when hibernate.generate_statistics is off; all counters are then zero", example = "true")
+    private boolean statisticsEnabled;
+
+    @Schema(description = "Seconds since the counters were started or reset", example = "3600")
+    private long sinceSeconds;
+
+    @Schema(description = "Entity and collection lookups answered from the second-level cache", example = "5400")
+    private long secondLevelCacheHits;
+
+    @Schema(description = "Entity and collection lookups that went to the database", example = "12")
+    private long secondLevelCacheMisses;
+
+    @Schema(description = "Cached query executions answered without running the query", example = "800")
+    private long queryCacheHits;
+
+    @Schema(description = "Cached query executions that ran against the database", example = "3")
+    private long queryCacheMisses;
+
+    @Schema(description = "JDBC statements prepared, i.e. database round trips", example = "2100")
+    private long statementsPrepared;
+
+    @Schema(description = "Per-region breakdown")
+    private List<CacheRegionStatisticsDTO> regions;
+}
@@ -0,0 +1,30 @@
+package com.vetcare.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Catalog changes since a version the client already has")
+public class CatalogDeltaDTO<T> {
+
+    @Schema(description = "Current catalog version; send it as sinceVersion on the next request", example = "1718000000123")
+    private long version;
+
+    @Schema(description = "True when items is the whole catalog (first request, or sinceVersion unknown to this server); "
+        + "the client must then replace its copy instead of merging")
+    private boolean full;
+
+    @Schema(description = "Items added or changed since sinceVersion, including deactivated ones")
+    private List<T> items;
+
+    @Schema(description = "IDs deleted since sinceVersion")
+    private List<Long> removedIds;
+}
@@ -40,7 +40,7 @@ public class ClinicDTO {
     @Schema(description = "Email", example = "centro@vetcare.com")
     private String email;
     
-    @Schema(description = "Working hours", example = "Mon-Fri: 8am-6pm")
+    @Schema(description = "Working hours by day range, used by the slot search", example = "Mon-Fri: 8:00-18:00, Sat: 9:00-14:00")
     private String workingHours;
     
     @Schema(description = "Active status")
@@ -0,0 +1,41 @@
+package com.vetcare.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request body for holding a time slot while the booking is confirmed")
+public class CreateSlotHoldDTO {
+
+    @Schema(description = "Veterinarian ID", example = "1")
+    @NotNull(message = "Veterinarian ID is required")
+    private Long veterinarianId;
+
+    @Schema(description = "Clinic ID", example = "1")
+    @NotNull(message = "Clinic ID is required")
+    private Long clinicId;
+
+    @Schema(description = "Start of the held time", example = "2025-10-30T10:00:00")
+    @NotNull(message = "Visit date is required")
+    @Future(message = "Visit date must be in the future")
+    private LocalDateTime visitDate;
+
+    @Schema(description = "Duration in minutes; the configured default when omitted", example = "30")
+    @Positive(message = "Duration must be positive")
+    private Integer durationMinutes;
+
+    @Schema(description = "Seconds the hold lasts; the configured default when omitted", example = "90")
+    @Positive(message = "TTL must be positive")
+    private Integer ttlSeconds;
+}
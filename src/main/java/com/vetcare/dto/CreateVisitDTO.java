@@ -4,6 +4,7 @@ import com.vetcare.models.Visit;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,6 +24,14 @@ public class CreateVisitDTO {
     @NotNull(message = "Visit date is required")
     private LocalDateTime visitDate;
     
+    @Schema(description = "Duration in minutes; the configured default when omitted", example = "30")
+    @Positive(message = "Duration must be positive")
+    private Integer durationMinutes;
+    
+    @Schema(description = "Hold from POST /api/visits/holds covering this time, consumed when the visit is created",
+            example = "6f1c2b9e-4a7d-4c55-9d1e-0b8f3a2c7e41")
+    private String holdId;
+    
     @Schema(description = "Reason for visit", example = "Annual checkup")
     @NotBlank(message = "Reason is required")
     private String reason;
@@ -0,0 +1,67 @@
+package com.vetcare.dto;
+
+import com.vetcare.models.VisitSeries;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request body for booking a recurring series of visits; set exactly one of occurrences or until")
+public class CreateVisitSeriesDTO {
+
+    @Schema(description = "Date and time of the first visit", example = "2025-10-30T10:00:00")
+    @NotNull(message = "Visit date is required")
+    @Future(message = "Visit date must be in the future")
+    private LocalDateTime visitDate;
+
+    @Schema(description = "Duration of each visit in minutes; the configured default when omitted", example = "45")
+    @Positive(message = "Duration must be positive")
+    private Integer durationMinutes;
+
+    @Schema(description = "Reason for the visits", example = "Physiotherapy")
+    @NotBlank(message = "Reason is required")
+    private String reason;
+
+    @Schema(description = "How often the visit repeats", example = "WEEKLY")
+    @NotNull(message = "Frequency is required")
+    private VisitSeries.Frequency frequency;
+
+    @Schema(description = "Repeat every this many days, weeks or months", example = "1", defaultValue = "1")
+    @Positive(message = "Interval must be positive")
+    private Integer interval;
+
+    @Schema(description = "Number of visits in the series", example = "10")
+    @Positive(message = "Occurrences must be positive")
+    private Integer occurrences;
+
+    @Schema(description = "Last date a visit may fall on (inclusive)", example = "2026-01-15")
+    private LocalDate until;
+
+    @Schema(description = "Create the occurrences that fit and report the others instead of rejecting the series",
+            example = "false", defaultValue = "false")
+    private boolean skipConflicts;
+
+    @Schema(description = "Pet ID", example = "1")
+    @NotNull(message = "Pet ID is required")
+    private Long petId;
+
+    @Schema(description = "Veterinarian ID", example = "1")
+    @NotNull(message = "Veterinarian ID is required")
+    private Long veterinarianId;
+
+    @Schema(description = "Clinic ID", example = "1")
+    @NotNull(message = "Clinic ID is required")
+    private Long clinicId;
+}
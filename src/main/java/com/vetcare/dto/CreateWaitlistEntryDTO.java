@@ -0,0 +1,51 @@
+package com.vetcare.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request body for joining the waitlist; set exactly one of veterinarianId, clinicId or specialtyId")
+public class CreateWaitlistEntryDTO {
+
+    @Schema(description = "Pet ID", example = "1")
+    @NotNull(message = "Pet ID is required")
+    private Long petId;
+
+    @Schema(description = "Wait for this veterinarian", example = "1")
+    private Long veterinarianId;
+
+    @Schema(description = "Wait for any veterinarian at this clinic", example = "1")
+    private Long clinicId;
+
+    @Schema(description = "Wait for any veterinarian with this specialty", example = "2")
+    private Long specialtyId;
+
+    @Schema(description = "Earliest acceptable start", example = "2025-10-30T08:00:00")
+    @NotNull(message = "Window start is required")
+    private LocalDateTime windowStart;
+
+    @Schema(description = "Latest acceptable end", example = "2025-11-02T18:00:00")
+    @NotNull(message = "Window end is required")
+    @Future(message = "Window end must be in the future")
+    private LocalDateTime windowEnd;
+
+    @Schema(description = "Duration in minutes; the configured default when omitted", example = "30")
+    @Positive(message = "Duration must be positive")
+    private Integer durationMinutes;
+
+    @Schema(description = "Reason for the visit", example = "Skin rash")
+    @NotBlank(message = "Reason is required")
+    private String reason;
+}
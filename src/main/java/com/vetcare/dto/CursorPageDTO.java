@@ -0,0 +1,29 @@
+package com.vetcare.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cursor-paginated result page")
+public class CursorPageDTO<T> {
+
+    @Schema(description = "Items of the current page")
+    private List<T> content;
+    
+    @Schema(description = "Requested page size", example = "50")
+    private int size;
+    
+    @Schema(description = "Whether more items are available after this page")
+    private boolean hasNext;
+    
+    @Schema(description = "Opaque cursor to request the next page, null on the last page")
+    private String nextCursor;
+}
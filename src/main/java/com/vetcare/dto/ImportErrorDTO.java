@@ -0,0 +1,21 @@
+package com.vetcare.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Row rejected during a CSV import")
+public class ImportErrorDTO {
+
+    @Schema(description = "Line of the CSV file where the row starts", example = "42")
+    private long line;
+    
+    @Schema(description = "Reason the row was rejected", example = "Email already exists: john.doe@email.com")
+    private String message;
+}
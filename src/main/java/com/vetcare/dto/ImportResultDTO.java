@@ -0,0 +1,35 @@
+package com.vetcare.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a CSV import")
+public class ImportResultDTO {
+
+    @Schema(description = "Data rows read from the file", example = "500000")
+    private long totalRows;
+    
+    @Schema(description = "Rows inserted", example = "499870")
+    private long imported;
+    
+    @Schema(description = "Rows rejected", example = "130")
+    private long failed;
+    
+    @Schema(description = "Rejected rows, in file order, up to the configured limit")
+    private List<ImportErrorDTO> errors;
+    
+    @Schema(description = "Whether more rows failed than are listed in errors")
+    private boolean errorsTruncated;
+    
+    @Schema(description = "Import duration in milliseconds", example = "95000")
+    private long durationMillis;
+}
@@ -0,0 +1,52 @@
+package com.vetcare.dto;
+
+import com.vetcare.models.Visit;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One visit in a pet's medical record")
+public class MedicalRecordVisitDTO {
+
+    @Schema(description = "Visit ID", example = "1")
+    private Long id;
+    
+    @Schema(description = "Visit date and time", example = "2025-10-30T10:00:00")
+    private LocalDateTime visitDate;
+    
+    @Schema(description = "Duration in minutes", example = "30")
+    private Integer durationMinutes;
+    
+    @Schema(description = "Visit status", example = "COMPLETED")
+    private Visit.VisitStatus status;
+    
+    @Schema(description = "Reason for visit", example = "Annual checkup")
+    private String reason;
+    
+    @Schema(description = "Diagnosis")
+    private String diagnosis;
+    
+    @Schema(description = "Treatment prescribed")
+    private String treatment;
+    
+    @Schema(description = "Additional notes")
+    private String notes;
+    
+    @Schema(description = "Visit cost", example = "50.00")
+    private BigDecimal cost;
+    
+    @Schema(description = "Veterinarian who attended the visit")
+    private VeterinarianSummaryDTO veterinarian;
+    
+    @Schema(description = "Clinic where the visit took place")
+    private ClinicSummaryDTO clinic;
+}
@@ -0,0 +1,29 @@
+package com.vetcare.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Everything the owner app shows on its home screen, in one response")
+public class OwnerDashboardDTO {
+
+    @Schema(description = "Owner information")
+    private OwnerDTO owner;
+
+    @Schema(description = "Owner's pets, by name")
+    private List<PetSummaryDTO> pets;
+
+    @Schema(description = "Scheduled visits of the owner's pets from now on, earliest first")
+    private List<VisitDTO> upcomingVisits;
+
+    @Schema(description = "Latest past visits of the owner's pets, latest first")
+    private List<VisitDTO> recentVisits;
+}
@@ -0,0 +1,38 @@
+package com.vetcare.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Paginated result page")
+public class PageDTO<T> {
+
+    @Schema(description = "Items of the current page")
+    private List<T> content;
+    
+    @Schema(description = "Zero-based page number", example = "0")
+    private int page;
+    
+    @Schema(description = "Page size", example = "20")
+    private int size;
+    
+    @Schema(description = "Whether more items are available after this page")
+    private boolean hasNext;
+    
+    @Schema(description = "Total number of items, omitted when the count was skipped")
+    private Long totalElements;
+    
+    @Schema(description = "Total number of pages, omitted when the count was skipped")
+    private Integer totalPages;
+}
@@ -62,4 +62,7 @@ public class PetDTO {
     
     @Schema(description = "Creation timestamp")
     private LocalDateTime createdAt;
+    
+    @Schema(description = "Version, incremented on every change", example = "3")
+    private Long version;
 }
@@ -0,0 +1,62 @@
+package com.vetcare.dto;
+
+import com.vetcare.models.Pet;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A pet's full medical record: the pet and every visit, with veterinarians and clinics resolved")
+public class PetMedicalRecordDTO {
+
+    @Schema(description = "Pet ID", example = "1")
+    private Long petId;
+    
+    @Schema(description = "Pet's name", example = "Max")
+    private String name;
+    
+    @Schema(description = "Pet type name", example = "Dog")
+    private String petTypeName;
+    
+    @Schema(description = "Breed", example = "Golden Retriever")
+    private String breed;
+    
+    @Schema(description = "Gender", example = "MALE")
+    private Pet.Gender gender;
+    
+    @Schema(description = "Birth date", example = "2020-05-15")
+    private LocalDate birthDate;
+    
+    @Schema(description = "Color", example = "Golden")
+    private String color;
+    
+    @Schema(description = "Weight in kg", example = "30.5")
+    private Double weight;
+    
+    @Schema(description = "Medical notes", example = "Allergic to chicken")
+    private String medicalNotes;
+    
+    @Schema(description = "Active status", example = "true")
+    private Boolean active;
+    
+    @Schema(description = "Owner ID", example = "1")
+    private Long ownerId;
+    
+    @Schema(description = "Number of visits in the record", example = "12")
+    private Integer visitCount;
+    
+    @Schema(description = "Visits, latest first")
+    private List<MedicalRecordVisitDTO> visits;
+    
+    @Schema(description = "When the record was generated from the pet and its visits")
+    private LocalDateTime generatedAt;
+}
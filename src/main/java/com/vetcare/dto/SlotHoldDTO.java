@@ -0,0 +1,35 @@
+package com.vetcare.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A time slot held for a booking; pass holdId when creating the visit")
+public class SlotHoldDTO {
+
+    @Schema(description = "Hold ID", example = "6f1c2b9e-4a7d-4c55-9d1e-0b8f3a2c7e41")
+    private String holdId;
+
+    @Schema(description = "Veterinarian ID", example = "1")
+    private Long veterinarianId;
+
+    @Schema(description = "Clinic ID", example = "1")
+    private Long clinicId;
+
+    @Schema(description = "Start of the held time", example = "2025-10-30T10:00:00")
+    private LocalDateTime visitDate;
+
+    @Schema(description = "Duration in minutes", example = "30")
+    private Integer durationMinutes;
+
+    @Schema(description = "When the hold lapses if no visit is created", example = "2025-10-28T15:31:30")
+    private LocalDateTime expiresAt;
+}
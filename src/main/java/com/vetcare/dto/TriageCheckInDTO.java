@@ -0,0 +1,25 @@
+package com.vetcare.dto;
+
+import com.vetcare.models.Visit;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request body for checking a visit in to the waiting room")
+public class TriageCheckInDTO {
+
+    @Schema(description = "Scheduled visit of this clinic", example = "12")
+    @NotNull(message = "Visit ID is required")
+    private Long visitId;
+
+    @Schema(description = "Urgency assessed at the front desk", example = "STANDARD")
+    @NotNull(message = "Urgency is required")
+    private Visit.TriageUrgency urgency;
+}
@@ -0,0 +1,39 @@
+package com.vetcare.dto;
+
+import com.vetcare.models.Visit;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Visit waiting in a clinic's triage queue")
+public class TriageEntryDTO {
+
+    @Schema(description = "Place in the queue, 1 being next; only set in snapshots", example = "1")
+    private Integer position;
+
+    @Schema(description = "Visit ID", example = "12")
+    private Long visitId;
+
+    @Schema(description = "Pet ID", example = "1")
+    private Long petId;
+
+    @Schema(description = "Veterinarian ID", example = "1")
+    private Long veterinarianId;
+
+    @Schema(description = "Urgency assigned at check-in", example = "URGENT")
+    private Visit.TriageUrgency urgency;
+
+    @Schema(description = "Appointment date and time", example = "2025-10-30T10:00:00")
+    private LocalDateTime visitDate;
+
+    @Schema(description = "Arrival in the waiting room", example = "2025-10-30T09:52:00")
+    private LocalDateTime checkedInAt;
+}
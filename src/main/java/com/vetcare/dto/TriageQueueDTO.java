@@ -0,0 +1,26 @@
+package com.vetcare.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Snapshot of a clinic's triage queue, most urgent first")
+public class TriageQueueDTO {
+
+    @Schema(description = "Clinic ID", example = "1")
+    private Long clinicId;
+
+    @Schema(description = "Queue version; apply stream diffs with a higher version on top of this snapshot", example = "42")
+    private long version;
+
+    @Schema(description = "Waiting visits in the order they will be seen")
+    private List<TriageEntryDTO> entries;
+}
@@ -0,0 +1,40 @@
+package com.vetcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Change to a clinic's triage queue, as sent on the clinic's stream with event name 'queue'")
+public class TriageQueueEventDTO {
+
+    @Schema(description = "Event ID, also sent as the SSE id", example = "1761820800000018")
+    private Long eventId;
+
+    @Schema(description = "Clinic ID", example = "1")
+    private Long clinicId;
+
+    @Schema(description = "Queue version after the change", example = "43")
+    private long version;
+
+    @Schema(description = "UPSERTED adds or moves the entry, REMOVED takes the visit out of the queue", example = "UPSERTED")
+    private Change change;
+
+    @Schema(description = "Visit ID", example = "12")
+    private Long visitId;
+
+    @Schema(description = "Entry after the change; absent when removed")
+    private TriageEntryDTO entry;
+
+    public enum Change {
+        UPSERTED,
+        REMOVED
+    }
+}
@@ -43,5 +43,9 @@ public class UpdatePetDTO {
     
     @Schema(description = "Photo URL")
     private String photoUrl;
+    
+    @Schema(description = "Version the change is based on; if given and the pet has changed since, the update is rejected with 409",
+            example = "3")
+    private Long version;
 
 }
@@ -4,6 +4,7 @@ import com.vetcare.models.Visit;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,6 +24,10 @@ public class UpdateVisitDTO {
     @NotNull(message = "Visit date is required")
     private LocalDateTime visitDate;
     
+    @Schema(description = "Duration in minutes; unchanged when omitted", example = "30")
+    @Positive(message = "Duration must be positive")
+    private Integer durationMinutes;
+    
     @Schema(description = "Reason for visit", example = "Annual checkup")
     @NotBlank(message = "Reason is required")
     private String reason;
@@ -41,5 +46,9 @@ public class UpdateVisitDTO {
     
     @Schema(description = "Visit status", example = "COMPLETED")
     private Visit.VisitStatus status;
+    
+    @Schema(description = "Version the change is based on; if given and the visit has changed since, the update is rejected with 409",
+            example = "3")
+    private Long version;
 
 }
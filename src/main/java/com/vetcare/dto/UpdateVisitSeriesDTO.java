@@ -0,0 +1,29 @@
+package com.vetcare.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Change applied to every scheduled visit of a series from a given one on; omitted fields are kept")
+public class UpdateVisitSeriesDTO {
+
+    @Schema(description = "First visit to change; the whole series when omitted", example = "12")
+    private Long fromVisitId;
+
+    @Schema(description = "Move each visit by this many minutes, negative for earlier", example = "60")
+    private Integer shiftMinutes;
+
+    @Schema(description = "New duration in minutes", example = "45")
+    @Positive(message = "Duration must be positive")
+    private Integer durationMinutes;
+
+    @Schema(description = "New reason", example = "Hydrotherapy")
+    private String reason;
+}
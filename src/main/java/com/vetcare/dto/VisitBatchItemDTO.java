@@ -0,0 +1,30 @@
+package com.vetcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of one visit of a batch request")
+public class VisitBatchItemDTO {
+
+    @Schema(description = "Zero-based position of the visit in the request", example = "0")
+    private int index;
+    
+    @Schema(description = "Whether the visit was created")
+    private boolean created;
+    
+    @Schema(description = "Created visit")
+    private VisitDTO visit;
+    
+    @Schema(description = "Reason the visit was not created", example = "Pet not found with id: 99")
+    private String error;
+}
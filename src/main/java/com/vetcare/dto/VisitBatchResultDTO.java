@@ -0,0 +1,26 @@
+package com.vetcare.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a batch visit creation")
+public class VisitBatchResultDTO {
+
+    @Schema(description = "Visits created", example = "11")
+    private int created;
+    
+    @Schema(description = "Visits rejected", example = "1")
+    private int rejected;
+    
+    @Schema(description = "One result per requested visit, in request order")
+    private List<VisitBatchItemDTO> results;
+}
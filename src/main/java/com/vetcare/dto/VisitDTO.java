@@ -26,6 +26,9 @@ public class VisitDTO {
     @NotNull(message = "Visit date is required")
     private LocalDateTime visitDate;
     
+    @Schema(description = "Duration in minutes", example = "30")
+    private Integer durationMinutes;
+    
     @Schema(description = "Reason for visit", example = "Annual checkup")
     @NotBlank(message = "Reason is required")
     private String reason;
@@ -45,6 +48,12 @@ public class VisitDTO {
     @Schema(description = "Visit status", example = "COMPLETED")
     private Visit.VisitStatus status;
     
+    @Schema(description = "Arrival in the waiting room, if checked in", example = "2025-10-30T09:52:00")
+    private LocalDateTime checkedInAt;
+    
+    @Schema(description = "Urgency assigned at check-in", example = "STANDARD")
+    private Visit.TriageUrgency triageUrgency;
+    
     @Schema(description = "Pet information")
     private PetSummaryDTO pet;
     
@@ -54,7 +63,13 @@ public class VisitDTO {
     @Schema(description = "Clinic information")
     private ClinicSummaryDTO clinic;
     
+    @Schema(description = "Recurring series this visit belongs to, if any", example = "4")
+    private Long seriesId;
+    
     @Schema(description = "Creation timestamp")
     private LocalDateTime createdAt;
+    
+    @Schema(description = "Version, incremented on every change", example = "3")
+    private Long version;
 
 }
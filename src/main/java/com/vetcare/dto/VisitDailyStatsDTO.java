@@ -0,0 +1,31 @@
+package com.vetcare.dto;
+
+import com.vetcare.models.Visit;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Visits of one day in one status, with the sum of their cost")
+public class VisitDailyStatsDTO {
+
+    @Schema(description = "Day of the visits", example = "2025-10-30")
+    private LocalDate day;
+    
+    @Schema(description = "Status of the visits", example = "COMPLETED")
+    private Visit.VisitStatus status;
+    
+    @Schema(description = "Number of visits", example = "14")
+    private long visits;
+    
+    @Schema(description = "Sum of the visits' cost; visits without a cost count as zero", example = "720.00")
+    private BigDecimal revenue;
+}
@@ -0,0 +1,64 @@
+package com.vetcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.vetcare.models.Visit;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Change to a visit of a clinic, as sent on the clinic's visit stream")
+public class VisitEventDTO {
+
+    @Schema(description = "Event ID, also sent as the SSE id for Last-Event-ID resume", example = "1761820800000017")
+    private Long eventId;
+
+    @Schema(description = "Kind of change; RESYNC means events were lost and the client must reload its visits", example = "STATUS_CHANGED")
+    private Type type;
+
+    @Schema(description = "Clinic ID", example = "1")
+    private Long clinicId;
+
+    @Schema(description = "Visit ID", example = "12")
+    private Long visitId;
+
+    @Schema(description = "Veterinarian ID", example = "1")
+    private Long veterinarianId;
+
+    @Schema(description = "Pet ID", example = "1")
+    private Long petId;
+
+    @Schema(description = "Visit date and time", example = "2025-10-30T10:00:00")
+    private LocalDateTime visitDate;
+
+    @Schema(description = "Duration in minutes", example = "30")
+    private Integer durationMinutes;
+
+    @Schema(description = "Visit status after the change", example = "IN_PROGRESS")
+    private Visit.VisitStatus status;
+
+    @Schema(description = "Visit version after the change", example = "3")
+    private Long version;
+
+    @Schema(description = "Arrival in the waiting room, if checked in", example = "2025-10-30T09:52:00")
+    private LocalDateTime checkedInAt;
+
+    @Schema(description = "Urgency assigned at check-in", example = "STANDARD")
+    private Visit.TriageUrgency triageUrgency;
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED,
+        RESYNC
+    }
+}
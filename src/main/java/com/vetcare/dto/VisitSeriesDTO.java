@@ -0,0 +1,56 @@
+package com.vetcare.dto;
+
+import com.vetcare.models.VisitSeries;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Recurring series of visits and its occurrences")
+public class VisitSeriesDTO {
+
+    @Schema(description = "Unique identifier", example = "4")
+    private Long id;
+
+    @Schema(description = "How often the visit repeats", example = "WEEKLY")
+    private VisitSeries.Frequency frequency;
+
+    @Schema(description = "Repeat every this many days, weeks or months", example = "1")
+    private Integer interval;
+
+    @Schema(description = "Number of visits requested", example = "10")
+    private Integer occurrences;
+
+    @Schema(description = "Last date a visit may fall on", example = "2026-01-15")
+    private LocalDate until;
+
+    @Schema(description = "Pet ID", example = "1")
+    private Long petId;
+
+    @Schema(description = "Veterinarian ID", example = "1")
+    private Long veterinarianId;
+
+    @Schema(description = "Clinic ID", example = "1")
+    private Long clinicId;
+
+    @Schema(description = "Visits of the series in date order, cancelled ones included")
+    private List<VisitDTO> visits;
+
+    @Schema(description = "Occurrences not booked because the veterinarian was busy; only on creation with skipConflicts")
+    private List<LocalDateTime> skippedDates;
+
+    @Schema(description = "Creation timestamp")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Version, incremented on every change", example = "0")
+    private Long version;
+}
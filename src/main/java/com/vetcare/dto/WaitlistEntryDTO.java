@@ -0,0 +1,72 @@
+package com.vetcare.dto;
+
+import com.vetcare.models.WaitlistEntry;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Waitlist entry and, while status is OFFERED, the slot offered to it")
+public class WaitlistEntryDTO {
+
+    @Schema(description = "Unique identifier", example = "1")
+    private Long id;
+
+    @Schema(description = "Pet ID", example = "1")
+    private Long petId;
+
+    @Schema(description = "Pet's name", example = "Max")
+    private String petName;
+
+    @Schema(description = "Awaited veterinarian", example = "1")
+    private Long veterinarianId;
+
+    @Schema(description = "Awaited clinic", example = "1")
+    private Long clinicId;
+
+    @Schema(description = "Awaited specialty", example = "2")
+    private Long specialtyId;
+
+    @Schema(description = "Earliest acceptable start", example = "2025-10-30T08:00:00")
+    private LocalDateTime windowStart;
+
+    @Schema(description = "Latest acceptable end", example = "2025-11-02T18:00:00")
+    private LocalDateTime windowEnd;
+
+    @Schema(description = "Duration in minutes", example = "30")
+    private Integer durationMinutes;
+
+    @Schema(description = "Reason for the visit", example = "Skin rash")
+    private String reason;
+
+    @Schema(description = "Waitlist status", example = "OFFERED")
+    private WaitlistEntry.WaitlistStatus status;
+
+    @Schema(description = "Start of the offered slot", example = "2025-10-31T10:00:00")
+    private LocalDateTime offeredVisitDate;
+
+    @Schema(description = "Veterinarian of the offered slot", example = "3")
+    private Long offeredVeterinarianId;
+
+    @Schema(description = "Clinic of the offered slot", example = "1")
+    private Long offeredClinicId;
+
+    @Schema(description = "When the offer lapses", example = "2025-10-30T09:15:00")
+    private LocalDateTime offerExpiresAt;
+
+    @Schema(description = "Visit created when the offer was accepted", example = "42")
+    private Long visitId;
+
+    @Schema(description = "Creation timestamp")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Version, incremented on every change", example = "2")
+    private Long version;
+}
@@ -0,0 +1,9 @@
+package com.vetcare.exceptions;
+
+public class BadRequestException extends RuntimeException{
+
+    public BadRequestException (String message){
+        super(message);
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.vetcare.exceptions;
+
+import lombok.Getter;
+
+// Another request changed the resource first; carries its current state so the client can merge and retry
+@Getter
+public class ConcurrentUpdateException extends RuntimeException{
+
+    private final transient Object currentState;
+
+    public ConcurrentUpdateException (String message, Object currentState){
+        super(message);
+        this.currentState = currentState;
+    }
+
+}
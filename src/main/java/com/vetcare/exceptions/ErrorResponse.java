@@ -23,5 +23,6 @@ public class ErrorResponse {
     private String message;
     private String path;
     private Map<String, String> validationErrors;
+    private Object currentState;
 
 }
@@ -0,0 +1,10 @@
+package com.vetcare.exceptions;
+
+// The request could not be answered in time; the client may retry
+public class ServiceUnavailableException extends RuntimeException{
+
+    public ServiceUnavailableException (String message){
+        super(message);
+    }
+
+}
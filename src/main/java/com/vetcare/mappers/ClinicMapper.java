@@ -21,6 +21,8 @@ public interface ClinicMapper {
     
     // CreateDTO to Entity
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "active", constant = "true")
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "veterinarians", ignore = true)
@@ -29,6 +31,8 @@ public interface ClinicMapper {
     
     // Update Entity from DTO
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "active", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "veterinarians", ignore = true)
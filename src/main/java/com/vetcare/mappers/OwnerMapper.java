@@ -19,12 +19,20 @@ public interface OwnerMapper {
     @Mapping(target = "pets", source = "pets")
     OwnerWithPetsDTO toOwnerWithPetsDTO(Owner owner);
     
+    // Entity plus already projected pet summaries (does not touch the lazy pets collection)
+    @Mapping(target = "id", source = "owner.id")
+    @Mapping(target = "createdAt", source = "owner.createdAt")
+    @Mapping(target = "pets", source = "pets")
+    OwnerWithPetsDTO toOwnerWithPetsDTO(Owner owner, List<PetSummaryDTO> pets);
+    
     // Entity to OwnerSummaryDTO
     @Mapping(target = "fullName", expression = "java(owner.getFirstName() + \" \" + owner.getLastName())")
     OwnerSummaryDTO toSummaryDTO(Owner owner);
     
     // CreateDTO to Entity
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "active", constant = "true")
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "pets", ignore = true)
@@ -32,6 +40,8 @@ public interface OwnerMapper {
     
     // Update Entity from UpdateDTO
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "active", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "pets", ignore = true)
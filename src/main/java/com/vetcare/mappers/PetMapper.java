@@ -1,12 +1,14 @@
 package com.vetcare.mappers;
 
 import com.vetcare.dto.*;
+import com.vetcare.models.Owner;
 import com.vetcare.models.Pet;
 import org.mapstruct.*;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring", uses = {OwnerMapper.class, PetTypeMapper.class, ClinicMapper.class})
+// Does not use OwnerMapper: OwnerMapper already uses this mapper and Spring rejects the cycle
+@Mapper(componentModel = "spring", uses = {PetTypeMapper.class, ClinicMapper.class})
 public interface PetMapper {
 
     // Entity to DTO
@@ -23,8 +25,14 @@ public interface PetMapper {
     
     List<PetSummaryDTO> toSummaryDTOList(List<Pet> pets);
     
+    // Owner to OwnerSummaryDTO (same mapping as OwnerMapper.toSummaryDTO)
+    @Mapping(target = "fullName", expression = "java(owner.getFirstName() + \" \" + owner.getLastName())")
+    OwnerSummaryDTO toOwnerSummaryDTO(Owner owner);
+    
     // CreateDTO to Entity (without relationships)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "active", constant = "true")
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "owner", ignore = true)
@@ -35,6 +43,8 @@ public interface PetMapper {
     
     // Update Entity from UpdateDTO
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "active", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "owner", ignore = true)
@@ -0,0 +1,28 @@
+package com.vetcare.mappers;
+
+import com.vetcare.dto.MedicalRecordVisitDTO;
+import com.vetcare.dto.PetMedicalRecordDTO;
+import com.vetcare.models.Pet;
+import com.vetcare.models.Visit;
+import org.mapstruct.*;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring", uses = {VeterinarianMapper.class, ClinicMapper.class})
+public interface PetMedicalRecordMapper {
+
+    // Pet and its visits to the stored document (generatedAt is set when it is written)
+    @Mapping(target = "petId", source = "pet.id")
+    @Mapping(target = "petTypeName", source = "pet.petType.name")
+    @Mapping(target = "ownerId", source = "pet.owner.id")
+    @Mapping(target = "visitCount", expression = "java(visits.size())")
+    @Mapping(target = "visits", source = "visits")
+    @Mapping(target = "generatedAt", ignore = true)
+    PetMedicalRecordDTO toDTO(Pet pet, List<Visit> visits);
+    
+    @Mapping(target = "veterinarian", source = "veterinarian")
+    @Mapping(target = "clinic", source = "clinic")
+    MedicalRecordVisitDTO toVisitDTO(Visit visit);
+    
+    List<MedicalRecordVisitDTO> toVisitDTOList(List<Visit> visits);
+}
@@ -16,12 +16,16 @@ public interface PetTypeMapper {
     
     // DTO to Entity
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "active", constant = "true")
     @Mapping(target = "pets", ignore = true)
     PetType toEntity(PetTypeDTO petTypeDTO);
     
     // Update Entity from DTO
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "active", ignore = true)
     @Mapping(target = "pets", ignore = true)
     void updateEntityFromDTO(PetTypeDTO petTypeDTO, @MappingTarget PetType petType);
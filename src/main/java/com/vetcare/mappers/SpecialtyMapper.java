@@ -19,12 +19,16 @@ public interface SpecialtyMapper {
     
     // DTO to Entity
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "active", constant = "true")
     @Mapping(target = "veterinarians", ignore = true)
     Specialty toEntity(SpecialtyDTO specialtyDTO);
     
     // Update Entity from DTO
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "active", ignore = true)
     @Mapping(target = "veterinarians", ignore = true)
     void updateEntityFromDTO(SpecialtyDTO specialtyDTO, @MappingTarget Specialty specialty);
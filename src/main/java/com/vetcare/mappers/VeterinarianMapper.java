@@ -22,6 +22,8 @@ public interface VeterinarianMapper {
     
     // CreateDTO to Entity
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "active", constant = "true")
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "clinic", ignore = true)
@@ -31,6 +33,8 @@ public interface VeterinarianMapper {
     
     // Update Entity from UpdateDTO
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "active", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "licenseNumber", ignore = true)
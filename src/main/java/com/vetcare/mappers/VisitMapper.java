@@ -14,24 +14,37 @@ public interface VisitMapper {
     @Mapping(target = "pet", source = "pet")
     @Mapping(target = "veterinarian", source = "veterinarian")
     @Mapping(target = "clinic", source = "clinic")
+    @Mapping(target = "seriesId", source = "series.id")
     VisitDTO toDTO(Visit visit);
     
     List<VisitDTO> toDTOList(List<Visit> visits);
     
     // CreateDTO to Entity (without relationships)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "pet", ignore = true)
     @Mapping(target = "veterinarian", ignore = true)
     @Mapping(target = "clinic", ignore = true)
+    @Mapping(target = "series", ignore = true)
+    @Mapping(target = "checkedInAt", ignore = true)
+    @Mapping(target = "triageUrgency", ignore = true)
+    @Mapping(target = "status", defaultValue = "SCHEDULED")
     Visit toEntity(CreateVisitDTO createVisitDTO);
     
     // Update Entity from UpdateDTO
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "pet", ignore = true)
     @Mapping(target = "veterinarian", ignore = true)
     @Mapping(target = "clinic", ignore = true)
+    @Mapping(target = "series", ignore = true)
+    @Mapping(target = "checkedInAt", ignore = true)
+    @Mapping(target = "triageUrgency", ignore = true)
+    @Mapping(target = "durationMinutes", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateEntityFromDTO(UpdateVisitDTO updateVisitDTO, @MappingTarget Visit visit);
 
 }
@@ -0,0 +1,18 @@
+package com.vetcare.mappers;
+
+import com.vetcare.dto.VisitSeriesDTO;
+import com.vetcare.models.VisitSeries;
+import org.mapstruct.*;
+
+@Mapper(componentModel = "spring")
+public interface VisitSeriesMapper {
+
+    // Visits are loaded and mapped separately, skipped dates only exist on creation
+    @Mapping(target = "interval", source = "repeatInterval")
+    @Mapping(target = "petId", source = "pet.id")
+    @Mapping(target = "veterinarianId", source = "veterinarian.id")
+    @Mapping(target = "clinicId", source = "clinic.id")
+    @Mapping(target = "visits", ignore = true)
+    @Mapping(target = "skippedDates", ignore = true)
+    VisitSeriesDTO toDTO(VisitSeries series);
+}
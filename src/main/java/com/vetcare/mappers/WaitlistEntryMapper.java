@@ -0,0 +1,22 @@
+package com.vetcare.mappers;
+
+import com.vetcare.dto.WaitlistEntryDTO;
+import com.vetcare.models.WaitlistEntry;
+import org.mapstruct.*;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface WaitlistEntryMapper {
+
+    @Mapping(target = "petId", source = "pet.id")
+    @Mapping(target = "petName", source = "pet.name")
+    @Mapping(target = "veterinarianId", source = "veterinarian.id")
+    @Mapping(target = "clinicId", source = "clinic.id")
+    @Mapping(target = "specialtyId", source = "specialty.id")
+    @Mapping(target = "offeredVeterinarianId", source = "offeredVeterinarian.id")
+    @Mapping(target = "offeredClinicId", source = "offeredClinic.id")
+    WaitlistEntryDTO toDTO(WaitlistEntry entry);
+
+    List<WaitlistEntryDTO> toDTOList(List<WaitlistEntry> entries);
+}
@@ -4,9 +4,12 @@ import jakarta.persistence.*;
 //import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
-//import java.time.LocalDateTime;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,10 +20,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pet-types")
 public class PetType {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "pet_types_id")
+    @TableGenerator(name = "pet_types_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "pet_types", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Pet type name is required")
@@ -34,6 +40,14 @@ public class PetType {
     @Builder.Default
     private Boolean active = true;
 
+    @Column(nullable = false)
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Relación 1:N con Pet
     @OneToMany(mappedBy = "petType", cascade = CascadeType.ALL)
     @JsonIgnoreProperties({"petType", "owner", "visits"})
@@ -3,8 +3,12 @@ package com.vetcare.models;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -14,10 +18,13 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "specialties")
 public class Specialty {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "specialties_id")
+    @TableGenerator(name = "specialties_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "specialties", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Specialty name is required")
@@ -31,9 +38,20 @@ public class Specialty {
     @Builder.Default
     private Boolean active = true;
 
+    @Column(nullable = false)
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Relación N:M con Veterinarian (lado inverso)
     @ManyToMany(mappedBy = "specialties")
     @JsonIgnoreProperties({"specialties", "clinic", "visits"})
+    // Fuera de equals/hashCode/toString: recorrerla cargaría las colecciones de ambos lados en cascada
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @Builder.Default
     private Set<Veterinarian> veterinarians = new HashSet<>();
 
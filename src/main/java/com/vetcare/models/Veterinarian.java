@@ -4,6 +4,10 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import java.time.LocalDateTime;
@@ -20,7 +24,9 @@ import java.util.Set;
 @Builder
 public class Veterinarian {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "veterinarians_id")
+    @TableGenerator(name = "veterinarians_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "veterinarians", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "First name is required")
@@ -53,6 +59,14 @@ public class Veterinarian {
     @Column(nullable = false, updatable = false)
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(nullable = false)
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
     
     // Relación N:1 con Clinic
     @ManyToOne(fetch = FetchType.LAZY)
@@ -67,8 +81,12 @@ public class Veterinarian {
         joinColumns = @JoinColumn(name = "veterinarian_id"),
         inverseJoinColumns = @JoinColumn(name = "specialty_id")
     )
-    
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "veterinarian-specialties")
+    // Una página de veterinarios (hasta 100) carga sus especialidades en una sola consulta
+    @BatchSize(size = 100)
     @JsonIgnoreProperties({"veterinarians"})
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @Builder.Default
     private Set<Specialty> specialties = new HashSet<>();
     
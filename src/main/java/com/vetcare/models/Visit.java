@@ -4,13 +4,25 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+// Indexes are defined only in the Flyway migrations (V2, V7, V8); ddl-auto=validate does not check them
 @Table(name = "visits")
+// Everything VisitMapper reads: pet (with its type), veterinarian and clinic
+@NamedEntityGraph(
+    name = "Visit.summary",
+    attributeNodes = {
+        @NamedAttributeNode(value = "pet", subgraph = "pet"),
+        @NamedAttributeNode("veterinarian"),
+        @NamedAttributeNode("clinic")
+    },
+    subgraphs = @NamedSubgraph(name = "pet", attributeNodes = @NamedAttributeNode("petType"))
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,13 +30,19 @@ import java.time.LocalDateTime;
 public class Visit {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "visits_id")
+    @TableGenerator(name = "visits_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "visits", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "Visit date is required")
     @Column(nullable = false)
     private LocalDateTime visitDate;
     
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer durationMinutes = 30;
+    
     @NotBlank(message = "Reason is required")
     @Column(nullable = false, length = 500)
     private String reason;
@@ -46,9 +64,24 @@ public class Visit {
     @Builder.Default
     private VisitStatus status = VisitStatus.SCHEDULED;
     
+    // Llegada a la sala de espera y urgencia asignada en el triaje; nulas hasta el check-in
+    private LocalDateTime checkedInAt;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private TriageUrgency triageUrgency;
+    
     @Column(nullable = false, updatable = false)
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(nullable = false)
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
     
     // Relación N:1 con Pet
     @ManyToOne(fetch = FetchType.LAZY)
@@ -68,10 +101,24 @@ public class Visit {
     @JsonIgnoreProperties({"visits", "veterinarians", "hibernateLazyInitializer"})
     private Clinic clinic;
     
+    // Serie recurrente a la que pertenece; nula en visitas sueltas
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    @JsonIgnoreProperties({"pet", "veterinarian", "clinic", "hibernateLazyInitializer"})
+    private VisitSeries series;
+    
     public enum VisitStatus {
         SCHEDULED,    // Programada
         IN_PROGRESS,  // En proceso
         COMPLETED,    // Completada
         CANCELLED     // Cancelada
     }
+    
+    // De más a menos urgente: la cola de triaje atiende primero las primeras
+    public enum TriageUrgency {
+        EMERGENCY,    // Emergencia
+        URGENT,       // Urgente
+        STANDARD,     // Normal
+        LOW           // Puede esperar
+    }
 }
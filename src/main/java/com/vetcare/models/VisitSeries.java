@@ -0,0 +1,77 @@
+package com.vetcare.models;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "visit_series")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VisitSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "visit_series_id")
+    @TableGenerator(name = "visit_series_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "visit_series", allocationSize = 50)
+    private Long id;
+
+    // Regla de repetición: cada "repeatInterval" días, semanas o meses
+    @NotNull(message = "Frequency is required")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Frequency frequency;
+
+    @Column(name = "repeat_interval", nullable = false)
+    @Builder.Default
+    private Integer repeatInterval = 1;
+
+    // Fin de la serie: número de ocurrencias o fecha límite (inclusive)
+    private Integer occurrences;
+
+    @Column(name = "until_date")
+    private LocalDate until;
+
+    // Relación N:1 con Pet
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pet_id", nullable = false)
+    @JsonIgnoreProperties({"visits", "owner", "hibernateLazyInitializer"})
+    private Pet pet;
+
+    // Relación N:1 con Veterinarian
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "veterinarian_id", nullable = false)
+    @JsonIgnoreProperties({"visits", "specialties", "clinic", "hibernateLazyInitializer"})
+    private Veterinarian veterinarian;
+
+    // Relación N:1 con Clinic
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "clinic_id", nullable = false)
+    @JsonIgnoreProperties({"visits", "veterinarians", "hibernateLazyInitializer"})
+    private Clinic clinic;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(nullable = false)
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public enum Frequency {
+        DAILY,    // Diaria
+        WEEKLY,   // Semanal
+        MONTHLY   // Mensual
+    }
+}
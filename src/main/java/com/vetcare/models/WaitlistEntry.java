@@ -0,0 +1,112 @@
+package com.vetcare.models;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+    @Index(name = "idx_waitlist_status_window", columnList = "status, window_end"),
+    @Index(name = "idx_waitlist_status_offer", columnList = "status, offer_expires_at"),
+    @Index(name = "idx_waitlist_pet", columnList = "pet_id, created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "waitlist_entries_id")
+    @TableGenerator(name = "waitlist_entries_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "waitlist_entries", allocationSize = 50)
+    private Long id;
+
+    // Relación N:1 con Pet
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pet_id", nullable = false)
+    @JsonIgnoreProperties({"visits", "owner", "hibernateLazyInitializer"})
+    private Pet pet;
+
+    // Lo que se espera: exactamente uno de veterinario, clínica o especialidad
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "veterinarian_id")
+    @JsonIgnoreProperties({"visits", "specialties", "clinic", "hibernateLazyInitializer"})
+    private Veterinarian veterinarian;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "clinic_id")
+    @JsonIgnoreProperties({"visits", "veterinarians", "hibernateLazyInitializer"})
+    private Clinic clinic;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "specialty_id")
+    @JsonIgnoreProperties({"veterinarians", "hibernateLazyInitializer"})
+    private Specialty specialty;
+
+    @NotNull(message = "Window start is required")
+    @Column(nullable = false)
+    private LocalDateTime windowStart;
+
+    @NotNull(message = "Window end is required")
+    @Column(nullable = false)
+    private LocalDateTime windowEnd;
+
+    @Column(nullable = false)
+    private Integer durationMinutes;
+
+    @NotBlank(message = "Reason is required")
+    @Column(nullable = false, length = 500)
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    // Oferta en curso (status = OFFERED)
+    private LocalDateTime offeredVisitDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "offered_veterinarian_id")
+    @JsonIgnoreProperties({"visits", "specialties", "clinic", "hibernateLazyInitializer"})
+    private Veterinarian offeredVeterinarian;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "offered_clinic_id")
+    @JsonIgnoreProperties({"visits", "veterinarians", "hibernateLazyInitializer"})
+    private Clinic offeredClinic;
+
+    private LocalDateTime offerExpiresAt;
+
+    @Column(length = 36)
+    private String holdId;
+
+    // Visita creada al aceptar la oferta
+    private Long visitId;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(nullable = false)
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public enum WaitlistStatus {
+        WAITING,    // En espera
+        OFFERED,    // Franja ofrecida, pendiente de respuesta
+        BOOKED,     // Oferta aceptada
+        EXPIRED,    // Ventana vencida
+        CANCELLED   // Retirada por el cliente
+    }
+}
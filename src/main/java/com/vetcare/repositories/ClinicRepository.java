@@ -3,17 +3,32 @@ package com.vetcare.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import com.vetcare.dto.ClinicSummaryDTO;
 import com.vetcare.models.Clinic;
 
 @Repository
 public interface ClinicRepository extends JpaRepository<Clinic, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Clinic> findByActiveTrue();
 
+    Page<Clinic> findByActiveTrue(Pageable pageable);
+
+    Slice<Clinic> findSliceByActiveTrue(Pageable pageable);
+
+    Slice<Clinic> findSliceBy(Pageable pageable);
+
     List<Clinic> findByCity(String city);
 
     List<Clinic> findByNameContainingIgnoreCase(String name);
@@ -25,4 +40,9 @@ public interface ClinicRepository extends JpaRepository<Clinic, Long> {
     @Query("SELECT c FROM Clinic c LEFT JOIN FETCH c.veterinarians WHERE c.id = :id")
     Optional<Clinic> findByIdWithVeterinarians(Long id);
 
+    @Query("SELECT new com.vetcare.dto.ClinicSummaryDTO(c.id, c.name, c.city, c.phone) " +
+        "FROM Clinic c " +
+        "WHERE c.active = true " +
+        "ORDER BY c.city, c.name")
+    List<ClinicSummaryDTO> findActiveSummaries();
 }
@@ -1,18 +1,32 @@
 package com.vetcare.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.vetcare.dto.OwnerSummaryDTO;
 import com.vetcare.models.Owner;
 
 @Repository
 public interface OwnerRepository extends JpaRepository<Owner, Long>{
 
     List<Owner> findByActiveTrue();
+
+    Page<Owner> findByActiveTrue(Pageable pageable);
+
+    Slice<Owner> findSliceByActiveTrue(Pageable pageable);
+
+    Slice<Owner> findSliceBy(Pageable pageable);
     
     Optional<Owner> findByEmail(String email);
     
@@ -25,4 +39,40 @@ public interface OwnerRepository extends JpaRepository<Owner, Long>{
     @Query("SELECT o FROM Owner o LEFT JOIN FETCH o.pets WHERE o.id = :id")
     Optional<Owner> findByIdWithPets(Long id);
 
+    @Query("SELECT new com.vetcare.dto.OwnerSummaryDTO(o.id, CONCAT(o.firstName, ' ', o.lastName), o.email, o.phone) " +
+        "FROM Owner o " +
+        "WHERE o.active = true " +
+        "AND (LOWER(o.firstName) LIKE LOWER(CONCAT('%', :name, '%')) " +
+        "OR LOWER(o.lastName) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+        "ORDER BY o.lastName, o.firstName")
+    List<OwnerSummaryDTO> searchSummariesByName(@Param("name") String name);
+
+    // Unique keys of every owner in id order, read in chunks to seed the import duplicate filters
+    @Query("SELECT o.id AS id, o.email AS email, o.documentNumber AS documentNumber " +
+        "FROM Owner o " +
+        "WHERE o.id > :afterId " +
+        "ORDER BY o.id")
+    List<OwnerKeys> findKeysAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Expects lower-cased emails and matches regardless of the stored case
+    @Query("SELECT o.id AS id, o.email AS email, o.documentNumber AS documentNumber " +
+        "FROM Owner o " +
+        "WHERE LOWER(o.email) IN :emails")
+    List<OwnerKeys> findKeysByEmailIn(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT o.documentNumber FROM Owner o WHERE o.documentNumber IN :documentNumbers")
+    List<String> findExistingDocumentNumbers(@Param("documentNumbers") Collection<String> documentNumbers);
+
+    @Query("SELECT o.id FROM Owner o WHERE o.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    interface OwnerKeys {
+        Long getId();
+        String getEmail();
+        String getDocumentNumber();
+    }
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Owner o SET o.active = false, o.version = o.version + 1, o.updatedAt = LOCAL DATETIME WHERE o.id IN :ids AND o.active = true")
+    int deactivateByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,20 +1,46 @@
 package com.vetcare.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.vetcare.dto.PetSummaryDTO;
 import com.vetcare.models.Pet;
 
 @Repository
 public interface PetRepository extends JpaRepository<Pet, Long>{
 
     List<Pet> findByActiveTrue();
+
+    // Pages load the to-one associations needed by PetDTO in the same query
+    @EntityGraph(attributePaths = {"owner", "petType", "primaryClinic"})
+    Page<Pet> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"owner", "petType", "primaryClinic"})
+    Page<Pet> findByActiveTrue(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"owner", "petType", "primaryClinic"})
+    Slice<Pet> findSliceByActiveTrue(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"owner", "petType", "primaryClinic"})
+    Slice<Pet> findSliceBy(Pageable pageable);
     
     List<Pet> findByOwnerId(Long ownerId);
+
+    // With the type VisitDTO shows, for resolving many pets in one IN query
+    @EntityGraph(attributePaths = {"petType"})
+    List<Pet> findWithTypeByIdIn(Collection<Long> ids);
     
     List<Pet> findByPetTypeId(Long petTypeId);
     
@@ -30,4 +56,19 @@ public interface PetRepository extends JpaRepository<Pet, Long>{
         "JOIN FETCH p.petType " +
         "WHERE p.id = :id")
     Optional<Pet> findByIdWithDetails(Long id);
+
+    // Summary projections: only the columns PetSummaryDTO needs, no managed entities
+    @Query("SELECT new com.vetcare.dto.PetSummaryDTO(p.id, p.name, p.birthDate, p.breed, p.gender, t.name) " +
+        "FROM Pet p JOIN p.petType t " +
+        "WHERE p.owner.id = :ownerId " +
+        "ORDER BY p.name")
+    List<PetSummaryDTO> findSummariesByOwnerId(@Param("ownerId") Long ownerId);
+
+    // Next chunk of pet IDs in id order, for rebuilding the medical records
+    @Query("SELECT p.id FROM Pet p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Pet p SET p.active = false, p.version = p.version + 1, p.updatedAt = LOCAL DATETIME WHERE p.id IN :ids AND p.active = true")
+    int deactivateByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -3,14 +3,19 @@ package com.vetcare.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import com.vetcare.models.PetType;
 
 @Repository
 public interface PetTypeRepository extends JpaRepository<PetType, Long>{
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<PetType> findByActiveTrue();
 
     Optional<PetType> findByName(String name);
@@ -1,12 +1,20 @@
 package com.vetcare.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.vetcare.dto.VeterinarianSummaryDTO;
 import com.vetcare.models.Veterinarian;
 
 @Repository
@@ -14,6 +22,18 @@ public interface VeterinarianRepository extends JpaRepository<Veterinarian, Long
 
     List<Veterinarian> findByActiveTrue();
 
+    @EntityGraph(attributePaths = {"clinic"})
+    Page<Veterinarian> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"clinic"})
+    Page<Veterinarian> findByActiveTrue(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"clinic"})
+    Slice<Veterinarian> findSliceByActiveTrue(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"clinic"})
+    Slice<Veterinarian> findSliceBy(Pageable pageable);
+
     Optional<Veterinarian> findByEmail(String email);
 
     Optional<Veterinarian> findByLicenseNumber(String licenseNumber);
@@ -34,5 +54,14 @@ public interface VeterinarianRepository extends JpaRepository<Veterinarian, Long
         String firstName, String lastName
     );
 
+    @Query("SELECT new com.vetcare.dto.VeterinarianSummaryDTO(v.id, CONCAT(v.firstName, ' ', v.lastName), v.licenseNumber, v.email) " +
+        "FROM Veterinarian v " +
+        "WHERE v.active = true " +
+        "AND (:clinicId IS NULL OR v.clinic.id = :clinicId) " +
+        "ORDER BY v.lastName, v.firstName")
+    List<VeterinarianSummaryDTO> findActiveSummaries(@Param("clinicId") Long clinicId);
 
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Veterinarian v SET v.active = false, v.version = v.version + 1, v.updatedAt = LOCAL DATETIME WHERE v.id IN :ids AND v.active = true")
+    int deactivateByIdIn(@Param("ids") Collection<Long> ids);
 }
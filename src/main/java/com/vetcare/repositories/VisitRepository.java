@@ -1,10 +1,14 @@
 package com.vetcare.repositories;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,32 +18,59 @@ import com.vetcare.models.Visit;
 @Repository
 public interface VisitRepository extends JpaRepository<Visit, Long> {
 
+        // List queries load what VisitMapper needs in the same statement (no N+1)
+        @Override
+        @EntityGraph("Visit.summary")
+        List<Visit> findAll();
+
+        @EntityGraph("Visit.summary")
         List<Visit> findByPetId(Long petId);
 
+        @EntityGraph("Visit.summary")
         List<Visit> findByVeterinarianId(Long veterinarianId);
 
+        @EntityGraph("Visit.summary")
         List<Visit> findByClinicId(Long clinicId);
 
+        @EntityGraph("Visit.summary")
         List<Visit> findByStatus(Visit.VisitStatus status);
 
+        @EntityGraph("Visit.summary")
         @Query("SELECT v FROM Visit v WHERE v.visitDate BETWEEN :startDate AND :endDate")
         List<Visit> findByVisitDateBetween(
                         @Param("startDate") LocalDateTime startDate,
                         @Param("endDate") LocalDateTime endDate);
 
+        // Visit history of an owner's pets before the given time, latest first
+        @EntityGraph("Visit.summary")
+        @Query("SELECT v FROM Visit v " +
+                        "WHERE v.pet.owner.id = :ownerId " +
+                        "AND v.visitDate < :before " +
+                        "ORDER BY v.visitDate DESC, v.id DESC")
+        List<Visit> findByOwnerId(@Param("ownerId") Long ownerId, @Param("before") LocalDateTime before, Limit limit);
+
+        @EntityGraph("Visit.summary")
         @Query("SELECT v FROM Visit v " +
                         "WHERE v.pet.owner.id = :ownerId " +
-                        "ORDER BY v.visitDate DESC")
-        List<Visit> findByOwnerId(@Param("ownerId") Long ownerId);
+                        "AND v.visitDate >= :from " +
+                        "AND v.status = :status " +
+                        "ORDER BY v.visitDate, v.id")
+        List<Visit> findUpcomingByOwnerId(
+                        @Param("ownerId") Long ownerId,
+                        @Param("from") LocalDateTime from,
+                        @Param("status") Visit.VisitStatus status,
+                        Limit limit);
 
         @Query("SELECT v FROM Visit v " +
                         "JOIN FETCH v.pet p " +
                         "JOIN FETCH p.owner " +
+                        "JOIN FETCH p.petType " +
                         "JOIN FETCH v.veterinarian " +
                         "JOIN FETCH v.clinic " +
                         "WHERE v.id = :id")
         Optional<Visit> findByIdWithDetails(@Param("id") Long id);
 
+        @EntityGraph("Visit.summary")
         @Query("SELECT v FROM Visit v " +
                         "WHERE v.veterinarian.id = :vetId " +
                         "AND v.visitDate BETWEEN :startDate AND :endDate " +
@@ -49,4 +80,122 @@ public interface VisitRepository extends JpaRepository<Visit, Long> {
                         @Param("startDate") LocalDateTime startDate,
                         @Param("endDate") LocalDateTime endDate,
                         @Param("status") Visit.VisitStatus status);
+
+        // Keyset pages ordered by (visitDate DESC, id DESC): no OFFSET, no COUNT
+        @EntityGraph("Visit.summary")
+        @Query("SELECT v FROM Visit v " +
+                        "WHERE v.visitDate < :visitDate " +
+                        "OR (v.visitDate = :visitDate AND v.id < :id) " +
+                        "ORDER BY v.visitDate DESC, v.id DESC")
+        List<Visit> findPageAfter(
+                        @Param("visitDate") LocalDateTime visitDate,
+                        @Param("id") Long id,
+                        Limit limit);
+
+        @EntityGraph("Visit.summary")
+        @Query("SELECT v FROM Visit v " +
+                        "WHERE v.pet.id = :petId " +
+                        "AND (v.visitDate < :visitDate OR (v.visitDate = :visitDate AND v.id < :id)) " +
+                        "ORDER BY v.visitDate DESC, v.id DESC")
+        List<Visit> findPageByPetIdAfter(
+                        @Param("petId") Long petId,
+                        @Param("visitDate") LocalDateTime visitDate,
+                        @Param("id") Long id,
+                        Limit limit);
+
+        @EntityGraph("Visit.summary")
+        @Query("SELECT v FROM Visit v " +
+                        "WHERE v.veterinarian.id = :veterinarianId " +
+                        "AND (v.visitDate < :visitDate OR (v.visitDate = :visitDate AND v.id < :id)) " +
+                        "ORDER BY v.visitDate DESC, v.id DESC")
+        List<Visit> findPageByVeterinarianIdAfter(
+                        @Param("veterinarianId") Long veterinarianId,
+                        @Param("visitDate") LocalDateTime visitDate,
+                        @Param("id") Long id,
+                        Limit limit);
+
+        @EntityGraph("Visit.summary")
+        @Query("SELECT v FROM Visit v " +
+                        "WHERE v.visitDate BETWEEN :startDate AND :endDate " +
+                        "AND (v.visitDate < :visitDate OR (v.visitDate = :visitDate AND v.id < :id)) " +
+                        "ORDER BY v.visitDate DESC, v.id DESC")
+        List<Visit> findPageByVisitDateBetweenAfter(
+                        @Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate,
+                        @Param("visitDate") LocalDateTime visitDate,
+                        @Param("id") Long id,
+                        Limit limit);
+
+        // Whole history of the given pets for their medical records, latest first within each pet
+        @EntityGraph(attributePaths = {"veterinarian", "clinic"})
+        @Query("SELECT v FROM Visit v " +
+                        "WHERE v.pet.id IN :petIds " +
+                        "ORDER BY v.pet.id, v.visitDate DESC, v.id DESC")
+        List<Visit> findHistoryByPetIdIn(@Param("petIds") Collection<Long> petIds);
+
+        @Query("SELECT v.veterinarian.id FROM Visit v WHERE v.id = :id")
+        Optional<Long> findVeterinarianIdById(@Param("id") Long id);
+
+        // Cancelled visits are left alone: reopening one must go through the slot check
+        @Modifying(clearAutomatically = true, flushAutomatically = true)
+        @Query("UPDATE Visit v SET v.status = :status, v.version = v.version + 1, v.updatedAt = LOCAL DATETIME " +
+                        "WHERE v.id IN :ids AND v.status <> :status " +
+                        "AND v.status <> com.vetcare.models.Visit.VisitStatus.CANCELLED")
+        int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") Visit.VisitStatus status);
+
+        // Next chunk of visits matching a bulk status filter, in id order
+        @Query("SELECT v.id FROM Visit v " +
+                        "WHERE v.id > :afterId " +
+                        "AND v.visitDate >= :from AND v.visitDate < :to " +
+                        "AND (:clinicId IS NULL OR v.clinic.id = :clinicId) " +
+                        "AND (:veterinarianId IS NULL OR v.veterinarian.id = :veterinarianId) " +
+                        "AND (:currentStatus IS NULL OR v.status = :currentStatus) " +
+                        "AND v.status <> :status " +
+                        "AND v.status <> com.vetcare.models.Visit.VisitStatus.CANCELLED " +
+                        "ORDER BY v.id")
+        List<Long> findIdsForStatusUpdate(
+                        @Param("afterId") Long afterId,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to,
+                        @Param("clinicId") Long clinicId,
+                        @Param("veterinarianId") Long veterinarianId,
+                        @Param("currentStatus") Visit.VisitStatus currentStatus,
+                        @Param("status") Visit.VisitStatus status,
+                        Limit limit);
+
+        // Visits waiting in a triage queue, to rebuild the queues after a restart
+        List<Visit> findByStatusAndCheckedInAtAfter(Visit.VisitStatus status, LocalDateTime since);
+
+        @EntityGraph("Visit.summary")
+        List<Visit> findBySeriesIdOrderByVisitDate(Long seriesId);
+
+        List<Visit> findBySeriesIdAndStatusOrderByVisitDate(Long seriesId, Visit.VisitStatus status);
+
+        List<Visit> findBySeriesIdAndVisitDateGreaterThanEqualAndStatusOrderByVisitDate(
+                        Long seriesId, LocalDateTime from, Visit.VisitStatus status);
+
+        // "This and following" edit of a series: one statement moves, resizes or renames every occurrence.
+        @Modifying(clearAutomatically = true, flushAutomatically = true)
+        @Query("UPDATE Visit v SET v.visitDate = timestampadd(minute, :shiftMinutes, v.visitDate), " +
+                        "v.durationMinutes = coalesce(:durationMinutes, v.durationMinutes), " +
+                        "v.reason = coalesce(:reason, v.reason), " +
+                        "v.version = v.version + 1, v.updatedAt = LOCAL DATETIME " +
+                        "WHERE v.id IN :ids AND v.status = com.vetcare.models.Visit.VisitStatus.SCHEDULED")
+        int updateSeriesOccurrences(
+                        @Param("ids") Collection<Long> ids,
+                        @Param("shiftMinutes") int shiftMinutes,
+                        @Param("durationMinutes") Integer durationMinutes,
+                        @Param("reason") String reason);
+
+        @Query("SELECT v FROM Visit v WHERE v.pet.id IN :petIds " +
+                        "OR v.veterinarian.id IN :veterinarianIds OR v.clinic.id IN :clinicIds")
+        List<Visit> findReferencing(@Param("petIds") Collection<Long> petIds,
+                        @Param("veterinarianIds") Collection<Long> veterinarianIds,
+                        @Param("clinicIds") Collection<Long> clinicIds);
+
+        // Before its series is deleted. No clear: the caller goes on to delete entities it has loaded
+        @Modifying(flushAutomatically = true)
+        @Query("UPDATE Visit v SET v.series = null, v.version = v.version + 1, v.updatedAt = LOCAL DATETIME " +
+                        "WHERE v.series.id IN :seriesIds")
+        int detachFromSeries(@Param("seriesIds") Collection<Long> seriesIds);
 }
@@ -0,0 +1,21 @@
+package com.vetcare.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.vetcare.models.VisitSeries;
+
+@Repository
+public interface VisitSeriesRepository extends JpaRepository<VisitSeries, Long> {
+
+    @Query("SELECT s FROM VisitSeries s WHERE s.pet.id IN :petIds " +
+        "OR s.veterinarian.id IN :veterinarianIds OR s.clinic.id IN :clinicIds")
+    List<VisitSeries> findReferencing(@Param("petIds") Collection<Long> petIds,
+                                      @Param("veterinarianIds") Collection<Long> veterinarianIds,
+                                      @Param("clinicIds") Collection<Long> clinicIds);
+}
@@ -0,0 +1,44 @@
+package com.vetcare.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.vetcare.models.WaitlistEntry;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // Everything WaitlistEntryMapper reads besides ids
+    @EntityGraph(attributePaths = {"pet"})
+    Optional<WaitlistEntry> findWithPetById(Long id);
+
+    @EntityGraph(attributePaths = {"pet"})
+    List<WaitlistEntry> findByPetIdOrderByCreatedAtDesc(Long petId);
+
+    List<WaitlistEntry> findByStatusAndOfferExpiresAtBefore(WaitlistEntry.WaitlistStatus status, LocalDateTime time,
+                                                            Limit limit);
+
+    // Entries of these pets, or waiting for or offered by these veterinarians or clinics
+    @Query("SELECT e FROM WaitlistEntry e WHERE e.pet.id IN :petIds " +
+        "OR e.veterinarian.id IN :veterinarianIds OR e.offeredVeterinarian.id IN :veterinarianIds " +
+        "OR e.clinic.id IN :clinicIds OR e.offeredClinic.id IN :clinicIds")
+    List<WaitlistEntry> findReferencing(@Param("petIds") Collection<Long> petIds,
+                                        @Param("veterinarianIds") Collection<Long> veterinarianIds,
+                                        @Param("clinicIds") Collection<Long> clinicIds);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE WaitlistEntry e SET e.status = com.vetcare.models.WaitlistEntry.WaitlistStatus.EXPIRED, " +
+        "e.version = e.version + 1, e.updatedAt = LOCAL DATETIME " +
+        "WHERE e.status = com.vetcare.models.WaitlistEntry.WaitlistStatus.WAITING AND e.windowEnd <= :now")
+    int expireWaiting(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,342 @@
+package com.vetcare.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vetcare.dto.AvailableSlotDTO;
+import com.vetcare.exceptions.BadRequestException;
+import com.vetcare.models.Clinic;
+import com.vetcare.repositories.ClinicRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of free 15-minute slots over the booking horizon, answering "next free
+ * slots" searches without touching the database. Each clinic's working hours become a bitset of
+ * open slots and each veterinarian's bookings a bitset of occupied ones; a search ANDs the two
+ * per candidate veterinarian and walks the result.
+ * <p>
+ * Bookings on this node update the occupancy right after their transaction commits. A full
+ * rebuild from visit_slots, veterinarians and clinics runs every vetcare.slots.refresh-interval
+ * to roll the horizon forward and pick up bookings made on other nodes, and after any change to
+ * veterinarians or clinics.
+ */
+@Service
+@Slf4j
+public class AvailabilityService {
+
+    private static final BitSet NONE = new BitSet();
+
+    private record VeterinarianEntry(Long id, String name, Long clinicId, String clinicName, String city,
+                                     Set<Long> specialtyIds) {}
+
+    // Occupancy bitsets are never modified once published, only replaced
+    private record Snapshot(LocalDate firstDay, int slots, List<VeterinarianEntry> veterinarians,
+                            Map<Long, BitSet> openByClinic, Map<Long, BitSet> occupied) {
+
+        int index(LocalDateTime time) {
+            return (int) (ChronoUnit.MINUTES.between(firstDay.atStartOfDay(), time) / VisitSlotSupport.SLOT_MINUTES);
+        }
+
+        LocalDateTime time(int index) {
+            return firstDay.atStartOfDay().plusMinutes((long) index * VisitSlotSupport.SLOT_MINUTES);
+        }
+    }
+
+    private record SlotChange(Long veterinarianId, List<LocalDateTime> slots, boolean occupied) {}
+
+    private record Candidate(int index, VeterinarianEntry veterinarian) {}
+
+    private final ClinicRepository clinicRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final int horizonDays;
+    private final int maxResults;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    // Kept apart from the snapshots, so rebuilds leave them alone
+    private final Map<Long, Set<LocalDateTime>> held = new ConcurrentHashMap<>();
+    // Serializes rebuilds, load included
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile boolean stale;
+    private List<SlotChange> changesDuringRebuild;
+
+    public AvailabilityService(
+            ClinicRepository clinicRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${vetcare.slots.horizon-days:28}") int horizonDays,
+            @Value("${vetcare.slots.max-results:50}") int maxResults) {
+        this.clinicRepository = clinicRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.horizonDays = horizonDays;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * First free start times, earliest first, where a visit of durationMinutes fits inside the
+     * clinic's working hours without overlapping the veterinarian's bookings. Null filters match
+     * everything.
+     */
+    public List<AvailableSlotDTO> findNext(Long specialtyId, String city, Long clinicId, LocalDateTime from,
+                                           int durationMinutes, int count) {
+        if (count < 1 || count > maxResults) {
+            throw new BadRequestException("count must be between 1 and " + maxResults);
+        }
+        Snapshot snapshot = snapshot();
+        int length = (durationMinutes + VisitSlotSupport.SLOT_MINUTES - 1) / VisitSlotSupport.SLOT_MINUTES;
+        LocalDateTime earliest = from != null && from.isAfter(LocalDateTime.now()) ? from : LocalDateTime.now();
+        // Round up: a slot that has already started is not offered
+        int fromIndex = Math.max(0, snapshot.index(earliest.plusMinutes(VisitSlotSupport.SLOT_MINUTES).minusNanos(1)));
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (VeterinarianEntry veterinarian : snapshot.veterinarians()) {
+            if ((specialtyId != null && !veterinarian.specialtyIds().contains(specialtyId))
+                    || (city != null && !city.equalsIgnoreCase(veterinarian.city()))
+                    || (clinicId != null && !clinicId.equals(veterinarian.clinicId()))) {
+                continue;
+            }
+            BitSet free = (BitSet) snapshot.openByClinic().getOrDefault(veterinarian.clinicId(), NONE).clone();
+            free.andNot(snapshot.occupied().getOrDefault(veterinarian.id(), NONE));
+            for (LocalDateTime slot : held.getOrDefault(veterinarian.id(), Set.of())) {
+                int index = snapshot.index(slot);
+                if (index >= 0 && index < snapshot.slots()) {
+                    free.clear(index);
+                }
+            }
+            int found = 0;
+            int start = free.nextSetBit(fromIndex);
+            while (start >= 0 && found < count) {
+                int end = free.nextClearBit(start);
+                for (; start + length <= end && found < count; start++, found++) {
+                    candidates.add(new Candidate(start, veterinarian));
+                }
+                start = free.nextSetBit(end);
+            }
+        }
+        return candidates.stream()
+            .sorted(Comparator.comparingInt(Candidate::index).thenComparing(candidate -> candidate.veterinarian().id()))
+            .limit(count)
+            .map(candidate -> AvailableSlotDTO.builder()
+                .veterinarianId(candidate.veterinarian().id())
+                .veterinarianName(candidate.veterinarian().name())
+                .clinicId(candidate.veterinarian().clinicId())
+                .clinicName(candidate.veterinarian().clinicName())
+                .city(candidate.veterinarian().city())
+                .start(snapshot.time(candidate.index()))
+                .end(snapshot.time(candidate.index()).plusMinutes(durationMinutes))
+                .build())
+            .toList();
+    }
+
+    // Called by VisitSlotSupport for the slot rows it writes; applied once the transaction commits
+    void occupyAfterCommit(Long veterinarianId, List<LocalDateTime> slots) {
+        afterCommit(new SlotChange(veterinarianId, slots, true));
+    }
+
+    void releaseAfterCommit(Long veterinarianId, List<LocalDateTime> slots) {
+        afterCommit(new SlotChange(veterinarianId, slots, false));
+    }
+
+    // Slots held by SlotHoldService are not offered until the hold is consumed or lapses
+    void hold(Long veterinarianId, List<LocalDateTime> slots) {
+        held.compute(veterinarianId, (id, heldSlots) -> {
+            Set<LocalDateTime> updated = heldSlots != null ? heldSlots : ConcurrentHashMap.newKeySet();
+            updated.addAll(slots);
+            return updated;
+        });
+    }
+
+    void unhold(Long veterinarianId, List<LocalDateTime> slots) {
+        held.computeIfPresent(veterinarianId, (id, heldSlots) -> {
+            heldSlots.removeAll(slots);
+            return heldSlots.isEmpty() ? null : heldSlots;
+        });
+    }
+
+    // Veterinarians, their specialties or clinics changed: rebuild before the next search
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stale = true;
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stale = true;
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${vetcare.slots.refresh-interval:PT1M}",
+               initialDelayString = "${vetcare.slots.refresh-interval:PT1M}")
+    public void refresh() {
+        if (current.get() != null) {
+            rebuild();
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (snapshot == null || stale || !snapshot.firstDay().equals(LocalDate.now())) {
+            rebuild();
+            snapshot = current.get();
+        }
+        return snapshot;
+    }
+
+    // Loads outside the monitor so bookings keep applying meanwhile; they are replayed onto the new snapshot
+    private void rebuild() {
+        rebuildLock.lock();
+        try {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            stale = false;
+            Snapshot fresh;
+            try {
+                fresh = readTransaction.execute(status -> load());
+            } catch (RuntimeException ex) {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+                stale = true;
+                throw ex;
+            }
+            synchronized (this) {
+                changesDuringRebuild.forEach(change -> apply(fresh, change));
+                changesDuringRebuild = null;
+                current.set(fresh);
+            }
+            log.debug("Availability index rebuilt: {} veterinarians, {} days from {}",
+                fresh.veterinarians().size(), horizonDays, fresh.firstDay());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        LocalDate firstDay = LocalDate.now();
+        int slots = horizonDays * WeeklySchedule.SLOTS_PER_DAY;
+
+        Map<Long, Clinic> clinics = new HashMap<>();
+        Map<Long, BitSet> openByClinic = new HashMap<>();
+        for (Clinic clinic : clinicRepository.findAll()) {
+            if (Boolean.TRUE.equals(clinic.getActive())) {
+                clinics.put(clinic.getId(), clinic);
+                openByClinic.put(clinic.getId(), openSlots(schedule(clinic), firstDay));
+            }
+        }
+
+        // Flat rows, one per veterinarian and specialty: the index needs ids and names, not entities
+        Map<Long, VeterinarianEntry> veterinarians = new LinkedHashMap<>();
+        jdbcTemplate.query(
+            "SELECT v.id, v.first_name, v.last_name, v.clinic_id, vs.specialty_id FROM veterinarians v "
+                + "LEFT JOIN veterinarian_specialties vs ON vs.veterinarian_id = v.id "
+                + "WHERE v.active = TRUE AND v.clinic_id IS NOT NULL ORDER BY v.id",
+            row -> {
+                Clinic clinic = clinics.get(row.getLong(4));
+                if (clinic == null) {
+                    return;
+                }
+                String name = row.getString(2) + " " + row.getString(3);
+                VeterinarianEntry veterinarian = veterinarians.computeIfAbsent(row.getLong(1), id -> new VeterinarianEntry(
+                    id, name, clinic.getId(), clinic.getName(), clinic.getCity(), new HashSet<>()));
+                long specialtyId = row.getLong(5);
+                if (!row.wasNull()) {
+                    veterinarian.specialtyIds().add(specialtyId);
+                }
+            });
+
+        Map<Long, BitSet> occupied = new ConcurrentHashMap<>();
+        Snapshot snapshot = new Snapshot(firstDay, slots, List.copyOf(veterinarians.values()), openByClinic, occupied);
+        jdbcTemplate.query(
+            "SELECT veterinarian_id, slot_start FROM visit_slots WHERE slot_start >= ? AND slot_start < ?",
+            row -> {
+                int index = snapshot.index(row.getObject(2, LocalDateTime.class));
+                occupied.computeIfAbsent(row.getLong(1), id -> new BitSet(slots)).set(index);
+            },
+            firstDay.atStartOfDay(), firstDay.plusDays(horizonDays).atStartOfDay());
+        return snapshot;
+    }
+
+    private static WeeklySchedule schedule(Clinic clinic) {
+        if (clinic.getWorkingHours() == null || clinic.getWorkingHours().isBlank()) {
+            return WeeklySchedule.closed();
+        }
+        try {
+            return WeeklySchedule.parse(clinic.getWorkingHours());
+        } catch (IllegalArgumentException ex) {
+            log.warn("Clinic {} has unreadable working hours '{}', treating it as closed: {}",
+                clinic.getId(), clinic.getWorkingHours(), ex.getMessage());
+            return WeeklySchedule.closed();
+        }
+    }
+
+    private BitSet openSlots(WeeklySchedule schedule, LocalDate firstDay) {
+        BitSet open = new BitSet(horizonDays * WeeklySchedule.SLOTS_PER_DAY);
+        for (int day = 0; day < horizonDays; day++) {
+            BitSet daySlots = schedule.openSlots(firstDay.plusDays(day).getDayOfWeek());
+            int offset = day * WeeklySchedule.SLOTS_PER_DAY;
+            daySlots.stream().forEach(slot -> open.set(offset + slot));
+        }
+        return open;
+    }
+
+    private void afterCommit(SlotChange change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private synchronized void apply(SlotChange change) {
+        Snapshot snapshot = current.get();
+        if (snapshot != null) {
+            apply(snapshot, change);
+        }
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    private static void apply(Snapshot snapshot, SlotChange change) {
+        BitSet occupied = (BitSet) snapshot.occupied().getOrDefault(change.veterinarianId(), NONE).clone();
+        for (LocalDateTime slot : change.slots()) {
+            int index = snapshot.index(slot);
+            if (index >= 0 && index < snapshot.slots()) {
+                occupied.set(index, change.occupied());
+            }
+        }
+        snapshot.occupied().put(change.veterinarianId(), occupied);
+    }
+}
@@ -0,0 +1,90 @@
+package com.vetcare.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vetcare.dto.BulkUpdateResultDTO;
+import com.vetcare.exceptions.BadRequestException;
+
+// Runs set-based UPDATEs in fixed-size chunks, one short transaction each, so a large
+// close-out never holds row locks on thousands of rows at once
+@Component
+public class BulkUpdateSupport {
+
+    private final int chunkSize;
+    private final int maxIds;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeCounters changeCounters;
+
+    public BulkUpdateSupport(
+            @Value("${vetcare.bulk.chunk-size:1000}") int chunkSize,
+            @Value("${vetcare.bulk.max-ids:10000}") int maxIds,
+            TransactionTemplate transactionTemplate,
+            ChangeCounters changeCounters) {
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+        this.transactionTemplate = transactionTemplate;
+        this.changeCounters = changeCounters;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    // Updates the given IDs of table, chunkSize at a time
+    public BulkUpdateResultDTO updateByIds(String table, List<Long> ids, ToIntFunction<List<Long>> update) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one ID is required");
+        }
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.remove(null);
+        if (distinct.size() > maxIds) {
+            throw new BadRequestException("At most " + maxIds + " IDs can be updated at once");
+        }
+        long affected = 0;
+        int chunks = 0;
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            affected += inTransaction(table, chunk, update);
+            chunks++;
+        }
+        return BulkUpdateResultDTO.builder().affected(affected).chunks(chunks).build();
+    }
+
+    // Walks the rows matching a filter in id order: nextIds returns up to chunkSize ids after the given one
+    public BulkUpdateResultDTO updateByKeyset(String table, LongFunction<List<Long>> nextIds,
+                                              ToIntFunction<List<Long>> update) {
+        long affected = 0;
+        int chunks = 0;
+        long afterId = 0;
+        List<Long> chunk;
+        do {
+            chunk = nextIds.apply(afterId);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            affected += inTransaction(table, chunk, update);
+            chunks++;
+            afterId = chunk.get(chunk.size() - 1);
+        } while (chunk.size() == chunkSize);
+        return BulkUpdateResultDTO.builder().affected(affected).chunks(chunks).build();
+    }
+
+    private int inTransaction(String table, List<Long> chunk, ToIntFunction<List<Long>> update) {
+        Integer updated = transactionTemplate.execute(status -> {
+            int rows = update.applyAsInt(chunk);
+            if (rows > 0) {
+                changeCounters.recordChange(table);
+            }
+            return rows;
+        });
+        return updated != null ? updated : 0;
+    }
+}
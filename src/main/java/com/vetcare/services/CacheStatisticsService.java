@@ -0,0 +1,64 @@
+package com.vetcare.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import com.vetcare.dto.CacheRegionStatisticsDTO;
+import com.vetcare.dto.CacheStatisticsDTO;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class CacheStatisticsService {
+
+    private final SessionFactory sessionFactory;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public CacheStatisticsDTO getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheRegionStatisticsDTO> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+            .sorted()
+            .map(region -> toDTO(region, statistics.getCacheRegionStatistics(region)))
+            .toList();
+        return CacheStatisticsDTO.builder()
+            .statisticsEnabled(statistics.isStatisticsEnabled())
+            .sinceSeconds(Duration.between(statistics.getStart(), Instant.now()).toSeconds())
+            .secondLevelCacheHits(statistics.getSecondLevelCacheHitCount())
+            .secondLevelCacheMisses(statistics.getSecondLevelCacheMissCount())
+            .queryCacheHits(statistics.getQueryCacheHitCount())
+            .queryCacheMisses(statistics.getQueryCacheMissCount())
+            .statementsPrepared(statistics.getPrepareStatementCount())
+            .regions(regions)
+            .build();
+    }
+
+    public void resetStatistics() {
+        log.info("Resetting Hibernate statistics");
+        sessionFactory.getStatistics().clear();
+    }
+
+    private CacheRegionStatisticsDTO toDTO(String region, CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return CacheRegionStatisticsDTO.builder().region(region).entriesInMemory(-1).build();
+        }
+        return CacheRegionStatisticsDTO.builder()
+            .region(region)
+            .hits(statistics.getHitCount())
+            .misses(statistics.getMissCount())
+            .puts(statistics.getPutCount())
+            .entriesInMemory(statistics.getElementCountInMemory())
+            .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.vetcare.services;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Per-table change counters (change_counters, see V4 migration) behind the weak ETags of list
+ * endpoints. Every transaction that inserts, updates or deletes rows of a table adds one to a
+ * random stripe of that table's counter just before it commits; Hibernate events cover entity
+ * writes and bulk JPQL updates call {@link #recordChange(String)}.
+ */
+@Component
+public class ChangeCounters implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final int STRIPES = 8;
+    private static final String INCREMENT =
+        "UPDATE change_counters SET change_count = change_count + 1 WHERE table_name = ? AND stripe = ?";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<SessionImplementor, Set<String>> pendingTables = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ChangeCounters(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    // For writes Hibernate does not see as entity events; must run inside the writing transaction
+    public void recordChange(String table) {
+        record(entityManager.unwrap(SessionImplementor.class), table);
+    }
+
+    /**
+     * Weak ETag covering the given tables, from a single indexed read of their counters.
+     * Lists built from several tables must name all of them.
+     */
+    public String weakETag(String... tables) {
+        Map<String, Long> counts = new TreeMap<>();
+        jdbcTemplate.query(
+            "SELECT table_name, SUM(change_count) FROM change_counters WHERE table_name IN ("
+                + String.join(",", Arrays.stream(tables).map(table -> "?").toList()) + ") GROUP BY table_name",
+            row -> {
+                counts.put(row.getString(1), row.getLong(2));
+            },
+            (Object[]) tables);
+        String digest = DigestUtils.md5DigestAsHex(counts.toString().getBytes(StandardCharsets.UTF_8));
+        return "W/\"" + digest + "\"";
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        recordAll(event.getSession(), event.getPersister());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        recordAll(event.getSession(), event.getPersister());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        recordAll(event.getSession(), event.getPersister());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void recordAll(SessionImplementor session, EntityPersister persister) {
+        for (String table : persister.getPropertySpaces()) {
+            record(session, table);
+        }
+    }
+
+    // One increment per table and transaction, however many rows it wrote
+    private void record(SessionImplementor session, String table) {
+        Set<String> tables = pendingTables.computeIfAbsent(session, key -> {
+            key.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::flushCounters);
+            key.getActionQueue().registerProcess(
+                (AfterTransactionCompletionProcess) (success, completed) -> pendingTables.remove(completed));
+            return ConcurrentHashMap.newKeySet();
+        });
+        tables.add(table);
+    }
+
+    private void flushCounters(SessionImplementor session) {
+        Set<String> tables = pendingTables.remove(session);
+        if (tables == null || tables.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INCREMENT)) {
+                for (String table : tables) {
+                    statement.setString(1, table);
+                    statement.setInt(2, ThreadLocalRandom.current().nextInt(STRIPES));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
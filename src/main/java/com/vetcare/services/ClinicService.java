@@ -1,24 +1,38 @@
 package com.vetcare.services;
 
 import com.vetcare.dto.ClinicDTO;
+import com.vetcare.dto.ClinicSummaryDTO;
 import com.vetcare.dto.CreateClinicDTO;
+import com.vetcare.dto.PageDTO;
+import com.vetcare.exceptions.BadRequestException;
 import com.vetcare.exceptions.ResourceNotFoundException;
 import com.vetcare.models.Clinic;
+import com.vetcare.models.Veterinarian;
 import com.vetcare.repositories.ClinicRepository;
 import com.vetcare.mappers.ClinicMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ClinicService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "city", "createdAt");
+
     private final ClinicRepository clinicRepository;
     private final ClinicMapper clinicMapper;
+    private final PaginationSupport paginationSupport;
+    private final AvailabilityService availabilityService;
+    private final VisitService visitService;
+    private final WaitlistService waitlistService;
+    private final VisitSeriesService visitSeriesService;
     
     @Transactional(readOnly = true)
     public List<ClinicDTO> findAll() {
@@ -34,6 +48,28 @@ public class ClinicService {
         return clinicMapper.toDTOList(clinics);
     }
     
+    @Transactional(readOnly = true)
+    public PageDTO<ClinicDTO> findAll(Pageable pageable, boolean withCount) {
+        log.debug("Finding clinics page: {}", pageable);
+        Pageable page = paginationSupport.sanitize(pageable, SORTABLE_FIELDS);
+        Slice<Clinic> clinics = withCount ? clinicRepository.findAll(page) : clinicRepository.findSliceBy(page);
+        return paginationSupport.toPageDTO(clinics, clinicMapper.toDTOList(clinics.getContent()));
+    }
+    
+    @Transactional(readOnly = true)
+    public PageDTO<ClinicDTO> findAllActive(Pageable pageable, boolean withCount) {
+        log.debug("Finding active clinics page: {}", pageable);
+        Pageable page = paginationSupport.sanitize(pageable, SORTABLE_FIELDS);
+        Slice<Clinic> clinics = withCount ? clinicRepository.findByActiveTrue(page) : clinicRepository.findSliceByActiveTrue(page);
+        return paginationSupport.toPageDTO(clinics, clinicMapper.toDTOList(clinics.getContent()));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ClinicSummaryDTO> findActiveSummaries() {
+        log.debug("Finding active clinic summaries");
+        return clinicRepository.findActiveSummaries();
+    }
+    
     @Transactional(readOnly = true)
     public ClinicDTO findById(Long id) {
         log.debug("Finding clinic by id: {}", id);
@@ -52,6 +88,8 @@ public class ClinicService {
     @Transactional
     public ClinicDTO create(CreateClinicDTO createClinicDTO) {
         log.info("Creating new clinic: {}", createClinicDTO.getName());
+        validateWorkingHours(createClinicDTO.getWorkingHours());
+        availabilityService.invalidateAfterCommit();
         Clinic clinic = clinicMapper.toEntity(createClinicDTO);
         Clinic savedClinic = clinicRepository.save(clinic);
         return clinicMapper.toDTO(savedClinic);
@@ -60,6 +98,8 @@ public class ClinicService {
     @Transactional
     public ClinicDTO update(Long id, ClinicDTO clinicDTO) {
         log.info("Updating clinic with id: {}", id);
+        validateWorkingHours(clinicDTO.getWorkingHours());
+        availabilityService.invalidateAfterCommit();
         
         Clinic existingClinic = clinicRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Clinic not found with id: " + id));
@@ -72,17 +112,37 @@ public class ClinicService {
     @Transactional
     public void delete(Long id) {
         log.info("Deleting clinic with id: {}", id);
+        availabilityService.invalidateAfterCommit();
         Clinic clinic = clinicRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Clinic not found with id: " + id));
+        // The clinic's veterinarians go with it
+        List<Long> veterinarianIds = clinic.getVeterinarians().stream().map(Veterinarian::getId).toList();
+        visitService.deleteReferencing(List.of(), veterinarianIds, List.of(id));
+        waitlistService.deleteReferencing(List.of(), veterinarianIds, List.of(id));
+        visitSeriesService.deleteReferencing(List.of(), veterinarianIds, List.of(id));
         clinicRepository.delete(clinic);
     }
     
     @Transactional
     public void deactivate(Long id) {
         log.info("Deactivating clinic with id: {}", id);
+        availabilityService.invalidateAfterCommit();
         Clinic clinic = clinicRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Clinic not found with id: " + id));
         clinic.setActive(false);
         clinicRepository.save(clinic);
     }
+    
+    // The slot search reads opening hours from this text, so it must follow WeeklySchedule's format
+    private static void validateWorkingHours(String workingHours) {
+        if (workingHours == null || workingHours.isBlank()) {
+            return;
+        }
+        try {
+            WeeklySchedule.parse(workingHours);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid working hours (expected e.g. 'Mon-Fri: 8:00-18:00, Sat: 9:00-14:00'): "
+                + ex.getMessage());
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package com.vetcare.services;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.vetcare.exceptions.BadRequestException;
+import com.vetcare.utils.CsvReader;
+import com.vetcare.utils.CsvReader.CsvRecord;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class CsvImportSupport {
+
+    // Smallest plausible row, used to size the duplicate filters from the upload size
+    private static final int MIN_ROW_BYTES = 24;
+
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public CsvImportSupport(
+            @Value("${vetcare.import.batch-size:1000}") int batchSize,
+            @Value("${vetcare.import.max-reported-errors:1000}") int maxReportedErrors,
+            Validator validator,
+            TransactionTemplate transactionTemplate) {
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    ImportReport newReport() {
+        return new ImportReport(maxReportedErrors);
+    }
+
+    long estimateRows(MultipartFile file) {
+        return Math.max(1, file.getSize() / MIN_ROW_BYTES);
+    }
+
+    // Streams the records of the file to the consumer, one at a time
+    void forEachRecord(MultipartFile file, List<String> requiredColumns, ImportReport report, Consumer<CsvRecord> consumer) {
+        if (file.isEmpty()) {
+            throw new BadRequestException("CSV file is empty");
+        }
+        try (CsvReader reader = new CsvReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            List<String> missing = requiredColumns.stream().filter(column -> !reader.hasColumn(column)).toList();
+            if (!missing.isEmpty()) {
+                throw new BadRequestException("CSV header is missing columns: " + missing);
+            }
+            for (CsvRecord record = reader.next(); record != null; record = reader.next()) {
+                report.rowRead();
+                consumer.accept(record);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read CSV file: " + e.getMessage());
+        }
+    }
+
+    // Bean Validation messages of the DTO joined in one line, or null when it is valid
+    String validate(Object dto) {
+        var violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    // Inserts the batch in one transaction; if the database rejects it, retries row by row to find the culprits
+    <R extends ImportRow<?>, E> void saveBatch(List<R> rows, Function<R, E> toEntity,
+            JpaRepository<E, Long> repository, ImportReport report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.saveAll(rows.stream().map(toEntity).toList()));
+            report.imported(rows.size());
+        } catch (DataAccessException e) {
+            log.warn("Import batch of {} rows failed, retrying row by row: {}", rows.size(), e.getMostSpecificCause().getMessage());
+            for (R row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> repository.save(toEntity.apply(row)));
+                    report.imported(1);
+                } catch (DataAccessException rowError) {
+                    report.reject(row.line(), "Could not insert row: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    record ImportRow<D>(long line, D dto) {
+    }
+}
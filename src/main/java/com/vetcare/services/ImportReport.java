@@ -0,0 +1,52 @@
+package com.vetcare.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.vetcare.dto.ImportErrorDTO;
+import com.vetcare.dto.ImportResultDTO;
+
+// Counters and the first maxErrors rejected rows of one import; memory stays bounded on huge files
+class ImportReport {
+
+    private final int maxErrors;
+    private final long startedAt = System.nanoTime();
+    private final List<ImportErrorDTO> errors = new ArrayList<>();
+    private long totalRows;
+    private long imported;
+    private long failed;
+
+    ImportReport(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    void rowRead() {
+        totalRows++;
+    }
+
+    void imported(int rows) {
+        imported += rows;
+    }
+
+    void reject(long line, String message) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(ImportErrorDTO.builder().line(line).message(message).build());
+        }
+    }
+
+    ImportResultDTO toResult() {
+        // Rows are rejected either while parsing or when their batch is checked, so restore file order
+        errors.sort(Comparator.comparingLong(ImportErrorDTO::getLine));
+        return ImportResultDTO.builder()
+            .totalRows(totalRows)
+            .imported(imported)
+            .failed(failed)
+            .errors(errors)
+            .errorsTruncated(failed > errors.size())
+            .durationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))
+            .build();
+    }
+}
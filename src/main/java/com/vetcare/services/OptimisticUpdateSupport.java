@@ -0,0 +1,67 @@
+package com.vetcare.services;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vetcare.exceptions.ConcurrentUpdateException;
+import com.vetcare.exceptions.PreconditionFailedException;
+import com.vetcare.services.ResourceVersionService.ResourceVersion;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-modify-write updates guarded by the entities' @Version column instead of row locks.
+ * The update runs in its own short transaction; if another request committed a change to the
+ * same row first, the stale write is rejected and the caller gets a {@link ConcurrentUpdateException}
+ * with the state that won, read in a fresh transaction.
+ */
+@Component
+@Slf4j
+public class OptimisticUpdateSupport {
+
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+
+    public OptimisticUpdateSupport(PlatformTransactionManager transactionManager) {
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public <T> T update(String resource, Long id, Supplier<T> update, Supplier<T> current) {
+        try {
+            return writeTransaction.execute(status -> update.get());
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            log.info("{} {} was modified concurrently, rejecting stale update", resource, id);
+            throw new ConcurrentUpdateException(resource + " " + id + " was modified by another request",
+                readTransaction.execute(status -> current.get()));
+        }
+    }
+
+    // Version sent by a client that read the entity earlier; null means the client did not ask for a check
+    public void checkVersion(Long expected, Long actual, Class<?> entityClass, Long id) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new ObjectOptimisticLockingFailureException(entityClass, id);
+        }
+    }
+
+    // Strong comparison against the resource's current ETag; "*" matches any existing resource
+    public void checkIfMatch(String ifMatch, Supplier<Optional<ResourceVersion>> current) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        String eTag = current.get().map(ResourceVersion::eTag).orElse(null);
+        boolean matches = eTag != null && Arrays.stream(ifMatch.split(","))
+            .map(String::trim)
+            .anyMatch(candidate -> candidate.equals("*") || candidate.equals(eTag));
+        if (!matches) {
+            throw new PreconditionFailedException("If-Match does not match the current ETag " + eTag);
+        }
+    }
+}
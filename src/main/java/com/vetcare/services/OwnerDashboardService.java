@@ -0,0 +1,132 @@
+package com.vetcare.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vetcare.config.ReadYourWritesTracker;
+import com.vetcare.dto.OwnerDTO;
+import com.vetcare.dto.OwnerDashboardDTO;
+import com.vetcare.dto.PetSummaryDTO;
+import com.vetcare.dto.VisitDTO;
+import com.vetcare.exceptions.ResourceNotFoundException;
+import com.vetcare.mappers.OwnerMapper;
+import com.vetcare.mappers.VisitMapper;
+import com.vetcare.models.Visit;
+import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.VisitRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The owner app's home screen in one call. The owner, their pets, upcoming visits and recent
+ * visits are independent queries, so they run at the same time, each on its own virtual thread
+ * and in its own read-only transaction, and the response takes as long as the slowest one
+ * rather than the sum. They share one deadline: past it, or as soon as one of them fails, the
+ * others are cancelled. The request thread holds no connection while it waits, so the
+ * subqueries cannot starve it of one. Being separate transactions, the parts can straddle a
+ * concurrent write; each part is consistent on its own.
+ */
+@Service
+@Slf4j
+public class OwnerDashboardService {
+
+    private final OwnerRepository ownerRepository;
+    private final PetRepository petRepository;
+    private final VisitRepository visitRepository;
+    private final OwnerMapper ownerMapper;
+    private final VisitMapper visitMapper;
+    private final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
+    private final TransactionTemplate readTransaction;
+    private final Duration timeout;
+    private final int upcomingVisits;
+    private final int recentVisits;
+    private final ExecutorService subqueries = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("owner-dashboard-", 0).factory());
+
+    public OwnerDashboardService(
+            OwnerRepository ownerRepository,
+            PetRepository petRepository,
+            VisitRepository visitRepository,
+            OwnerMapper ownerMapper,
+            VisitMapper visitMapper,
+            ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+            PlatformTransactionManager transactionManager,
+            @Value("${vetcare.dashboard.timeout:PT2S}") Duration timeout,
+            @Value("${vetcare.dashboard.upcoming-visits:20}") int upcomingVisits,
+            @Value("${vetcare.dashboard.recent-visits:10}") int recentVisits) {
+        this.ownerRepository = ownerRepository;
+        this.petRepository = petRepository;
+        this.visitRepository = visitRepository;
+        this.ownerMapper = ownerMapper;
+        this.visitMapper = visitMapper;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.timeout = timeout;
+        this.upcomingVisits = upcomingVisits;
+        this.recentVisits = recentVisits;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subqueries.shutdownNow();
+    }
+
+    public OwnerDashboardDTO findByOwnerId(Long ownerId) {
+        log.debug("Loading dashboard of owner {}", ownerId);
+        LocalDateTime now = LocalDateTime.now();
+        ReadYourWritesTracker tracker = readYourWritesTracker.getIfAvailable();
+        String session = tracker != null ? tracker.currentSession() : null;
+
+        try (SubtaskScope scope = new SubtaskScope(subqueries, timeout.toNanos())) {
+            Future<OwnerDTO> owner = scope.fork(read(tracker, session, () -> ownerRepository.findById(ownerId)
+                .map(ownerMapper::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Owner not found with id: " + ownerId))));
+            Future<List<PetSummaryDTO>> pets = scope.fork(read(tracker, session,
+                () -> petRepository.findSummariesByOwnerId(ownerId)));
+            Future<List<VisitDTO>> upcoming = scope.fork(read(tracker, session, () -> visitMapper.toDTOList(
+                visitRepository.findUpcomingByOwnerId(ownerId, now, Visit.VisitStatus.SCHEDULED, Limit.of(upcomingVisits)))));
+            Future<List<VisitDTO>> recent = scope.fork(read(tracker, session, () -> visitMapper.toDTOList(
+                visitRepository.findByOwnerId(ownerId, now, Limit.of(recentVisits)))));
+            scope.join();
+
+            return OwnerDashboardDTO.builder()
+                .owner(SubtaskScope.result(owner))
+                .pets(SubtaskScope.result(pets))
+                .upcomingVisits(SubtaskScope.result(upcoming))
+                .recentVisits(SubtaskScope.result(recent))
+                .build();
+        }
+    }
+
+    // Replica reads keep the caller's read-your-writes session, which is bound to the request thread
+    private <T> Callable<T> read(ReadYourWritesTracker tracker, String session, Supplier<T> query) {
+        return () -> {
+            if (tracker != null && session != null) {
+                tracker.bind(session);
+            }
+            try {
+                return readTransaction.execute(status -> query.get());
+            } finally {
+                if (tracker != null) {
+                    tracker.unbind();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package com.vetcare.services;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.vetcare.dto.CreateOwnerDTO;
+import com.vetcare.dto.ImportResultDTO;
+import com.vetcare.mappers.OwnerMapper;
+import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.OwnerRepository.OwnerKeys;
+import com.vetcare.services.CsvImportSupport.ImportRow;
+import com.vetcare.utils.BloomFilter;
+import com.vetcare.utils.CsvReader.CsvRecord;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OwnerImportService {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("firstName", "lastName", "email");
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int KEY_SCAN_CHUNK = 10_000;
+
+    private final OwnerRepository ownerRepository;
+    private final OwnerMapper ownerMapper;
+    private final CsvImportSupport csvImportSupport;
+
+    // Columns: firstName, lastName, email, documentNumber, phone, address, city
+    public ImportResultDTO importOwners(MultipartFile file) {
+        log.info("Importing owners from {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        ImportReport report = csvImportSupport.newReport();
+
+        // Existing and already imported keys; a hit is only a candidate, confirmed with one IN query per batch
+        long capacity = ownerRepository.count() + csvImportSupport.estimateRows(file);
+        BloomFilter emails = BloomFilter.create(capacity, FALSE_POSITIVE_RATE);
+        BloomFilter documentNumbers = BloomFilter.create(capacity, FALSE_POSITIVE_RATE);
+        loadExistingKeys(emails, documentNumbers);
+
+        List<ImportRow<CreateOwnerDTO>> batch = new ArrayList<>(csvImportSupport.getBatchSize());
+        csvImportSupport.forEachRecord(file, REQUIRED_COLUMNS, report, record -> {
+            CreateOwnerDTO dto = toDTO(record);
+            String error = csvImportSupport.validate(dto);
+            if (error != null) {
+                report.reject(record.lineNumber(), error);
+                return;
+            }
+            batch.add(new ImportRow<>(record.lineNumber(), dto));
+            if (batch.size() == csvImportSupport.getBatchSize()) {
+                insertBatch(batch, emails, documentNumbers, report);
+                batch.clear();
+            }
+        });
+        insertBatch(batch, emails, documentNumbers, report);
+
+        ImportResultDTO result = report.toResult();
+        log.info("Owner import finished: {} imported, {} failed in {} ms",
+            result.getImported(), result.getFailed(), result.getDurationMillis());
+        return result;
+    }
+
+    private void loadExistingKeys(BloomFilter emails, BloomFilter documentNumbers) {
+        long afterId = 0;
+        List<OwnerKeys> chunk;
+        do {
+            chunk = ownerRepository.findKeysAfter(afterId, Limit.of(KEY_SCAN_CHUNK));
+            for (OwnerKeys keys : chunk) {
+                emails.put(emailKey(keys.getEmail()));
+                if (keys.getDocumentNumber() != null) {
+                    documentNumbers.put(keys.getDocumentNumber());
+                }
+                afterId = keys.getId();
+            }
+        } while (chunk.size() == KEY_SCAN_CHUNK);
+    }
+
+    private void insertBatch(List<ImportRow<CreateOwnerDTO>> batch, BloomFilter emails,
+            BloomFilter documentNumbers, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> emailCandidates = new HashSet<>();
+        Set<String> documentCandidates = new HashSet<>();
+        for (ImportRow<CreateOwnerDTO> row : batch) {
+            String email = emailKey(row.dto().getEmail());
+            if (emails.mightContain(email)) {
+                emailCandidates.add(email);
+            }
+            String documentNumber = row.dto().getDocumentNumber();
+            if (documentNumber != null && documentNumbers.mightContain(documentNumber)) {
+                documentCandidates.add(documentNumber);
+            }
+        }
+        Set<String> existingEmails = new HashSet<>();
+        if (!emailCandidates.isEmpty()) {
+            ownerRepository.findKeysByEmailIn(emailCandidates).forEach(keys -> existingEmails.add(emailKey(keys.getEmail())));
+        }
+        Set<String> existingDocuments = documentCandidates.isEmpty()
+            ? Set.of()
+            : new HashSet<>(ownerRepository.findExistingDocumentNumbers(documentCandidates));
+
+        Set<String> batchEmails = new HashSet<>();
+        Set<String> batchDocuments = new HashSet<>();
+        List<ImportRow<CreateOwnerDTO>> accepted = new ArrayList<>(batch.size());
+        for (ImportRow<CreateOwnerDTO> row : batch) {
+            String email = emailKey(row.dto().getEmail());
+            String documentNumber = row.dto().getDocumentNumber();
+            if (existingEmails.contains(email) || batchEmails.contains(email)) {
+                report.reject(row.line(), "Email already exists: " + row.dto().getEmail());
+            } else if (documentNumber != null
+                    && (existingDocuments.contains(documentNumber) || batchDocuments.contains(documentNumber))) {
+                report.reject(row.line(), "Document number already exists: " + documentNumber);
+            } else {
+                batchEmails.add(email);
+                if (documentNumber != null) {
+                    batchDocuments.add(documentNumber);
+                }
+                accepted.add(row);
+            }
+        }
+
+        csvImportSupport.saveBatch(accepted, row -> ownerMapper.toEntity(row.dto()), ownerRepository, report);
+        batchEmails.forEach(emails::put);
+        batchDocuments.forEach(documentNumbers::put);
+    }
+
+    // The unique index on owners.email ignores case, so the duplicate checks must too
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private CreateOwnerDTO toDTO(CsvRecord record) {
+        return CreateOwnerDTO.builder()
+            .firstName(record.get("firstName"))
+            .lastName(record.get("lastName"))
+            .email(record.get("email"))
+            .documentNumber(record.get("documentNumber"))
+            .phone(record.get("phone"))
+            .address(record.get("address"))
+            .city(record.get("city"))
+            .build();
+    }
+}
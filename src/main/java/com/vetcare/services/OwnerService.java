@@ -1,15 +1,20 @@
 package com.vetcare.services;
 
 import java.util.List;
+import java.util.Set;
 
 import com.vetcare.dto.*;
 import com.vetcare.exceptions.ResourceNotFoundException;
 import com.vetcare.exceptions.DuplicateResourceException;
 import com.vetcare.models.Owner;
+import com.vetcare.models.Pet;
 import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.PetRepository;
 import com.vetcare.mappers.OwnerMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,8 +23,16 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class OwnerService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "firstName", "lastName", "email", "city", "createdAt");
+
     private final OwnerRepository ownerRepository;
+    private final PetRepository petRepository;
     private final OwnerMapper ownerMapper;
+    private final PaginationSupport paginationSupport;
+    private final BulkUpdateSupport bulkUpdateSupport;
+    private final VisitService visitService;
+    private final WaitlistService waitlistService;
+    private final VisitSeriesService visitSeriesService;
 
     @Transactional(readOnly = true)
     public List<OwnerDTO> findAll() {
@@ -35,6 +48,22 @@ public class OwnerService {
         return ownerMapper.toDTOList(owners);
     }
     
+    @Transactional(readOnly = true)
+    public PageDTO<OwnerDTO> findAll(Pageable pageable, boolean withCount) {
+        log.debug("Finding owners page: {}", pageable);
+        Pageable page = paginationSupport.sanitize(pageable, SORTABLE_FIELDS);
+        Slice<Owner> owners = withCount ? ownerRepository.findAll(page) : ownerRepository.findSliceBy(page);
+        return paginationSupport.toPageDTO(owners, ownerMapper.toDTOList(owners.getContent()));
+    }
+    
+    @Transactional(readOnly = true)
+    public PageDTO<OwnerDTO> findAllActive(Pageable pageable, boolean withCount) {
+        log.debug("Finding active owners page: {}", pageable);
+        Pageable page = paginationSupport.sanitize(pageable, SORTABLE_FIELDS);
+        Slice<Owner> owners = withCount ? ownerRepository.findByActiveTrue(page) : ownerRepository.findSliceByActiveTrue(page);
+        return paginationSupport.toPageDTO(owners, ownerMapper.toDTOList(owners.getContent()));
+    }
+    
     @Transactional(readOnly = true)
     public OwnerDTO findById(Long id) {
         log.debug("Finding owner by id: {}", id);
@@ -46,9 +75,10 @@ public class OwnerService {
     @Transactional(readOnly = true)
     public OwnerWithPetsDTO findByIdWithPets(Long id) {
         log.debug("Finding owner with pets by id: {}", id);
-        Owner owner = ownerRepository.findByIdWithPets(id)
+        Owner owner = ownerRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Owner not found with id: " + id));
-        return ownerMapper.toOwnerWithPetsDTO(owner);
+        List<PetSummaryDTO> pets = petRepository.findSummariesByOwnerId(id);
+        return ownerMapper.toOwnerWithPetsDTO(owner, pets);
     }
     
     @Transactional(readOnly = true)
@@ -58,6 +88,12 @@ public class OwnerService {
         return ownerMapper.toDTOList(owners);
     }
     
+    @Transactional(readOnly = true)
+    public List<OwnerSummaryDTO> searchSummariesByName(String name) {
+        log.debug("Searching owner summaries by name: {}", name);
+        return ownerRepository.searchSummariesByName(name);
+    }
+    
     @Transactional
     public OwnerDTO create(CreateOwnerDTO createOwnerDTO) {
         log.info("Creating new owner: {} {}", createOwnerDTO.getFirstName(), createOwnerDTO.getLastName());
@@ -98,6 +134,11 @@ public class OwnerService {
         log.info("Deleting owner with id: {}", id);
         Owner owner = ownerRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Owner not found with id: " + id));
+        // The owner's pets go with it
+        List<Long> petIds = owner.getPets().stream().map(Pet::getId).toList();
+        visitService.deleteReferencing(petIds, List.of(), List.of());
+        waitlistService.deleteReferencing(petIds, List.of(), List.of());
+        visitSeriesService.deleteReferencing(petIds, List.of(), List.of());
         ownerRepository.delete(owner);
     }
     
@@ -109,5 +150,11 @@ public class OwnerService {
         owner.setActive(false);
         ownerRepository.save(owner);
     }
-
+    
+    public BulkUpdateResultDTO deactivateAll(List<Long> ids) {
+        log.info("Deactivating {} owners", ids.size());
+        BulkUpdateResultDTO result = bulkUpdateSupport.updateByIds("owners", ids, ownerRepository::deactivateByIdIn);
+        log.info("Deactivated {} owners in {} chunks", result.getAffected(), result.getChunks());
+        return result;
+    }
 }
@@ -0,0 +1,77 @@
+package com.vetcare.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.vetcare.dto.PageDTO;
+import com.vetcare.exceptions.BadRequestException;
+
+@Component
+public class PaginationSupport {
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public PaginationSupport(
+            @Value("${vetcare.pagination.default-page-size:20}") int defaultPageSize,
+            @Value("${vetcare.pagination.max-page-size:100}") int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public int pageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        if (requested < 1) {
+            throw new BadRequestException("Page size must be greater than zero");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    // Caps the page size, rejects sort keys outside the whitelist and always ends with id for a stable order
+    public Pageable sanitize(Pageable pageable, Set<String> sortableFields) {
+        int size = pageable.isPaged() ? pageSize(pageable.getPageSize()) : defaultPageSize;
+        int page = pageable.isPaged() ? pageable.getPageNumber() : 0;
+
+        List<Sort.Order> orders = new ArrayList<>();
+        boolean sortedById = false;
+        for (Sort.Order order : pageable.getSort()) {
+            if (!sortableFields.contains(order.getProperty())) {
+                throw new BadRequestException("Sorting by '" + order.getProperty() + "' is not allowed. Allowed: " + sortableFields);
+            }
+            orders.add(order);
+            sortedById |= "id".equals(order.getProperty());
+        }
+        if (!sortedById) {
+            orders.add(Sort.Order.asc("id"));
+        }
+        return PageRequest.of(page, size, Sort.by(orders));
+    }
+
+    public <T> PageDTO<T> toPageDTO(Slice<?> slice, List<T> content) {
+        PageDTO.PageDTOBuilder<T> builder = PageDTO.<T>builder()
+            .content(content)
+            .page(slice.getNumber())
+            .size(slice.getSize())
+            .hasNext(slice.hasNext());
+        if (slice instanceof Page<?> page) {
+            builder.totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,219 @@
+package com.vetcare.services;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.vetcare.dto.CreatePetDTO;
+import com.vetcare.dto.ImportResultDTO;
+import com.vetcare.mappers.PetMapper;
+import com.vetcare.models.Clinic;
+import com.vetcare.models.Pet;
+import com.vetcare.models.PetType;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.PetTypeRepository;
+import com.vetcare.services.CsvImportSupport.ImportRow;
+import com.vetcare.utils.CsvReader.CsvRecord;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PetImportService {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "birthDate");
+
+    private final PetRepository petRepository;
+    private final OwnerRepository ownerRepository;
+    private final PetTypeRepository petTypeRepository;
+    private final ClinicRepository clinicRepository;
+    private final PetMapper petMapper;
+    private final CsvImportSupport csvImportSupport;
+
+    // Columns: name, birthDate (yyyy-MM-dd), breed, gender, color, weight, medicalNotes, photoUrl,
+    // ownerId or ownerEmail, petTypeId or petType (name), clinicId
+    public ImportResultDTO importPets(MultipartFile file) {
+        log.info("Importing pets from {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        ImportReport report = csvImportSupport.newReport();
+
+        // Pet types and clinics are small catalogs: resolved in memory instead of per batch
+        Map<String, Long> petTypeIdsByName = new HashMap<>();
+        Set<Long> petTypeIds = new HashSet<>();
+        for (PetType petType : petTypeRepository.findAll()) {
+            petTypeIdsByName.put(petType.getName().toLowerCase(Locale.ROOT), petType.getId());
+            petTypeIds.add(petType.getId());
+        }
+        Set<Long> clinicIds = new HashSet<>();
+        clinicRepository.findAll().forEach(clinic -> clinicIds.add(clinic.getId()));
+
+        List<ImportRow<PendingPet>> batch = new ArrayList<>(csvImportSupport.getBatchSize());
+        csvImportSupport.forEachRecord(file, REQUIRED_COLUMNS, report, record -> {
+            PendingPet pet;
+            try {
+                pet = toPendingPet(record, petTypeIdsByName);
+            } catch (IllegalArgumentException e) {
+                report.reject(record.lineNumber(), e.getMessage());
+                return;
+            }
+            batch.add(new ImportRow<>(record.lineNumber(), pet));
+            if (batch.size() == csvImportSupport.getBatchSize()) {
+                insertBatch(batch, petTypeIds, clinicIds, report);
+                batch.clear();
+            }
+        });
+        insertBatch(batch, petTypeIds, clinicIds, report);
+
+        ImportResultDTO result = report.toResult();
+        log.info("Pet import finished: {} imported, {} failed in {} ms",
+            result.getImported(), result.getFailed(), result.getDurationMillis());
+        return result;
+    }
+
+    private void insertBatch(List<ImportRow<PendingPet>> batch, Set<Long> petTypeIds, Set<Long> clinicIds,
+            ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // One IN query per reference style for the whole batch
+        Set<Long> ownerIds = new HashSet<>();
+        Set<String> ownerEmails = new HashSet<>();
+        for (ImportRow<PendingPet> row : batch) {
+            if (row.dto().pet().getOwnerId() != null) {
+                ownerIds.add(row.dto().pet().getOwnerId());
+            } else if (row.dto().ownerEmail() != null) {
+                ownerEmails.add(row.dto().ownerEmail().toLowerCase(Locale.ROOT));
+            }
+        }
+        Set<Long> knownOwnerIds = ownerIds.isEmpty() ? new HashSet<>() : new HashSet<>(ownerRepository.findExistingIds(ownerIds));
+        Map<String, Long> ownerIdsByEmail = new HashMap<>();
+        if (!ownerEmails.isEmpty()) {
+            ownerRepository.findKeysByEmailIn(ownerEmails).forEach(keys -> {
+                ownerIdsByEmail.put(keys.getEmail().toLowerCase(Locale.ROOT), keys.getId());
+                knownOwnerIds.add(keys.getId());
+            });
+        }
+
+        List<ImportRow<PendingPet>> accepted = new ArrayList<>(batch.size());
+        for (ImportRow<PendingPet> row : batch) {
+            CreatePetDTO pet = row.dto().pet();
+            if (pet.getOwnerId() == null && row.dto().ownerEmail() != null) {
+                pet.setOwnerId(ownerIdsByEmail.get(row.dto().ownerEmail().toLowerCase(Locale.ROOT)));
+                if (pet.getOwnerId() == null) {
+                    report.reject(row.line(), "Owner not found with email: " + row.dto().ownerEmail());
+                    continue;
+                }
+            }
+            String error = csvImportSupport.validate(pet);
+            if (error != null) {
+                report.reject(row.line(), error);
+            } else if (!knownOwnerIds.contains(pet.getOwnerId())) {
+                report.reject(row.line(), "Owner not found with id: " + pet.getOwnerId());
+            } else if (!petTypeIds.contains(pet.getPetTypeId())) {
+                report.reject(row.line(), "Pet type not found with id: " + pet.getPetTypeId());
+            } else if (pet.getClinicId() != null && !clinicIds.contains(pet.getClinicId())) {
+                report.reject(row.line(), "Clinic not found with id: " + pet.getClinicId());
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        csvImportSupport.saveBatch(accepted, toEntity(), petRepository, report);
+    }
+
+    // Runs inside the batch transaction: relationships are references, no extra selects
+    private Function<ImportRow<PendingPet>, Pet> toEntity() {
+        return row -> {
+            CreatePetDTO dto = row.dto().pet();
+            Pet pet = petMapper.toEntity(dto);
+            pet.setOwner(ownerRepository.getReferenceById(dto.getOwnerId()));
+            pet.setPetType(petTypeRepository.getReferenceById(dto.getPetTypeId()));
+            if (dto.getClinicId() != null) {
+                Clinic clinic = clinicRepository.getReferenceById(dto.getClinicId());
+                pet.setPrimaryClinic(clinic);
+            }
+            return pet;
+        };
+    }
+
+    private PendingPet toPendingPet(CsvRecord record, Map<String, Long> petTypeIdsByName) {
+        Long petTypeId = parseLong(record, "petTypeId");
+        String petTypeName = record.get("petType");
+        if (petTypeId == null && petTypeName != null) {
+            petTypeId = petTypeIdsByName.get(petTypeName.toLowerCase(Locale.ROOT));
+            if (petTypeId == null) {
+                throw new IllegalArgumentException("Pet type not found with name: " + petTypeName);
+            }
+        }
+        String gender = record.get("gender");
+        String weight = record.get("weight");
+        String birthDate = record.get("birthDate");
+
+        CreatePetDTO pet = CreatePetDTO.builder()
+            .name(record.get("name"))
+            .birthDate(birthDate != null ? parseDate("birthDate", birthDate) : null)
+            .breed(record.get("breed"))
+            .gender(gender != null ? parseGender(gender) : null)
+            .color(record.get("color"))
+            .weight(weight != null ? parseDouble("weight", weight) : null)
+            .medicalNotes(record.get("medicalNotes"))
+            .photoUrl(record.get("photoUrl"))
+            .ownerId(parseLong(record, "ownerId"))
+            .petTypeId(petTypeId)
+            .clinicId(parseLong(record, "clinicId"))
+            .build();
+        return new PendingPet(pet, record.get("ownerEmail"));
+    }
+
+    private static Pet.Gender parseGender(String value) {
+        try {
+            return Pet.Gender.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid gender: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String column, String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static Double parseDouble(String column, String value) {
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static Long parseLong(CsvRecord record, String column) {
+        String value = record.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private record PendingPet(CreatePetDTO pet, String ownerEmail) {
+    }
+}
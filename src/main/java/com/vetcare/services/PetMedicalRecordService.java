@@ -0,0 +1,273 @@
+package com.vetcare.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.dto.BulkUpdateResultDTO;
+import com.vetcare.dto.PetMedicalRecordDTO;
+import com.vetcare.exceptions.ResourceNotFoundException;
+import com.vetcare.mappers.PetMedicalRecordMapper;
+import com.vetcare.models.Pet;
+import com.vetcare.models.Visit;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.VisitRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pet medical records, precomputed. Each pet's record (the pet and all its visits, with
+ * veterinarians and clinics resolved) is stored as a ready-to-send JSON document in
+ * pet_medical_records (see V9 migration), so viewing it is one primary-key read and no mapping.
+ * Committed writes to a pet or its visits mark the pet as changed; a background thread then
+ * regenerates the changed records in chunks, a short delay later so that bursts of writes to the
+ * same pet cost one regeneration. Until that happens this node builds the record from the source
+ * tables when it is read, so a client never sees its own write missing; another node may serve
+ * the previous record for that short while. Renaming a veterinarian, clinic or pet type does not
+ * touch the records: the new name shows once the pet changes again or the records are rebuilt.
+ */
+@Service
+@Slf4j
+public class PetMedicalRecordService {
+
+    // Bump when PetMedicalRecordDTO changes shape: records in an older format are regenerated when read
+    static final int FORMAT = 1;
+
+    private final PetRepository petRepository;
+    private final VisitRepository visitRepository;
+    private final PetMedicalRecordMapper petMedicalRecordMapper;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTransaction;
+    private final Duration refreshDelay;
+    private final int chunkSize;
+    // Pets whose record is behind a committed write, with the sequence number of their latest change
+    private final Map<Long, Long> changed = new ConcurrentHashMap<>();
+    private final AtomicLong changeSequence = new AtomicLong();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final ScheduledThreadPoolExecutor refresher;
+
+    public PetMedicalRecordService(
+            PetRepository petRepository,
+            VisitRepository visitRepository,
+            PetMedicalRecordMapper petMedicalRecordMapper,
+            ObjectMapper objectMapper,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${vetcare.medical-records.refresh-delay:PT1S}") Duration refreshDelay,
+            @Value("${vetcare.medical-records.chunk-size:200}") int chunkSize) {
+        this.petRepository = petRepository;
+        this.visitRepository = visitRepository;
+        this.petMedicalRecordMapper = petMedicalRecordMapper;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.refreshDelay = refreshDelay;
+        this.chunkSize = chunkSize;
+        // One thread: a pet's record is never regenerated twice at once within a node
+        this.refresher = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "medical-records");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    // The stored JSON is sent as is; PetMedicalRecordDTO describes it
+    public String findDocument(Long petId) {
+        log.debug("Finding medical record of pet {}", petId);
+        if (!changed.containsKey(petId)) {
+            String document = readTransaction.execute(status -> jdbcTemplate.query(
+                "SELECT document FROM pet_medical_records WHERE pet_id = ? AND format = ?",
+                rows -> rows.next() ? rows.getString(1) : null, petId, FORMAT));
+            if (document != null) {
+                return document;
+            }
+        }
+        // Not built yet, built in an older format, or behind a write this node has not caught up with
+        String document = refresh(List.of(petId)).get(petId);
+        if (document == null) {
+            throw new ResourceNotFoundException("Pet not found with id: " + petId);
+        }
+        return document;
+    }
+
+    @TransactionalEventListener
+    public void onVisitChanged(VisitChangedEvent event) {
+        markChanged(List.of(event.petId()));
+    }
+
+    // For writes to the pets themselves; without a transaction the pets count as changed right away
+    public void refreshAfterCommit(Collection<Long> petIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markChanged(petIds);
+            return;
+        }
+        List<Long> ids = List.copyOf(petIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markChanged(ids);
+            }
+        });
+    }
+
+    // Backfill and repair: regenerates every record, one chunk of pets per transaction
+    public BulkUpdateResultDTO rebuildAll() {
+        log.info("Rebuilding all pet medical records");
+        long rebuilt = 0;
+        int chunks = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = petRepository.findIdsAfter(afterId, Limit.of(chunkSize));
+            if (!ids.isEmpty()) {
+                rebuilt += refresh(ids).size();
+                chunks++;
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == chunkSize);
+        log.info("Rebuilt {} pet medical records in {} chunks", rebuilt, chunks);
+        return BulkUpdateResultDTO.builder().affected(rebuilt).chunks(chunks).build();
+    }
+
+    private void markChanged(Collection<Long> petIds) {
+        for (Long petId : petIds) {
+            changed.put(petId, changeSequence.incrementAndGet());
+        }
+        scheduleRefresh();
+    }
+
+    private void scheduleRefresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            try {
+                refresher.schedule(this::refreshChanged, refreshDelay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ex) {
+                // Shutting down: the records are regenerated when read
+                refreshScheduled.set(false);
+            }
+        }
+    }
+
+    // Runs on the refresher thread; a pet changed again meanwhile stays marked for the next round
+    private void refreshChanged() {
+        refreshScheduled.set(false);
+        try {
+            while (!changed.isEmpty()) {
+                Map<Long, Long> chunk = new HashMap<>();
+                for (Map.Entry<Long, Long> entry : changed.entrySet()) {
+                    chunk.put(entry.getKey(), entry.getValue());
+                    if (chunk.size() == chunkSize) {
+                        break;
+                    }
+                }
+                refresh(chunk.keySet());
+                chunk.forEach(changed::remove);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not regenerate pet medical records, {} left for a retry", changed.size(), ex);
+            scheduleRefresh();
+        }
+    }
+
+    /**
+     * Regenerates and stores the records of the given pets, returning them by pet ID; pets that
+     * no longer exist are left out. The pet rows are locked first, in id order, so regenerations
+     * of the same pet on different nodes take turns and the last one to write read the latest
+     * visits.
+     */
+    Map<Long, String> refresh(Collection<Long> petIds) {
+        List<Long> ids = new ArrayList<>(new TreeSet<>(petIds));
+        return transactionTemplate.execute(status -> {
+            List<Long> locked = jdbcTemplate.queryForList(
+                "SELECT id FROM pets WHERE id IN (" + placeholders(ids) + ") ORDER BY id FOR UPDATE",
+                Long.class, ids.toArray());
+            if (locked.isEmpty()) {
+                return Map.of();
+            }
+            Map<Long, List<Visit>> visitsByPet = new HashMap<>();
+            for (Visit visit : visitRepository.findHistoryByPetIdIn(locked)) {
+                visitsByPet.computeIfAbsent(visit.getPet().getId(), id -> new ArrayList<>()).add(visit);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            Map<Long, String> documents = new HashMap<>();
+            for (Pet pet : petRepository.findWithTypeByIdIn(locked)) {
+                PetMedicalRecordDTO record = petMedicalRecordMapper.toDTO(pet,
+                    visitsByPet.getOrDefault(pet.getId(), List.of()));
+                record.setGeneratedAt(now);
+                documents.put(pet.getId(), toJson(record));
+            }
+            store(documents, now);
+            return documents;
+        });
+    }
+
+    private void store(Map<Long, String> documents, LocalDateTime now) {
+        List<Long> ids = new ArrayList<>(documents.keySet());
+        Set<Long> existing = new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT pet_id FROM pet_medical_records WHERE pet_id IN (" + placeholders(ids) + ")",
+            Long.class, ids.toArray()));
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        documents.forEach((petId, document) -> {
+            if (existing.contains(petId)) {
+                updates.add(new Object[] {FORMAT, document, now, petId});
+            } else {
+                inserts.add(new Object[] {petId, FORMAT, document, now});
+            }
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "UPDATE pet_medical_records SET format = ?, document = ?, refreshed_at = ? WHERE pet_id = ?", updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO pet_medical_records (pet_id, format, document, refreshed_at) VALUES (?, ?, ?, ?)", inserts);
+        }
+    }
+
+    private String toJson(PetMedicalRecordDTO record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not write the medical record of pet " + record.getPetId(), ex);
+        }
+    }
+
+    private static String placeholders(List<Long> ids) {
+        return String.join(",", ids.stream().map(id -> "?").toList());
+    }
+}
@@ -13,20 +13,33 @@ import com.vetcare.repositories.ClinicRepository;
 import com.vetcare.mappers.PetMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PetService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "birthDate", "breed", "createdAt");
+
     private final PetRepository petRepository;
     private final OwnerRepository ownerRepository;
     private final PetTypeRepository petTypeRepository;
     private final ClinicRepository clinicRepository;
     private final PetMapper petMapper;
+    private final PaginationSupport paginationSupport;
+    private final BulkUpdateSupport bulkUpdateSupport;
+    private final OptimisticUpdateSupport optimisticUpdateSupport;
+    private final ResourceVersionService resourceVersionService;
+    private final PetMedicalRecordService petMedicalRecordService;
+    private final VisitService visitService;
+    private final WaitlistService waitlistService;
+    private final VisitSeriesService visitSeriesService;
     
     @Transactional(readOnly = true)
     public List<PetDTO> findAll() {
@@ -42,6 +55,22 @@ public class PetService {
         return petMapper.toDTOList(pets);
     }
     
+    @Transactional(readOnly = true)
+    public PageDTO<PetDTO> findAll(Pageable pageable, boolean withCount) {
+        log.debug("Finding pets page: {}", pageable);
+        Pageable page = paginationSupport.sanitize(pageable, SORTABLE_FIELDS);
+        Slice<Pet> pets = withCount ? petRepository.findAll(page) : petRepository.findSliceBy(page);
+        return paginationSupport.toPageDTO(pets, petMapper.toDTOList(pets.getContent()));
+    }
+    
+    @Transactional(readOnly = true)
+    public PageDTO<PetDTO> findAllActive(Pageable pageable, boolean withCount) {
+        log.debug("Finding active pets page: {}", pageable);
+        Pageable page = paginationSupport.sanitize(pageable, SORTABLE_FIELDS);
+        Slice<Pet> pets = withCount ? petRepository.findByActiveTrue(page) : petRepository.findSliceByActiveTrue(page);
+        return paginationSupport.toPageDTO(pets, petMapper.toDTOList(pets.getContent()));
+    }
+    
     @Transactional(readOnly = true)
     public PetDTO findById(Long id) {
         log.debug("Finding pet by id: {}", id);
@@ -57,6 +86,12 @@ public class PetService {
         return petMapper.toDTOList(pets);
     }
     
+    @Transactional(readOnly = true)
+    public List<PetSummaryDTO> findSummariesByOwnerId(Long ownerId) {
+        log.debug("Finding pet summaries by owner id: {}", ownerId);
+        return petRepository.findSummariesByOwnerId(ownerId);
+    }
+    
     @Transactional(readOnly = true)
     public List<PetDTO> searchByName(String name) {
         log.debug("Searching pets by name: {}", name);
@@ -85,19 +120,25 @@ public class PetService {
         }
         
         Pet savedPet = petRepository.save(pet);
+        petMedicalRecordService.refreshAfterCommit(List.of(savedPet.getId()));
         return petMapper.toDTO(savedPet);
     }
     
-    @Transactional
-    public PetDTO update(Long id, UpdatePetDTO updatePetDTO) {
+    // ifMatch is the optional If-Match header; the version check applies whether or not it is sent
+    public PetDTO update(Long id, UpdatePetDTO updatePetDTO, String ifMatch) {
         log.info("Updating pet with id: {}", id);
         
-        Pet existingPet = petRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Pet not found with id: " + id));
-        
-        petMapper.updateEntityFromDTO(updatePetDTO, existingPet);
-        Pet savedPet = petRepository.save(existingPet);
-        return petMapper.toDTO(savedPet);
+        return optimisticUpdateSupport.update("Pet", id, () -> {
+            Pet existingPet = petRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Pet not found with id: " + id));
+            optimisticUpdateSupport.checkIfMatch(ifMatch, () -> resourceVersionService.pet(id));
+            optimisticUpdateSupport.checkVersion(updatePetDTO.getVersion(), existingPet.getVersion(), Pet.class, id);
+            
+            petMapper.updateEntityFromDTO(updatePetDTO, existingPet);
+            Pet savedPet = petRepository.saveAndFlush(existingPet);
+            petMedicalRecordService.refreshAfterCommit(List.of(id));
+            return petMapper.toDTO(savedPet);
+        }, () -> findById(id));
     }
     
     @Transactional
@@ -105,6 +146,9 @@ public class PetService {
         log.info("Deleting pet with id: {}", id);
         Pet pet = petRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Pet not found with id: " + id));
+        visitService.deleteReferencing(List.of(id), List.of(), List.of());
+        waitlistService.deleteReferencing(List.of(id), List.of(), List.of());
+        visitSeriesService.deleteReferencing(List.of(id), List.of(), List.of());
         petRepository.delete(pet);
     }
     
@@ -115,6 +159,17 @@ public class PetService {
             .orElseThrow(() -> new ResourceNotFoundException("Pet not found with id: " + id));
         pet.setActive(false);
         petRepository.save(pet);
+        petMedicalRecordService.refreshAfterCommit(List.of(id));
+    }
+    
+    public BulkUpdateResultDTO deactivateAll(List<Long> ids) {
+        log.info("Deactivating {} pets", ids.size());
+        BulkUpdateResultDTO result = bulkUpdateSupport.updateByIds("pets", ids, chunk -> {
+            int deactivated = petRepository.deactivateByIdIn(chunk);
+            petMedicalRecordService.refreshAfterCommit(chunk);
+            return deactivated;
+        });
+        log.info("Deactivated {} pets in {} chunks", result.getAffected(), result.getChunks());
+        return result;
     }
-
 }
@@ -1,5 +1,6 @@
 package com.vetcare.services;
 
+import com.vetcare.dto.CatalogDeltaDTO;
 import com.vetcare.dto.PetTypeDTO;
 import com.vetcare.exceptions.ResourceNotFoundException;
 import com.vetcare.exceptions.DuplicateResourceException;
@@ -8,6 +9,7 @@ import com.vetcare.repositories.PetTypeRepository;
 import com.vetcare.mappers.PetTypeMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -20,27 +22,24 @@ public class PetTypeService {
 
     private final PetTypeRepository petTypeRepository;
     private final PetTypeMapper petTypeMapper;
+    private final VersionedCatalog<PetTypeDTO> catalog =
+        new VersionedCatalog<>("pet-types", this::loadCatalog, PetTypeDTO::getId, System::currentTimeMillis);
     
-    @Transactional(readOnly = true)
     public List<PetTypeDTO> findAll() {
-        log.debug("Finding all pet types");
-        List<PetType> petTypes = petTypeRepository.findAll();
-        return petTypeMapper.toDTOList(petTypes);
+        return catalog.items(item -> true);
     }
     
-    @Transactional(readOnly = true)
     public List<PetTypeDTO> findAllActive() {
-        log.debug("Finding all active pet types");
-        List<PetType> petTypes = petTypeRepository.findByActiveTrue();
-        return petTypeMapper.toDTOList(petTypes);
+        return catalog.items(item -> Boolean.TRUE.equals(item.getActive()));
+    }
+
+    public CatalogDeltaDTO<PetTypeDTO> findChangesSince(long sinceVersion) {
+        return catalog.changesSince(sinceVersion);
     }
     
-    @Transactional(readOnly = true)
     public PetTypeDTO findById(Long id) {
-        log.debug("Finding pet type by id: {}", id);
-        PetType petType = petTypeRepository.findById(id)
+        return catalog.find(id)
             .orElseThrow(() -> new ResourceNotFoundException("Pet type not found with id: " + id));
-        return petTypeMapper.toDTO(petType);
     }
     
     @Transactional
@@ -53,7 +52,7 @@ public class PetTypeService {
         
         PetType petType = petTypeMapper.toEntity(petTypeDTO);
         PetType savedPetType = petTypeRepository.save(petType);
-        return petTypeMapper.toDTO(savedPetType);
+        return publish(petTypeMapper.toDTO(savedPetType));
     }
     
     @Transactional
@@ -70,7 +69,7 @@ public class PetTypeService {
         
         petTypeMapper.updateEntityFromDTO(petTypeDTO, existingPetType);
         PetType savedPetType = petTypeRepository.save(existingPetType);
-        return petTypeMapper.toDTO(savedPetType);
+        return publish(petTypeMapper.toDTO(savedPetType));
     }
     
     @Transactional
@@ -79,6 +78,22 @@ public class PetTypeService {
         PetType petType = petTypeRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Pet type not found with id: " + id));
         petTypeRepository.delete(petType);
+        catalog.removeAfterCommit(id);
+    }
+
+    @Scheduled(fixedDelayString = "${vetcare.catalog.refresh-interval:PT5M}",
+        initialDelayString = "${vetcare.catalog.refresh-interval:PT5M}")
+    public void refreshCatalog() {
+        catalog.reload();
+    }
+
+    private PetTypeDTO publish(PetTypeDTO petTypeDTO) {
+        catalog.putAfterCommit(petTypeDTO);
+        return petTypeDTO;
+    }
+
+    private List<PetTypeDTO> loadCatalog() {
+        return petTypeMapper.toDTOList(petTypeRepository.findAll());
     }
 
 }
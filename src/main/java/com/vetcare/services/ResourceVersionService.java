@@ -0,0 +1,91 @@
+package com.vetcare.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Strong ETags and Last-Modified dates for single-resource GETs, built from the version and
+ * updated_at columns of every row the DTO shows. Each check is one indexed query returning a
+ * few numbers, so a 304 never loads or serializes the resource.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ResourceVersionService {
+
+    public record ResourceVersion(String eTag, long lastModified) {}
+
+    private final EntityManager entityManager;
+
+    public Optional<ResourceVersion> owner(Long id) {
+        return fold("owner", id, query(
+            "SELECT o.version, o.updatedAt FROM Owner o WHERE o.id = :id", id));
+    }
+
+    public Optional<ResourceVersion> ownerWithPets(Long id) {
+        return fold("owner-pets", id, query(
+            "SELECT o.version, o.updatedAt, p.id, p.version, p.updatedAt, t.version, t.updatedAt " +
+            "FROM Owner o LEFT JOIN o.pets p LEFT JOIN p.petType t WHERE o.id = :id ORDER BY p.id", id));
+    }
+
+    public Optional<ResourceVersion> pet(Long id) {
+        return fold("pet", id, query(
+            "SELECT p.version, p.updatedAt, o.version, o.updatedAt, t.version, t.updatedAt, c.version, c.updatedAt " +
+            "FROM Pet p LEFT JOIN p.owner o LEFT JOIN p.petType t LEFT JOIN p.primaryClinic c WHERE p.id = :id", id));
+    }
+
+    public Optional<ResourceVersion> visit(Long id) {
+        return fold("visit", id, query(
+            "SELECT v.version, v.updatedAt, p.version, p.updatedAt, t.version, t.updatedAt, " +
+            "vet.version, vet.updatedAt, c.version, c.updatedAt " +
+            "FROM Visit v LEFT JOIN v.pet p LEFT JOIN p.petType t LEFT JOIN v.veterinarian vet LEFT JOIN v.clinic c " +
+            "WHERE v.id = :id", id));
+    }
+
+    public Optional<ResourceVersion> clinic(Long id) {
+        return fold("clinic", id, query(
+            "SELECT c.version, c.updatedAt FROM Clinic c WHERE c.id = :id", id));
+    }
+
+    public Optional<ResourceVersion> veterinarian(Long id) {
+        return fold("veterinarian", id, query(
+            "SELECT v.version, v.updatedAt, c.version, c.updatedAt, s.id, s.version, s.updatedAt " +
+            "FROM Veterinarian v LEFT JOIN v.clinic c LEFT JOIN v.specialties s WHERE v.id = :id ORDER BY s.id", id));
+    }
+
+    private List<Object[]> query(String jpql, Long id) {
+        return entityManager.createQuery(jpql, Object[].class)
+            .setParameter("id", id)
+            .getResultList();
+    }
+
+    // Versions and ids go into the tag; the newest updated_at becomes Last-Modified
+    private Optional<ResourceVersion> fold(String kind, Long id, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        StringBuilder versions = new StringBuilder(kind).append(':').append(id);
+        LocalDateTime lastModified = LocalDateTime.MIN;
+        for (Object[] row : rows) {
+            for (Object value : row) {
+                if (value instanceof LocalDateTime updatedAt) {
+                    lastModified = updatedAt.isAfter(lastModified) ? updatedAt : lastModified;
+                } else {
+                    versions.append(',').append(value);
+                }
+            }
+        }
+        String eTag = "\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        return Optional.of(new ResourceVersion(eTag, lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    }
+}
@@ -0,0 +1,223 @@
+package com.vetcare.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.vetcare.dto.CreateSlotHoldDTO;
+import com.vetcare.dto.SlotHoldDTO;
+import com.vetcare.exceptions.BadRequestException;
+import com.vetcare.exceptions.DuplicateResourceException;
+import com.vetcare.exceptions.ResourceNotFoundException;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Short-lived holds on a veterinarian's time while an owner confirms a booking. Holds live in
+ * this node's memory only: placing one reads visit_slots but writes nothing, and a timer wheel
+ * drops it when its TTL runs out. Every change to a veterinarian's holds happens under that
+ * veterinarian's booking lock from {@link VisitSlotSupport}, the same one visit creation takes,
+ * so a hold and a booking for the same time cannot both succeed.
+ */
+@Service
+@Slf4j
+public class SlotHoldService {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int WHEEL_SIZE = 512;
+
+    private record Hold(String id, Long veterinarianId, Long clinicId, LocalDateTime visitDate, int durationMinutes,
+                        List<LocalDateTime> slots, long expiresAtMillis) {
+
+        boolean expired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+
+    private final VisitSlotSupport visitSlotSupport;
+    private final AvailabilityService availabilityService;
+    private final VeterinarianRepository veterinarianRepository;
+    private final ClinicRepository clinicRepository;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+    private final Map<VisitSlotSupport.Slot, Hold> heldSlots = new ConcurrentHashMap<>();
+    private final TimerWheel<Hold> expiries;
+
+    public SlotHoldService(
+            VisitSlotSupport visitSlotSupport,
+            AvailabilityService availabilityService,
+            VeterinarianRepository veterinarianRepository,
+            ClinicRepository clinicRepository,
+            @Value("${vetcare.holds.default-ttl:PT90S}") Duration defaultTtl,
+            @Value("${vetcare.holds.max-ttl:PT10M}") Duration maxTtl,
+            @Value("${vetcare.holds.tick:PT1S}") Duration tick) {
+        this.visitSlotSupport = visitSlotSupport;
+        this.availabilityService = availabilityService;
+        this.veterinarianRepository = veterinarianRepository;
+        this.clinicRepository = clinicRepository;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.expiries = new TimerWheel<>(tick.toMillis(), WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    public SlotHoldDTO create(CreateSlotHoldDTO request) {
+        int durationMinutes = visitSlotSupport.durationOrDefault(request.getDurationMinutes());
+        VisitSlotSupport.requireOnGrid(request.getVisitDate());
+        Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : defaultTtl;
+        if (ttl.compareTo(maxTtl) > 0) {
+            throw new BadRequestException("A hold can last at most " + maxTtl.toSeconds() + " seconds");
+        }
+        return create(request, durationMinutes, ttl);
+    }
+
+    // Also used for waitlist offers, whose TTL is configured separately and may exceed max-ttl
+    SlotHoldDTO create(CreateSlotHoldDTO request, int durationMinutes, Duration ttl) {
+        Long veterinarianId = request.getVeterinarianId();
+        veterinarianRepository.findById(veterinarianId)
+            .filter(veterinarian -> Boolean.TRUE.equals(veterinarian.getActive()))
+            .orElseThrow(() -> new ResourceNotFoundException("Veterinarian not found with id: " + veterinarianId));
+        if (!clinicRepository.existsById(request.getClinicId())) {
+            throw new ResourceNotFoundException("Clinic not found with id: " + request.getClinicId());
+        }
+        List<LocalDateTime> slots = VisitSlotSupport.slotsOf(request.getVisitDate(), durationMinutes);
+
+        return visitSlotSupport.withVeterinarianLocks(List.of(veterinarianId), () -> {
+            checkNotHeld(veterinarianId, request.getClinicId(), slots, null);
+            if (!visitSlotSupport.occupiedSlots(List.of(veterinarianId), slots.get(0),
+                    slots.get(slots.size() - 1).plusMinutes(VisitSlotSupport.SLOT_MINUTES)).isEmpty()) {
+                throw new DuplicateResourceException(
+                    VisitSlotSupport.conflictMessage(veterinarianId, request.getVisitDate(), durationMinutes));
+            }
+            Hold hold = new Hold(UUID.randomUUID().toString(), veterinarianId, request.getClinicId(),
+                request.getVisitDate(), durationMinutes, slots, System.currentTimeMillis() + ttl.toMillis());
+            holds.put(hold.id(), hold);
+            for (LocalDateTime slot : slots) {
+                heldSlots.put(new VisitSlotSupport.Slot(veterinarianId, slot), hold);
+            }
+            availabilityService.hold(veterinarianId, slots);
+            expiries.schedule(hold, hold.expiresAtMillis());
+            log.debug("Hold {} placed on veterinarian {} at {} for {}", hold.id(), veterinarianId, hold.visitDate(), ttl);
+            return toDTO(hold);
+        });
+    }
+
+    public SlotHoldDTO findById(String holdId) {
+        return toDTO(activeHold(holdId));
+    }
+
+    public void cancel(String holdId) {
+        Hold hold = activeHold(holdId);
+        visitSlotSupport.withVeterinarianLocks(List.of(hold.veterinarianId()), () -> release(hold));
+    }
+
+    /**
+     * Rejects a booking of the given slots while another request holds any of them. With the
+     * caller's own holdId, also checks that the booking fits inside that hold; a hold that has
+     * lapsed no longer covers anything, so the booking then only succeeds if the time is still
+     * free. Must be called holding the veterinarian's booking lock.
+     */
+    public void checkNotHeld(Long veterinarianId, Long clinicId, List<LocalDateTime> slots, String holdId) {
+        long now = System.currentTimeMillis();
+        Hold own = holdId != null ? holds.get(holdId) : null;
+        if (own != null && !own.expired(now) && (!own.veterinarianId().equals(veterinarianId)
+                || !own.clinicId().equals(clinicId) || !own.slots().containsAll(slots))) {
+            throw new BadRequestException("Hold " + holdId + " is for veterinarian " + own.veterinarianId()
+                + " at clinic " + own.clinicId() + " between " + TIME.format(own.visitDate()) + " and "
+                + TIME.format(own.visitDate().plusMinutes(own.durationMinutes())) + "; the visit must fit inside it");
+        }
+        for (LocalDateTime slot : slots) {
+            Hold hold = heldSlots.get(new VisitSlotSupport.Slot(veterinarianId, slot));
+            if (hold == null || hold == own) {
+                continue;
+            }
+            if (hold.expired(now)) {
+                release(hold);
+                continue;
+            }
+            throw new DuplicateResourceException("Veterinarian " + veterinarianId + " is held for another booking between "
+                + TIME.format(hold.visitDate()) + " and " + TIME.format(hold.visitDate().plusMinutes(hold.durationMinutes()))
+                + " for " + Math.max(1, (hold.expiresAtMillis() - now + 999) / 1000) + " more seconds");
+        }
+    }
+
+    // Drops the hold once the visit that used it has committed; the caller still holds the booking lock then
+    public void consumeAfterCommit(String holdId) {
+        if (holdId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            consume(holdId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                consume(holdId);
+            }
+        });
+    }
+
+    @Scheduled(fixedRateString = "${vetcare.holds.tick:PT1S}")
+    public void expire() {
+        List<Hold> due = expiries.advance(System.currentTimeMillis());
+        for (Hold hold : due) {
+            visitSlotSupport.withVeterinarianLocks(List.of(hold.veterinarianId()), () -> release(hold));
+        }
+        if (!due.isEmpty()) {
+            log.debug("Expired {} slot holds, {} still active", due.size(), holds.size());
+        }
+    }
+
+    private void consume(String holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold != null) {
+            release(hold);
+        }
+    }
+
+    // Only the first caller frees the slots: consumed or cancelled holds also come due on the wheel later
+    private boolean release(Hold hold) {
+        if (!holds.remove(hold.id(), hold)) {
+            return false;
+        }
+        for (LocalDateTime slot : hold.slots()) {
+            heldSlots.remove(new VisitSlotSupport.Slot(hold.veterinarianId(), slot), hold);
+        }
+        availabilityService.unhold(hold.veterinarianId(), hold.slots());
+        return true;
+    }
+
+    private Hold activeHold(String holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null || hold.expired(System.currentTimeMillis())) {
+            throw new ResourceNotFoundException("Hold not found or expired: " + holdId);
+        }
+        return hold;
+    }
+
+    private static SlotHoldDTO toDTO(Hold hold) {
+        return SlotHoldDTO.builder()
+            .holdId(hold.id())
+            .veterinarianId(hold.veterinarianId())
+            .clinicId(hold.clinicId())
+            .visitDate(hold.visitDate())
+            .durationMinutes(hold.durationMinutes())
+            .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.expiresAtMillis()), ZoneId.systemDefault()))
+            .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.vetcare.services;
 
+import com.vetcare.dto.CatalogDeltaDTO;
 import com.vetcare.dto.SpecialtyDTO;
 import com.vetcare.exceptions.ResourceNotFoundException;
 import com.vetcare.exceptions.DuplicateResourceException;
@@ -8,6 +9,7 @@ import com.vetcare.repositories.SpecialtyRepository;
 import com.vetcare.mappers.SpecialtyMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -19,27 +21,24 @@ public class SpecialtyService {
 
     private final SpecialtyRepository specialtyRepository;
     private final SpecialtyMapper specialtyMapper;
+    private final VersionedCatalog<SpecialtyDTO> catalog =
+        new VersionedCatalog<>("specialties", this::loadCatalog, SpecialtyDTO::getId, System::currentTimeMillis);
     
-    @Transactional(readOnly = true)
     public List<SpecialtyDTO> findAll() {
-        log.debug("Finding all specialties");
-        List<Specialty> specialties = specialtyRepository.findAll();
-        return specialtyMapper.toDTOList(specialties);
+        return catalog.items(item -> true);
     }
     
-    @Transactional(readOnly = true)
     public List<SpecialtyDTO> findAllActive() {
-        log.debug("Finding all active specialties");
-        List<Specialty> specialties = specialtyRepository.findByActiveTrue();
-        return specialtyMapper.toDTOList(specialties);
+        return catalog.items(item -> Boolean.TRUE.equals(item.getActive()));
+    }
+
+    public CatalogDeltaDTO<SpecialtyDTO> findChangesSince(long sinceVersion) {
+        return catalog.changesSince(sinceVersion);
     }
     
-    @Transactional(readOnly = true)
     public SpecialtyDTO findById(Long id) {
-        log.debug("Finding specialty by id: {}", id);
-        Specialty specialty = specialtyRepository.findById(id)
+        return catalog.find(id)
             .orElseThrow(() -> new ResourceNotFoundException("Specialty not found with id: " + id));
-        return specialtyMapper.toDTO(specialty);
     }
     
     @Transactional(readOnly = true)
@@ -58,7 +57,7 @@ public class SpecialtyService {
         
         Specialty specialty = specialtyMapper.toEntity(specialtyDTO);
         Specialty savedSpecialty = specialtyRepository.save(specialty);
-        return specialtyMapper.toDTO(savedSpecialty);
+        return publish(specialtyMapper.toDTO(savedSpecialty));
     }
     
     @Transactional
@@ -75,7 +74,7 @@ public class SpecialtyService {
         
         specialtyMapper.updateEntityFromDTO(specialtyDTO, existingSpecialty);
         Specialty savedSpecialty = specialtyRepository.save(existingSpecialty);
-        return specialtyMapper.toDTO(savedSpecialty);
+        return publish(specialtyMapper.toDTO(savedSpecialty));
     }
     
     @Transactional
@@ -84,5 +83,21 @@ public class SpecialtyService {
         Specialty specialty = specialtyRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Specialty not found with id: " + id));
         specialtyRepository.delete(specialty);
+        catalog.removeAfterCommit(id);
+    }
+
+    @Scheduled(fixedDelayString = "${vetcare.catalog.refresh-interval:PT5M}",
+        initialDelayString = "${vetcare.catalog.refresh-interval:PT5M}")
+    public void refreshCatalog() {
+        catalog.reload();
+    }
+
+    private SpecialtyDTO publish(SpecialtyDTO specialtyDTO) {
+        catalog.putAfterCommit(specialtyDTO);
+        return specialtyDTO;
+    }
+
+    private List<SpecialtyDTO> loadCatalog() {
+        return specialtyMapper.toDTOList(specialtyRepository.findAll());
     }
 }
@@ -0,0 +1,79 @@
+package com.vetcare.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.vetcare.exceptions.ServiceUnavailableException;
+
+/**
+ * Runs a request's independent subtasks concurrently and joins them under one deadline, in
+ * the spirit of StructuredTaskScope.ShutdownOnFailure (still a preview API on Java 21): join
+ * returns once all succeed, the first failure is rethrown as soon as it happens, and closing
+ * the scope cancels whatever is still running, so no subtask outlives the request.
+ */
+final class SubtaskScope implements AutoCloseable {
+
+    private final Executor executor;
+    private final long deadlineNanos;
+    private final List<Future<?>> subtasks = new ArrayList<>();
+    private final BlockingQueue<Future<?>> completed = new LinkedBlockingQueue<>();
+
+    SubtaskScope(Executor executor, long timeoutNanos) {
+        this.executor = executor;
+        this.deadlineNanos = System.nanoTime() + timeoutNanos;
+    }
+
+    <T> Future<T> fork(Callable<T> task) {
+        FutureTask<T> subtask = new FutureTask<>(task) {
+            @Override
+            protected void done() {
+                completed.add(this);
+            }
+        };
+        subtasks.add(subtask);
+        executor.execute(subtask);
+        return subtask;
+    }
+
+    void join() {
+        try {
+            for (int i = 0; i < subtasks.size(); i++) {
+                Future<?> subtask = completed.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (subtask == null) {
+                    throw new ServiceUnavailableException("The request did not complete in time");
+                }
+                subtask.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("The request was interrupted");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    // Only valid after a successful join
+    static <T> T result(Future<T> subtask) {
+        try {
+            return subtask.get(0, TimeUnit.NANOSECONDS);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Subtask result read before join", ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        subtasks.forEach(subtask -> subtask.cancel(true));
+    }
+}
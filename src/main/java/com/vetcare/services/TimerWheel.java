@@ -0,0 +1,55 @@
+package com.vetcare.services;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timer wheel: a ring of buckets, one per tick, holding the items due in that tick.
+ * Scheduling and advancing one tick are O(1) per item, whatever the number of pending items;
+ * deadlines further than one turn away wait in their bucket for the remaining turns. Items are
+ * not cancelled here; callers ignore items that were already settled when they come due.
+ */
+final class TimerWheel<T> {
+
+    private record Entry<T>(T item, long deadlineTick) {}
+
+    private final long tickMillis;
+    private final List<List<Entry<T>>> buckets;
+    private long currentTick;
+
+    TimerWheel(long tickMillis, int size, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    synchronized void schedule(T item, long deadlineMillis) {
+        // Round up and never into a tick already passed, so nothing is returned before its deadline
+        long deadlineTick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+        buckets.get((int) (deadlineTick % buckets.size())).add(new Entry<>(item, deadlineTick));
+    }
+
+    // Items whose deadline is at or before nowMillis
+    synchronized List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        long nowTick = nowMillis / tickMillis;
+        // After a long pause a single pass over the ring sees every bucket
+        long last = Math.min(nowTick, currentTick + buckets.size());
+        for (long tick = currentTick + 1; tick <= last; tick++) {
+            Iterator<Entry<T>> entries = buckets.get((int) (tick % buckets.size())).iterator();
+            while (entries.hasNext()) {
+                Entry<T> entry = entries.next();
+                if (entry.deadlineTick() <= nowTick) {
+                    due.add(entry.item());
+                    entries.remove();
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick);
+        return due;
+    }
+}
@@ -0,0 +1,317 @@
+package com.vetcare.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vetcare.dto.TriageCheckInDTO;
+import com.vetcare.dto.TriageEntryDTO;
+import com.vetcare.dto.TriageQueueDTO;
+import com.vetcare.dto.TriageQueueEventDTO;
+import com.vetcare.dto.VisitEventDTO;
+import com.vetcare.exceptions.BadRequestException;
+import com.vetcare.exceptions.DuplicateResourceException;
+import com.vetcare.exceptions.ResourceNotFoundException;
+import com.vetcare.models.Visit;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.VisitRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Waiting-room triage queues, one per clinic, kept in memory. A visit joins its clinic's queue
+ * when it is checked in and leaves it when it starts, ends, is cancelled or is checked out;
+ * the queue orders visits by urgency, then appointment time, then arrival.
+ * <p>
+ * The queues are a projection of committed {@link VisitChangedEvent}s, so every visit write
+ * path keeps them current. Each queue is a concurrent skip list, with a map from visit to its
+ * entry for O(log n) moves and removals; changes to one visit are serialized on that visit's
+ * map entry only. A visit that leaves its queue leaves the version it left at behind for a
+ * few minutes, so an older event handled late does not put it back. Every change is sent as a
+ * diff on the clinic's stream from {@link VisitStreamService}. On startup the queues are rebuilt from the checked-in visits;
+ * like the streams, they only see changes made through this node.
+ */
+@Service
+@Slf4j
+public class TriageQueueService {
+
+    private static final String QUEUE_EVENT = "queue";
+
+    private record Entry(Long visitId, Long clinicId, Long petId, Long veterinarianId, Visit.TriageUrgency urgency,
+                         LocalDateTime visitDate, LocalDateTime checkedInAt, Long version) {}
+
+    // How long a removal outlives the visit's entry: longer than events of one visit can commit apart
+    private static final long REMOVAL_RETENTION_NANOS = Duration.ofMinutes(5).toNanos();
+
+    private record Removal(Long version, long removedAt) {}
+
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::urgency)
+        .thenComparing(Entry::visitDate)
+        .thenComparing(Entry::checkedInAt)
+        .thenComparing(Entry::visitId);
+
+    private static final class ClinicQueue {
+        final ConcurrentSkipListSet<Entry> ordered = new ConcurrentSkipListSet<>(ORDER);
+        final AtomicLong version = new AtomicLong();
+    }
+
+    private final VisitRepository visitRepository;
+    private final ClinicRepository clinicRepository;
+    private final OptimisticUpdateSupport optimisticUpdateSupport;
+    private final VisitStreamService visitStreamService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readTransaction;
+    private final Duration maxWait;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, ClinicQueue> queues = new ConcurrentHashMap<>();
+    // Set and cleared while computing the visit's key in entries, so both change together; pruning drops only old ones
+    private final Map<Long, Removal> removals = new ConcurrentHashMap<>();
+    private final AtomicLong lastPrune = new AtomicLong(System.nanoTime());
+    // Serializes reloads from the database
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    public TriageQueueService(
+            VisitRepository visitRepository,
+            ClinicRepository clinicRepository,
+            OptimisticUpdateSupport optimisticUpdateSupport,
+            VisitStreamService visitStreamService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${vetcare.triage.max-wait:PT12H}") Duration maxWait) {
+        this.visitRepository = visitRepository;
+        this.clinicRepository = clinicRepository;
+        this.optimisticUpdateSupport = optimisticUpdateSupport;
+        this.visitStreamService = visitStreamService;
+        this.eventPublisher = eventPublisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.maxWait = maxWait;
+    }
+
+    public TriageQueueDTO snapshot(Long clinicId) {
+        if (!clinicRepository.existsById(clinicId)) {
+            throw new ResourceNotFoundException("Clinic not found with id: " + clinicId);
+        }
+        ensureLoaded();
+        ClinicQueue queue = queue(clinicId);
+        // Read first: every change up to this version is already in the list, later ones may be too
+        long version = queue.version.get();
+        List<TriageEntryDTO> waiting = new ArrayList<>();
+        for (Entry entry : queue.ordered) {
+            TriageEntryDTO dto = toDTO(entry);
+            dto.setPosition(waiting.size() + 1);
+            waiting.add(dto);
+        }
+        return TriageQueueDTO.builder().clinicId(clinicId).version(version).entries(waiting).build();
+    }
+
+    public TriageEntryDTO checkIn(Long clinicId, TriageCheckInDTO request) {
+        log.info("Checking in visit {} at clinic {} as {}", request.getVisitId(), clinicId, request.getUrgency());
+        return write(clinicId, request.getVisitId(), visit -> {
+            if (visit.getStatus() != Visit.VisitStatus.SCHEDULED) {
+                throw new BadRequestException("Only scheduled visits can check in; visit " + visit.getId()
+                    + " is " + visit.getStatus());
+            }
+            if (visit.getCheckedInAt() != null) {
+                throw new DuplicateResourceException("Visit " + visit.getId() + " is already checked in");
+            }
+            visit.setCheckedInAt(LocalDateTime.now());
+            visit.setTriageUrgency(request.getUrgency());
+        });
+    }
+
+    public TriageEntryDTO reprioritize(Long clinicId, Long visitId, Visit.TriageUrgency urgency) {
+        log.info("Changing urgency of visit {} at clinic {} to {}", visitId, clinicId, urgency);
+        return write(clinicId, visitId, visit -> {
+            checkWaiting(visit);
+            visit.setTriageUrgency(urgency);
+        });
+    }
+
+    // Takes the visit out of the queue without starting it, e.g. checked in by mistake
+    public void checkOut(Long clinicId, Long visitId) {
+        log.info("Checking out visit {} at clinic {}", visitId, clinicId);
+        write(clinicId, visitId, visit -> {
+            checkWaiting(visit);
+            visit.setCheckedInAt(null);
+            visit.setTriageUrgency(null);
+        });
+    }
+
+    @TransactionalEventListener
+    public void onVisitChanged(VisitChangedEvent change) {
+        ensureLoaded();
+        boolean waiting = change.type() != VisitEventDTO.Type.DELETED
+            && change.status() == Visit.VisitStatus.SCHEDULED && change.checkedInAt() != null;
+        if (waiting) {
+            upsert(new Entry(change.visitId(), change.clinicId(), change.petId(), change.veterinarianId(),
+                change.triageUrgency(), change.visitDate(), change.checkedInAt(), change.version()));
+        } else {
+            remove(change.visitId(), change.version());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            // The database is read after this: only removals committed later can be newer than what it returns
+            removals.clear();
+            List<Visit> checkedIn = readTransaction.execute(status -> visitRepository.findByStatusAndCheckedInAtAfter(
+                Visit.VisitStatus.SCHEDULED, LocalDateTime.now().minus(maxWait)));
+            Set<Long> waiting = checkedIn.stream().map(Visit::getId).collect(Collectors.toSet());
+            for (Entry entry : List.copyOf(entries.values())) {
+                if (!waiting.contains(entry.visitId())) {
+                    remove(entry.visitId(), entry.version());
+                }
+            }
+            for (Visit visit : checkedIn) {
+                upsert(new Entry(visit.getId(), visit.getClinic().getId(), visit.getPet().getId(),
+                    visit.getVeterinarian().getId(), visit.getTriageUrgency(), visit.getVisitDate(),
+                    visit.getCheckedInAt(), visit.getVersion()));
+            }
+            loaded = true;
+            log.info("Triage queues rebuilt with {} waiting visits", checkedIn.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private TriageEntryDTO write(Long clinicId, Long visitId, Consumer<Visit> change) {
+        return optimisticUpdateSupport.update("Visit", visitId, () -> {
+            Visit visit = visitRepository.findById(visitId)
+                .filter(found -> found.getClinic().getId().equals(clinicId))
+                .orElseThrow(() -> new ResourceNotFoundException("Visit " + visitId + " not found at clinic " + clinicId));
+            change.accept(visit);
+            Visit savedVisit = visitRepository.saveAndFlush(visit);
+            eventPublisher.publishEvent(VisitChangedEvent.of(VisitEventDTO.Type.UPDATED, savedVisit));
+            return toDTO(savedVisit);
+        }, () -> visitRepository.findById(visitId).map(TriageQueueService::toDTO).orElse(null));
+    }
+
+    private static void checkWaiting(Visit visit) {
+        if (visit.getStatus() != Visit.VisitStatus.SCHEDULED || visit.getCheckedInAt() == null) {
+            throw new BadRequestException("Visit " + visit.getId() + " is not waiting in the queue");
+        }
+    }
+
+    // Events of one visit may commit out of order on different threads: an older version never replaces a newer one
+    private void upsert(Entry entry) {
+        entries.compute(entry.visitId(), (visitId, current) -> {
+            if (current != null && current.version() > entry.version()) {
+                return current;
+            }
+            // A delete keeps the version, so a removal at the same version is newer than the entry
+            Removal removal = removals.get(visitId);
+            if (current == null && removal != null && removal.version() >= entry.version()) {
+                return null;
+            }
+            removals.remove(visitId);
+            if (current != null) {
+                queue(current.clinicId()).ordered.remove(current);
+            }
+            ClinicQueue queue = queue(entry.clinicId());
+            queue.ordered.add(entry);
+            publish(entry.clinicId(), queue, TriageQueueEventDTO.Change.UPSERTED, visitId, entry);
+            return entry;
+        });
+    }
+
+    private void remove(Long visitId, Long version) {
+        entries.compute(visitId, (id, current) -> {
+            if (current != null && current.version() > version) {
+                return current;
+            }
+            removals.merge(id, new Removal(version, System.nanoTime()),
+                (previous, latest) -> previous.version() > latest.version() ? previous : latest);
+            if (current != null) {
+                ClinicQueue queue = queue(current.clinicId());
+                queue.ordered.remove(current);
+                publish(current.clinicId(), queue, TriageQueueEventDTO.Change.REMOVED, visitId, null);
+            }
+            return null;
+        });
+        pruneRemovals();
+    }
+
+    // At most once per retention period, on whichever thread gets there first
+    private void pruneRemovals() {
+        long now = System.nanoTime();
+        long last = lastPrune.get();
+        if (now - last < REMOVAL_RETENTION_NANOS || !lastPrune.compareAndSet(last, now)) {
+            return;
+        }
+        removals.values().removeIf(removal -> now - removal.removedAt() > REMOVAL_RETENTION_NANOS);
+    }
+
+    private void publish(Long clinicId, ClinicQueue queue, TriageQueueEventDTO.Change change, Long visitId, Entry entry) {
+        long version = queue.version.incrementAndGet();
+        visitStreamService.publish(clinicId, QUEUE_EVENT, eventId -> TriageQueueEventDTO.builder()
+            .eventId(eventId)
+            .clinicId(clinicId)
+            .version(version)
+            .change(change)
+            .visitId(visitId)
+            .entry(entry != null ? toDTO(entry) : null)
+            .build());
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            rebuildLock.lock();
+            try {
+                if (!loaded) {
+                    rebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+    }
+
+    private ClinicQueue queue(Long clinicId) {
+        return queues.computeIfAbsent(clinicId, id -> new ClinicQueue());
+    }
+
+    private static TriageEntryDTO toDTO(Entry entry) {
+        return TriageEntryDTO.builder()
+            .visitId(entry.visitId())
+            .petId(entry.petId())
+            .veterinarianId(entry.veterinarianId())
+            .urgency(entry.urgency())
+            .visitDate(entry.visitDate())
+            .checkedInAt(entry.checkedInAt())
+            .build();
+    }
+
+    private static TriageEntryDTO toDTO(Visit visit) {
+        return TriageEntryDTO.builder()
+            .visitId(visit.getId())
+            .petId(visit.getPet().getId())
+            .veterinarianId(visit.getVeterinarian().getId())
+            .urgency(visit.getTriageUrgency())
+            .visitDate(visit.getVisitDate())
+            .checkedInAt(visit.getCheckedInAt())
+            .build();
+    }
+}
@@ -0,0 +1,190 @@
+package com.vetcare.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.vetcare.dto.CatalogDeltaDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Immutable in-memory copy of a small catalog. Readers dereference the current snapshot
+ * without locking; every change builds a new snapshot with a higher version and swaps it in.
+ * Versions start at the load time in milliseconds, so they keep growing across restarts and a
+ * sinceVersion older than the load is answered with the full catalog.
+ * Items are shared between snapshots and callers and must not be modified.
+ */
+@Slf4j
+final class VersionedCatalog<D> {
+
+    // item is null for removed ids, kept so deltas can report the removal
+    private record Entry<D>(D item, long version) {}
+
+    private record Snapshot<D>(long version, long loadedVersion, SortedMap<Long, Entry<D>> entries) {}
+
+    private final String name;
+    private final Supplier<List<D>> loader;
+    private final Function<D, Long> idOf;
+    private final LongSupplier clock;
+    private final AtomicReference<Snapshot<D>> current = new AtomicReference<>();
+    // One load at a time
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    VersionedCatalog(String name, Supplier<List<D>> loader, Function<D, Long> idOf, LongSupplier clock) {
+        this.name = name;
+        this.loader = loader;
+        this.idOf = idOf;
+        this.clock = clock;
+    }
+
+    List<D> items(Predicate<D> filter) {
+        return snapshot().entries().values().stream()
+            .map(Entry::item)
+            .filter(item -> item != null && filter.test(item))
+            .toList();
+    }
+
+    Optional<D> find(Long id) {
+        Entry<D> entry = snapshot().entries().get(id);
+        return entry != null ? Optional.ofNullable(entry.item()) : Optional.empty();
+    }
+
+    long version() {
+        return snapshot().version();
+    }
+
+    CatalogDeltaDTO<D> changesSince(long sinceVersion) {
+        Snapshot<D> snapshot = snapshot();
+        boolean full = sinceVersion < snapshot.loadedVersion() || sinceVersion > snapshot.version();
+        List<D> items = new ArrayList<>();
+        List<Long> removedIds = new ArrayList<>();
+        snapshot.entries().forEach((id, entry) -> {
+            if (entry.item() == null) {
+                if (!full && entry.version() > sinceVersion) {
+                    removedIds.add(id);
+                }
+            } else if (full || entry.version() > sinceVersion) {
+                items.add(entry.item());
+            }
+        });
+        return CatalogDeltaDTO.<D>builder()
+            .version(snapshot.version())
+            .full(full)
+            .items(items)
+            .removedIds(removedIds)
+            .build();
+    }
+
+    // Applied once the surrounding transaction commits, so a rollback leaves the snapshot untouched
+    void putAfterCommit(D item) {
+        afterCommit(() -> apply(Map.of(idOf.apply(item), Optional.of(item))));
+    }
+
+    void removeAfterCommit(Long id) {
+        afterCommit(() -> apply(Map.of(id, Optional.empty())));
+    }
+
+    /**
+     * Re-reads the catalog and publishes whatever differs from the snapshot, which picks up
+     * rows written by other instances or outside the services.
+     */
+    void reload() {
+        writeLock.lock();
+        try {
+            reloadLocked();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void reloadLocked() {
+        Snapshot<D> snapshot = current.get();
+        if (snapshot == null) {
+            snapshot();
+            return;
+        }
+        Map<Long, Optional<D>> changes = new TreeMap<>();
+        Map<Long, D> loaded = new TreeMap<>();
+        for (D item : loader.get()) {
+            loaded.put(idOf.apply(item), item);
+        }
+        loaded.forEach((id, item) -> {
+            Entry<D> entry = snapshot.entries().get(id);
+            if (entry == null || !Objects.equals(entry.item(), item)) {
+                changes.put(id, Optional.of(item));
+            }
+        });
+        snapshot.entries().forEach((id, entry) -> {
+            if (entry.item() != null && !loaded.containsKey(id)) {
+                changes.put(id, Optional.empty());
+            }
+        });
+        if (!changes.isEmpty()) {
+            log.info("Catalog {} reloaded with {} external changes", name, changes.size());
+            apply(changes);
+        }
+    }
+
+    private Snapshot<D> snapshot() {
+        Snapshot<D> snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        writeLock.lock();
+        try {
+            if (current.get() == null) {
+                long version = clock.getAsLong();
+                SortedMap<Long, Entry<D>> entries = new TreeMap<>();
+                for (D item : loader.get()) {
+                    entries.put(idOf.apply(item), new Entry<>(item, version));
+                }
+                current.set(new Snapshot<>(version, version, Collections.unmodifiableSortedMap(entries)));
+                log.info("Catalog {} loaded with {} items, version {}", name, entries.size(), version);
+            }
+            return current.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void apply(Map<Long, Optional<D>> changes) {
+        writeLock.lock();
+        try {
+            Snapshot<D> snapshot = snapshot();
+            long version = snapshot.version() + 1;
+            SortedMap<Long, Entry<D>> entries = new TreeMap<>(snapshot.entries());
+            changes.forEach((id, item) -> entries.put(id, new Entry<>(item.orElse(null), version)));
+            current.set(new Snapshot<>(version, snapshot.loadedVersion(), Collections.unmodifiableSortedMap(entries)));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
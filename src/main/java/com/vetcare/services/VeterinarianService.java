@@ -11,19 +11,30 @@ import com.vetcare.repositories.ClinicRepository;
 import com.vetcare.mappers.VeterinarianMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class VeterinarianService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "firstName", "lastName", "licenseNumber", "createdAt");
+
     private final VeterinarianRepository veterinarianRepository;
     private final ClinicRepository clinicRepository;
     private final SpecialtyService specialtyService;
     private final VeterinarianMapper veterinarianMapper;
+    private final PaginationSupport paginationSupport;
+    private final BulkUpdateSupport bulkUpdateSupport;
+    private final AvailabilityService availabilityService;
+    private final VisitService visitService;
+    private final WaitlistService waitlistService;
+    private final VisitSeriesService visitSeriesService;
     
     @Transactional(readOnly = true)
     public List<VeterinarianDTO> findAll() {
@@ -39,6 +50,28 @@ public class VeterinarianService {
         return veterinarianMapper.toDTOList(veterinarians);
     }
     
+    @Transactional(readOnly = true)
+    public PageDTO<VeterinarianDTO> findAll(Pageable pageable, boolean withCount) {
+        log.debug("Finding veterinarians page: {}", pageable);
+        Pageable page = paginationSupport.sanitize(pageable, SORTABLE_FIELDS);
+        Slice<Veterinarian> veterinarians = withCount ? veterinarianRepository.findAll(page) : veterinarianRepository.findSliceBy(page);
+        return paginationSupport.toPageDTO(veterinarians, veterinarianMapper.toDTOList(veterinarians.getContent()));
+    }
+    
+    @Transactional(readOnly = true)
+    public PageDTO<VeterinarianDTO> findAllActive(Pageable pageable, boolean withCount) {
+        log.debug("Finding active veterinarians page: {}", pageable);
+        Pageable page = paginationSupport.sanitize(pageable, SORTABLE_FIELDS);
+        Slice<Veterinarian> veterinarians = withCount ? veterinarianRepository.findByActiveTrue(page) : veterinarianRepository.findSliceByActiveTrue(page);
+        return paginationSupport.toPageDTO(veterinarians, veterinarianMapper.toDTOList(veterinarians.getContent()));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<VeterinarianSummaryDTO> findActiveSummaries(Long clinicId) {
+        log.debug("Finding active veterinarian summaries for clinic: {}", clinicId);
+        return veterinarianRepository.findActiveSummaries(clinicId);
+    }
+    
     @Transactional(readOnly = true)
     public VeterinarianDTO findById(Long id) {
         log.debug("Finding veterinarian by id: {}", id);
@@ -57,6 +90,7 @@ public class VeterinarianService {
     @Transactional
     public VeterinarianDTO create(CreateVeterinarianDTO createVeterinarianDTO) {
         log.info("Creating new veterinarian: {} {}", createVeterinarianDTO.getFirstName(), createVeterinarianDTO.getLastName());
+        availabilityService.invalidateAfterCommit();
         
         if (veterinarianRepository.findByEmail(createVeterinarianDTO.getEmail()).isPresent()) {
             throw new DuplicateResourceException("Email already exists: " + createVeterinarianDTO.getEmail());
@@ -81,6 +115,7 @@ public class VeterinarianService {
     @Transactional
     public VeterinarianDTO addSpecialty(Long veterinarianId, Long specialtyId) {
         log.info("Adding specialty {} to veterinarian {}", specialtyId, veterinarianId);
+        availabilityService.invalidateAfterCommit();
         
         Veterinarian veterinarian = veterinarianRepository.findByIdWithSpecialties(veterinarianId)
             .orElseThrow(() -> new ResourceNotFoundException("Veterinarian not found with id: " + veterinarianId));
@@ -95,6 +130,7 @@ public class VeterinarianService {
     @Transactional
     public VeterinarianDTO removeSpecialty(Long veterinarianId, Long specialtyId) {
         log.info("Removing specialty {} from veterinarian {}", specialtyId, veterinarianId);
+        availabilityService.invalidateAfterCommit();
         
         Veterinarian veterinarian = veterinarianRepository.findByIdWithSpecialties(veterinarianId)
             .orElseThrow(() -> new ResourceNotFoundException("Veterinarian not found with id: " + veterinarianId));
@@ -108,6 +144,7 @@ public class VeterinarianService {
     @Transactional
     public VeterinarianDTO update(Long id, UpdateVeterinarianDTO updateVeterinarianDTO) {
         log.info("Updating veterinarian with id: {}", id);
+        availabilityService.invalidateAfterCommit();
         
         Veterinarian existingVet = veterinarianRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Veterinarian not found with id: " + id));
@@ -125,17 +162,30 @@ public class VeterinarianService {
     @Transactional
     public void delete(Long id) {
         log.info("Deleting veterinarian with id: {}", id);
+        availabilityService.invalidateAfterCommit();
         Veterinarian veterinarian = veterinarianRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Veterinarian not found with id: " + id));
+        visitService.deleteReferencing(List.of(), List.of(id), List.of());
+        waitlistService.deleteReferencing(List.of(), List.of(id), List.of());
+        visitSeriesService.deleteReferencing(List.of(), List.of(id), List.of());
         veterinarianRepository.delete(veterinarian);
     }
     
     @Transactional
     public void deactivate(Long id) {
         log.info("Deactivating veterinarian with id: {}", id);
+        availabilityService.invalidateAfterCommit();
         Veterinarian veterinarian = veterinarianRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Veterinarian not found with id: " + id));
         veterinarian.setActive(false);
         veterinarianRepository.save(veterinarian);
     }
+    
+    public BulkUpdateResultDTO deactivateAll(List<Long> ids) {
+        log.info("Deactivating {} veterinarians", ids.size());
+        BulkUpdateResultDTO result = bulkUpdateSupport.updateByIds("veterinarians", ids, veterinarianRepository::deactivateByIdIn);
+        log.info("Deactivated {} veterinarians in {} chunks", result.getAffected(), result.getChunks());
+        availabilityService.invalidateAfterCommit();
+        return result;
+    }
 }
@@ -0,0 +1,138 @@
+package com.vetcare.services;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vetcare.dto.BulkUpdateResultDTO;
+import com.vetcare.dto.VisitDailyStatsDTO;
+import com.vetcare.exceptions.BadRequestException;
+import com.vetcare.exceptions.ResourceNotFoundException;
+import com.vetcare.models.Visit;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Daily visit figures for the management dashboards, read from visit_daily_rollups alone, so
+ * a month costs about as many rows as days, veterinarians and statuses, however many visits it
+ * had. {@link VisitRollupSupport} keeps the rollups current; {@link #rebuild} recomputes them
+ * from the visits for a range of days.
+ */
+@Service
+@Slf4j
+public class VisitAnalyticsService {
+
+    private static final String DAILY_QUERY =
+        "SELECT visit_day, status, SUM(visit_count), SUM(revenue) FROM visit_daily_rollups " +
+        "WHERE %s = ? AND visit_day BETWEEN ? AND ? " +
+        "GROUP BY visit_day, status HAVING SUM(visit_count) > 0 " +
+        "ORDER BY visit_day, status";
+
+    private final ClinicRepository clinicRepository;
+    private final VeterinarianRepository veterinarianRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTransaction;
+    private final int maxDays;
+    private final int rebuildChunkDays;
+
+    public VisitAnalyticsService(
+            ClinicRepository clinicRepository,
+            VeterinarianRepository veterinarianRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${vetcare.analytics.max-days:366}") int maxDays,
+            @Value("${vetcare.analytics.rebuild-chunk-days:7}") int rebuildChunkDays) {
+        this.clinicRepository = clinicRepository;
+        this.veterinarianRepository = veterinarianRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.maxDays = maxDays;
+        this.rebuildChunkDays = rebuildChunkDays;
+    }
+
+    public List<VisitDailyStatsDTO> findClinicDaily(Long clinicId, LocalDate from, LocalDate to) {
+        log.debug("Finding daily visit figures of clinic {} from {} to {}", clinicId, from, to);
+        checkRange(from, to);
+        if (!clinicRepository.existsById(clinicId)) {
+            throw new ResourceNotFoundException("Clinic not found with id: " + clinicId);
+        }
+        return daily("clinic_id", clinicId, from, to);
+    }
+
+    public List<VisitDailyStatsDTO> findVeterinarianDaily(Long veterinarianId, LocalDate from, LocalDate to) {
+        log.debug("Finding daily visit figures of veterinarian {} from {} to {}", veterinarianId, from, to);
+        checkRange(from, to);
+        if (!veterinarianRepository.existsById(veterinarianId)) {
+            throw new ResourceNotFoundException("Veterinarian not found with id: " + veterinarianId);
+        }
+        return daily("veterinarian_id", veterinarianId, from, to);
+    }
+
+    // Repair and backfill: recomputes the rollups of the given days from the visits, a chunk of days per transaction
+    public BulkUpdateResultDTO rebuild(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        log.info("Rebuilding visit rollups from {} to {}", from, to);
+        long rows = 0;
+        int chunks = 0;
+        for (LocalDate first = from; !first.isAfter(to); first = first.plusDays(rebuildChunkDays)) {
+            LocalDate last = first.plusDays(rebuildChunkDays - 1L);
+            rows += rebuildDays(first, last.isAfter(to) ? to : last);
+            chunks++;
+        }
+        log.info("Rebuilt {} visit rollup rows in {} chunks", rows, chunks);
+        return BulkUpdateResultDTO.builder().affected(rows).chunks(chunks).build();
+    }
+
+    /**
+     * The visits of the days are locked before the rollup rows, the same order visit writes take
+     * them in, so a write racing the rebuild waits for it instead of deadlocking with it, and its
+     * delta lands on the recomputed rows.
+     */
+    private int rebuildDays(LocalDate first, LocalDate last) {
+        Object[] visitRange = {first.atStartOfDay(), last.plusDays(1).atStartOfDay()};
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.query("SELECT id FROM visits WHERE visit_date >= ? AND visit_date < ? FOR UPDATE",
+                (RowCallbackHandler) row -> { }, visitRange);
+            jdbcTemplate.update("DELETE FROM visit_daily_rollups WHERE visit_day BETWEEN ? AND ?", first, last);
+            return jdbcTemplate.update(
+                "INSERT INTO visit_daily_rollups (clinic_id, visit_day, veterinarian_id, status, visit_count, revenue) " +
+                "SELECT clinic_id, CAST(visit_date AS DATE), veterinarian_id, status, COUNT(*), COALESCE(SUM(cost), 0) " +
+                "FROM visits WHERE visit_date >= ? AND visit_date < ? " +
+                "GROUP BY clinic_id, CAST(visit_date AS DATE), veterinarian_id, status", visitRange);
+        });
+    }
+
+    private List<VisitDailyStatsDTO> daily(String column, Long id, LocalDate from, LocalDate to) {
+        return readTransaction.execute(status -> jdbcTemplate.query(DAILY_QUERY.formatted(column),
+            (row, rowNum) -> VisitDailyStatsDTO.builder()
+                .day(row.getObject(1, LocalDate.class))
+                .status(Visit.VisitStatus.valueOf(row.getString(2)))
+                .visits(row.getLong(3))
+                .revenue(row.getBigDecimal(4))
+                .build(),
+            id, from, to));
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new BadRequestException("At most " + maxDays + " days can be requested at once");
+        }
+    }
+}
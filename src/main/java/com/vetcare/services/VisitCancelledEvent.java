@@ -0,0 +1,15 @@
+package com.vetcare.services;
+
+import java.time.LocalDateTime;
+
+import com.vetcare.models.Visit;
+
+// Published inside the transaction that cancels or deletes a booked visit; listeners see it after commit
+public record VisitCancelledEvent(Long visitId, Long veterinarianId, Long clinicId, LocalDateTime visitDate,
+                                  int durationMinutes) {
+
+    public static VisitCancelledEvent of(Visit visit) {
+        return new VisitCancelledEvent(visit.getId(), visit.getVeterinarian().getId(), visit.getClinic().getId(),
+            visit.getVisitDate(), visit.getDurationMinutes());
+    }
+}
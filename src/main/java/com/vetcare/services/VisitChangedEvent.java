@@ -0,0 +1,19 @@
+package com.vetcare.services;
+
+import java.time.LocalDateTime;
+
+import com.vetcare.dto.VisitEventDTO;
+import com.vetcare.models.Visit;
+
+// Published inside the transaction that writes a visit; the clinic stream sees it after commit
+public record VisitChangedEvent(VisitEventDTO.Type type, Long visitId, Long clinicId, Long veterinarianId, Long petId,
+                                LocalDateTime visitDate, Integer durationMinutes, Visit.VisitStatus status,
+                                Long version, LocalDateTime checkedInAt, Visit.TriageUrgency triageUrgency) {
+
+    // Reads only ids of the associations, so lazy proxies are not initialized
+    public static VisitChangedEvent of(VisitEventDTO.Type type, Visit visit) {
+        return new VisitChangedEvent(type, visit.getId(), visit.getClinic().getId(), visit.getVeterinarian().getId(),
+            visit.getPet().getId(), visit.getVisitDate(), visit.getDurationMinutes(), visit.getStatus(), visit.getVersion(),
+            visit.getCheckedInAt(), visit.getTriageUrgency());
+    }
+}
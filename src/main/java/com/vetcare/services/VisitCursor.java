@@ -0,0 +1,42 @@
+package com.vetcare.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.vetcare.exceptions.BadRequestException;
+import com.vetcare.models.Visit;
+
+/**
+ * Keyset position over visits ordered by (visitDate DESC, id DESC).
+ * Clients only ever see the opaque Base64 form.
+ */
+record VisitCursor(LocalDateTime visitDate, Long id) {
+
+    // Position before the first row, so the first page uses the same keyset query as the rest
+    static final VisitCursor START = new VisitCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    static VisitCursor of(Visit visit) {
+        return new VisitCursor(visit.getVisitDate(), visit.getId());
+    }
+
+    static VisitCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new VisitCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    String encode() {
+        String raw = visitDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,122 @@
+package com.vetcare.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.vetcare.models.Visit;
+
+/**
+ * Keeps visit_daily_rollups (see V10 migration) in step with the visits. Every write to visits
+ * hands in what the affected visits counted for before and after it, and the difference is
+ * added to the rollup rows in the same transaction, so the rollups commit or roll back with the
+ * visits. Rows are always touched in key order, so concurrent writers never deadlock on them.
+ */
+@Component
+public class VisitRollupSupport {
+
+    // What one visit adds to its rollup row
+    public record Contribution(Long clinicId, LocalDate day, Long veterinarianId, Visit.VisitStatus status,
+                               BigDecimal cost) {}
+
+    private record Key(Long clinicId, LocalDate day, Long veterinarianId, Visit.VisitStatus status) {}
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::clinicId)
+        .thenComparing(Key::day)
+        .thenComparing(Key::veterinarianId)
+        .thenComparing(Key::status);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VisitRollupSupport(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Reads only ids of the associations, so lazy proxies are not initialized
+    public static Contribution contributionOf(Visit visit) {
+        return new Contribution(visit.getClinic().getId(), visit.getVisitDate().toLocalDate(),
+            visit.getVeterinarian().getId(), visit.getStatus(), visit.getCost());
+    }
+
+    // Taken before a change, since the entities are modified in place
+    public static List<Contribution> contributionsOf(Collection<Visit> visits) {
+        return visits.stream().map(VisitRollupSupport::contributionOf).toList();
+    }
+
+    /**
+     * Locks the visits a bulk update is about to change, in id order, and returns what they
+     * count for as stored. Read with SQL rather than through the persistence context, which may
+     * hold the same visits as loaded earlier in the transaction, before the lock.
+     */
+    public List<Contribution> lockContributions(List<Long> visitIds) {
+        String in = String.join(",", visitIds.stream().map(id -> "?").toList());
+        return jdbcTemplate.query(
+            "SELECT clinic_id, visit_date, veterinarian_id, status, cost FROM visits " +
+            "WHERE id IN (" + in + ") ORDER BY id FOR UPDATE",
+            (row, rowNum) -> new Contribution(row.getLong(1), row.getObject(2, LocalDateTime.class).toLocalDate(),
+                row.getLong(3), Visit.VisitStatus.valueOf(row.getString(4)), row.getBigDecimal(5)),
+            visitIds.toArray());
+    }
+
+    public void add(Collection<Visit> visits) {
+        replace(List.of(), visits);
+    }
+
+    public void remove(Collection<Visit> visits) {
+        apply(contributionsOf(visits), List.of());
+    }
+
+    // before and after cover the same visits: one taken before the write, the other read back after it
+    public void replace(Collection<Contribution> before, Collection<Visit> after) {
+        apply(before, contributionsOf(after));
+    }
+
+    private void apply(Collection<Contribution> before, Collection<Contribution> after) {
+        Map<Key, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        for (Contribution contribution : before) {
+            deltas.computeIfAbsent(keyOf(contribution), key -> new Delta()).add(-1, contribution.cost());
+        }
+        for (Contribution contribution : after) {
+            deltas.computeIfAbsent(keyOf(contribution), key -> new Delta()).add(1, contribution.cost());
+        }
+        List<Object[]> rows = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            if (delta.visits != 0 || delta.revenue.signum() != 0) {
+                rows.add(new Object[] {key.clinicId(), key.day(), key.veterinarianId(), key.status().name(),
+                    delta.visits, delta.revenue, delta.visits, delta.revenue});
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO visit_daily_rollups (clinic_id, visit_day, veterinarian_id, status, visit_count, revenue) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE visit_count = visit_count + ?, revenue = revenue + ?", rows);
+    }
+
+    private static Key keyOf(Contribution contribution) {
+        return new Key(contribution.clinicId(), contribution.day(), contribution.veterinarianId(), contribution.status());
+    }
+
+    private static final class Delta {
+        private int visits;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        void add(int sign, BigDecimal cost) {
+            visits += sign;
+            if (cost != null) {
+                revenue = sign > 0 ? revenue.add(cost) : revenue.subtract(cost);
+            }
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.vetcare.services;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vetcare.dto.BulkUpdateResultDTO;
+import com.vetcare.dto.CreateVisitSeriesDTO;
+import com.vetcare.dto.UpdateVisitSeriesDTO;
+import com.vetcare.dto.VisitEventDTO;
+import com.vetcare.dto.VisitSeriesDTO;
+import com.vetcare.exceptions.BadRequestException;
+import com.vetcare.exceptions.DuplicateResourceException;
+import com.vetcare.exceptions.ResourceNotFoundException;
+import com.vetcare.mappers.VisitMapper;
+import com.vetcare.mappers.VisitSeriesMapper;
+import com.vetcare.models.Clinic;
+import com.vetcare.models.Pet;
+import com.vetcare.models.Veterinarian;
+import com.vetcare.models.Visit;
+import com.vetcare.models.VisitSeries;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+import com.vetcare.repositories.VisitRepository;
+import com.vetcare.repositories.VisitSeriesRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recurring visits. A series stores its repetition rule once and is expanded into ordinary
+ * visits pointing back at it, so every other visit endpoint keeps working on single
+ * occurrences. Expansion checks the whole series against the veterinarian's schedule with one
+ * range query over visit_slots and inserts all occurrences in one batch; "this and following"
+ * edits and cancellations are single set-based UPDATEs. Everything runs under the
+ * veterinarian's booking lock from {@link VisitSlotSupport}, like single bookings.
+ */
+@Service
+@Slf4j
+public class VisitSeriesService {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private record Occurrence(LocalDateTime start, int durationMinutes) {
+
+        LocalDateTime end() {
+            return start.plusMinutes(durationMinutes);
+        }
+    }
+
+    private final VisitSeriesRepository visitSeriesRepository;
+    private final VisitRepository visitRepository;
+    private final PetRepository petRepository;
+    private final VeterinarianRepository veterinarianRepository;
+    private final ClinicRepository clinicRepository;
+    private final VisitSeriesMapper visitSeriesMapper;
+    private final VisitMapper visitMapper;
+    private final VisitSlotSupport visitSlotSupport;
+    private final VisitRollupSupport visitRollupSupport;
+    private final SlotHoldService slotHoldService;
+    private final ChangeCounters changeCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxOccurrences;
+
+    public VisitSeriesService(
+            VisitSeriesRepository visitSeriesRepository,
+            VisitRepository visitRepository,
+            PetRepository petRepository,
+            VeterinarianRepository veterinarianRepository,
+            ClinicRepository clinicRepository,
+            VisitSeriesMapper visitSeriesMapper,
+            VisitMapper visitMapper,
+            VisitSlotSupport visitSlotSupport,
+            VisitRollupSupport visitRollupSupport,
+            SlotHoldService slotHoldService,
+            ChangeCounters changeCounters,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${vetcare.visits.max-series-occurrences:100}") int maxOccurrences) {
+        this.visitSeriesRepository = visitSeriesRepository;
+        this.visitRepository = visitRepository;
+        this.petRepository = petRepository;
+        this.veterinarianRepository = veterinarianRepository;
+        this.clinicRepository = clinicRepository;
+        this.visitSeriesMapper = visitSeriesMapper;
+        this.visitMapper = visitMapper;
+        this.visitSlotSupport = visitSlotSupport;
+        this.visitRollupSupport = visitRollupSupport;
+        this.slotHoldService = slotHoldService;
+        this.changeCounters = changeCounters;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.maxOccurrences = maxOccurrences;
+    }
+
+    @Transactional(readOnly = true)
+    public VisitSeriesDTO findById(Long id) {
+        log.debug("Finding visit series by id: {}", id);
+        return toDTO(findSeries(id));
+    }
+
+    public VisitSeriesDTO create(CreateVisitSeriesDTO request) {
+        log.info("Creating {} visit series for pet id: {}", request.getFrequency(), request.getPetId());
+        int durationMinutes = visitSlotSupport.durationOrDefault(request.getDurationMinutes());
+        VisitSlotSupport.requireOnGrid(request.getVisitDate());
+        List<LocalDateTime> dates = expand(request);
+        return visitSlotSupport.withVeterinarianLocks(List.of(request.getVeterinarianId()),
+            () -> transactionTemplate.execute(status -> createInTransaction(request, durationMinutes, dates)));
+    }
+
+    private VisitSeriesDTO createInTransaction(CreateVisitSeriesDTO request, int durationMinutes,
+                                               List<LocalDateTime> dates) {
+        Pet pet = petRepository.findById(request.getPetId())
+            .orElseThrow(() -> new ResourceNotFoundException("Pet not found with id: " + request.getPetId()));
+        Veterinarian veterinarian = veterinarianRepository.findById(request.getVeterinarianId())
+            .orElseThrow(() -> new ResourceNotFoundException("Veterinarian not found with id: " + request.getVeterinarianId()));
+        Clinic clinic = clinicRepository.findById(request.getClinicId())
+            .orElseThrow(() -> new ResourceNotFoundException("Clinic not found with id: " + request.getClinicId()));
+
+        List<LocalDateTime> conflicts = conflicts(veterinarian.getId(), clinic.getId(),
+            dates.stream().map(date -> new Occurrence(date, durationMinutes)).toList());
+        if (!conflicts.isEmpty() && (!request.isSkipConflicts() || conflicts.size() == dates.size())) {
+            throw new DuplicateResourceException(conflictMessage(veterinarian.getId(), conflicts, dates.size()));
+        }
+
+        VisitSeries series = visitSeriesRepository.save(VisitSeries.builder()
+            .frequency(request.getFrequency())
+            .repeatInterval(intervalOf(request))
+            .occurrences(request.getOccurrences())
+            .until(request.getUntil())
+            .pet(pet)
+            .veterinarian(veterinarian)
+            .clinic(clinic)
+            .build());
+        List<Visit> visits = new ArrayList<>();
+        for (LocalDateTime date : dates) {
+            if (!conflicts.contains(date)) {
+                visits.add(Visit.builder()
+                    .visitDate(date)
+                    .durationMinutes(durationMinutes)
+                    .reason(request.getReason())
+                    .pet(pet)
+                    .veterinarian(veterinarian)
+                    .clinic(clinic)
+                    .series(series)
+                    .build());
+            }
+        }
+        List<Visit> savedVisits = visitRepository.saveAllAndFlush(visits);
+        visitSlotSupport.occupy(savedVisits);
+        visitRollupSupport.add(savedVisits);
+        savedVisits.forEach(visit -> eventPublisher.publishEvent(VisitChangedEvent.of(VisitEventDTO.Type.CREATED, visit)));
+        log.info("Visit series {} booked with {} visits, {} skipped", series.getId(), savedVisits.size(), conflicts.size());
+
+        VisitSeriesDTO dto = visitSeriesMapper.toDTO(series);
+        dto.setVisits(visitMapper.toDTOList(savedVisits));
+        dto.setSkippedDates(conflicts);
+        return dto;
+    }
+
+    /**
+     * Moves, resizes or renames the scheduled visits of a series from the given one on. Their
+     * slots are released and checked again at the new times with one range query; any clash
+     * rejects the whole change.
+     */
+    public VisitSeriesDTO updateFollowing(Long seriesId, UpdateVisitSeriesDTO request) {
+        log.info("Updating visit series {} from visit {}", seriesId, request.getFromVisitId());
+        int shiftMinutes = request.getShiftMinutes() != null ? request.getShiftMinutes() : 0;
+        if (shiftMinutes == 0 && request.getDurationMinutes() == null && request.getReason() == null) {
+            throw new BadRequestException("Nothing to change: set shiftMinutes, durationMinutes or reason");
+        }
+        if (request.getReason() != null && request.getReason().isBlank()) {
+            throw new BadRequestException("Reason must not be blank");
+        }
+        if (shiftMinutes % VisitSlotSupport.SLOT_MINUTES != 0) {
+            throw new BadRequestException("shiftMinutes must be a multiple of " + VisitSlotSupport.SLOT_MINUTES);
+        }
+        if (request.getDurationMinutes() != null) {
+            visitSlotSupport.durationOrDefault(request.getDurationMinutes());
+        }
+        return withSeriesLock(seriesId, () -> transactionTemplate.execute(status -> {
+            List<Visit> following = scheduledFrom(seriesId, request.getFromVisitId());
+            if (following.isEmpty()) {
+                return toDTO(findSeries(seriesId));
+            }
+            List<Long> ids = following.stream().map(Visit::getId).toList();
+            List<VisitRollupSupport.Contribution> countedBefore = visitRollupSupport.lockContributions(ids);
+            boolean moves = shiftMinutes != 0 || request.getDurationMinutes() != null;
+            if (moves) {
+                Long veterinarianId = following.get(0).getVeterinarian().getId();
+                Long clinicId = following.get(0).getClinic().getId();
+                // Released first so the series does not clash with its own current slots
+                visitSlotSupport.release(ids);
+                List<LocalDateTime> conflicts = conflicts(veterinarianId, clinicId, following.stream()
+                    .map(visit -> new Occurrence(visit.getVisitDate().plusMinutes(shiftMinutes),
+                        request.getDurationMinutes() != null ? request.getDurationMinutes() : visit.getDurationMinutes()))
+                    .toList());
+                if (!conflicts.isEmpty()) {
+                    throw new DuplicateResourceException(conflictMessage(veterinarianId, conflicts, following.size()));
+                }
+            }
+            visitRepository.updateSeriesOccurrences(ids, shiftMinutes, request.getDurationMinutes(), request.getReason());
+            changeCounters.recordChange("visits");
+            List<Visit> updated = visitRepository.findAllById(ids);
+            if (moves) {
+                visitSlotSupport.occupy(updated);
+            }
+            visitRollupSupport.replace(countedBefore, updated);
+            publish(VisitEventDTO.Type.UPDATED, updated);
+            return toDTO(findSeries(seriesId));
+        }));
+    }
+
+    /**
+     * Deletes, in the caller's transaction, the series of pets, veterinarians or clinics about to be
+     * deleted, whose foreign keys would otherwise fail the delete. Visits still pointing at one, such
+     * as those moved to another veterinarian, are detached from it first.
+     */
+    public void deleteReferencing(Collection<Long> petIds, Collection<Long> veterinarianIds, Collection<Long> clinicIds) {
+        List<VisitSeries> series = visitSeriesRepository.findReferencing(petIds, veterinarianIds, clinicIds);
+        if (series.isEmpty()) {
+            return;
+        }
+        log.info("Deleting {} visit series along with their pets, veterinarians or clinics", series.size());
+        if (visitRepository.detachFromSeries(series.stream().map(VisitSeries::getId).toList()) > 0) {
+            changeCounters.recordChange("visits");
+        }
+        visitSeriesRepository.deleteAll(series);
+    }
+
+    // Cancelled occurrences free their slots and are offered to the waitlist after commit
+    public BulkUpdateResultDTO cancelFollowing(Long seriesId, Long fromVisitId) {
+        log.info("Cancelling visit series {} from visit {}", seriesId, fromVisitId);
+        return withSeriesLock(seriesId, () -> transactionTemplate.execute(status -> {
+            List<Long> ids = scheduledFrom(seriesId, fromVisitId).stream().map(Visit::getId).toList();
+            if (ids.isEmpty()) {
+                return BulkUpdateResultDTO.builder().affected(0).chunks(1).build();
+            }
+            List<VisitRollupSupport.Contribution> countedBefore = visitRollupSupport.lockContributions(ids);
+            int cancelled = visitRepository.updateStatusByIdIn(ids, Visit.VisitStatus.CANCELLED);
+            if (cancelled > 0) {
+                Set<Long> freed = visitSlotSupport.release(ids);
+                changeCounters.recordChange("visits");
+                List<Visit> visits = visitRepository.findAllById(ids);
+                visitRollupSupport.replace(countedBefore, visits);
+                publish(VisitEventDTO.Type.STATUS_CHANGED, visits);
+                visits.stream()
+                    .filter(visit -> freed.contains(visit.getId()))
+                    .forEach(visit -> eventPublisher.publishEvent(VisitCancelledEvent.of(visit)));
+            }
+            return BulkUpdateResultDTO.builder().affected(cancelled).chunks(1).build();
+        }));
+    }
+
+    private <T> T withSeriesLock(Long seriesId, Supplier<T> action) {
+        VisitSeries series = findSeries(seriesId);
+        return visitSlotSupport.withVeterinarianLocks(List.of(series.getVeterinarian().getId()), action);
+    }
+
+    // Scheduled occurrences from the given visit on, or all of them; started or finished ones are left alone
+    private List<Visit> scheduledFrom(Long seriesId, Long fromVisitId) {
+        if (fromVisitId == null) {
+            return visitRepository.findBySeriesIdAndStatusOrderByVisitDate(seriesId, Visit.VisitStatus.SCHEDULED);
+        }
+        Visit visit = visitRepository.findById(fromVisitId)
+            .orElseThrow(() -> new ResourceNotFoundException("Visit not found with id: " + fromVisitId));
+        if (visit.getSeries() == null || !visit.getSeries().getId().equals(seriesId)) {
+            throw new BadRequestException("Visit " + fromVisitId + " is not part of series " + seriesId);
+        }
+        return visitRepository.findBySeriesIdAndVisitDateGreaterThanEqualAndStatusOrderByVisitDate(
+            seriesId, visit.getVisitDate(), Visit.VisitStatus.SCHEDULED);
+    }
+
+    // Occurrences clashing with the veterinarian's other visits or holds, from one range query over the series
+    private List<LocalDateTime> conflicts(Long veterinarianId, Long clinicId, List<Occurrence> occurrences) {
+        LocalDateTime from = occurrences.stream().map(Occurrence::start).min(LocalDateTime::compareTo).orElseThrow();
+        LocalDateTime to = occurrences.stream().map(Occurrence::end).max(LocalDateTime::compareTo).orElseThrow()
+            .plusMinutes(VisitSlotSupport.SLOT_MINUTES);
+        Set<VisitSlotSupport.Slot> taken = visitSlotSupport.occupiedSlots(List.of(veterinarianId), from, to);
+        List<LocalDateTime> conflicts = new ArrayList<>();
+        for (Occurrence occurrence : occurrences) {
+            List<LocalDateTime> slots = VisitSlotSupport.slotsOf(occurrence.start(), occurrence.durationMinutes());
+            boolean busy = slots.stream().anyMatch(slot -> taken.contains(new VisitSlotSupport.Slot(veterinarianId, slot)));
+            if (!busy) {
+                try {
+                    slotHoldService.checkNotHeld(veterinarianId, clinicId, slots, null);
+                } catch (DuplicateResourceException ex) {
+                    busy = true;
+                }
+            }
+            if (busy) {
+                conflicts.add(occurrence.start());
+            }
+        }
+        return conflicts;
+    }
+
+    // Dates of every occurrence; months are added to the first date so the 31st stays the 31st where it exists
+    private List<LocalDateTime> expand(CreateVisitSeriesDTO request) {
+        if ((request.getOccurrences() == null) == (request.getUntil() == null)) {
+            throw new BadRequestException("Set exactly one of occurrences or until");
+        }
+        if (request.getUntil() != null && request.getUntil().isBefore(request.getVisitDate().toLocalDate())) {
+            throw new BadRequestException("'until' must not be before the first visit");
+        }
+        int interval = intervalOf(request);
+        List<LocalDateTime> dates = new ArrayList<>();
+        for (int k = 0; ; k++) {
+            if (request.getOccurrences() != null && k >= request.getOccurrences()) {
+                break;
+            }
+            long step = (long) k * interval;
+            LocalDateTime date = switch (request.getFrequency()) {
+                case DAILY -> request.getVisitDate().plusDays(step);
+                case WEEKLY -> request.getVisitDate().plusWeeks(step);
+                case MONTHLY -> request.getVisitDate().plusMonths(step);
+            };
+            if (request.getUntil() != null && date.toLocalDate().isAfter(request.getUntil())) {
+                break;
+            }
+            if (k >= maxOccurrences) {
+                throw new BadRequestException("A series can have at most " + maxOccurrences + " visits");
+            }
+            dates.add(date);
+        }
+        return dates;
+    }
+
+    private static int intervalOf(CreateVisitSeriesDTO request) {
+        return request.getInterval() != null ? request.getInterval() : 1;
+    }
+
+    private void publish(VisitEventDTO.Type type, List<Visit> visits) {
+        for (Visit visit : visits) {
+            eventPublisher.publishEvent(VisitChangedEvent.of(type, visit));
+        }
+    }
+
+    private VisitSeries findSeries(Long id) {
+        return visitSeriesRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Visit series not found with id: " + id));
+    }
+
+    private VisitSeriesDTO toDTO(VisitSeries series) {
+        VisitSeriesDTO dto = visitSeriesMapper.toDTO(series);
+        dto.setVisits(visitMapper.toDTOList(visitRepository.findBySeriesIdOrderByVisitDate(series.getId())));
+        return dto;
+    }
+
+    private static String conflictMessage(Long veterinarianId, List<LocalDateTime> conflicts, int total) {
+        return conflicts.size() + " of " + total + " visits clash with veterinarian " + veterinarianId + "'s schedule: "
+            + conflicts.stream().map(TIME::format).collect(Collectors.joining(", "));
+    }
+}
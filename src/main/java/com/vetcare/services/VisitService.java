@@ -1,6 +1,8 @@
 package com.vetcare.services;
 
 import com.vetcare.dto.*;
+import com.vetcare.exceptions.BadRequestException;
+import com.vetcare.exceptions.DuplicateResourceException;
 import com.vetcare.exceptions.ResourceNotFoundException;
 import com.vetcare.models.Visit;
 import com.vetcare.models.Pet;
@@ -11,12 +13,27 @@ import com.vetcare.repositories.PetRepository;
 import com.vetcare.repositories.VeterinarianRepository;
 import com.vetcare.repositories.ClinicRepository;
 import com.vetcare.mappers.VisitMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +45,19 @@ public class VisitService {
     private final VeterinarianRepository veterinarianRepository;
     private final ClinicRepository clinicRepository;
     private final VisitMapper visitMapper;
+    private final PaginationSupport paginationSupport;
+    private final BulkUpdateSupport bulkUpdateSupport;
+    private final OptimisticUpdateSupport optimisticUpdateSupport;
+    private final ResourceVersionService resourceVersionService;
+    private final VisitSlotSupport visitSlotSupport;
+    private final VisitRollupSupport visitRollupSupport;
+    private final SlotHoldService slotHoldService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    
+    @Value("${vetcare.visits.max-batch-size:500}")
+    private int maxBatchSize;
     
     @Transactional(readOnly = true)
     public List<VisitDTO> findAll() {
@@ -36,6 +66,15 @@ public class VisitService {
         return visitMapper.toDTOList(visits);
     }
     
+    @Transactional(readOnly = true)
+    public CursorPageDTO<VisitDTO> findAll(String cursor, Integer size) {
+        log.debug("Finding visits page after cursor: {}", cursor);
+        VisitCursor after = VisitCursor.decode(cursor);
+        int pageSize = paginationSupport.pageSize(size);
+        List<Visit> visits = visitRepository.findPageAfter(after.visitDate(), after.id(), Limit.of(pageSize + 1));
+        return toCursorPage(visits, pageSize);
+    }
+    
     @Transactional(readOnly = true)
     public VisitDTO findById(Long id) {
         log.debug("Finding visit by id: {}", id);
@@ -51,6 +90,16 @@ public class VisitService {
         return visitMapper.toDTOList(visits);
     }
     
+    @Transactional(readOnly = true)
+    public CursorPageDTO<VisitDTO> findByPetId(Long petId, String cursor, Integer size) {
+        log.debug("Finding visits page by pet id: {} after cursor: {}", petId, cursor);
+        VisitCursor after = VisitCursor.decode(cursor);
+        int pageSize = paginationSupport.pageSize(size);
+        List<Visit> visits = visitRepository.findPageByPetIdAfter(
+            petId, after.visitDate(), after.id(), Limit.of(pageSize + 1));
+        return toCursorPage(visits, pageSize);
+    }
+    
     @Transactional(readOnly = true)
     public List<VisitDTO> findByVeterinarianId(Long veterinarianId) {
         log.debug("Finding visits by veterinarian id: {}", veterinarianId);
@@ -58,6 +107,16 @@ public class VisitService {
         return visitMapper.toDTOList(visits);
     }
     
+    @Transactional(readOnly = true)
+    public CursorPageDTO<VisitDTO> findByVeterinarianId(Long veterinarianId, String cursor, Integer size) {
+        log.debug("Finding visits page by veterinarian id: {} after cursor: {}", veterinarianId, cursor);
+        VisitCursor after = VisitCursor.decode(cursor);
+        int pageSize = paginationSupport.pageSize(size);
+        List<Visit> visits = visitRepository.findPageByVeterinarianIdAfter(
+            veterinarianId, after.visitDate(), after.id(), Limit.of(pageSize + 1));
+        return toCursorPage(visits, pageSize);
+    }
+    
     @Transactional(readOnly = true)
     public List<VisitDTO> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         log.debug("Finding visits between {} and {}", startDate, endDate);
@@ -65,10 +124,27 @@ public class VisitService {
         return visitMapper.toDTOList(visits);
     }
     
-    @Transactional
+    @Transactional(readOnly = true)
+    public CursorPageDTO<VisitDTO> findByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                                   String cursor, Integer size) {
+        log.debug("Finding visits page between {} and {} after cursor: {}", startDate, endDate, cursor);
+        VisitCursor after = VisitCursor.decode(cursor);
+        int pageSize = paginationSupport.pageSize(size);
+        List<Visit> visits = visitRepository.findPageByVisitDateBetweenAfter(
+            startDate, endDate, after.visitDate(), after.id(), Limit.of(pageSize + 1));
+        return toCursorPage(visits, pageSize);
+    }
+    
+    // The veterinarian's lock is held until the transaction has committed the visit and its slots
     public VisitDTO create(CreateVisitDTO createVisitDTO) {
         log.info("Creating new visit for pet id: {}", createVisitDTO.getPetId());
-        
+        int durationMinutes = visitSlotSupport.durationOrDefault(createVisitDTO.getDurationMinutes());
+        VisitSlotSupport.requireOnGrid(createVisitDTO.getVisitDate());
+        return visitSlotSupport.withVeterinarianLocks(Collections.singletonList(createVisitDTO.getVeterinarianId()),
+            () -> transactionTemplate.execute(status -> createInTransaction(createVisitDTO, durationMinutes)));
+    }
+    
+    private VisitDTO createInTransaction(CreateVisitDTO createVisitDTO, int durationMinutes) {
         Pet pet = petRepository.findById(createVisitDTO.getPetId())
             .orElseThrow(() -> new ResourceNotFoundException("Pet not found with id: " + createVisitDTO.getPetId()));
         
@@ -82,33 +158,169 @@ public class VisitService {
         visit.setPet(pet);
         visit.setVeterinarian(veterinarian);
         visit.setClinic(clinic);
+        visit.setDurationMinutes(durationMinutes);
+        slotHoldService.checkNotHeld(veterinarian.getId(), clinic.getId(), VisitSlotSupport.slotsHeld(visit),
+            createVisitDTO.getHoldId());
         
-        Visit savedVisit = visitRepository.save(visit);
+        Visit savedVisit = visitRepository.saveAndFlush(visit);
+        visitSlotSupport.occupy(List.of(savedVisit));
+        visitRollupSupport.add(List.of(savedVisit));
+        slotHoldService.consumeAfterCommit(createVisitDTO.getHoldId());
+        eventPublisher.publishEvent(VisitChangedEvent.of(VisitEventDTO.Type.CREATED, savedVisit));
         return visitMapper.toDTO(savedVisit);
     }
     
-    @Transactional
-    public VisitDTO update(Long id, UpdateVisitDTO updateVisitDTO) {
-        log.info("Updating visit with id: {}", id);
+    // Resolves the pets, veterinarians and clinics of the whole batch with one IN query each
+    // and inserts the valid visits together; invalid or double-booked items are reported instead
+    // of failing the request
+    public VisitBatchResultDTO createBatch(List<CreateVisitDTO> requests, boolean allOrNothing) {
+        log.info("Creating batch of {} visits", requests.size());
+        if (requests.isEmpty()) {
+            throw new BadRequestException("At least one visit is required");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new BadRequestException("A batch can contain at most " + maxBatchSize + " visits");
+        }
+        if (requests.contains(null)) {
+            throw new BadRequestException("Batch items must not be null");
+        }
+        Set<Long> lockedVeterinarianIds = requests.stream().map(CreateVisitDTO::getVeterinarianId).collect(Collectors.toSet());
+        return visitSlotSupport.withVeterinarianLocks(lockedVeterinarianIds,
+            () -> transactionTemplate.execute(status -> createBatchInTransaction(requests, allOrNothing)));
+    }
+    
+    private VisitBatchResultDTO createBatchInTransaction(List<CreateVisitDTO> requests, boolean allOrNothing) {
+        Set<Long> petIds = new HashSet<>();
+        Set<Long> veterinarianIds = new HashSet<>();
+        Set<Long> clinicIds = new HashSet<>();
+        for (CreateVisitDTO request : requests) {
+            petIds.add(request.getPetId());
+            veterinarianIds.add(request.getVeterinarianId());
+            clinicIds.add(request.getClinicId());
+        }
+        Map<Long, Pet> pets = petRepository.findWithTypeByIdIn(withoutNull(petIds)).stream()
+            .collect(Collectors.toMap(Pet::getId, Function.identity()));
+        Map<Long, Veterinarian> veterinarians = veterinarianRepository.findAllById(withoutNull(veterinarianIds)).stream()
+            .collect(Collectors.toMap(Veterinarian::getId, Function.identity()));
+        Map<Long, Clinic> clinics = clinicRepository.findAllById(withoutNull(clinicIds)).stream()
+            .collect(Collectors.toMap(Clinic::getId, Function.identity()));
         
-        Visit existingVisit = visitRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Visit not found with id: " + id));
+        Set<VisitSlotSupport.Slot> takenSlots = occupiedSlots(requests, veterinarians.keySet());
         
-        visitMapper.updateEntityFromDTO(updateVisitDTO, existingVisit);
-        Visit savedVisit = visitRepository.save(existingVisit);
-        return visitMapper.toDTO(savedVisit);
+        VisitBatchItemDTO[] results = new VisitBatchItemDTO[requests.size()];
+        List<Visit> visits = new ArrayList<>();
+        List<Integer> visitIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateVisitDTO request = requests.get(i);
+            String error = validateBatchItem(request, pets, veterinarians, clinics);
+            if (error == null) {
+                error = claimSlots(request, takenSlots);
+            }
+            if (error != null) {
+                results[i] = VisitBatchItemDTO.builder().index(i).created(false).error(error).build();
+                continue;
+            }
+            Visit visit = visitMapper.toEntity(request);
+            visit.setPet(pets.get(request.getPetId()));
+            visit.setVeterinarian(veterinarians.get(request.getVeterinarianId()));
+            visit.setClinic(clinics.get(request.getClinicId()));
+            visit.setDurationMinutes(visitSlotSupport.durationOrDefault(request.getDurationMinutes()));
+            visits.add(visit);
+            visitIndexes.add(i);
+        }
+        
+        int rejected = requests.size() - visits.size();
+        if (allOrNothing && rejected > 0) {
+            for (int i : visitIndexes) {
+                results[i] = VisitBatchItemDTO.builder().index(i).created(false)
+                    .error("Not created: other visits in the batch were rejected").build();
+            }
+            return VisitBatchResultDTO.builder().created(0).rejected(requests.size()).results(List.of(results)).build();
+        }
+        
+        List<Visit> savedVisits = visitRepository.saveAllAndFlush(visits);
+        visitSlotSupport.occupy(savedVisits);
+        visitRollupSupport.add(savedVisits);
+        for (int j = 0; j < savedVisits.size(); j++) {
+            int i = visitIndexes.get(j);
+            slotHoldService.consumeAfterCommit(requests.get(i).getHoldId());
+            eventPublisher.publishEvent(VisitChangedEvent.of(VisitEventDTO.Type.CREATED, savedVisits.get(j)));
+            results[i] = VisitBatchItemDTO.builder().index(i).created(true).visit(visitMapper.toDTO(savedVisits.get(j))).build();
+        }
+        return VisitBatchResultDTO.builder()
+            .created(savedVisits.size())
+            .rejected(rejected)
+            .results(List.of(results))
+            .build();
     }
     
-    @Transactional
-    public VisitDTO updateStatus(Long id, Visit.VisitStatus status) {
-        log.info("Updating visit {} status to {}", id, status);
+    // Reception and the vet's tablet edit the same visits: a stale write gets a 409 with the
+    // current visit instead of silently overwriting the other change
+    public VisitDTO update(Long id, UpdateVisitDTO updateVisitDTO, String ifMatch) {
+        log.info("Updating visit with id: {}", id);
         
-        Visit visit = visitRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Visit not found with id: " + id));
-        visit.setStatus(status);
+        if (updateVisitDTO.getDurationMinutes() != null) {
+            visitSlotSupport.durationOrDefault(updateVisitDTO.getDurationMinutes());
+        }
+        return withVeterinarianLock(id, () -> optimisticUpdateSupport.update("Visit", id, () -> {
+            Visit existingVisit = findForUpdate(id, ifMatch, updateVisitDTO.getVersion());
+            if (!existingVisit.getVisitDate().equals(updateVisitDTO.getVisitDate())) {
+                VisitSlotSupport.requireOnGrid(updateVisitDTO.getVisitDate());
+            }
+            List<LocalDateTime> slotsBefore = VisitSlotSupport.slotsHeld(existingVisit);
+            VisitRollupSupport.Contribution countedBefore = VisitRollupSupport.contributionOf(existingVisit);
+            Visit.VisitStatus previousStatus = existingVisit.getStatus();
+            visitMapper.updateEntityFromDTO(updateVisitDTO, existingVisit);
+            Visit savedVisit = saveAndMoveSlots(existingVisit, slotsBefore);
+            visitRollupSupport.replace(List.of(countedBefore), List.of(savedVisit));
+            eventPublisher.publishEvent(VisitChangedEvent.of(VisitEventDTO.Type.UPDATED, savedVisit));
+            publishIfCancelled(savedVisit, previousStatus);
+            return visitMapper.toDTO(savedVisit);
+        }, () -> findById(id)));
+    }
+    
+    public VisitDTO updateStatus(Long id, Visit.VisitStatus status, Long version, String ifMatch) {
+        log.info("Updating visit {} status to {}", id, status);
         
-        Visit savedVisit = visitRepository.save(visit);
-        return visitMapper.toDTO(savedVisit);
+        return withVeterinarianLock(id, () -> optimisticUpdateSupport.update("Visit", id, () -> {
+            Visit visit = findForUpdate(id, ifMatch, version);
+            List<LocalDateTime> slotsBefore = VisitSlotSupport.slotsHeld(visit);
+            VisitRollupSupport.Contribution countedBefore = VisitRollupSupport.contributionOf(visit);
+            Visit.VisitStatus previousStatus = visit.getStatus();
+            visit.setStatus(status);
+            Visit savedVisit = saveAndMoveSlots(visit, slotsBefore);
+            visitRollupSupport.replace(List.of(countedBefore), List.of(savedVisit));
+            if (status != previousStatus) {
+                eventPublisher.publishEvent(VisitChangedEvent.of(VisitEventDTO.Type.STATUS_CHANGED, savedVisit));
+            }
+            publishIfCancelled(savedVisit, previousStatus);
+            return visitMapper.toDTO(savedVisit);
+        }, () -> findById(id)));
+    }
+    
+    // Close-out of many visits: chunked set-based UPDATEs by ID list or by filter
+    public BulkUpdateResultDTO bulkUpdateStatus(BulkVisitStatusDTO request) {
+        Visit.VisitStatus status = request.getStatus();
+        BulkUpdateResultDTO result;
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            log.info("Updating status of {} visits to {}", request.getIds().size(), status);
+            result = bulkUpdateSupport.updateByIds("visits", request.getIds(), ids -> updateStatusAndSlots(ids, status));
+        } else {
+            if (request.getFrom() == null || request.getTo() == null) {
+                throw new BadRequestException("Either ids or a from/to date range is required");
+            }
+            if (!request.getFrom().isBefore(request.getTo())) {
+                throw new BadRequestException("'from' must be before 'to'");
+            }
+            log.info("Updating status to {} for visits between {} and {}", status, request.getFrom(), request.getTo());
+            Limit chunk = Limit.of(bulkUpdateSupport.getChunkSize());
+            result = bulkUpdateSupport.updateByKeyset("visits",
+                afterId -> visitRepository.findIdsForStatusUpdate(afterId, request.getFrom(), request.getTo(),
+                    request.getClinicId(), request.getVeterinarianId(), request.getCurrentStatus(), status, chunk),
+                ids -> updateStatusAndSlots(ids, status));
+        }
+        log.info("Updated status of {} visits in {} chunks", result.getAffected(), result.getChunks());
+        return result;
     }
     
     @Transactional
@@ -116,6 +328,186 @@ public class VisitService {
         log.info("Deleting visit with id: {}", id);
         Visit visit = visitRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Visit not found with id: " + id));
+        Set<Long> freed = visitSlotSupport.release(List.of(id));
+        visitRollupSupport.remove(List.of(visit));
         visitRepository.delete(visit);
+        eventPublisher.publishEvent(VisitChangedEvent.of(VisitEventDTO.Type.DELETED, visit));
+        if (!freed.isEmpty()) {
+            eventPublisher.publishEvent(VisitCancelledEvent.of(visit));
+        }
+    }
+    
+    /**
+     * Deletes, in the caller's transaction, the visits of pets, veterinarians or clinics about to be
+     * deleted, which the JPA cascade would otherwise remove without releasing their slots, updating the
+     * rollups or telling the listeners. Freed time is offered to the waitlist only when its
+     * veterinarian and clinic stay.
+     */
+    public void deleteReferencing(Collection<Long> petIds, Collection<Long> veterinarianIds, Collection<Long> clinicIds) {
+        List<Visit> visits = visitRepository.findReferencing(petIds, veterinarianIds, clinicIds);
+        if (visits.isEmpty()) {
+            return;
+        }
+        log.info("Deleting {} visits along with their pets, veterinarians or clinics", visits.size());
+        List<Long> ids = visits.stream().map(Visit::getId).toList();
+        Set<Long> freed = new HashSet<>();
+        int chunkSize = bulkUpdateSupport.getChunkSize();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            freed.addAll(visitSlotSupport.release(ids.subList(from, Math.min(from + chunkSize, ids.size()))));
+        }
+        visitRollupSupport.remove(visits);
+        visitRepository.deleteAll(visits);
+        // Gone from the database before the cascade loads the parent's visits
+        visitRepository.flush();
+        for (Visit visit : visits) {
+            eventPublisher.publishEvent(VisitChangedEvent.of(VisitEventDTO.Type.DELETED, visit));
+            if (freed.contains(visit.getId()) && !veterinarianIds.contains(visit.getVeterinarian().getId())
+                    && !clinicIds.contains(visit.getClinic().getId())) {
+                eventPublisher.publishEvent(VisitCancelledEvent.of(visit));
+            }
+        }
+    }
+
+    // Cancelling frees the slots; the bulk update never reopens cancelled visits, so it never claims any.
+    // The chunk is locked first so the rollups subtract exactly what the update replaces
+    private int updateStatusAndSlots(List<Long> ids, Visit.VisitStatus status) {
+        List<VisitRollupSupport.Contribution> countedBefore = visitRollupSupport.lockContributions(ids);
+        int updated = visitRepository.updateStatusByIdIn(ids, status);
+        Set<Long> freed = status == Visit.VisitStatus.CANCELLED && updated > 0
+            ? visitSlotSupport.release(ids)
+            : Set.of();
+        if (updated > 0) {
+            List<Visit> visits = visitRepository.findAllById(ids);
+            visitRollupSupport.replace(countedBefore, visits);
+            publishStatusChanges(visits, status);
+            visits.stream()
+                .filter(visit -> freed.contains(visit.getId()))
+                .forEach(visit -> eventPublisher.publishEvent(VisitCancelledEvent.of(visit)));
+        }
+        return updated;
+    }
+    
+    // The waitlist offers the freed time once this commits, off the request thread
+    private void publishIfCancelled(Visit visit, Visit.VisitStatus previousStatus) {
+        if (visit.getStatus() == Visit.VisitStatus.CANCELLED && previousStatus != Visit.VisitStatus.CANCELLED) {
+            eventPublisher.publishEvent(VisitCancelledEvent.of(visit));
+        }
+    }
+    
+    // Bulk updates bypass the entities: the chunk is read back once to tell each clinic's stream
+    private void publishStatusChanges(List<Visit> visits, Visit.VisitStatus status) {
+        for (Visit visit : visits) {
+            if (visit.getStatus() == status) {
+                eventPublisher.publishEvent(VisitChangedEvent.of(VisitEventDTO.Type.STATUS_CHANGED, visit));
+            }
+        }
+    }
+    
+    private <T> T withVeterinarianLock(Long visitId, Supplier<T> action) {
+        Long veterinarianId = visitRepository.findVeterinarianIdById(visitId)
+            .orElseThrow(() -> new ResourceNotFoundException("Visit not found with id: " + visitId));
+        return visitSlotSupport.withVeterinarianLocks(List.of(veterinarianId), action);
+    }
+    
+    private Visit saveAndMoveSlots(Visit visit, List<LocalDateTime> slotsBefore) {
+        Visit savedVisit = visitRepository.saveAndFlush(visit);
+        if (!slotsBefore.equals(VisitSlotSupport.slotsHeld(savedVisit))) {
+            slotHoldService.checkNotHeld(savedVisit.getVeterinarian().getId(), savedVisit.getClinic().getId(),
+                VisitSlotSupport.slotsHeld(savedVisit), null);
+            visitSlotSupport.release(List.of(savedVisit.getId()));
+            visitSlotSupport.occupy(List.of(savedVisit));
+        }
+        return savedVisit;
+    }
+    
+    // One range query covering every slot the batch asks for
+    private Set<VisitSlotSupport.Slot> occupiedSlots(List<CreateVisitDTO> requests, Set<Long> veterinarianIds) {
+        int defaultDuration = visitSlotSupport.durationOrDefault(null);
+        List<LocalDateTime> wanted = requests.stream()
+            .filter(request -> request.getVisitDate() != null)
+            .flatMap(request -> VisitSlotSupport.slotsOf(request.getVisitDate(),
+                request.getDurationMinutes() != null && request.getDurationMinutes() > 0
+                    ? request.getDurationMinutes() : defaultDuration).stream())
+            .sorted()
+            .toList();
+        if (wanted.isEmpty()) {
+            return new HashSet<>();
+        }
+        return visitSlotSupport.occupiedSlots(veterinarianIds, wanted.get(0),
+            wanted.get(wanted.size() - 1).plusMinutes(VisitSlotSupport.SLOT_MINUTES));
+    }
+    
+    // Reserves the item's slots against the database, holds and the earlier items of the batch
+    private String claimSlots(CreateVisitDTO request, Set<VisitSlotSupport.Slot> takenSlots) {
+        int durationMinutes;
+        try {
+            durationMinutes = visitSlotSupport.durationOrDefault(request.getDurationMinutes());
+        } catch (BadRequestException ex) {
+            return ex.getMessage();
+        }
+        if (request.getStatus() == Visit.VisitStatus.CANCELLED) {
+            return null;
+        }
+        List<VisitSlotSupport.Slot> slots = VisitSlotSupport.slotsOf(request.getVisitDate(), durationMinutes).stream()
+            .map(slot -> new VisitSlotSupport.Slot(request.getVeterinarianId(), slot))
+            .toList();
+        if (slots.stream().anyMatch(takenSlots::contains)) {
+            return VisitSlotSupport.conflictMessage(request.getVeterinarianId(), request.getVisitDate(), durationMinutes);
+        }
+        try {
+            slotHoldService.checkNotHeld(request.getVeterinarianId(), request.getClinicId(),
+                slots.stream().map(VisitSlotSupport.Slot::start).toList(), request.getHoldId());
+        } catch (BadRequestException | DuplicateResourceException ex) {
+            return ex.getMessage();
+        }
+        takenSlots.addAll(slots);
+        return null;
+    }
+    
+    private Visit findForUpdate(Long id, String ifMatch, Long version) {
+        Visit visit = visitRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Visit not found with id: " + id));
+        optimisticUpdateSupport.checkIfMatch(ifMatch, () -> resourceVersionService.visit(id));
+        optimisticUpdateSupport.checkVersion(version, visit.getVersion(), Visit.class, id);
+        return visit;
+    }
+    
+    private String validateBatchItem(CreateVisitDTO request, Map<Long, Pet> pets,
+                                     Map<Long, Veterinarian> veterinarians, Map<Long, Clinic> clinics) {
+        Set<ConstraintViolation<CreateVisitDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        String gridError = VisitSlotSupport.gridError(request.getVisitDate());
+        if (gridError != null) {
+            return gridError;
+        }
+        if (!pets.containsKey(request.getPetId())) {
+            return "Pet not found with id: " + request.getPetId();
+        }
+        if (!veterinarians.containsKey(request.getVeterinarianId())) {
+            return "Veterinarian not found with id: " + request.getVeterinarianId();
+        }
+        if (!clinics.containsKey(request.getClinicId())) {
+            return "Clinic not found with id: " + request.getClinicId();
+        }
+        return null;
+    }
+    
+    private static Set<Long> withoutNull(Set<Long> ids) {
+        ids.remove(null);
+        return ids;
+    }
+    
+    // The repository is asked for one extra row to know whether a next page exists
+    private CursorPageDTO<VisitDTO> toCursorPage(List<Visit> visits, int pageSize) {
+        boolean hasNext = visits.size() > pageSize;
+        List<Visit> page = hasNext ? visits.subList(0, pageSize) : visits;
+        return CursorPageDTO.<VisitDTO>builder()
+            .content(visitMapper.toDTOList(page))
+            .size(pageSize)
+            .hasNext(hasNext)
+            .nextCursor(hasNext ? VisitCursor.of(page.get(page.size() - 1)).encode() : null)
+            .build();
     }
 }
@@ -0,0 +1,201 @@
+package com.vetcare.services;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.vetcare.exceptions.BadRequestException;
+import com.vetcare.exceptions.DuplicateResourceException;
+import com.vetcare.models.Visit;
+
+/**
+ * Keeps veterinarians from being double-booked. Each non-cancelled visit occupies the
+ * 15-minute slots its time range touches, one row per slot in visit_slots (see V5 migration),
+ * whose primary key (veterinarian_id, slot_start) rejects a second visit in the same slot even
+ * across nodes. Within a node, bookings for the same veterinarian are serialized on a striped
+ * lock held until the booking transaction ends, so contending requests queue here instead of on
+ * database row locks and duplicate-key failures. Committed changes are also applied to the
+ * in-memory {@link AvailabilityService} index.
+ */
+@Component
+public class VisitSlotSupport {
+
+    public record Slot(Long veterinarianId, LocalDateTime start) {}
+
+    // Stored rows depend on it: changing the grid requires re-slotting existing visits
+    public static final int SLOT_MINUTES = 15;
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AvailabilityService availabilityService;
+    private final int defaultDurationMinutes;
+    private final int maxDurationMinutes;
+    private final ReentrantLock[] locks;
+
+    public VisitSlotSupport(
+            JdbcTemplate jdbcTemplate,
+            AvailabilityService availabilityService,
+            @Value("${vetcare.visits.default-duration-minutes:30}") int defaultDurationMinutes,
+            @Value("${vetcare.visits.max-duration-minutes:480}") int maxDurationMinutes,
+            @Value("${vetcare.visits.lock-stripes:64}") int lockStripes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.availabilityService = availabilityService;
+        this.defaultDurationMinutes = defaultDurationMinutes;
+        this.maxDurationMinutes = maxDurationMinutes;
+        this.locks = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public int durationOrDefault(Integer durationMinutes) {
+        int duration = durationMinutes != null ? durationMinutes : defaultDurationMinutes;
+        if (duration <= 0 || duration > maxDurationMinutes) {
+            throw new BadRequestException("Visit duration must be between 1 and " + maxDurationMinutes + " minutes");
+        }
+        return duration;
+    }
+
+    // Runs action, which must open and finish its own transaction, holding the stripes of all given veterinarians
+    public <T> T withVeterinarianLocks(Collection<Long> veterinarianIds, Supplier<T> action) {
+        // Stripes are always taken in ascending order, so two multi-veterinarian bookings cannot deadlock
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (Long veterinarianId : veterinarianIds) {
+            if (veterinarianId != null) {
+                stripes.add(Math.floorMod(veterinarianId.hashCode(), locks.length));
+            }
+        }
+        List<ReentrantLock> held = new ArrayList<>();
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                held.add(locks[stripe]);
+            }
+            return action.get();
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    // A start between grid lines would round down into the slot of the visit before it and clash
+    // with a back-to-back booking, so starts must fall on the grid; null means it does
+    public static String gridError(LocalDateTime start) {
+        if (start == null || (start.getMinute() % SLOT_MINUTES == 0 && start.getSecond() == 0 && start.getNano() == 0)) {
+            return null;
+        }
+        return "Visit time must start on a " + SLOT_MINUTES + "-minute boundary (:00, :15, :30 or :45)";
+    }
+
+    public static void requireOnGrid(LocalDateTime start) {
+        String error = gridError(start);
+        if (error != null) {
+            throw new BadRequestException(error);
+        }
+    }
+
+    public static List<LocalDateTime> slotsOf(LocalDateTime start, int durationMinutes) {
+        LocalDateTime end = start.plusMinutes(durationMinutes);
+        LocalDateTime day = start.truncatedTo(ChronoUnit.DAYS);
+        long minuteOfDay = ChronoUnit.MINUTES.between(day, start);
+        LocalDateTime slot = day.plusMinutes(minuteOfDay / SLOT_MINUTES * SLOT_MINUTES);
+        List<LocalDateTime> slots = new ArrayList<>();
+        for (; slot.isBefore(end); slot = slot.plusMinutes(SLOT_MINUTES)) {
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    // Cancelled visits free their slots
+    public static List<LocalDateTime> slotsHeld(Visit visit) {
+        return visit.getStatus() != Visit.VisitStatus.CANCELLED
+            ? slotsOf(visit.getVisitDate(), visit.getDurationMinutes())
+            : List.of();
+    }
+
+    // Slots taken in [from, to) by the given veterinarians, so a batch can reject conflicting items up front
+    public Set<Slot> occupiedSlots(Collection<Long> veterinarianIds, LocalDateTime from, LocalDateTime to) {
+        if (veterinarianIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<Object> args = new ArrayList<>(veterinarianIds);
+        args.add(from);
+        args.add(to);
+        return new HashSet<>(jdbcTemplate.query(
+            "SELECT veterinarian_id, slot_start FROM visit_slots WHERE veterinarian_id IN ("
+                + String.join(",", veterinarianIds.stream().map(id -> "?").toList())
+                + ") AND slot_start >= ? AND slot_start < ?",
+            (row, rowNum) -> new Slot(row.getLong(1), row.getObject(2, LocalDateTime.class)),
+            args.toArray()));
+    }
+
+    /**
+     * Claims the slots of the given flushed visits in the current transaction. A slot already
+     * taken, here or on another node, fails the whole call with a 409.
+     */
+    public void occupy(List<Visit> visits) {
+        List<Object[]> rows = new ArrayList<>();
+        Map<Long, List<LocalDateTime>> slotsByVeterinarian = new HashMap<>();
+        for (Visit visit : visits) {
+            for (LocalDateTime slot : slotsHeld(visit)) {
+                rows.add(new Object[] {visit.getVeterinarian().getId(), slot, visit.getId()});
+                slotsByVeterinarian.computeIfAbsent(visit.getVeterinarian().getId(), id -> new ArrayList<>()).add(slot);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO visit_slots (veterinarian_id, slot_start, visit_id) VALUES (?, ?, ?)", rows);
+        } catch (DuplicateKeyException ex) {
+            throw new DuplicateResourceException(visits.size() == 1
+                ? conflictMessage(visits.get(0).getVeterinarian().getId(), visits.get(0).getVisitDate(),
+                    visits.get(0).getDurationMinutes())
+                : "A veterinarian was booked concurrently for one of the requested times");
+        }
+        slotsByVeterinarian.forEach(availabilityService::occupyAfterCommit);
+    }
+
+    public static String conflictMessage(Long veterinarianId, LocalDateTime start, int durationMinutes) {
+        return "Veterinarian " + veterinarianId + " is already booked between "
+            + TIME.format(start) + " and " + TIME.format(start.plusMinutes(durationMinutes));
+    }
+
+    // Returns the visits that held slots, so callers know whose time was actually freed
+    public Set<Long> release(Collection<Long> visitIds) {
+        if (visitIds.isEmpty()) {
+            return Set.of();
+        }
+        String in = String.join(",", visitIds.stream().map(id -> "?").toList());
+        Map<Long, List<LocalDateTime>> slotsByVeterinarian = new HashMap<>();
+        Set<Long> freed = new HashSet<>();
+        jdbcTemplate.query("SELECT veterinarian_id, slot_start, visit_id FROM visit_slots WHERE visit_id IN (" + in + ")",
+            row -> {
+                slotsByVeterinarian.computeIfAbsent(row.getLong(1), id -> new ArrayList<>())
+                    .add(row.getObject(2, LocalDateTime.class));
+                freed.add(row.getLong(3));
+            },
+            visitIds.toArray());
+        jdbcTemplate.update("DELETE FROM visit_slots WHERE visit_id IN (" + in + ")", visitIds.toArray());
+        slotsByVeterinarian.forEach(availabilityService::releaseAfterCommit);
+        return freed;
+    }
+}
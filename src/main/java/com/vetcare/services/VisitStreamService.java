@@ -0,0 +1,288 @@
+package com.vetcare.services;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.vetcare.dto.VisitEventDTO;
+import com.vetcare.exceptions.ResourceNotFoundException;
+import com.vetcare.repositories.ClinicRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-sent visit events per clinic, for waiting-room displays and tablets that would
+ * otherwise poll the visit lists. Events come from {@link VisitChangedEvent}s after their
+ * transaction commits, so a stream never shows a change that was rolled back.
+ * <p>
+ * Subscribers are async responses: an idle one holds a connection but no thread. Each has a
+ * bounded buffer drained by a small pool of sender threads; when a slow client lets its buffer
+ * fill up, the buffered events are dropped and replaced by a single RESYNC event telling it to
+ * reload through the REST endpoints. Each clinic keeps its latest events in a replay log, so a
+ * client reconnecting with Last-Event-ID gets what it missed, or RESYNC if that is no longer
+ * there. Streams only carry changes made through this node.
+ * <p>
+ * Visit changes are sent as "visit" events; other clinic projections, like the triage queue,
+ * share the stream and its event ids through {@link #publish}.
+ */
+@Service
+@Slf4j
+public class VisitStreamService {
+
+    private static final String VISIT_EVENT = "visit";
+
+    // One SSE event; data carries the same id for clients that only read the payload
+    private record Frame(long id, String name, Object data) {}
+
+    private final ClinicRepository clinicRepository;
+    private final int bufferSize;
+    private final int replaySize;
+    private final long timeoutMillis;
+    // Seeded from the clock so ids from before a restart are older than any id of this run
+    private final long firstEventId = System.currentTimeMillis() * 1000;
+    private final AtomicLong lastEventId = new AtomicLong(firstEventId);
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor senders;
+
+    // Guarded by its own monitor: publishing and subscribing see the replay log and subscribers together
+    private static final class Channel {
+        final ArrayDeque<Frame> replay = new ArrayDeque<>();
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        long evictedUpTo;
+    }
+
+    private final class Subscriber {
+        final Long clinicId;
+        final SseEmitter emitter;
+        // Guarded by this subscriber's monitor
+        final ArrayDeque<Frame> buffer = new ArrayDeque<>();
+        Long resyncEventId;
+        boolean heartbeat;
+        boolean sending;
+        volatile boolean closed;
+
+        Subscriber(Long clinicId, SseEmitter emitter) {
+            this.clinicId = clinicId;
+            this.emitter = emitter;
+        }
+
+        void offer(Frame frame) {
+            synchronized (this) {
+                if (buffer.size() >= bufferSize) {
+                    resyncEventId = buffer.peekLast().id();
+                    buffer.clear();
+                }
+                buffer.add(frame);
+            }
+            schedule();
+        }
+
+        void resync(long eventId) {
+            synchronized (this) {
+                buffer.clear();
+                resyncEventId = eventId;
+            }
+            schedule();
+        }
+
+        void ping() {
+            synchronized (this) {
+                heartbeat = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            synchronized (this) {
+                if (sending || closed) {
+                    return;
+                }
+                sending = true;
+            }
+            senders.execute(this::drain);
+        }
+
+        // One sender at a time per subscriber keeps its events in order
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder next;
+                synchronized (this) {
+                    if (closed) {
+                        sending = false;
+                        return;
+                    }
+                    if (resyncEventId != null) {
+                        next = event(new Frame(resyncEventId, VISIT_EVENT, VisitEventDTO.builder().eventId(resyncEventId)
+                            .type(VisitEventDTO.Type.RESYNC).clinicId(clinicId).build()));
+                        resyncEventId = null;
+                    } else if (!buffer.isEmpty()) {
+                        next = event(buffer.poll());
+                    } else if (heartbeat) {
+                        next = SseEmitter.event().comment("heartbeat");
+                        heartbeat = false;
+                    } else {
+                        sending = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException ex) {
+                    log.debug("Visit stream subscriber of clinic {} went away: {}", clinicId, ex.getMessage());
+                    close();
+                    emitter.completeWithError(ex);
+                }
+            }
+        }
+
+        void close() {
+            closed = true;
+            Channel channel = channels.get(clinicId);
+            if (channel != null) {
+                channel.subscribers.remove(this);
+            }
+        }
+    }
+
+    public VisitStreamService(
+            ClinicRepository clinicRepository,
+            @Value("${vetcare.stream.buffer-size:64}") int bufferSize,
+            @Value("${vetcare.stream.replay-size:256}") int replaySize,
+            @Value("${vetcare.stream.timeout:PT30M}") Duration timeout,
+            @Value("${vetcare.stream.sender-threads:4}") int senderThreads) {
+        this.clinicRepository = clinicRepository;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeoutMillis = timeout.toMillis();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "visit-stream");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+    }
+
+    /**
+     * Opens a stream of the clinic's visit events. With lastEventId, the events after it are
+     * replayed first, or a RESYNC event is sent if some of them are no longer in the replay log.
+     */
+    public SseEmitter subscribe(Long clinicId, Long lastEventId) {
+        if (!clinicRepository.existsById(clinicId)) {
+            throw new ResourceNotFoundException("Clinic not found with id: " + clinicId);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(clinicId, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        try {
+            // Commits the response headers, so the client sees the stream open before any event
+            emitter.send(SseEmitter.event().comment("subscribed").reconnectTime(3000));
+        } catch (IOException ex) {
+            emitter.completeWithError(ex);
+            return emitter;
+        }
+
+        Channel channel = channel(clinicId);
+        synchronized (channel) {
+            channel.subscribers.add(subscriber);
+            if (lastEventId != null) {
+                List<Frame> missed = new ArrayList<>();
+                for (Frame frame : channel.replay) {
+                    if (frame.id() > lastEventId) {
+                        missed.add(frame);
+                    }
+                }
+                if (lastEventId < channel.evictedUpTo || lastEventId < firstEventId || lastEventId > this.lastEventId.get()
+                        || missed.size() > bufferSize) {
+                    subscriber.resync(this.lastEventId.get());
+                } else {
+                    missed.forEach(subscriber::offer);
+                }
+            }
+        }
+        log.debug("Visit stream subscriber added to clinic {}, {} connected", clinicId, channel.subscribers.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onVisitChanged(VisitChangedEvent change) {
+        publish(change.clinicId(), VISIT_EVENT, eventId -> VisitEventDTO.builder()
+            .eventId(eventId)
+            .type(change.type())
+            .clinicId(change.clinicId())
+            .visitId(change.visitId())
+            .veterinarianId(change.veterinarianId())
+            .petId(change.petId())
+            .visitDate(change.visitDate())
+            .durationMinutes(change.durationMinutes())
+            .status(change.status())
+            .version(change.version())
+            .checkedInAt(change.checkedInAt())
+            .triageUrgency(change.triageUrgency())
+            .build());
+    }
+
+    /**
+     * Sends an event to the clinic's subscribers and keeps it for Last-Event-ID resumes. data
+     * gets the event id; events of one clinic go out in the order of their ids.
+     */
+    public void publish(Long clinicId, String name, LongFunction<Object> data) {
+        Channel channel = channel(clinicId);
+        synchronized (channel) {
+            long eventId = lastEventId.incrementAndGet();
+            Frame frame = new Frame(eventId, name, data.apply(eventId));
+            channel.replay.addLast(frame);
+            if (channel.replay.size() > replaySize) {
+                channel.evictedUpTo = channel.replay.removeFirst().id();
+            }
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    // Lets proxies and clients notice dead connections between events
+    @Scheduled(fixedDelayString = "${vetcare.stream.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.ping();
+            }
+        }
+    }
+
+    private Channel channel(Long clinicId) {
+        return channels.computeIfAbsent(clinicId, id -> new Channel());
+    }
+
+    private static SseEmitter.SseEventBuilder event(Frame frame) {
+        return SseEmitter.event()
+            .id(Long.toString(frame.id()))
+            .name(frame.name())
+            .data(frame.data(), MediaType.APPLICATION_JSON);
+    }
+}
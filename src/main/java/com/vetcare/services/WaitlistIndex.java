@@ -0,0 +1,136 @@
+package com.vetcare.services;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Waiting entries grouped by what they wait for ("veterinarian:3", "clinic:1", "specialty:2"),
+ * each group sorted by window end. A freed slot can serve only a handful of groups; in each one
+ * the search seeks to the first window ending after the slot starts and walks forward to the
+ * first window that contains the slot, so it costs O(log n) plus the entries whose window opens
+ * later than the slot, never a pass over the whole waitlist.
+ */
+final class WaitlistIndex {
+
+    record Entry(Long id, String target, LocalDateTime windowStart, LocalDateTime windowEnd, int durationMinutes,
+                 LocalDateTime createdAt) {}
+
+    // Tightest window first, then longest waiting: owners with wider windows can still be served by a later slot
+    private static final Comparator<Entry> BEST_FIRST = Comparator.comparing(Entry::windowEnd)
+        .thenComparing(Entry::createdAt)
+        .thenComparing(Entry::id);
+
+    private final Map<String, NavigableSet<Entry>> byTarget = new HashMap<>();
+    private final Map<Long, Entry> byId = new HashMap<>();
+    // Guards both maps, including while reload queries
+    private final ReentrantLock lock = new ReentrantLock();
+
+    static String veterinarian(Long id) {
+        return "veterinarian:" + id;
+    }
+
+    static String clinic(Long id) {
+        return "clinic:" + id;
+    }
+
+    static String specialty(Long id) {
+        return "specialty:" + id;
+    }
+
+    void add(Entry entry) {
+        lock.lock();
+        try {
+            remove(entry.id());
+            byId.put(entry.id(), entry);
+            byTarget.computeIfAbsent(entry.target(), target -> new TreeSet<>(BEST_FIRST)).add(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.lock();
+        try {
+            Entry entry = byId.remove(id);
+            if (entry == null) {
+                return;
+            }
+            NavigableSet<Entry> entries = byTarget.get(entry.target());
+            entries.remove(entry);
+            if (entries.isEmpty()) {
+                byTarget.remove(entry.target());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents with what loader returns. The loader runs under the index lock, so
+     * entries added or removed while it reads are applied after the reload instead of lost.
+     */
+    int reload(Supplier<? extends Collection<Entry>> loader) {
+        lock.lock();
+        try {
+            Collection<Entry> entries = loader.get();
+            byTarget.clear();
+            byId.clear();
+            entries.forEach(this::add);
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Best waiting entry, across the given targets, whose window contains a visit of its own
+     * duration starting at start, for durations up to maxDurationMinutes.
+     */
+    Optional<Entry> bestMatch(Collection<String> targets, LocalDateTime start, int maxDurationMinutes,
+                              Set<Long> excluded) {
+        lock.lock();
+        try {
+            Entry endingAtStart = new Entry(Long.MIN_VALUE, "", start, start, 0, LocalDateTime.MIN);
+            Entry best = null;
+            for (String target : targets) {
+                NavigableSet<Entry> entries = byTarget.get(target);
+                if (entries == null) {
+                    continue;
+                }
+                for (Entry entry : entries.tailSet(endingAtStart, false)) {
+                    if (best != null && BEST_FIRST.compare(entry, best) >= 0) {
+                        break;
+                    }
+                    if (!excluded.contains(entry.id())
+                            && !entry.windowStart().isAfter(start)
+                            && entry.durationMinutes() <= maxDurationMinutes
+                            && !start.plusMinutes(entry.durationMinutes()).isAfter(entry.windowEnd())) {
+                        best = entry;
+                        break;
+                    }
+                }
+            }
+            return Optional.ofNullable(best);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package com.vetcare.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vetcare.dto.CreateSlotHoldDTO;
+import com.vetcare.dto.CreateVisitDTO;
+import com.vetcare.dto.CreateWaitlistEntryDTO;
+import com.vetcare.dto.SlotHoldDTO;
+import com.vetcare.dto.VisitDTO;
+import com.vetcare.dto.WaitlistEntryDTO;
+import com.vetcare.exceptions.BadRequestException;
+import com.vetcare.exceptions.DuplicateResourceException;
+import com.vetcare.exceptions.ResourceNotFoundException;
+import com.vetcare.mappers.WaitlistEntryMapper;
+import com.vetcare.models.WaitlistEntry;
+import com.vetcare.models.WaitlistEntry.WaitlistStatus;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.SpecialtyRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+import com.vetcare.repositories.WaitlistEntryRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Waitlist backfill. When a visit is cancelled, its time is offered to the best-matching
+ * waiting entry: the offer holds the slot through {@link SlotHoldService} for
+ * vetcare.waitlist.offer-ttl and the owner accepts (creating the visit) or declines it. Declined
+ * and lapsed offers pass the slot on to the next entry.
+ * <p>
+ * Matching runs on a background thread after the cancelling transaction commits, against an
+ * in-memory {@link WaitlistIndex} of waiting entries. Entries created on this node are indexed
+ * on commit; the index is reloaded every vetcare.waitlist.refresh-interval to pick up the rest.
+ * Offers claim the entry with its version, so two nodes never offer the same entry twice.
+ */
+@Service
+@Slf4j
+public class WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final PetRepository petRepository;
+    private final VeterinarianRepository veterinarianRepository;
+    private final ClinicRepository clinicRepository;
+    private final SpecialtyRepository specialtyRepository;
+    private final WaitlistEntryMapper waitlistEntryMapper;
+    private final VisitService visitService;
+    private final VisitSlotSupport visitSlotSupport;
+    private final SlotHoldService slotHoldService;
+    private final ChangeCounters changeCounters;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTransaction;
+    private final Duration offerTtl;
+    private final ThreadPoolExecutor offers;
+    private final WaitlistIndex index = new WaitlistIndex();
+    private volatile boolean loaded;
+
+    public WaitlistService(
+            WaitlistEntryRepository waitlistEntryRepository,
+            PetRepository petRepository,
+            VeterinarianRepository veterinarianRepository,
+            ClinicRepository clinicRepository,
+            SpecialtyRepository specialtyRepository,
+            WaitlistEntryMapper waitlistEntryMapper,
+            VisitService visitService,
+            VisitSlotSupport visitSlotSupport,
+            SlotHoldService slotHoldService,
+            ChangeCounters changeCounters,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${vetcare.waitlist.offer-ttl:PT15M}") Duration offerTtl,
+            @Value("${vetcare.waitlist.queue-capacity:1000}") int queueCapacity) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.petRepository = petRepository;
+        this.veterinarianRepository = veterinarianRepository;
+        this.clinicRepository = clinicRepository;
+        this.specialtyRepository = specialtyRepository;
+        this.waitlistEntryMapper = waitlistEntryMapper;
+        this.visitService = visitService;
+        this.visitSlotSupport = visitSlotSupport;
+        this.slotHoldService = slotHoldService;
+        this.changeCounters = changeCounters;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.offerTtl = offerTtl;
+        // One thread: offers for the same entry never race within a node
+        this.offers = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "waitlist-offers");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        offers.shutdownNow();
+    }
+
+    public WaitlistEntryDTO create(CreateWaitlistEntryDTO request) {
+        log.info("Adding pet {} to the waitlist", request.getPetId());
+        int targets = (request.getVeterinarianId() != null ? 1 : 0) + (request.getClinicId() != null ? 1 : 0)
+            + (request.getSpecialtyId() != null ? 1 : 0);
+        if (targets != 1) {
+            throw new BadRequestException("Exactly one of veterinarianId, clinicId or specialtyId is required");
+        }
+        int durationMinutes = visitSlotSupport.durationOrDefault(request.getDurationMinutes());
+        if (request.getWindowStart().plusMinutes(durationMinutes).isAfter(request.getWindowEnd())) {
+            throw new BadRequestException("The window must be at least as long as the visit");
+        }
+
+        WaitlistEntry saved = transactionTemplate.execute(status -> {
+            WaitlistEntry entry = WaitlistEntry.builder()
+                .pet(petRepository.findById(request.getPetId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Pet not found with id: " + request.getPetId())))
+                .windowStart(request.getWindowStart())
+                .windowEnd(request.getWindowEnd())
+                .durationMinutes(durationMinutes)
+                .reason(request.getReason())
+                .build();
+            if (request.getVeterinarianId() != null) {
+                entry.setVeterinarian(veterinarianRepository.findById(request.getVeterinarianId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Veterinarian not found with id: " + request.getVeterinarianId())));
+            } else if (request.getClinicId() != null) {
+                entry.setClinic(clinicRepository.findById(request.getClinicId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Clinic not found with id: " + request.getClinicId())));
+            } else {
+                entry.setSpecialty(specialtyRepository.findById(request.getSpecialtyId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Specialty not found with id: " + request.getSpecialtyId())));
+            }
+            WaitlistEntry entity = waitlistEntryRepository.save(entry);
+            indexAfterCommit(entity);
+            return entity;
+        });
+        return waitlistEntryMapper.toDTO(saved);
+    }
+
+    public WaitlistEntryDTO findById(Long id) {
+        return readTransaction.execute(status -> waitlistEntryMapper.toDTO(findEntry(id)));
+    }
+
+    public List<WaitlistEntryDTO> findByPetId(Long petId) {
+        return readTransaction.execute(status ->
+            waitlistEntryMapper.toDTOList(waitlistEntryRepository.findByPetIdOrderByCreatedAtDesc(petId)));
+    }
+
+    // Books the offered slot with the offer's hold
+    public VisitDTO accept(Long id) {
+        log.info("Accepting waitlist offer {}", id);
+        WaitlistEntry entry = readTransaction.execute(status -> findEntry(id));
+        if (entry.getStatus() != WaitlistStatus.OFFERED) {
+            throw new BadRequestException("Waitlist entry " + id + " has no pending offer");
+        }
+        if (!entry.getOfferExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new BadRequestException("The offer for waitlist entry " + id + " expired at " + entry.getOfferExpiresAt());
+        }
+        VisitDTO visit = visitService.create(CreateVisitDTO.builder()
+            .visitDate(entry.getOfferedVisitDate())
+            .durationMinutes(entry.getDurationMinutes())
+            .reason(entry.getReason())
+            .petId(entry.getPet().getId())
+            .veterinarianId(entry.getOfferedVeterinarian().getId())
+            .clinicId(entry.getOfferedClinic().getId())
+            .holdId(entry.getHoldId())
+            .build());
+        transactionTemplate.executeWithoutResult(status -> {
+            WaitlistEntry booked = findEntry(id);
+            booked.setStatus(WaitlistStatus.BOOKED);
+            booked.setVisitId(visit.getId());
+            booked.setHoldId(null);
+            waitlistEntryRepository.save(booked);
+        });
+        return visit;
+    }
+
+    // The entry keeps waiting and the slot goes to the next one
+    public WaitlistEntryDTO decline(Long id) {
+        log.info("Declining waitlist offer {}", id);
+        return withdrawOffer(id, WaitlistStatus.WAITING);
+    }
+
+    public void cancel(Long id) {
+        log.info("Removing waitlist entry {}", id);
+        withdrawOffer(id, WaitlistStatus.CANCELLED);
+    }
+
+    /**
+     * Deletes, in the caller's transaction, the entries of pets about to be deleted and those waiting
+     * for or offered by veterinarians or clinics about to be deleted, whose foreign keys would
+     * otherwise fail the delete. Pending offers release their hold on commit and, when the
+     * veterinarian stays, pass the time on.
+     */
+    public void deleteReferencing(Collection<Long> petIds, Collection<Long> veterinarianIds, Collection<Long> clinicIds) {
+        List<WaitlistEntry> entries = waitlistEntryRepository.findReferencing(petIds, veterinarianIds, clinicIds);
+        if (entries.isEmpty()) {
+            return;
+        }
+        log.info("Deleting {} waitlist entries along with their pets, veterinarians or clinics", entries.size());
+        waitlistEntryRepository.deleteAll(entries);
+        for (WaitlistEntry entry : entries) {
+            removeAfterCommit(entry.getId());
+            if (entry.getStatus() == WaitlistStatus.OFFERED) {
+                boolean passOn = !veterinarianIds.contains(entry.getOfferedVeterinarian().getId())
+                    && !clinicIds.contains(entry.getOfferedClinic().getId());
+                afterCommit(() -> endOffer(entry, passOn));
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onVisitCancelled(VisitCancelledEvent event) {
+        submit(() -> offer(event.veterinarianId(), event.clinicId(), event.visitDate(), event.durationMinutes(), Set.of()));
+    }
+
+    @Scheduled(fixedDelayString = "${vetcare.waitlist.offer-check-interval:PT30S}",
+               initialDelayString = "${vetcare.waitlist.offer-check-interval:PT30S}")
+    public void lapseOffers() {
+        LocalDateTime now = LocalDateTime.now();
+        List<WaitlistEntry> lapsed = readTransaction.execute(status -> waitlistEntryRepository
+            .findByStatusAndOfferExpiresAtBefore(WaitlistStatus.OFFERED, now, Limit.of(500)));
+        for (WaitlistEntry entry : lapsed) {
+            try {
+                withdrawOffer(entry.getId(), entry.getWindowEnd().isAfter(now) ? WaitlistStatus.WAITING : WaitlistStatus.EXPIRED);
+            } catch (ObjectOptimisticLockingFailureException | BadRequestException ex) {
+                // Accepted, declined or lapsed by another node meanwhile
+                log.debug("Offer {} changed while lapsing it", entry.getId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${vetcare.waitlist.refresh-interval:PT5M}",
+               initialDelayString = "${vetcare.waitlist.refresh-interval:PT5M}")
+    public void refresh() {
+        transactionTemplate.executeWithoutResult(status -> {
+            int expired = waitlistEntryRepository.expireWaiting(LocalDateTime.now());
+            if (expired > 0) {
+                changeCounters.recordChange("waitlist_entries");
+                log.info("Expired {} waitlist entries whose window has passed", expired);
+            }
+        });
+        reload();
+    }
+
+    // Offers time freed on a veterinarian to the best waiting entry; runs on the offers thread
+    void offer(Long veterinarianId, Long clinicId, LocalDateTime start, int durationMinutes, Set<Long> excluded) {
+        if (!start.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        if (!loaded) {
+            reload();
+        }
+        List<String> targets = new ArrayList<>();
+        targets.add(WaitlistIndex.veterinarian(veterinarianId));
+        targets.add(WaitlistIndex.clinic(clinicId));
+        jdbcTemplate.queryForList("SELECT specialty_id FROM veterinarian_specialties WHERE veterinarian_id = ?",
+            Long.class, veterinarianId).forEach(specialtyId -> targets.add(WaitlistIndex.specialty(specialtyId)));
+
+        Set<Long> skipped = new HashSet<>(excluded);
+        while (true) {
+            Optional<WaitlistIndex.Entry> match = index.bestMatch(targets, start, durationMinutes, skipped);
+            if (match.isEmpty()) {
+                log.debug("No waitlist entry fits veterinarian {} at {}", veterinarianId, start);
+                return;
+            }
+            WaitlistIndex.Entry candidate = match.get();
+            SlotHoldDTO hold;
+            try {
+                hold = slotHoldService.create(CreateSlotHoldDTO.builder()
+                    .veterinarianId(veterinarianId)
+                    .clinicId(clinicId)
+                    .visitDate(start)
+                    .build(), candidate.durationMinutes(), offerTtl);
+            } catch (DuplicateResourceException | ResourceNotFoundException ex) {
+                log.info("Freed time of veterinarian {} at {} is no longer available: {}", veterinarianId, start, ex.getMessage());
+                return;
+            }
+            if (claim(candidate.id(), hold)) {
+                index.remove(candidate.id());
+                log.info("Offered veterinarian {} at {} to waitlist entry {} until {}",
+                    veterinarianId, start, candidate.id(), hold.getExpiresAt());
+                return;
+            }
+            slotHoldService.cancel(hold.getHoldId());
+            index.remove(candidate.id());
+            skipped.add(candidate.id());
+        }
+    }
+
+    private boolean claim(Long entryId, SlotHoldDTO hold) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                WaitlistEntry entry = waitlistEntryRepository.findById(entryId).orElse(null);
+                if (entry == null || entry.getStatus() != WaitlistStatus.WAITING
+                        || !entry.getWindowEnd().isAfter(LocalDateTime.now())) {
+                    return false;
+                }
+                entry.setStatus(WaitlistStatus.OFFERED);
+                entry.setOfferedVisitDate(hold.getVisitDate());
+                entry.setOfferedVeterinarian(veterinarianRepository.getReferenceById(hold.getVeterinarianId()));
+                entry.setOfferedClinic(clinicRepository.getReferenceById(hold.getClinicId()));
+                entry.setOfferExpiresAt(hold.getExpiresAt());
+                entry.setHoldId(hold.getHoldId());
+                waitlistEntryRepository.saveAndFlush(entry);
+                return true;
+            }));
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            return false;
+        }
+    }
+
+    // Ends the entry's offer, if any, moving it to newStatus, and passes the offered slot on
+    private WaitlistEntryDTO withdrawOffer(Long id, WaitlistStatus newStatus) {
+        WaitlistEntry before = readTransaction.execute(status -> findEntry(id));
+        if (before.getStatus() != WaitlistStatus.WAITING && before.getStatus() != WaitlistStatus.OFFERED) {
+            throw new BadRequestException("Waitlist entry " + id + " is already " + before.getStatus());
+        }
+        if (newStatus == WaitlistStatus.WAITING && before.getStatus() != WaitlistStatus.OFFERED) {
+            throw new BadRequestException("Waitlist entry " + id + " has no pending offer");
+        }
+        WaitlistEntry after = transactionTemplate.execute(status -> {
+            WaitlistEntry entry = findEntry(id);
+            if (!entry.getVersion().equals(before.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(WaitlistEntry.class, id);
+            }
+            entry.setStatus(newStatus);
+            entry.setOfferedVisitDate(null);
+            entry.setOfferedVeterinarian(null);
+            entry.setOfferedClinic(null);
+            entry.setOfferExpiresAt(null);
+            entry.setHoldId(null);
+            WaitlistEntry saved = waitlistEntryRepository.saveAndFlush(entry);
+            if (newStatus == WaitlistStatus.WAITING) {
+                indexAfterCommit(saved);
+            } else {
+                removeAfterCommit(id);
+            }
+            return saved;
+        });
+        if (before.getStatus() == WaitlistStatus.OFFERED) {
+            endOffer(before, true);
+        }
+        return waitlistEntryMapper.toDTO(after);
+    }
+
+    // Releases the hold of an offer that was withdrawn from the entry and optionally offers its time to the next one
+    private void endOffer(WaitlistEntry entry, boolean passOn) {
+        if (entry.getHoldId() != null) {
+            try {
+                slotHoldService.cancel(entry.getHoldId());
+            } catch (ResourceNotFoundException ex) {
+                // Already lapsed, or held on another node
+            }
+        }
+        if (passOn) {
+            Long veterinarianId = entry.getOfferedVeterinarian().getId();
+            Long clinicId = entry.getOfferedClinic().getId();
+            submit(() -> offer(veterinarianId, clinicId, entry.getOfferedVisitDate(), entry.getDurationMinutes(),
+                Set.of(entry.getId())));
+        }
+    }
+
+    private WaitlistEntry findEntry(Long id) {
+        return waitlistEntryRepository.findWithPetById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found with id: " + id));
+    }
+
+    private void submit(Runnable task) {
+        try {
+            offers.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException ex) {
+                    log.warn("Waitlist offer failed", ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            log.warn("Waitlist offer queue is full; a freed slot was not offered");
+        }
+    }
+
+    private void reload() {
+        int size = index.reload(() -> jdbcTemplate.query(
+            "SELECT id, veterinarian_id, clinic_id, specialty_id, window_start, window_end, duration_minutes, created_at "
+                + "FROM waitlist_entries WHERE status = 'WAITING' AND window_end > ?",
+            (row, rowNum) -> {
+                long veterinarianId = row.getLong(2);
+                String target = !row.wasNull() ? WaitlistIndex.veterinarian(veterinarianId) : null;
+                long clinicId = row.getLong(3);
+                if (target == null && !row.wasNull()) {
+                    target = WaitlistIndex.clinic(clinicId);
+                }
+                if (target == null) {
+                    target = WaitlistIndex.specialty(row.getLong(4));
+                }
+                return new WaitlistIndex.Entry(row.getLong(1), target, row.getObject(5, LocalDateTime.class),
+                    row.getObject(6, LocalDateTime.class), row.getInt(7), row.getObject(8, LocalDateTime.class));
+            },
+            LocalDateTime.now()));
+        loaded = true;
+        log.debug("Waitlist index reloaded with {} waiting entries", size);
+    }
+
+    private void indexAfterCommit(WaitlistEntry entry) {
+        String target = entry.getVeterinarian() != null ? WaitlistIndex.veterinarian(entry.getVeterinarian().getId())
+            : entry.getClinic() != null ? WaitlistIndex.clinic(entry.getClinic().getId())
+            : WaitlistIndex.specialty(entry.getSpecialty().getId());
+        WaitlistIndex.Entry indexed = new WaitlistIndex.Entry(entry.getId(), target, entry.getWindowStart(),
+            entry.getWindowEnd(), entry.getDurationMinutes(), entry.getCreatedAt());
+        afterCommit(() -> index.add(indexed));
+    }
+
+    private void removeAfterCommit(Long id) {
+        afterCommit(() -> index.remove(id));
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+package com.vetcare.services;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A clinic's opening hours parsed from {@code Clinic.workingHours}, as the set of 15-minute
+ * slots open on each day of the week. The text lists day ranges with their time ranges, e.g.
+ * {@code "Mon-Fri: 8:00-12:00, 14:00-18:00, Sat: 9:00-14:00, Sun: closed"}; a part without a
+ * day adds another time range to the previous days. A slot is open only if it fits entirely
+ * inside a time range.
+ */
+public final class WeeklySchedule {
+
+    public static final int SLOTS_PER_DAY = 24 * 60 / VisitSlotSupport.SLOT_MINUTES;
+
+    private static final WeeklySchedule CLOSED = new WeeklySchedule(new EnumMap<>(DayOfWeek.class));
+
+    private final Map<DayOfWeek, BitSet> openSlots;
+
+    private WeeklySchedule(Map<DayOfWeek, BitSet> openSlots) {
+        this.openSlots = openSlots;
+    }
+
+    public static WeeklySchedule closed() {
+        return CLOSED;
+    }
+
+    /**
+     * @throws IllegalArgumentException with a message naming the part that could not be read
+     */
+    public static WeeklySchedule parse(String text) {
+        Map<DayOfWeek, BitSet> openSlots = new EnumMap<>(DayOfWeek.class);
+        DayOfWeek[] days = null;
+        for (String part : text.split("[,;]")) {
+            String ranges = part.trim();
+            if (ranges.isEmpty()) {
+                continue;
+            }
+            int colon = ranges.indexOf(':');
+            if (colon > 0 && Character.isLetter(ranges.charAt(0))) {
+                days = parseDays(ranges.substring(0, colon).trim());
+                ranges = ranges.substring(colon + 1).trim();
+                if (ranges.equalsIgnoreCase("closed")) {
+                    continue;
+                }
+            } else if (days == null) {
+                throw new IllegalArgumentException("Working hours must start with a day, e.g. 'Mon-Fri: 8:00-18:00'");
+            }
+            BitSet slots = parseRange(ranges);
+            for (DayOfWeek day : days) {
+                openSlots.computeIfAbsent(day, key -> new BitSet(SLOTS_PER_DAY)).or(slots);
+            }
+        }
+        return new WeeklySchedule(openSlots);
+    }
+
+    public BitSet openSlots(DayOfWeek day) {
+        BitSet slots = openSlots.get(day);
+        return slots != null ? (BitSet) slots.clone() : new BitSet(SLOTS_PER_DAY);
+    }
+
+    private static DayOfWeek[] parseDays(String text) {
+        String[] bounds = text.split("-");
+        if (bounds.length > 2) {
+            throw new IllegalArgumentException("Invalid day range: " + text);
+        }
+        DayOfWeek first = parseDay(bounds[0].trim());
+        DayOfWeek last = bounds.length == 2 ? parseDay(bounds[1].trim()) : first;
+        int count = Math.floorMod(last.getValue() - first.getValue(), 7) + 1;
+        DayOfWeek[] days = new DayOfWeek[count];
+        for (int i = 0; i < count; i++) {
+            days[i] = first.plus(i);
+        }
+        return days;
+    }
+
+    private static DayOfWeek parseDay(String text) {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            String name = day.getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+            if (text.length() >= 3 && name.regionMatches(true, 0, text, 0, text.length())) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException("Unknown day: " + text);
+    }
+
+    private static BitSet parseRange(String text) {
+        String[] bounds = text.split("-");
+        if (bounds.length != 2) {
+            throw new IllegalArgumentException("Invalid time range: " + text);
+        }
+        int start = minuteOfDay(bounds[0].trim());
+        int end = minuteOfDay(bounds[1].trim());
+        if (start >= end) {
+            throw new IllegalArgumentException("Time range must end after it starts: " + text);
+        }
+        int firstSlot = (start + VisitSlotSupport.SLOT_MINUTES - 1) / VisitSlotSupport.SLOT_MINUTES;
+        int endSlot = end / VisitSlotSupport.SLOT_MINUTES;
+        BitSet slots = new BitSet(SLOTS_PER_DAY);
+        if (firstSlot < endSlot) {
+            slots.set(firstSlot, endSlot);
+        }
+        return slots;
+    }
+
+    private static int minuteOfDay(String text) {
+        if (text.equals("24:00")) {
+            return 24 * 60;
+        }
+        try {
+            LocalTime time = LocalTime.parse(text.length() == 4 ? "0" + text : text);
+            return time.getHour() * 60 + time.getMinute();
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid time: " + text);
+        }
+    }
+}
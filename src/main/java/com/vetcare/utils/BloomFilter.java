@@ -0,0 +1,77 @@
+package com.vetcare.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-size Bloom filter for strings. {@link #mightContain} never returns a false
+ * negative; positives have to be confirmed against the database.
+ */
+public class BloomFilter {
+
+    private static final int MAX_BITS = Integer.MAX_VALUE - 63;
+
+    private final long[] words;
+    private final int numBits;
+    private final int numHashes;
+
+    private BloomFilter(int numBits, int numHashes) {
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+        this.words = new long[(numBits + 63) >>> 6];
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int numBits = (int) Math.max(64, Math.min(MAX_BITS, bits));
+        int numHashes = (int) Math.max(1, Math.round((double) numBits / n * ln2));
+        return new BloomFilter(numBits, numHashes);
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int bit = index(h1 + i * h2);
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int bit = index(h1 + i * h2);
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    private int index(int combined) {
+        return (combined & Integer.MAX_VALUE) % numBits;
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes followed by the murmur3 finalizer
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,148 @@
+package com.vetcare.utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming RFC 4180 reader: one record in memory at a time, quoted fields may
+ * contain separators, doubled quotes and line breaks. The first record is the header.
+ */
+public class CsvReader implements Closeable {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> header;
+    private long lineNumber = 1;
+    private int pushedBack = -2;
+
+    public CsvReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        List<String> columns = readFields();
+        if (columns == null) {
+            throw new IOException("CSV file is empty");
+        }
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            indexes.put(stripBom(columns.get(i)).trim(), i);
+        }
+        this.header = Collections.unmodifiableMap(indexes);
+    }
+
+    public boolean hasColumn(String column) {
+        return header.containsKey(column);
+    }
+
+    /**
+     * Returns the next record, or null at the end of the file. Blank lines are skipped.
+     */
+    public CsvRecord next() throws IOException {
+        while (true) {
+            long startLine = lineNumber;
+            List<String> fields = readFields();
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            return new CsvRecord(startLine, header, fields);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readFields() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting near line " + lineNumber);
+                }
+                if (c == QUOTE) {
+                    int following = read();
+                    if (following == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == QUOTE && field.isEmpty()) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                if (c != -1) {
+                    lineNumber++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private static String stripBom(String value) {
+        return !value.isEmpty() && value.charAt(0) == '\uFEFF' ? value.substring(1) : value;
+    }
+
+    /**
+     * A CSV record addressed by header column name.
+     */
+    public record CsvRecord(long lineNumber, Map<String, Integer> header, List<String> values) {
+
+        /**
+         * Trimmed value of the column, or null when the column is missing or blank.
+         */
+        public String get(String column) {
+            Integer index = header.get(column);
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
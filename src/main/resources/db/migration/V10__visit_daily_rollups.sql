@@ -0,0 +1,28 @@
+-- Resumen diario de visitas para los paneles de gestión: número de visitas y suma
+-- de su coste por clínica, veterinario, día y estado. Cada alta, cambio o baja de
+-- una visita resta su fila anterior y suma la nueva en la misma transacción, así
+-- que las consultas recorren días, no visitas. Se recalcula a partir de visits con
+-- POST /api/analytics/visits/rebuild. Sin claves foráneas: las filas que quedan a
+-- cero no deben impedir borrar una clínica o un veterinario.
+
+CREATE TABLE visit_daily_rollups (
+    clinic_id        BIGINT         NOT NULL,
+    visit_day        DATE           NOT NULL,
+    veterinarian_id  BIGINT         NOT NULL,
+    status           ENUM ('SCHEDULED','IN_PROGRESS','COMPLETED','CANCELLED') NOT NULL,
+    visit_count      INT            NOT NULL,
+    revenue          DECIMAL(14,2)  NOT NULL,
+    PRIMARY KEY (clinic_id, visit_day, veterinarian_id, status)
+) ENGINE = InnoDB;
+
+-- Panel por veterinario
+CREATE INDEX idx_visit_rollups_vet_day ON visit_daily_rollups (veterinarian_id, visit_day);
+
+-- Recálculo por rangos de días
+CREATE INDEX idx_visit_rollups_day ON visit_daily_rollups (visit_day);
+
+-- Las visitas existentes se cuentan al migrar; después se mantiene al escribir
+INSERT INTO visit_daily_rollups (clinic_id, visit_day, veterinarian_id, status, visit_count, revenue)
+SELECT clinic_id, CAST(visit_date AS DATE), veterinarian_id, status, COUNT(*), COALESCE(SUM(cost), 0)
+FROM visits
+GROUP BY clinic_id, CAST(visit_date AS DATE), veterinarian_id, status;
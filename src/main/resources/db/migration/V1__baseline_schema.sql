@@ -0,0 +1,115 @@
+-- Esquema base: refleja lo que generaba spring.jpa.hibernate.ddl-auto=update.
+-- Las bases existentes se marcan en esta versión (spring.flyway.baseline-on-migrate)
+-- y solo aplican las migraciones posteriores.
+
+CREATE TABLE clinics (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(150) NOT NULL,
+    address       VARCHAR(255) NOT NULL,
+    city          VARCHAR(100) NOT NULL,
+    phone         VARCHAR(20),
+    email         VARCHAR(100),
+    working_hours VARCHAR(500),
+    active        BIT          NOT NULL,
+    created_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE owners (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    first_name      VARCHAR(100) NOT NULL,
+    last_name       VARCHAR(100) NOT NULL,
+    email           VARCHAR(100) NOT NULL,
+    phone           VARCHAR(20),
+    address         VARCHAR(255),
+    city            VARCHAR(100),
+    document_number VARCHAR(20),
+    active          BIT          NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_owners_email UNIQUE (email),
+    CONSTRAINT uk_owners_document_number UNIQUE (document_number)
+) ENGINE = InnoDB;
+
+CREATE TABLE pet_types (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(50)  NOT NULL,
+    description VARCHAR(255),
+    active      BIT          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_pet_types_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE specialties (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    active      BIT          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_specialties_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE veterinarians (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    first_name     VARCHAR(100) NOT NULL,
+    last_name      VARCHAR(100) NOT NULL,
+    email          VARCHAR(100) NOT NULL,
+    phone          VARCHAR(20),
+    license_number VARCHAR(50)  NOT NULL,
+    photo_url      VARCHAR(255),
+    clinic_id      BIGINT,
+    active         BIT          NOT NULL,
+    created_at     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_veterinarians_email UNIQUE (email),
+    CONSTRAINT uk_veterinarians_license_number UNIQUE (license_number),
+    CONSTRAINT fk_veterinarians_clinic FOREIGN KEY (clinic_id) REFERENCES clinics (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE veterinarian_specialties (
+    veterinarian_id BIGINT NOT NULL,
+    specialty_id    BIGINT NOT NULL,
+    PRIMARY KEY (specialty_id, veterinarian_id),
+    CONSTRAINT fk_vet_specialties_veterinarian FOREIGN KEY (veterinarian_id) REFERENCES veterinarians (id),
+    CONSTRAINT fk_vet_specialties_specialty FOREIGN KEY (specialty_id) REFERENCES specialties (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE pets (
+    id            BIGINT        NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(100)  NOT NULL,
+    birth_date    DATE          NOT NULL,
+    breed         VARCHAR(50),
+    color         VARCHAR(50),
+    gender        ENUM ('FEMALE','MALE','UNKNOWN'),
+    weight        DECIMAL(5,2),
+    medical_notes VARCHAR(500),
+    photo_url     VARCHAR(255),
+    owner_id      BIGINT        NOT NULL,
+    pet_type_id   BIGINT        NOT NULL,
+    clinic_id     BIGINT,
+    active        BIT           NOT NULL,
+    created_at    DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pets_owner FOREIGN KEY (owner_id) REFERENCES owners (id),
+    CONSTRAINT fk_pets_pet_type FOREIGN KEY (pet_type_id) REFERENCES pet_types (id),
+    CONSTRAINT fk_pets_clinic FOREIGN KEY (clinic_id) REFERENCES clinics (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE visits (
+    id              BIGINT        NOT NULL AUTO_INCREMENT,
+    visit_date      DATETIME(6)   NOT NULL,
+    reason          VARCHAR(500)  NOT NULL,
+    diagnosis       TEXT,
+    treatment       TEXT,
+    notes           TEXT,
+    cost            DECIMAL(10,2),
+    status          ENUM ('CANCELLED','COMPLETED','IN_PROGRESS','SCHEDULED') NOT NULL,
+    pet_id          BIGINT        NOT NULL,
+    veterinarian_id BIGINT        NOT NULL,
+    clinic_id       BIGINT        NOT NULL,
+    created_at      DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_visits_pet FOREIGN KEY (pet_id) REFERENCES pets (id),
+    CONSTRAINT fk_visits_veterinarian FOREIGN KEY (veterinarian_id) REFERENCES veterinarians (id),
+    CONSTRAINT fk_visits_clinic FOREIGN KEY (clinic_id) REFERENCES clinics (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,24 @@
+-- Índices de visits alineados con las consultas de VisitRepository.
+-- InnoDB añade la PK (id) al final de cada índice secundario, así que
+-- (x, visit_date) cubre también el desempate "visit_date DESC, id DESC"
+-- de la paginación por cursor, y MySQL retira los índices implícitos de las FK
+-- cuando uno de estos empieza por la misma columna.
+
+-- findVeterinarianSchedule: igualdad en veterinario y estado, rango en fecha
+CREATE INDEX idx_visits_vet_status_date ON visits (veterinarian_id, status, visit_date);
+
+-- findByVeterinarianId / findPageByVeterinarianIdAfter
+CREATE INDEX idx_visits_vet_date ON visits (veterinarian_id, visit_date);
+
+-- findByPetId / findPageByPetIdAfter y findByOwnerId (owner -> pets -> visits por fecha)
+CREATE INDEX idx_visits_pet_date ON visits (pet_id, visit_date);
+
+-- findByClinicId
+CREATE INDEX idx_visits_clinic_date ON visits (clinic_id, visit_date);
+
+-- findByVisitDateBetween / findPageAfter / findPageByVisitDateBetweenAfter
+CREATE INDEX idx_visits_date ON visits (visit_date);
+
+-- findByStatus
+CREATE INDEX idx_visits_status_date ON visits (status, visit_date);
+
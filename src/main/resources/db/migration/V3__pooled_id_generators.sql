@@ -0,0 +1,21 @@
+-- Generador de IDs por bloques (@TableGenerator, allocationSize = 50).
+-- Con IDENTITY Hibernate necesita un INSERT por fila para conocer el id y no
+-- puede agrupar inserciones en lotes JDBC; con este generador reserva 50 ids
+-- con una sola actualización y las inserciones se envían en lote.
+--
+-- next_val es el tope del siguiente bloque (optimizador pooled): arrancar en
+-- MAX(id) + 50 hace que el primer id asignado sea MAX(id) + 1.
+
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(64) NOT NULL,
+    next_val      BIGINT      NOT NULL,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'clinics', COALESCE(MAX(id), 0) + 50 FROM clinics;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'owners', COALESCE(MAX(id), 0) + 50 FROM owners;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'pet_types', COALESCE(MAX(id), 0) + 50 FROM pet_types;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'specialties', COALESCE(MAX(id), 0) + 50 FROM specialties;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'veterinarians', COALESCE(MAX(id), 0) + 50 FROM veterinarians;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'pets', COALESCE(MAX(id), 0) + 50 FROM pets;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'visits', COALESCE(MAX(id), 0) + 50 FROM visits;
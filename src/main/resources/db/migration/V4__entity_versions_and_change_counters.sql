@@ -0,0 +1,48 @@
+-- Versión (@Version) y fecha de última modificación por fila: base de los ETag
+-- fuertes y Last-Modified de los GET de un recurso.
+
+ALTER TABLE clinics ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE clinics ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+UPDATE clinics SET updated_at = created_at;
+
+ALTER TABLE owners ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE owners ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+UPDATE owners SET updated_at = created_at;
+
+ALTER TABLE pet_types ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE pet_types ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+ALTER TABLE specialties ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE specialties ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+ALTER TABLE veterinarians ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE veterinarians ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+UPDATE veterinarians SET updated_at = created_at;
+
+ALTER TABLE pets ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE pets ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+UPDATE pets SET updated_at = created_at;
+
+ALTER TABLE visits ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE visits ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+UPDATE visits SET updated_at = created_at;
+
+-- Contador de cambios por tabla para los ETag débiles de los listados. Cada
+-- transacción que escribe en una tabla suma 1 en una de sus franjas (stripe)
+-- elegida al azar, así las escrituras concurrentes no compiten por la misma
+-- fila; el contador de la tabla es la suma de sus franjas.
+
+CREATE TABLE change_counters (
+    table_name   VARCHAR(64) NOT NULL,
+    stripe       INT         NOT NULL,
+    change_count BIGINT      NOT NULL,
+    PRIMARY KEY (table_name, stripe)
+) ENGINE = InnoDB;
+
+INSERT INTO change_counters (table_name, stripe, change_count)
+SELECT t.table_name, s.stripe, 0
+FROM (SELECT 'clinics' AS table_name UNION ALL SELECT 'owners' UNION ALL SELECT 'pet_types'
+      UNION ALL SELECT 'specialties' UNION ALL SELECT 'veterinarians' UNION ALL SELECT 'pets'
+      UNION ALL SELECT 'visits') t
+CROSS JOIN (SELECT 0 AS stripe UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3
+            UNION ALL SELECT 4 UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7) s;
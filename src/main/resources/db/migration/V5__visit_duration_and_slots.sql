@@ -0,0 +1,33 @@
+-- Duración de cada visita; las existentes quedan con la duración por defecto.
+ALTER TABLE visits ADD COLUMN duration_minutes INT NOT NULL DEFAULT 30;
+
+-- Agenda de cada veterinario en franjas de 15 minutos: una fila por franja que
+-- ocupa una visita no cancelada. La clave primaria impide que dos visitas del
+-- mismo veterinario se solapen aunque se reserven desde instancias distintas.
+
+CREATE TABLE visit_slots (
+    veterinarian_id BIGINT      NOT NULL,
+    slot_start      DATETIME(6) NOT NULL,
+    visit_id        BIGINT      NOT NULL,
+    PRIMARY KEY (veterinarian_id, slot_start),
+    CONSTRAINT fk_visit_slots_veterinarian FOREIGN KEY (veterinarian_id) REFERENCES veterinarians (id),
+    CONSTRAINT fk_visit_slots_visit FOREIGN KEY (visit_id) REFERENCES visits (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- Liberar las franjas de una visita al cancelarla, moverla o borrarla
+CREATE INDEX idx_visit_slots_visit ON visit_slots (visit_id);
+
+-- Franjas de las visitas ya registradas: las que empiezan fuera de la rejilla
+-- ocupan una tercera franja. Si había visitas solapadas, la primera se queda
+-- con la franja.
+INSERT IGNORE INTO visit_slots (veterinarian_id, slot_start, visit_id)
+SELECT s.veterinarian_id, s.slot_start, s.id
+FROM (SELECT v.id, v.veterinarian_id, v.visit_date,
+             TIMESTAMPADD(MINUTE,
+                          FLOOR((HOUR(v.visit_date) * 60 + MINUTE(v.visit_date)) / 15) * 15 + o.offset_minutes,
+                          CAST(CAST(v.visit_date AS DATE) AS DATETIME)) AS slot_start
+      FROM visits v
+      CROSS JOIN (SELECT 0 AS offset_minutes UNION ALL SELECT 15 UNION ALL SELECT 30) o
+      WHERE v.status <> 'CANCELLED') s
+WHERE s.slot_start < TIMESTAMPADD(MINUTE, 30, s.visit_date)
+ORDER BY s.id;
@@ -0,0 +1,46 @@
+-- Lista de espera: cada entrada pide hueco para una mascota con un veterinario,
+-- en una clínica o con una especialidad (exactamente uno de los tres) dentro de
+-- una ventana de tiempo. Al cancelarse una visita se ofrece su franja a la mejor
+-- entrada que encaje; la oferta caduca en offer_expires_at.
+
+CREATE TABLE waitlist_entries (
+    id                       BIGINT       NOT NULL,
+    pet_id                   BIGINT       NOT NULL,
+    veterinarian_id          BIGINT,
+    clinic_id                BIGINT,
+    specialty_id             BIGINT,
+    window_start             DATETIME(6)  NOT NULL,
+    window_end               DATETIME(6)  NOT NULL,
+    duration_minutes         INT          NOT NULL,
+    reason                   VARCHAR(500) NOT NULL,
+    status                   ENUM ('WAITING','OFFERED','BOOKED','EXPIRED','CANCELLED') NOT NULL,
+    offered_visit_date       DATETIME(6),
+    offered_veterinarian_id  BIGINT,
+    offered_clinic_id        BIGINT,
+    offer_expires_at         DATETIME(6),
+    hold_id                  VARCHAR(36),
+    visit_id                 BIGINT,
+    created_at               DATETIME(6)  NOT NULL,
+    updated_at               DATETIME(6)  NOT NULL,
+    version                  BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_waitlist_pet FOREIGN KEY (pet_id) REFERENCES pets (id),
+    CONSTRAINT fk_waitlist_veterinarian FOREIGN KEY (veterinarian_id) REFERENCES veterinarians (id),
+    CONSTRAINT fk_waitlist_clinic FOREIGN KEY (clinic_id) REFERENCES clinics (id),
+    CONSTRAINT fk_waitlist_specialty FOREIGN KEY (specialty_id) REFERENCES specialties (id),
+    CONSTRAINT fk_waitlist_offered_veterinarian FOREIGN KEY (offered_veterinarian_id) REFERENCES veterinarians (id),
+    CONSTRAINT fk_waitlist_offered_clinic FOREIGN KEY (offered_clinic_id) REFERENCES clinics (id),
+    CONSTRAINT fk_waitlist_visit FOREIGN KEY (visit_id) REFERENCES visits (id) ON DELETE SET NULL
+) ENGINE = InnoDB;
+
+-- Carga del índice en memoria (entradas en espera) y caducidad de ofertas
+CREATE INDEX idx_waitlist_status_window ON waitlist_entries (status, window_end);
+CREATE INDEX idx_waitlist_status_offer ON waitlist_entries (status, offer_expires_at);
+CREATE INDEX idx_waitlist_pet ON waitlist_entries (pet_id, created_at);
+
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('waitlist_entries', 50);
+
+INSERT INTO change_counters (table_name, stripe, change_count)
+SELECT 'waitlist_entries', s.stripe, 0
+FROM (SELECT 0 AS stripe UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3
+      UNION ALL SELECT 4 UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7) s;
@@ -0,0 +1,34 @@
+-- Series de visitas recurrentes (fisioterapia semanal, vacunas mensuales...):
+-- la regla de repetición se guarda una vez y cada ocurrencia es una visita
+-- normal que apunta a su serie. Las visitas sueltas tienen series_id nulo.
+
+CREATE TABLE visit_series (
+    id               BIGINT      NOT NULL,
+    frequency        ENUM ('DAILY','WEEKLY','MONTHLY') NOT NULL,
+    repeat_interval  INT         NOT NULL,
+    occurrences      INT,
+    until_date       DATE,
+    pet_id           BIGINT      NOT NULL,
+    veterinarian_id  BIGINT      NOT NULL,
+    clinic_id        BIGINT      NOT NULL,
+    created_at       DATETIME(6) NOT NULL,
+    updated_at       DATETIME(6) NOT NULL,
+    version          BIGINT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_visit_series_pet FOREIGN KEY (pet_id) REFERENCES pets (id),
+    CONSTRAINT fk_visit_series_veterinarian FOREIGN KEY (veterinarian_id) REFERENCES veterinarians (id),
+    CONSTRAINT fk_visit_series_clinic FOREIGN KEY (clinic_id) REFERENCES clinics (id)
+) ENGINE = InnoDB;
+
+ALTER TABLE visits ADD COLUMN series_id BIGINT;
+ALTER TABLE visits ADD CONSTRAINT fk_visits_series FOREIGN KEY (series_id) REFERENCES visit_series (id);
+
+-- Editar o cancelar "esta y las siguientes": rango por fecha dentro de la serie
+CREATE INDEX idx_visits_series_date ON visits (series_id, visit_date);
+
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('visit_series', 50);
+
+INSERT INTO change_counters (table_name, stripe, change_count)
+SELECT 'visit_series', s.stripe, 0
+FROM (SELECT 0 AS stripe UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3
+      UNION ALL SELECT 4 UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7) s;
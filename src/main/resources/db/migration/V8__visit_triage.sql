@@ -0,0 +1,8 @@
+-- Triaje en sala de espera: hora de llegada y urgencia de cada visita. La cola
+-- de cada clínica vive en memoria y se reconstruye al arrancar con las visitas
+-- programadas que ya hicieron check-in.
+
+ALTER TABLE visits ADD COLUMN checked_in_at DATETIME(6);
+ALTER TABLE visits ADD COLUMN triage_urgency ENUM ('EMERGENCY','URGENT','STANDARD','LOW');
+
+CREATE INDEX idx_visits_status_checked_in ON visits (status, checked_in_at);
@@ -0,0 +1,14 @@
+-- Historial clínico precalculado: un documento JSON por mascota con sus visitas,
+-- veterinarios y clínicas ya resueltos, para servir la ficha con una lectura por
+-- clave primaria. Se regenera tras cada cambio de la mascota o de sus visitas;
+-- format indica la versión del documento y una lectura con otro formato lo
+-- regenera. Se rellena con POST /api/pets/medical-records/rebuild.
+
+CREATE TABLE pet_medical_records (
+    pet_id        BIGINT       NOT NULL,
+    format        INT          NOT NULL,
+    document      LONGTEXT     NOT NULL,
+    refreshed_at  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (pet_id),
+    CONSTRAINT fk_medical_record_pet FOREIGN KEY (pet_id) REFERENCES pets (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
@@ -0,0 +1,56 @@
+package com.vetcare;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The test profile builds the schema only from the Flyway migrations and runs
+ * Hibernate with ddl-auto=validate, so the context fails to start if an entity
+ * drifts from the migrated schema.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void allMigrationsAreApplied() {
+        MigrationInfo[] all = flyway.info().all();
+
+        assertThat(all).isNotEmpty();
+        assertThat(all).extracting(MigrationInfo::getState).containsOnly(MigrationState.SUCCESS);
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    void visitAccessPathIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(index_name) FROM information_schema.indexes WHERE LOWER(table_name) = 'visits'",
+                String.class);
+
+        assertThat(indexes).contains(
+                "idx_visits_vet_status_date",
+                "idx_visits_vet_date",
+                "idx_visits_pet_date",
+                "idx_visits_clinic_date",
+                "idx_visits_date",
+                "idx_visits_status_date",
+                "idx_visits_series_date",
+                "idx_visits_status_checked_in");
+    }
+}
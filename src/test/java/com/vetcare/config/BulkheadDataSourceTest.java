@@ -0,0 +1,104 @@
+package com.vetcare.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+class BulkheadDataSourceTest {
+
+    @Test
+    void callersBeyondThePermitsWaitAndThenTimeOut() throws Exception {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(h2(), 2, Duration.ofMillis(200));
+        Connection first = bulkhead.getConnection();
+        Connection second = bulkhead.getConnection();
+        assertEquals(0, bulkhead.getAvailable());
+
+        assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+
+        first.close();
+        first.close();
+        assertEquals(1, bulkhead.getAvailable());
+        try (Connection third = bulkhead.getConnection()) {
+            assertTrue(third.isValid(1));
+        }
+        second.close();
+        assertEquals(2, bulkhead.getAvailable());
+    }
+
+    @Test
+    void virtualThreadsShareThePermits() throws Exception {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(h2(), 2, Duration.ofSeconds(10));
+        JdbcTemplate jdbc = new JdbcTemplate(bulkhead);
+        AtomicInteger inUse = new AtomicInteger();
+        AtomicInteger maxInUse = new AtomicInteger();
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                results.add(threads.submit(() -> jdbc.execute((Connection connection) -> {
+                    maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                    try {
+                        LockSupport.parkNanos(1_000_000);
+                        return connection.createStatement().executeQuery("SELECT 1").next() ? 1 : 0;
+                    } finally {
+                        inUse.decrementAndGet();
+                    }
+                })));
+            }
+        }
+        for (Future<Integer> result : results) {
+            assertEquals(1, result.get());
+        }
+        assertTrue(maxInUse.get() <= 2, "at most 2 connections at once, saw " + maxInUse.get());
+        assertEquals(2, bulkhead.getAvailable());
+    }
+
+    @Test
+    void eachPoolGetsItsOwnBulkhead() throws Exception {
+        VirtualThreadProperties properties = new VirtualThreadProperties();
+        properties.setBulkheadPermits(1);
+        properties.setBulkheadTimeout(Duration.ofMillis(200));
+        DatabaseBulkheads bulkheads = new DatabaseBulkheads(properties);
+        HikariDataSource replicaPool = new HikariDataSource();
+        replicaPool.setJdbcUrl("jdbc:h2:mem:bulkhead_replica;DB_CLOSE_DELAY=-1");
+        replicaPool.setMaximumPoolSize(2);
+
+        BulkheadDataSource primary = bulkheads.primary(h2());
+        try (BulkheadDataSource replica = bulkheads.replica("replica-1", replicaPool)) {
+            assertEquals(1, primary.getSize());
+            assertEquals(2, replica.getSize());
+
+            // Replica reads keep going while the primary's only permit is taken
+            try (Connection write = primary.getConnection();
+                 Connection firstRead = replica.getConnection();
+                 Connection secondRead = replica.getConnection()) {
+                assertEquals(0, primary.getAvailable());
+                assertEquals(0, replica.getAvailable());
+                assertTrue(secondRead.isValid(1));
+            }
+        }
+        assertTrue(replicaPool.isClosed());
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bulkhead;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
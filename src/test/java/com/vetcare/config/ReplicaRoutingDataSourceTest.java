@@ -0,0 +1,134 @@
+package com.vetcare.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private JdbcTemplate replicaAdmin;
+    private ReadYourWritesTracker tracker;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate primaryAdmin = new JdbcTemplate(h2("routing_primary"));
+        primaryAdmin.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        primaryAdmin.execute("MERGE INTO node KEY (name) VALUES ('primary')");
+
+        JdbcDataSource replica = h2("routing_replica");
+        replicaAdmin = new JdbcTemplate(replica);
+        replicaAdmin.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        replicaAdmin.execute("MERGE INTO node KEY (name) VALUES ('replica')");
+        replicaAdmin.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds INT)");
+        replicaAdmin.execute("DELETE FROM replica_lag");
+        replicaAdmin.execute("INSERT INTO replica_lag VALUES (0)");
+
+        tracker = new ReadYourWritesTracker(30_000, clock::get);
+        routing = new ReplicaRoutingDataSource(primaryAdmin.getDataSource(),
+            List.of(new ReplicaRoutingDataSource.Replica("replica-1", replica)), tracker,
+            Duration.ofSeconds(5), "SELECT seconds FROM replica_lag", clock::get);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryAdmin.getDataSource());
+        dataSource.setReadOnlyDataSource(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        tracker.bind("session-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.unbind();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        routing.refreshReplicaStatus();
+
+        assertEquals("replica", currentNode(true));
+        assertEquals("primary", currentNode(false));
+    }
+
+    @Test
+    void readsFollowingAWriteStayOnThePrimaryUntilTheReplicaCatchesUp() {
+        routing.refreshReplicaStatus();
+
+        tracker.beginWrite();
+        assertEquals("primary", currentNode(true));
+        tracker.endWrite();
+        assertEquals("primary", currentNode(true));
+
+        // Checked two seconds later with one second of lag: the write may still be missing
+        clock.addAndGet(2_000);
+        replicaAdmin.update("UPDATE replica_lag SET seconds = 1");
+        routing.refreshReplicaStatus();
+        assertEquals("primary", currentNode(true));
+
+        clock.addAndGet(2_000);
+        replicaAdmin.update("UPDATE replica_lag SET seconds = 0");
+        routing.refreshReplicaStatus();
+        assertEquals("replica", currentNode(true));
+
+        tracker.bind("session-2");
+        tracker.beginWrite();
+        tracker.endWrite();
+        tracker.bind("session-1");
+        assertEquals("replica", currentNode(true));
+    }
+
+    @Test
+    void laggingOrBrokenReplicaFallsBackToThePrimary() {
+        replicaAdmin.update("UPDATE replica_lag SET seconds = 10");
+        routing.refreshReplicaStatus();
+        assertEquals("primary", currentNode(true));
+
+        replicaAdmin.update("UPDATE replica_lag SET seconds = NULL");
+        routing.refreshReplicaStatus();
+        assertFalse(routing.getReplicas().get(0).isHealthy());
+        assertEquals("primary", currentNode(true));
+
+        replicaAdmin.update("UPDATE replica_lag SET seconds = 0");
+        routing.refreshReplicaStatus();
+        assertEquals("replica", currentNode(true));
+    }
+
+    @Test
+    void explicitCredentialsGoToThePrimary() throws Exception {
+        routing.refreshReplicaStatus();
+
+        try (Connection connection = routing.getConnection("", "");
+             ResultSet result = connection.createStatement().executeQuery("SELECT name FROM node")) {
+            result.next();
+            assertEquals("primary", result.getString(1));
+        }
+    }
+
+    private String currentNode(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static JdbcDataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,185 @@
+package com.vetcare.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.vetcare.VetcareApplication;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Platform versus virtual request threads under a booking peak. Disabled by default, run with
+ * {@code mvn test -Dtest=RequestExecutionBenchmarkTest -Dbenchmark=true}.
+ * <p>
+ * Each mode boots the application on a real port with a 50-thread Tomcat pool and the test
+ * database, where every statement is delayed to stand in for a MySQL round trip. CLIENTS
+ * clients keep requesting a page of visits (JDBC-bound) while a probe keeps requesting the pet
+ * type catalog (served from memory); the probe shows whether requests that need no connection
+ * still get a thread.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RequestExecutionBenchmarkTest {
+
+    private static final int CLIENTS = 400;
+    private static final long DURATION_MILLIS = 15_000;
+    private static final long STATEMENT_LATENCY_MILLIS = 2;
+    private static final int TOMCAT_THREADS = 50;
+
+    private record Result(String mode, int requests, int errors, long p50, long p99, long probeP50, long probeP99) {}
+
+    @Test
+    void compareThreadModels() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+        for (Result result : List.of(platform, virtual)) {
+            log.info("{} threads: {} visit pages/s, {} errors, p50 {} ms, p99 {} ms; catalog probe p50 {} ms, p99 {} ms",
+                result.mode(), result.requests() * 1000 / DURATION_MILLIS, result.errors(), result.p50(), result.p99(),
+                result.probeP50(), result.probeP99());
+        }
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(VetcareApplication.class, StatementLatency.class)
+                .profiles("test")
+                // Arguments rather than default properties, which application.properties would override
+                .run("--server.port=0",
+                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                    "--spring.datasource.url=jdbc:h2:mem:vetcare_benchmark_" + mode
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.hikari.connection-timeout=30000",
+                    "--vetcare.virtual-threads.bulkhead-timeout=PT30S");
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newHttpClient()) {
+            String base = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            URI visits = URI.create(base + "/api/visits/pet/1?page=0&size=20");
+            URI catalog = URI.create(base + "/api/pet-types");
+
+            // Warm up the connection pool, JIT and caches
+            for (int i = 0; i < 200; i++) {
+                http.send(HttpRequest.newBuilder(visits).build(), HttpResponse.BodyHandlers.discarding());
+            }
+
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+            List<Long> probeLatencies = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger errors = new AtomicInteger();
+            long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.submit(() -> load(http, visits, deadline, latencies, errors));
+            }
+            clients.submit(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    load(http, catalog, System.currentTimeMillis() + 1, probeLatencies, errors);
+                    Thread.sleep(20);
+                }
+                return null;
+            });
+            clients.shutdown();
+            clients.awaitTermination(DURATION_MILLIS + 60_000, TimeUnit.MILLISECONDS);
+
+            return new Result(mode, latencies.size(), errors.get(), percentile(latencies, 50), percentile(latencies, 99),
+                percentile(probeLatencies, 50), percentile(probeLatencies, 99));
+        }
+    }
+
+    private static void load(HttpClient http, URI uri, long deadline, List<Long> latencies, AtomicInteger errors) {
+        while (System.currentTimeMillis() < deadline) {
+            long startedAt = System.nanoTime();
+            try {
+                HttpResponse<Void> response = http.send(HttpRequest.newBuilder(uri).build(),
+                    HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    if (errors.incrementAndGet() == 1) {
+                        log.warn("Request to {} answered {}", uri, response.statusCode());
+                    }
+                    continue;
+                }
+            } catch (Exception ex) {
+                if (errors.incrementAndGet() == 1) {
+                    log.warn("Request to {} failed", uri, ex);
+                }
+                continue;
+            }
+            latencies.add((System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+
+    private static long percentile(List<Long> values, int percentile) {
+        if (values.isEmpty()) {
+            return -1;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(Math.min(sorted.size() - 1, sorted.size() * percentile / 100));
+    }
+
+    // Delays every prepared statement, the share of a JDBC call spent on the network to MySQL
+    static class StatementLatency {
+
+        @Bean
+        static BeanPostProcessor statementLatencyPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return delayed(super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection delayed(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().startsWith("prepare")) {
+                        Thread.sleep(STATEMENT_LATENCY_MILLIS);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+        }
+    }
+}
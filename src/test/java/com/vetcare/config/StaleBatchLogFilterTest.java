@@ -0,0 +1,35 @@
+package com.vetcare.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.BatchUpdateException;
+
+import org.hibernate.StaleObjectStateException;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+class StaleBatchLogFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final StaleBatchLogFilter filter = new StaleBatchLogFilter();
+
+    @Test
+    void onlyStaleVersionBatchFailuresAreDropped() {
+        Logger batch = context.getLogger(StaleBatchLogFilter.BATCH_LOGGER);
+        Logger other = context.getLogger("org.hibernate.orm.jdbc");
+        StaleObjectStateException stale = new StaleObjectStateException("com.vetcare.models.Visit", 1L);
+
+        assertEquals(FilterReply.DENY, decide(batch, stale));
+        assertEquals(FilterReply.NEUTRAL, decide(batch, new BatchUpdateException()));
+        assertEquals(FilterReply.NEUTRAL, decide(batch, null));
+        assertEquals(FilterReply.NEUTRAL, decide(other, stale));
+    }
+
+    private FilterReply decide(Logger logger, Throwable t) {
+        return filter.decide(null, logger, Level.ERROR, "HHH100501: Exception executing batch [%s], SQL: %s", null, t);
+    }
+}
@@ -0,0 +1,134 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.vetcare.models.Clinic;
+import com.vetcare.models.Owner;
+import com.vetcare.models.Pet;
+import com.vetcare.models.Veterinarian;
+import com.vetcare.models.Visit;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+import com.vetcare.repositories.VisitRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BulkUpdateControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Test
+    void closesOutAClinicDayByFilter() throws Exception {
+        Pet pet = petRepository.findAll().get(0);
+        Veterinarian vet = veterinarianRepository.findAll().get(0);
+        List<Clinic> clinics = clinicRepository.findAll();
+        LocalDateTime day = LocalDateTime.of(2031, 5, 6, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            visitRepository.save(visit(pet, vet, clinics.get(0), day.plusHours(8 + i), Visit.VisitStatus.SCHEDULED));
+        }
+        Visit cancelled = visitRepository.save(visit(pet, vet, clinics.get(0), day.plusHours(14), Visit.VisitStatus.CANCELLED));
+        Visit otherClinic = visitRepository.save(visit(pet, vet, clinics.get(1), day.plusHours(9), Visit.VisitStatus.SCHEDULED));
+
+        String closeOut = """
+            {"status": "COMPLETED", "from": "2031-05-06T00:00:00", "to": "2031-05-07T00:00:00",
+             "clinicId": %d, "currentStatus": "SCHEDULED"}
+            """.formatted(clinics.get(0).getId());
+        mockMvc.perform(patch("/api/visits/bulk/status").contentType(MediaType.APPLICATION_JSON).content(closeOut))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(5))
+            .andExpect(jsonPath("$.chunks").value(3));
+
+        assertThat(visitRepository.findById(cancelled.getId()).orElseThrow().getStatus()).isEqualTo(Visit.VisitStatus.CANCELLED);
+        assertThat(visitRepository.findById(otherClinic.getId()).orElseThrow().getStatus()).isEqualTo(Visit.VisitStatus.SCHEDULED);
+
+        mockMvc.perform(patch("/api/visits/bulk/status").contentType(MediaType.APPLICATION_JSON).content(closeOut))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(0));
+    }
+
+    @Test
+    void updatesVisitStatusByIds() throws Exception {
+        Pet pet = petRepository.findAll().get(0);
+        Veterinarian vet = veterinarianRepository.findAll().get(0);
+        Clinic clinic = clinicRepository.findAll().get(0);
+        Visit first = visitRepository.save(visit(pet, vet, clinic, LocalDateTime.of(2031, 6, 1, 9, 0), Visit.VisitStatus.SCHEDULED));
+        Visit second = visitRepository.save(visit(pet, vet, clinic, LocalDateTime.of(2031, 6, 1, 10, 0), Visit.VisitStatus.SCHEDULED));
+
+        mockMvc.perform(patch("/api/visits/bulk/status").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"CANCELLED\", \"ids\": [%d, %d, %d]}".formatted(first.getId(), second.getId(), first.getId())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(2))
+            .andExpect(jsonPath("$.chunks").value(1));
+
+        assertThat(visitRepository.findById(second.getId()).orElseThrow().getStatus()).isEqualTo(Visit.VisitStatus.CANCELLED);
+    }
+
+    @Test
+    void rejectsStatusUpdateWithoutIdsOrRange() throws Exception {
+        mockMvc.perform(patch("/api/visits/bulk/status").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"COMPLETED\", \"clinicId\": 1}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deactivatesOwnersInBulk() throws Exception {
+        List<Owner> owners = ownerRepository.saveAll(List.of(
+            Owner.builder().firstName("Bulk").lastName("Uno").email("bulk.uno@email.com").build(),
+            Owner.builder().firstName("Bulk").lastName("Dos").email("bulk.dos@email.com").build(),
+            Owner.builder().firstName("Bulk").lastName("Tres").email("bulk.tres@email.com").active(false).build()));
+
+        mockMvc.perform(patch("/api/owners/bulk/deactivate").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [%d, %d, %d, %d]}".formatted(
+                    owners.get(0).getId(), owners.get(1).getId(), owners.get(2).getId(), Long.MAX_VALUE)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(2))
+            .andExpect(jsonPath("$.chunks").value(2));
+
+        assertThat(ownerRepository.findAllById(owners.stream().map(Owner::getId).toList()))
+            .allSatisfy(owner -> assertThat(owner.getActive()).isFalse());
+    }
+
+    private static Visit visit(Pet pet, Veterinarian vet, Clinic clinic, LocalDateTime date, Visit.VisitStatus status) {
+        return Visit.builder()
+            .visitDate(date)
+            .reason("Close-out")
+            .status(status)
+            .pet(pet)
+            .veterinarian(vet)
+            .clinic(clinic)
+            .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.vetcare.models.PetType;
+import com.vetcare.models.Specialty;
+import com.vetcare.repositories.PetTypeRepository;
+import com.vetcare.repositories.SpecialtyRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CacheStatisticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PetTypeRepository petTypeRepository;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void activePetTypesAreServedFromTheQueryCacheUntilTheTableChanges() {
+        petTypeRepository.findByActiveTrue();
+
+        statistics.clear();
+        petTypeRepository.findByActiveTrue();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        petTypeRepository.save(PetType.builder().name("Ferret-cache").description("Cache test").build());
+
+        statistics.clear();
+        assertThat(petTypeRepository.findByActiveTrue()).extracting(PetType::getName).contains("Ferret-cache");
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void specialtyLookupsHitTheSecondLevelCache() {
+        Specialty specialty = specialtyRepository.save(Specialty.builder().name("Cache cardiology").build());
+
+        specialtyRepository.findById(specialty.getId());
+
+        statistics.clear();
+        assertThat(specialtyRepository.findById(specialty.getId())).get()
+            .extracting(Specialty::getName).isEqualTo("Cache cardiology");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void statisticsEndpointReportsRegionsAndCanBeReset() throws Exception {
+        specialtyRepository.findByActiveTrue();
+        specialtyRepository.findByActiveTrue();
+
+        mockMvc.perform(get("/api/cache/statistics"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.statisticsEnabled").value(true))
+            .andExpect(jsonPath("$.regions[*].region", hasItems("pet-types", "specialties", "clinics", "veterinarian-specialties")));
+
+        mockMvc.perform(delete("/api/cache/statistics")).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/cache/statistics"))
+            .andExpect(jsonPath("$.queryCacheHits").value(0))
+            .andExpect(jsonPath("$.secondLevelCacheHits").value(0));
+    }
+}
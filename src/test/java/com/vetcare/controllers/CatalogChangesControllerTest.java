@@ -0,0 +1,113 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.models.Specialty;
+import com.vetcare.repositories.SpecialtyRepository;
+import com.vetcare.services.SpecialtyService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogChangesControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    private SpecialtyService specialtyService;
+
+    @Test
+    void deltaReportsOnlyWhatChangedSinceTheClientVersion() throws Exception {
+        JsonNode initial = changes("/api/pet-types/changes");
+        assertThat(initial.get("full").asBoolean()).isTrue();
+        assertThat(initial.get("items")).isNotEmpty();
+        long version = initial.get("version").asLong();
+
+        JsonNode created = objectMapper.readTree(mockMvc.perform(post("/api/pet-types")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Axolotl\",\"description\":\"Amphibian\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString());
+        long id = created.get("id").asLong();
+
+        JsonNode afterCreate = changes("/api/pet-types/changes?sinceVersion=" + version);
+        assertThat(afterCreate.get("full").asBoolean()).isFalse();
+        assertThat(afterCreate.get("version").asLong()).isGreaterThan(version);
+        assertThat(afterCreate.get("items")).hasSize(1);
+        assertThat(afterCreate.get("items").get(0).get("name").asText()).isEqualTo("Axolotl");
+        version = afterCreate.get("version").asLong();
+
+        // A rolled back write is not published
+        mockMvc.perform(post("/api/pet-types")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Axolotl\"}"))
+            .andExpect(status().isConflict());
+        assertThat(changes("/api/pet-types/changes?sinceVersion=" + version).get("items")).isEmpty();
+
+        mockMvc.perform(delete("/api/pet-types/{id}", id)).andExpect(status().isNoContent());
+        JsonNode afterDelete = changes("/api/pet-types/changes?sinceVersion=" + version);
+        assertThat(afterDelete.get("items")).isEmpty();
+        assertThat(afterDelete.get("removedIds")).hasSize(1);
+        assertThat(afterDelete.get("removedIds").get(0).asLong()).isEqualTo(id);
+        mockMvc.perform(get("/api/pet-types/{id}", id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void catalogReadsDoNotTouchTheDatabase() throws Exception {
+        mockMvc.perform(get("/api/specialties")).andExpect(status().isOk());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        mockMvc.perform(get("/api/specialties")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/pet-types")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/specialties/changes?sinceVersion=0")).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void refreshPicksUpRowsWrittenOutsideTheService() throws Exception {
+        long version = changes("/api/specialties/changes").get("version").asLong();
+        Specialty specialty = specialtyRepository.save(Specialty.builder().name("Written elsewhere").build());
+
+        assertThat(changes("/api/specialties/changes?sinceVersion=" + version).get("items")).isEmpty();
+
+        specialtyService.refreshCatalog();
+        JsonNode delta = changes("/api/specialties/changes?sinceVersion=" + version);
+        assertThat(delta.get("items")).hasSize(1);
+        assertThat(delta.get("items").get(0).get("id").asLong()).isEqualTo(specialty.getId());
+    }
+
+    private JsonNode changes(String url) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,144 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ClinicVisitStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    private VisitFixtures visits;
+    private Long petId;
+    private Long veterinarianId;
+
+    @BeforeEach
+    void setUp() {
+        visits = new VisitFixtures(mockMvc, objectMapper);
+        petId = petRepository.findAll().get(0).getId();
+        veterinarianId = veterinarianRepository.findAll().get(0).getId();
+    }
+
+    @Test
+    void streamsCommittedChangesOfItsClinicOnly() throws Exception {
+        Long clinicId = clinicRepository.findAll().get(0).getId();
+        Long otherClinicId = clinicRepository.findAll().get(1).getId();
+        MvcResult stream = subscribe(clinicId, null);
+
+        Long visitId = visits.createId(petId, veterinarianId, clinicId, LocalDateTime.of(2036, 2, 4, 9, 0));
+        visits.create(petId, veterinarianId, otherClinicId, LocalDateTime.of(2036, 2, 4, 11, 0));
+        mockMvc.perform(patch("/api/visits/{id}/status", visitId).param("status", "IN_PROGRESS"))
+            .andExpect(status().isOk());
+        // Rolled back: the slot is taken, so nothing is streamed for it
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    VisitFixtures.visit(petId, veterinarianId, clinicId, LocalDateTime.of(2036, 2, 4, 9, 15)).build())))
+            .andExpect(status().isConflict());
+
+        List<JsonNode> events = awaitEvents(stream, 2);
+        assertThat(events).extracting(event -> event.get("clinicId").asLong()).containsOnly(clinicId);
+        assertThat(events.get(0).get("type").asText()).isEqualTo("CREATED");
+        assertThat(events.get(0).get("visitId").asLong()).isEqualTo(visitId);
+        assertThat(events.get(1).get("type").asText()).isEqualTo("STATUS_CHANGED");
+        assertThat(events.get(1).get("status").asText()).isEqualTo("IN_PROGRESS");
+        assertThat(events.get(1).get("eventId").asLong()).isGreaterThan(events.get(0).get("eventId").asLong());
+    }
+
+    @Test
+    void resumesFromLastEventIdOrAsksForResync() throws Exception {
+        Long clinicId = clinicRepository.findAll().get(1).getId();
+        MvcResult first = subscribe(clinicId, null);
+        Long visitId = visits.createId(petId, veterinarianId, clinicId, LocalDateTime.of(2036, 2, 5, 9, 0));
+        JsonNode created = awaitEvents(first, 1).get(0);
+
+        mockMvc.perform(patch("/api/visits/{id}/status", visitId).param("status", "CANCELLED"))
+            .andExpect(status().isOk());
+        List<JsonNode> replayed = awaitEvents(subscribe(clinicId, created.get("eventId").asLong()), 1);
+        assertThat(replayed.get(0).get("type").asText()).isEqualTo("STATUS_CHANGED");
+        assertThat(replayed.get(0).get("visitId").asLong()).isEqualTo(visitId);
+
+        List<JsonNode> stale = awaitEvents(subscribe(clinicId, 1L), 1);
+        assertThat(stale.get(0).get("type").asText()).isEqualTo("RESYNC");
+    }
+
+    @Test
+    void unknownClinicIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/clinics/{id}/visits/stream", 999999L))
+            .andExpect(status().isNotFound());
+    }
+
+    private MvcResult subscribe(Long clinicId, Long lastEventId) throws Exception {
+        var request = get("/api/clinics/{id}/visits/stream", clinicId).accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    }
+
+    private List<JsonNode> awaitEvents(MvcResult stream, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            // Only whole frames: the sender thread may be halfway through writing the next one
+            List<JsonNode> events = new ArrayList<>();
+            String content = stream.getResponse().getContentAsString();
+            for (String frame : content.substring(0, content.lastIndexOf("\n\n") + 1).split("\n\n")) {
+                StringBuilder data = new StringBuilder();
+                for (String line : frame.split("\n")) {
+                    if (line.startsWith("data:")) {
+                        data.append(line.substring("data:".length())).append('\n');
+                    }
+                }
+                if (!data.isEmpty()) {
+                    events.add(objectMapper.readTree(data.toString()));
+                }
+            }
+            if (events.size() >= count || System.currentTimeMillis() > deadline) {
+                assertThat(events).hasSizeGreaterThanOrEqualTo(count);
+                Thread.sleep(200);
+                return events;
+            }
+            Thread.sleep(50);
+        }
+    }
+}
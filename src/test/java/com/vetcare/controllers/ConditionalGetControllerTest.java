@@ -0,0 +1,129 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.vetcare.models.Owner;
+import com.vetcare.models.Pet;
+import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.PetTypeRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetTypeRepository petTypeRepository;
+
+    @Test
+    void singlePetAnswersNotModifiedUntilItChanges() throws Exception {
+        Pet pet = savePet("Etag");
+
+        String eTag = mockMvc.perform(get("/api/pets/{id}", pet.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"");
+
+        mockMvc.perform(get("/api/pets/{id}", pet.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/pets/{id}/deactivate", pet.getId()))
+            .andExpect(status().isNoContent());
+
+        String changed = mockMvc.perform(get("/api/pets/{id}", pet.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void ownerPetsTagFollowsThePets() throws Exception {
+        Pet pet = savePet("Nested");
+        Long ownerId = pet.getOwner().getId();
+
+        String eTag = mockMvc.perform(get("/api/owners/{id}/pets", ownerId))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/api/pets/{id}/deactivate", pet.getId()))
+            .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/owners/{id}/pets", ownerId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    void listTagChangesWithBulkUpdates() throws Exception {
+        Owner owner = ownerRepository.save(owner("ListTag"));
+
+        String eTag = mockMvc.perform(get("/api/owners"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("W/\"");
+
+        mockMvc.perform(get("/api/owners").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/owners/bulk/deactivate").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [%d]}".formatted(owner.getId())))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/owners").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownIdIsStillNotFound() throws Exception {
+        mockMvc.perform(get("/api/pets/{id}", Long.MAX_VALUE).header(HttpHeaders.IF_NONE_MATCH, "\"x\""))
+            .andExpect(status().isNotFound());
+    }
+
+    private Pet savePet(String name) {
+        Owner owner = ownerRepository.save(owner(name));
+        return petRepository.save(Pet.builder()
+            .name(name)
+            .birthDate(LocalDate.of(2020, 1, 1))
+            .active(true)
+            .owner(owner)
+            .petType(petTypeRepository.findAll().get(0))
+            .build());
+    }
+
+    private Owner owner(String name) {
+        return Owner.builder()
+            .firstName(name)
+            .lastName("Conditional")
+            .email(name.toLowerCase() + "." + System.nanoTime() + "@example.com")
+            .phone("555-0100")
+            .active(true)
+            .build();
+    }
+}
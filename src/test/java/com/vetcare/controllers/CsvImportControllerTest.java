@@ -0,0 +1,112 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.PetRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CsvImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Test
+    void importsOwnersAndPetsReportingRejectedRows() throws Exception {
+        String owners = """
+            firstName,lastName,email,documentNumber,phone,address,city
+            Lucía,Gómez,lucia.import@email.com,IMP-001,,"Calle 1, Apto 2",Bogotá
+            Juan,Duplicado,juan.perez@email.com,IMP-002,,,
+            Sofía,Ruiz,sofia.import@email.com,IMP-003,,,Cali
+            Otra,Sofía,sofia.import@email.com,IMP-004,,,
+            Sin,Correo,no-es-un-email,IMP-005,,,
+            """;
+        mockMvc.perform(multipart("/api/owners/import").file(csv(owners)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalRows").value(5))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.failed").value(3))
+            .andExpect(jsonPath("$.errors[0].line").value(3))
+            .andExpect(jsonPath("$.errors[0].message").value("Email already exists: juan.perez@email.com"))
+            .andExpect(jsonPath("$.errors[1].line").value(5))
+            .andExpect(jsonPath("$.errors[1].message").value("Email already exists: sofia.import@email.com"))
+            .andExpect(jsonPath("$.errors[2].line").value(6));
+        assertThat(ownerRepository.findByEmail("lucia.import@email.com")).get()
+            .satisfies(owner -> assertThat(owner.getAddress()).isEqualTo("Calle 1, Apto 2"));
+
+        String pets = """
+            name,birthDate,gender,weight,ownerEmail,petType
+            Toby,2021-03-04,male,12.5,lucia.import@email.com,dog
+            Nube,2022-07-01,FEMALE,,sofia.import@email.com,Cat
+            Fantasma,2020-01-01,,,nadie@email.com,Dog
+            Rara,2020-01-01,,,lucia.import@email.com,Dragon
+            """;
+        mockMvc.perform(multipart("/api/pets/import").file(csv(pets)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.errors[0].message").value("Owner not found with email: nadie@email.com"))
+            .andExpect(jsonPath("$.errors[1].message").value("Pet type not found with name: Dragon"));
+        Long luciaId = ownerRepository.findByEmail("lucia.import@email.com").orElseThrow().getId();
+        assertThat(petRepository.findSummariesByOwnerId(luciaId)).extracting("name").containsExactly("Toby");
+    }
+
+    @Test
+    void emailsDifferingOnlyInCaseAreDuplicates() throws Exception {
+        String owners = """
+            firstName,lastName,email,documentNumber,phone,address,city
+            Juan,Mayúsculas,Juan.Perez@Email.com,CASE-001,,,
+            Marta,Mixta,marta.case@email.com,CASE-002,,,
+            Marta,Repetida,MARTA.CASE@email.com,CASE-003,,,
+            """;
+        mockMvc.perform(multipart("/api/owners/import").file(csv(owners)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.errors[0].line").value(2))
+            .andExpect(jsonPath("$.errors[0].message").value("Email already exists: Juan.Perez@Email.com"))
+            .andExpect(jsonPath("$.errors[1].line").value(4))
+            .andExpect(jsonPath("$.errors[1].message").value("Email already exists: MARTA.CASE@email.com"));
+
+        String pets = """
+            name,birthDate,gender,weight,ownerEmail,petType
+            Canela,2022-02-02,female,,Marta.Case@Email.com,Cat
+            """;
+        mockMvc.perform(multipart("/api/pets/import").file(csv(pets)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1));
+    }
+
+    @Test
+    void rejectsFileWithoutRequiredColumns() throws Exception {
+        mockMvc.perform(multipart("/api/owners/import").file(csv("firstName,lastName\nAna,Pérez\n")))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message", containsString("email")));
+    }
+
+    private static MockMultipartFile csv(String content) {
+        return new MockMultipartFile("file", "import.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,171 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.vetcare.dto.UpdateVisitDTO;
+import com.vetcare.dto.VisitDTO;
+import com.vetcare.exceptions.ConcurrentUpdateException;
+import com.vetcare.models.Pet;
+import com.vetcare.models.Visit;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+import com.vetcare.repositories.VisitRepository;
+import com.vetcare.services.VisitService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OptimisticLockingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VisitService visitService;
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    @Test
+    void staleVersionGetsConflictWithCurrentState() throws Exception {
+        Visit visit = saveVisit();
+
+        mockMvc.perform(patch("/api/visits/{id}/status", visit.getId())
+                .param("status", "IN_PROGRESS").param("version", visit.getVersion().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(visit.getVersion() + 1));
+
+        mockMvc.perform(put("/api/visits/{id}", visit.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content(updateBody("Stale edit", visit.getVersion())))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.currentState.status").value("IN_PROGRESS"))
+            .andExpect(jsonPath("$.currentState.version").value(visit.getVersion() + 1));
+
+        assertThat(visitRepository.findById(visit.getId()).orElseThrow().getReason()).isEqualTo("Checkup");
+    }
+
+    @Test
+    void ifMatchIsCheckedAgainstTheCurrentETag() throws Exception {
+        Visit visit = saveVisit();
+        String eTag = mockMvc.perform(get("/api/visits/{id}", visit.getId()))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/visits/{id}", visit.getId()).contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, eTag).content(updateBody("First", null)))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/visits/{id}", visit.getId()).contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, eTag).content(updateBody("Second", null)))
+            .andExpect(status().isPreconditionFailed());
+
+        Pet pet = petRepository.findAll().get(0);
+        mockMvc.perform(put("/api/pets/{id}", pet.getId()).contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"not-the-current-tag\"")
+                .content("{\"name\": \"Renamed\", \"birthDate\": \"%s\"}".formatted(LocalDate.of(2020, 1, 1))))
+            .andExpect(status().isPreconditionFailed());
+    }
+
+    // Every writer reads, edits and retries on conflict; with optimistic locking none of the
+    // appended notes may be lost and no writer ever blocks on a row lock held across its think time
+    @Test
+    void concurrentEditorsLoseNoUpdates() throws Exception {
+        Visit visit = saveVisit();
+        int writers = 8;
+        int editsPerWriter = 5;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int e = 0; e < editsPerWriter; e++) {
+                    VisitDTO current = visitService.findById(visit.getId());
+                    while (true) {
+                        try {
+                            visitService.update(visit.getId(), edit(current, "[" + writer + "-" + e + "]"), null);
+                            break;
+                        } catch (ConcurrentUpdateException ex) {
+                            current = (VisitDTO) ex.getCurrentState();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        VisitDTO result = visitService.findById(visit.getId());
+        for (int w = 0; w < writers; w++) {
+            for (int e = 0; e < editsPerWriter; e++) {
+                assertThat(result.getNotes()).contains("[" + w + "-" + e + "]");
+            }
+        }
+        assertThat(result.getVersion()).isEqualTo(visit.getVersion() + writers * editsPerWriter);
+    }
+
+    private static UpdateVisitDTO edit(VisitDTO current, String note) {
+        return UpdateVisitDTO.builder()
+            .visitDate(current.getVisitDate())
+            .reason(current.getReason())
+            .status(current.getStatus())
+            .notes((current.getNotes() == null ? "" : current.getNotes()) + note)
+            .version(current.getVersion())
+            .build();
+    }
+
+    private static String updateBody(String reason, Long version) {
+        return """
+            {"visitDate": "2031-06-01T10:00:00", "reason": "%s", "status": "SCHEDULED"%s}
+            """.formatted(reason, version != null ? ", \"version\": " + version : "");
+    }
+
+    private Visit saveVisit() {
+        return visitRepository.save(Visit.builder()
+            .visitDate(LocalDateTime.of(2031, 6, 1, 10, 0))
+            .reason("Checkup")
+            .status(Visit.VisitStatus.SCHEDULED)
+            .pet(petRepository.findAll().get(0))
+            .veterinarian(veterinarianRepository.findAll().get(0))
+            .clinic(clinicRepository.findAll().get(0))
+            .build());
+    }
+}
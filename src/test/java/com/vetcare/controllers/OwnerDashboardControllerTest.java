@@ -0,0 +1,113 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.models.Owner;
+import com.vetcare.models.Pet;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OwnerDashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    private VisitFixtures visits;
+
+    @BeforeEach
+    void setUp() {
+        visits = new VisitFixtures(mockMvc, objectMapper);
+    }
+
+    @Test
+    void dashboardCombinesOwnerPetsAndVisits() throws Exception {
+        Owner owner = ownerRepository.findAll().get(0);
+        Pet pet = petRepository.findAll().stream()
+            .filter(candidate -> candidate.getOwner().getId().equals(owner.getId()))
+            .findFirst().orElseThrow();
+        Long veterinarianId = veterinarianRepository.findAll().get(1).getId();
+        Long clinicId = clinicRepository.findAll().get(0).getId();
+        Long booked = visits.createId(pet.getId(), veterinarianId, clinicId, LocalDateTime.of(2038, 1, 10, 9, 0));
+        Long cancelled = visits.createId(pet.getId(), veterinarianId, clinicId, LocalDateTime.of(2038, 1, 10, 11, 0));
+        mockMvc.perform(patch("/api/visits/{id}/status", cancelled).param("status", "CANCELLED"))
+            .andExpect(status().isOk());
+
+        JsonNode dashboard = objectMapper.readTree(mockMvc.perform(get("/api/owners/{id}/dashboard", owner.getId()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+
+        assertThat(dashboard.get("owner").get("email").asText()).isEqualTo(owner.getEmail());
+        assertThat(ids(dashboard.get("pets"))).contains(pet.getId())
+            .hasSize((int) petRepository.findAll().stream()
+                .filter(candidate -> candidate.getOwner().getId().equals(owner.getId())).count());
+
+        JsonNode upcoming = dashboard.get("upcomingVisits");
+        assertThat(ids(upcoming)).contains(booked).doesNotContain(cancelled);
+        List<String> upcomingDates = new ArrayList<>();
+        for (JsonNode visit : upcoming) {
+            assertThat(visit.get("status").asText()).isEqualTo("SCHEDULED");
+            assertThat(LocalDateTime.parse(visit.get("visitDate").asText())).isAfter(LocalDateTime.now());
+            upcomingDates.add(visit.get("visitDate").asText());
+        }
+        assertThat(upcomingDates).isSorted();
+
+        JsonNode recent = dashboard.get("recentVisits");
+        assertThat(recent).isNotEmpty();
+        List<String> recentDates = new ArrayList<>();
+        for (JsonNode visit : recent) {
+            assertThat(LocalDateTime.parse(visit.get("visitDate").asText())).isBefore(LocalDateTime.now());
+            assertThat(visit.get("pet").get("name").isTextual()).isTrue();
+            recentDates.add(visit.get("visitDate").asText());
+        }
+        assertThat(recentDates).isSortedAccordingTo((a, b) -> b.compareTo(a));
+    }
+
+    @Test
+    void unknownOwnerIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/owners/{id}/dashboard", 999999L))
+            .andExpect(status().isNotFound());
+    }
+
+    private static List<Long> ids(JsonNode items) {
+        List<Long> ids = new ArrayList<>();
+        items.forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+}
@@ -0,0 +1,86 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.vetcare.repositories.VeterinarianRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Statement counts are global: the waitlist's frequent offer check and the medical records
+// regenerated after writes in other tests would be counted too
+@SpringBootTest(properties = {"vetcare.waitlist.offer-check-interval=PT1H", "vetcare.medical-records.refresh-delay=PT1H"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PaginationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Test
+    void pageSizeIsCappedAtTheMaximum() throws Exception {
+        for (String url : new String[] {"/api/owners", "/api/pets", "/api/veterinarians", "/api/clinics"}) {
+            mockMvc.perform(get(url).param("size", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(100));
+        }
+    }
+
+    @Test
+    void sortingIsLimitedToTheWhitelist() throws Exception {
+        mockMvc.perform(get("/api/pets").param("size", "5").param("sort", "name,desc"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/pets").param("size", "5").param("sort", "owner.email"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/owners").param("size", "5").param("sort", "password"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void skippingTheCountReturnsASlice() throws Exception {
+        mockMvc.perform(get("/api/clinics").param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").isNumber())
+            .andExpect(jsonPath("$.totalPages").isNumber());
+        mockMvc.perform(get("/api/clinics").param("size", "1").param("count", "false"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.hasNext").value(true))
+            .andExpect(jsonPath("$.totalElements").doesNotExist())
+            .andExpect(jsonPath("$.totalPages").doesNotExist());
+    }
+
+    @Test
+    void veterinarianPageLoadsSpecialtiesInOneStatement() throws Exception {
+        assertThat(veterinarianRepository.count()).isGreaterThan(1);
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        // A cold second-level cache, as after a restart
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/veterinarians").param("size", "100").param("includeInactive", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].specialties").isArray());
+
+        // The page with its clinics, the count unless the page is the last one, and one batch of specialties
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+}
@@ -0,0 +1,146 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.dto.UpdateVisitDTO;
+import com.vetcare.models.Clinic;
+import com.vetcare.models.Pet;
+import com.vetcare.models.Veterinarian;
+import com.vetcare.models.Visit;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+import com.vetcare.repositories.VisitRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PetMedicalRecordControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    private VisitFixtures visits;
+
+    @BeforeEach
+    void setUp() {
+        visits = new VisitFixtures(mockMvc, objectMapper);
+    }
+
+    @Test
+    void recordFollowsVisitWrites() throws Exception {
+        Pet pet = petRepository.findAll().get(1);
+        Veterinarian veterinarian = veterinarianRepository.findAll().get(2);
+        Clinic clinic = clinicRepository.findAll().get(0);
+        JsonNode created = visits.create(pet.getId(), veterinarian.getId(), clinic.getId(), LocalDateTime.of(2039, 3, 7, 9, 0));
+        long visitId = created.get("id").asLong();
+
+        JsonNode record = record(pet.getId());
+        assertThat(record.get("petId").asLong()).isEqualTo(pet.getId());
+        assertThat(record.get("name").asText()).isEqualTo(pet.getName());
+        assertThat(record.get("visitCount").asInt()).isEqualTo(visitRepository.findByPetId(pet.getId()).size());
+        JsonNode visit = visit(record, visitId);
+        assertThat(visit.get("veterinarian").get("fullName").asText())
+            .isEqualTo(veterinarian.getFirstName() + " " + veterinarian.getLastName());
+        assertThat(visit.get("clinic").get("name").asText()).isEqualTo(clinic.getName());
+
+        UpdateVisitDTO update = UpdateVisitDTO.builder()
+            .visitDate(LocalDateTime.of(2039, 3, 7, 9, 0))
+            .reason("Medical record")
+            .status(Visit.VisitStatus.SCHEDULED)
+            .diagnosis("Otitis externa")
+            .version(created.get("version").asLong())
+            .build();
+        mockMvc.perform(put("/api/visits/{id}", visitId).contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+            .andExpect(status().isOk());
+
+        // Read right after the write, before the background refresh
+        assertThat(visit(record(pet.getId()), visitId).get("diagnosis").asText()).isEqualTo("Otitis externa");
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        String stored = storedDocument(pet.getId());
+        while ((stored == null || !stored.contains("Otitis externa")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            stored = storedDocument(pet.getId());
+        }
+        assertThat(stored).contains("Otitis externa");
+    }
+
+    @Test
+    void rebuildStoresEveryPetsRecord() throws Exception {
+        JsonNode result = objectMapper.readTree(mockMvc.perform(post("/api/pets/medical-records/rebuild"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+
+        long pets = petRepository.count();
+        assertThat(result.get("affected").asLong()).isEqualTo(pets);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pet_medical_records", Long.class)).isEqualTo(pets);
+        Pet pet = petRepository.findAll().get(0);
+        assertThat(objectMapper.readTree(storedDocument(pet.getId())).get("petId").asLong()).isEqualTo(pet.getId());
+    }
+
+    @Test
+    void unknownPetIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/pets/{id}/medical-record", 999999L))
+            .andExpect(status().isNotFound());
+    }
+
+    private JsonNode record(Long petId) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/pets/{id}/medical-record", petId))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+    }
+
+    private static JsonNode visit(JsonNode record, long visitId) {
+        for (JsonNode visit : record.get("visits")) {
+            if (visit.get("id").asLong() == visitId) {
+                return visit;
+            }
+        }
+        throw new AssertionError("Visit " + visitId + " missing from the medical record");
+    }
+
+    private String storedDocument(Long petId) {
+        List<String> documents = jdbcTemplate.queryForList(
+            "SELECT document FROM pet_medical_records WHERE pet_id = ?", String.class, petId);
+        return documents.isEmpty() ? null : documents.get(0);
+    }
+}
@@ -0,0 +1,170 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.dto.CreateSlotHoldDTO;
+import com.vetcare.dto.CreateVisitDTO;
+import com.vetcare.exceptions.DuplicateResourceException;
+import com.vetcare.models.Veterinarian;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+import com.vetcare.services.SlotHoldService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SlotHoldControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SlotHoldService slotHoldService;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    @Test
+    void holdBlocksOthersAndIsConsumedByItsBooking() throws Exception {
+        Long vetId = veterinarianRepository.findAll().get(0).getId();
+        LocalDateTime ten = LocalDateTime.of(2033, 5, 2, 10, 0);
+        String holdId = hold(vetId, ten, 30, null);
+
+        mockMvc.perform(post("/api/visits/holds").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(holdRequest(vetId, ten.plusMinutes(15), 30, null))))
+            .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(visit(vetId, ten, 30, null))))
+            .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(visit(vetId, ten, 45, holdId))))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(visit(vetId, ten, 30, holdId))))
+            .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/visits/holds/{holdId}", holdId))
+            .andExpect(status().isNotFound());
+        // Now the visit, not the hold, keeps the time taken
+        mockMvc.perform(post("/api/visits/holds").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(holdRequest(vetId, ten, 30, null))))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    void expiredAndReleasedHoldsFreeTheSlot() throws Exception {
+        Long vetId = veterinarianRepository.findAll().get(1).getId();
+        LocalDateTime nine = LocalDateTime.of(2033, 5, 3, 9, 0);
+
+        String expiring = hold(vetId, nine, 30, 1);
+        mockMvc.perform(get("/api/visits/holds/{holdId}", expiring))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.veterinarianId").value(vetId));
+        Thread.sleep(1500);
+        mockMvc.perform(get("/api/visits/holds/{holdId}", expiring))
+            .andExpect(status().isNotFound());
+
+        String released = hold(vetId, nine, 30, null);
+        mockMvc.perform(delete("/api/visits/holds/{holdId}", released))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(visit(vetId, nine, 30, null))))
+            .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/visits/holds").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(holdRequest(vetId, nine.plusHours(1), 30, 3600))))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void concurrentHoldsForOneSlotSucceedOnce() throws Exception {
+        Veterinarian vet = veterinarianRepository.findAll().get(2);
+        LocalDateTime slot = LocalDateTime.of(2033, 5, 4, 11, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            CreateSlotHoldDTO request = holdRequest(vet.getId(), slot.plusMinutes(i % 2 == 0 ? 0 : 15), 30, null);
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    slotHoldService.create(request);
+                    return true;
+                } catch (DuplicateResourceException ex) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int held = 0;
+        for (Future<Boolean> attempt : attempts) {
+            held += attempt.get(60, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertThat(held).isEqualTo(1);
+    }
+
+    private String hold(Long vetId, LocalDateTime start, int durationMinutes, Integer ttlSeconds) throws Exception {
+        String body = mockMvc.perform(post("/api/visits/holds").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(holdRequest(vetId, start, durationMinutes, ttlSeconds))))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("holdId").asText();
+    }
+
+    private CreateSlotHoldDTO holdRequest(Long vetId, LocalDateTime start, int durationMinutes, Integer ttlSeconds) {
+        return CreateSlotHoldDTO.builder()
+            .veterinarianId(vetId)
+            .clinicId(clinicRepository.findAll().get(0).getId())
+            .visitDate(start)
+            .durationMinutes(durationMinutes)
+            .ttlSeconds(ttlSeconds)
+            .build();
+    }
+
+    private CreateVisitDTO visit(Long vetId, LocalDateTime start, int durationMinutes, String holdId) {
+        return CreateVisitDTO.builder()
+            .visitDate(start)
+            .durationMinutes(durationMinutes)
+            .holdId(holdId)
+            .reason("Held booking")
+            .petId(petRepository.findAll().get(0).getId())
+            .veterinarianId(vetId)
+            .clinicId(clinicRepository.findAll().get(0).getId())
+            .build();
+    }
+}
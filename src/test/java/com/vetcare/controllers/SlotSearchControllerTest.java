@@ -0,0 +1,142 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.dto.CreateVisitDTO;
+import com.vetcare.repositories.PetRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SlotSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void skipsBookedSlotsAndClosedHours() throws Exception {
+        Long clinicId = createClinic("Slotville", "Mon-Fri: 9:00-10:00, Sat-Sun: closed");
+        Long vetId = createVeterinarian(clinicId, "SLOT-001");
+        LocalDate monday = LocalDate.now().plusDays(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+        LocalDateTime nine = monday.atTime(9, 0);
+
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(CreateVisitDTO.builder()
+                    .visitDate(nine)
+                    .durationMinutes(30)
+                    .reason("Booked")
+                    .petId(petRepository.findAll().get(0).getId())
+                    .veterinarianId(vetId)
+                    .clinicId(clinicId)
+                    .build())))
+            .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/slots/next")
+                .param("city", "Slotville")
+                .param("from", monday.atStartOfDay().toString())
+                .param("durationMinutes", "30")
+                .param("count", "3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].veterinarianId").value(vetId))
+            .andExpect(jsonPath("$[0].start").value(nine.plusMinutes(30).toString() + ":00"))
+            .andExpect(jsonPath("$[0].end").value(nine.plusMinutes(60).toString() + ":00"))
+            .andExpect(jsonPath("$[1].start").value(nine.plusDays(1).toString() + ":00"))
+            .andExpect(jsonPath("$[2].start").value(nine.plusDays(1).plusMinutes(15).toString() + ":00"));
+    }
+
+    @Test
+    void filtersBySpecialtyAndFollowsVeterinarianChanges() throws Exception {
+        Long specialtyId = jdbcTemplate.queryForObject(
+            "SELECT specialty_id FROM veterinarian_specialties ORDER BY specialty_id LIMIT 1", Long.class);
+        List<Long> withSpecialty = jdbcTemplate.queryForList(
+            "SELECT veterinarian_id FROM veterinarian_specialties WHERE specialty_id = ?", Long.class, specialtyId);
+
+        String body = mockMvc.perform(get("/api/slots/next")
+                .param("specialtyId", specialtyId.toString())
+                .param("count", "50"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        List<Long> found = new ArrayList<>();
+        objectMapper.readTree(body).forEach(slot -> found.add(slot.get("veterinarianId").asLong()));
+        assertThat(found).isNotEmpty();
+        assertThat(withSpecialty).containsAll(found);
+
+        Long clinicId = createClinic("Specialtyville", "Mon-Sun: 8:00-20:00");
+        Long vetId = createVeterinarian(clinicId, "SLOT-002");
+        mockMvc.perform(get("/api/slots/next").param("city", "Specialtyville"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(5))
+            .andExpect(jsonPath("$[0].veterinarianId").value(vetId));
+        mockMvc.perform(get("/api/slots/next").param("city", "Specialtyville").param("specialtyId", specialtyId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(patch("/api/veterinarians/{id}/deactivate", vetId))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/slots/next").param("city", "Specialtyville"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void rejectsUnreadableWorkingHoursAndInvalidCounts() throws Exception {
+        mockMvc.perform(post("/api/clinics").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Bad hours\", \"address\": \"1 Street\", \"city\": \"Nowhere\", \"workingHours\": \"Mon-Fri: 8am-6pm\"}"))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/slots/next").param("count", "0"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/slots/next").param("durationMinutes", "0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private Long createClinic(String city, String workingHours) throws Exception {
+        String body = mockMvc.perform(post("/api/clinics").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"" + city + " Clinic\", \"address\": \"1 Street\", \"city\": \"" + city
+                    + "\", \"workingHours\": \"" + workingHours + "\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private Long createVeterinarian(Long clinicId, String licenseNumber) throws Exception {
+        String body = mockMvc.perform(post("/api/veterinarians").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\": \"Slot\", \"lastName\": \"Finder\", \"licenseNumber\": \"" + licenseNumber
+                    + "\", \"email\": \"" + licenseNumber.toLowerCase() + "@vetcare.com\", \"clinicId\": " + clinicId + "}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -0,0 +1,155 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.models.Clinic;
+import com.vetcare.models.Owner;
+import com.vetcare.models.Pet;
+import com.vetcare.models.Veterinarian;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Statement counts are global: the waitlist's frequent offer check and the medical records
+// regenerated after writes in other tests would be counted too
+@SpringBootTest(properties = {"vetcare.waitlist.offer-check-interval=PT1H", "vetcare.medical-records.refresh-delay=PT1H"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SummaryProjectionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Test
+    void clinicSummariesUseOneStatement() throws Exception {
+        JsonNode summaries = getInOneStatement("/api/clinics/summary");
+
+        List<Clinic> active = clinicRepository.findAll().stream().filter(Clinic::getActive).toList();
+        assertThat(summaries).hasSize(active.size());
+        Clinic clinic = active.get(0);
+        JsonNode summary = byId(summaries, clinic.getId());
+        assertThat(fieldNames(summary)).containsExactlyInAnyOrder("id", "name", "city", "phone");
+        assertThat(summary.get("name").asText()).isEqualTo(clinic.getName());
+        assertThat(summary.get("city").asText()).isEqualTo(clinic.getCity());
+        assertThat(summary.get("phone").asText()).isEqualTo(clinic.getPhone());
+    }
+
+    @Test
+    void veterinarianSummariesUseOneStatement() throws Exception {
+        Veterinarian veterinarian = veterinarianRepository.findAll().stream()
+            .filter(Veterinarian::getActive)
+            .filter(candidate -> candidate.getClinic() != null)
+            .findFirst().orElseThrow();
+        Long clinicId = veterinarian.getClinic().getId();
+        JsonNode summaries = getInOneStatement("/api/veterinarians/summary?clinicId=" + clinicId);
+
+        assertThat(summaries).hasSize((int) veterinarianRepository.findAll().stream()
+            .filter(Veterinarian::getActive)
+            .filter(candidate -> candidate.getClinic() != null && clinicId.equals(candidate.getClinic().getId()))
+            .count());
+        JsonNode summary = byId(summaries, veterinarian.getId());
+        assertThat(fieldNames(summary)).containsExactlyInAnyOrder("id", "fullName", "licenseNumber", "email");
+        assertThat(summary.get("fullName").asText())
+            .isEqualTo(veterinarian.getFirstName() + " " + veterinarian.getLastName());
+        assertThat(summary.get("licenseNumber").asText()).isEqualTo(veterinarian.getLicenseNumber());
+        assertThat(summary.get("email").asText()).isEqualTo(veterinarian.getEmail());
+    }
+
+    @Test
+    void ownerSummarySearchUsesOneStatement() throws Exception {
+        Owner owner = ownerRepository.findAll().stream().filter(Owner::getActive).findFirst().orElseThrow();
+        JsonNode summaries = getInOneStatement("/api/owners/search/summary?name=" + owner.getLastName().toUpperCase());
+
+        JsonNode summary = byId(summaries, owner.getId());
+        assertThat(fieldNames(summary)).containsExactlyInAnyOrder("id", "fullName", "email", "phone");
+        assertThat(summary.get("fullName").asText()).isEqualTo(owner.getFirstName() + " " + owner.getLastName());
+        assertThat(summary.get("email").asText()).isEqualTo(owner.getEmail());
+        assertThat(summary.get("phone").asText()).isEqualTo(owner.getPhone());
+    }
+
+    @Test
+    void petSummariesUseOneStatement() throws Exception {
+        Pet pet = petRepository.findWithTypeByIdIn(List.of(petRepository.findAll().get(0).getId())).get(0);
+        Long ownerId = pet.getOwner().getId();
+        JsonNode summaries = getInOneStatement("/api/pets/owner/" + ownerId + "/summary");
+
+        assertThat(summaries).hasSize(petRepository.findSummariesByOwnerId(ownerId).size());
+        JsonNode summary = byId(summaries, pet.getId());
+        assertThat(fieldNames(summary))
+            .containsExactlyInAnyOrder("id", "name", "birthDate", "breed", "gender", "petTypeName");
+        assertThat(summary.get("name").asText()).isEqualTo(pet.getName());
+        assertThat(summary.get("petTypeName").asText()).isEqualTo(pet.getPetType().getName());
+        assertThat(summary.get("gender").asText()).isEqualTo(pet.getGender().name());
+    }
+
+    private JsonNode getInOneStatement(String url) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        String body = mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(statistics.getPrepareStatementCount())
+            .as("statements executed by GET %s", url)
+            .isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount())
+            .as("entities loaded by GET %s", url)
+            .isZero();
+        return objectMapper.readTree(body);
+    }
+
+    private static JsonNode byId(JsonNode summaries, Long id) {
+        for (JsonNode summary : summaries) {
+            if (summary.get("id").asLong() == id) {
+                return summary;
+            }
+        }
+        throw new AssertionError("Summary " + id + " missing");
+    }
+
+    private static Set<String> fieldNames(JsonNode summary) {
+        List<String> names = new ArrayList<>();
+        summary.fieldNames().forEachRemaining(names::add);
+        return Set.copyOf(names);
+    }
+}
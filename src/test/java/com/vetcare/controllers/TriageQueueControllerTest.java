@@ -0,0 +1,197 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.dto.TriageCheckInDTO;
+import com.vetcare.dto.VisitEventDTO;
+import com.vetcare.models.Veterinarian;
+import com.vetcare.models.Visit;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+import com.vetcare.services.TriageQueueService;
+import com.vetcare.services.VisitChangedEvent;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TriageQueueControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    @Autowired
+    private TriageQueueService triageQueueService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private VisitFixtures visits;
+    private Long petId;
+    private List<Long> veterinarianIds;
+
+    @BeforeEach
+    void setUp() {
+        visits = new VisitFixtures(mockMvc, objectMapper);
+        petId = petRepository.findAll().get(0).getId();
+        veterinarianIds = veterinarianRepository.findAll().stream().map(Veterinarian::getId).toList();
+    }
+
+    @Test
+    void queueIsOrderedByUrgencyThenAppointmentAndFollowsVisitChanges() throws Exception {
+        Long clinicId = clinicRepository.findAll().get(0).getId();
+        Long early = visits.createId(petId, veterinarianIds.get(0), clinicId, LocalDateTime.of(2037, 3, 2, 9, 0));
+        Long late = visits.createId(petId, veterinarianIds.get(1), clinicId, LocalDateTime.of(2037, 3, 2, 10, 0));
+        Long emergency = visits.createId(petId, veterinarianIds.get(0), clinicId, LocalDateTime.of(2037, 3, 2, 11, 0));
+        MvcResult stream = mockMvc.perform(get("/api/clinics/{id}/visits/stream", clinicId)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        checkIn(clinicId, late, Visit.TriageUrgency.STANDARD);
+        checkIn(clinicId, early, Visit.TriageUrgency.STANDARD);
+        checkIn(clinicId, emergency, Visit.TriageUrgency.EMERGENCY);
+        assertThat(queue(clinicId, early, late, emergency)).containsExactly(emergency, early, late);
+
+        mockMvc.perform(patch("/api/clinics/{clinicId}/queue/{visitId}", clinicId, late).param("urgency", "URGENT"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.urgency").value("URGENT"));
+        assertThat(queue(clinicId, early, late, emergency)).containsExactly(emergency, late, early);
+
+        mockMvc.perform(patch("/api/visits/{id}/status", emergency).param("status", "IN_PROGRESS"))
+            .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/clinics/{clinicId}/queue/{visitId}", clinicId, early))
+            .andExpect(status().isNoContent());
+        assertThat(queue(clinicId, early, late, emergency)).containsExactly(late);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!stream.getResponse().getContentAsString().contains("event:queue")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(stream.getResponse().getContentAsString()).contains("event:queue");
+    }
+
+    @Test
+    void onlyScheduledVisitsCheckInAndOnlyOnce() throws Exception {
+        Long clinicId = clinicRepository.findAll().get(1).getId();
+        Long visitId = visits.createId(petId, veterinarianIds.get(0), clinicId, LocalDateTime.of(2037, 3, 3, 9, 0));
+        Long cancelled = visits.createId(petId, veterinarianIds.get(0), clinicId, LocalDateTime.of(2037, 3, 3, 10, 0));
+        mockMvc.perform(patch("/api/visits/{id}/status", cancelled).param("status", "CANCELLED"))
+            .andExpect(status().isOk());
+
+        checkIn(clinicId, visitId, Visit.TriageUrgency.LOW);
+        mockMvc.perform(post("/api/clinics/{id}/queue", clinicId).contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TriageCheckInDTO(visitId, Visit.TriageUrgency.URGENT))))
+            .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/clinics/{id}/queue", clinicId).contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TriageCheckInDTO(cancelled, Visit.TriageUrgency.URGENT))))
+            .andExpect(status().isBadRequest());
+        Long otherClinicId = clinicRepository.findAll().get(0).getId();
+        mockMvc.perform(post("/api/clinics/{id}/queue", otherClinicId).contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TriageCheckInDTO(visitId, Visit.TriageUrgency.URGENT))))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/clinics/{id}/queue", 999999L))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rebuildsFromCheckedInVisits() throws Exception {
+        Long clinicId = clinicRepository.findAll().get(0).getId();
+        Long visitId = visits.createId(petId, veterinarianIds.get(1), clinicId, LocalDateTime.of(2037, 3, 4, 9, 0));
+        jdbcTemplate.update("UPDATE visits SET checked_in_at = ?, triage_urgency = 'URGENT' WHERE id = ?",
+            LocalDateTime.now(), visitId);
+        assertThat(queue(clinicId, visitId)).isEmpty();
+
+        triageQueueService.rebuild();
+
+        assertThat(queue(clinicId, visitId)).containsExactly(visitId);
+    }
+
+    @Test
+    void olderEventsHandledAfterARemovalDoNotRequeueTheVisit() throws Exception {
+        Long clinicId = clinicRepository.findAll().get(1).getId();
+        Long visitId = visits.createId(petId, veterinarianIds.get(1), clinicId, LocalDateTime.of(2037, 3, 5, 9, 0));
+        LocalDateTime arrived = LocalDateTime.now();
+
+        // Started at version 3 but checked in at version 2, with the check-in handled last
+        triageQueueService.onVisitChanged(event(VisitEventDTO.Type.STATUS_CHANGED, visitId, clinicId,
+            Visit.VisitStatus.IN_PROGRESS, 3L, arrived));
+        triageQueueService.onVisitChanged(event(VisitEventDTO.Type.UPDATED, visitId, clinicId,
+            Visit.VisitStatus.SCHEDULED, 2L, arrived));
+        assertThat(queue(clinicId, visitId)).isEmpty();
+
+        // Back to waiting later on, then deleted: a delete keeps the version of the last update
+        triageQueueService.onVisitChanged(event(VisitEventDTO.Type.UPDATED, visitId, clinicId,
+            Visit.VisitStatus.SCHEDULED, 4L, arrived));
+        assertThat(queue(clinicId, visitId)).containsExactly(visitId);
+        triageQueueService.onVisitChanged(event(VisitEventDTO.Type.DELETED, visitId, clinicId,
+            Visit.VisitStatus.SCHEDULED, 4L, arrived));
+        triageQueueService.onVisitChanged(event(VisitEventDTO.Type.UPDATED, visitId, clinicId,
+            Visit.VisitStatus.SCHEDULED, 4L, arrived));
+        assertThat(queue(clinicId, visitId)).isEmpty();
+    }
+
+    // The queue may hold visits of other tests; only the given ones are kept, in queue order
+    private List<Long> queue(Long clinicId, Long... visitIds) throws Exception {
+        JsonNode queue = objectMapper.readTree(mockMvc.perform(get("/api/clinics/{id}/queue", clinicId))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode entry : queue.get("entries")) {
+            if (List.of(visitIds).contains(entry.get("visitId").asLong())) {
+                ids.add(entry.get("visitId").asLong());
+            }
+        }
+        return ids;
+    }
+
+    private VisitChangedEvent event(VisitEventDTO.Type type, Long visitId, Long clinicId, Visit.VisitStatus status,
+                                    Long version, LocalDateTime checkedInAt) {
+        return new VisitChangedEvent(type, visitId, clinicId, veterinarianIds.get(1), petId,
+            LocalDateTime.of(2037, 3, 5, 9, 0), 30, status, version, checkedInAt, Visit.TriageUrgency.LOW);
+    }
+
+    private void checkIn(Long clinicId, Long visitId, Visit.TriageUrgency urgency) throws Exception {
+        mockMvc.perform(post("/api/clinics/{id}/queue", clinicId).contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TriageCheckInDTO(visitId, urgency))))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.checkedInAt").isNotEmpty());
+    }
+}
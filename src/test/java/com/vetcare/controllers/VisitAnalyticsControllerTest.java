@@ -0,0 +1,199 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.dto.BulkVisitStatusDTO;
+import com.vetcare.dto.UpdateVisitDTO;
+import com.vetcare.models.Owner;
+import com.vetcare.models.Pet;
+import com.vetcare.models.Visit;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.PetTypeRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VisitAnalyticsControllerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2040, 5, 14);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetTypeRepository petTypeRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    private VisitFixtures visits;
+
+    @BeforeEach
+    void setUp() {
+        visits = new VisitFixtures(mockMvc, objectMapper);
+    }
+
+    @Test
+    void rollupsFollowEveryKindOfVisitWrite() throws Exception {
+        Long clinicId = clinicRepository.findAll().get(0).getId();
+        Long veterinarianId = veterinarianRepository.findAll().get(1).getId();
+
+        JsonNode updated = createAt(clinicId, veterinarianId, 9, new BigDecimal("50.00"));
+        UpdateVisitDTO update = UpdateVisitDTO.builder()
+            .visitDate(DAY.atTime(9, 0))
+            .reason("Analytics")
+            .status(Visit.VisitStatus.COMPLETED)
+            .cost(new BigDecimal("80.00"))
+            .version(updated.get("version").asLong())
+            .build();
+        mockMvc.perform(put("/api/visits/{id}", updated.get("id").asLong()).contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+            .andExpect(status().isOk());
+
+        JsonNode cancelled = createAt(clinicId, veterinarianId, 10, new BigDecimal("30.00"));
+        mockMvc.perform(patch("/api/visits/{id}/status", cancelled.get("id").asLong()).param("status", "CANCELLED"))
+            .andExpect(status().isOk());
+
+        JsonNode completedInBulk = createAt(clinicId, veterinarianId, 11, null);
+        BulkVisitStatusDTO bulk = BulkVisitStatusDTO.builder()
+            .status(Visit.VisitStatus.COMPLETED)
+            .ids(List.of(completedInBulk.get("id").asLong()))
+            .build();
+        mockMvc.perform(patch("/api/visits/bulk/status").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bulk)))
+            .andExpect(status().isOk());
+
+        JsonNode deleted = createAt(clinicId, veterinarianId, 12, new BigDecimal("20.00"));
+        mockMvc.perform(delete("/api/visits/{id}", deleted.get("id").asLong()))
+            .andExpect(status().isNoContent());
+
+        Map<String, JsonNode> byStatus = daily("/api/analytics/visits/clinics/{id}/daily", clinicId);
+        assertThat(byStatus).containsOnlyKeys("COMPLETED", "CANCELLED");
+        assertThat(byStatus.get("COMPLETED").get("visits").asLong()).isEqualTo(2);
+        assertThat(byStatus.get("COMPLETED").get("revenue").decimalValue()).isEqualByComparingTo("80.00");
+        assertThat(byStatus.get("CANCELLED").get("visits").asLong()).isEqualTo(1);
+        assertThat(byStatus.get("CANCELLED").get("revenue").decimalValue()).isEqualByComparingTo("30.00");
+        assertThat(daily("/api/analytics/visits/veterinarians/{id}/daily", veterinarianId)).isEqualTo(byStatus);
+
+        mockMvc.perform(post("/api/analytics/visits/rebuild")
+                .param("from", DAY.toString()).param("to", DAY.toString()))
+            .andExpect(status().isOk());
+        assertThat(daily("/api/analytics/visits/clinics/{id}/daily", clinicId)).isEqualTo(byStatus);
+    }
+
+    @Test
+    void deletingAPetTakesItsVisitsOutOfTheRollups() throws Exception {
+        LocalDate day = DAY.plusDays(1);
+        Long clinicId = clinicRepository.findAll().get(1).getId();
+        Long veterinarianId = veterinarianRepository.findAll().get(2).getId();
+        Owner owner = ownerRepository.save(Owner.builder()
+            .firstName("Rollup")
+            .lastName("Owner")
+            .email("rollup.owner." + System.nanoTime() + "@example.com")
+            .phone("555-0100")
+            .build());
+        Long petId = petRepository.save(Pet.builder()
+            .name("Counted")
+            .birthDate(LocalDate.of(2020, 1, 1))
+            .owner(owner)
+            .petType(petTypeRepository.findAll().get(0))
+            .build()).getId();
+        Long otherPetId = petRepository.findAll().get(0).getId();
+
+        visits.create(VisitFixtures.visit(petId, veterinarianId, clinicId, day.atTime(9, 0))
+            .cost(new BigDecimal("40.00")).build());
+        visits.create(VisitFixtures.visit(petId, veterinarianId, clinicId, day.atTime(10, 0)).build());
+        visits.create(VisitFixtures.visit(otherPetId, veterinarianId, clinicId, day.atTime(11, 0))
+            .cost(new BigDecimal("25.00")).build());
+        assertThat(daily("/api/analytics/visits/clinics/{id}/daily", clinicId, day).get("SCHEDULED").get("visits").asLong())
+            .isEqualTo(3);
+
+        mockMvc.perform(delete("/api/pets/{id}", petId))
+            .andExpect(status().isNoContent());
+
+        Map<String, JsonNode> byStatus = daily("/api/analytics/visits/clinics/{id}/daily", clinicId, day);
+        assertThat(byStatus).containsOnlyKeys("SCHEDULED");
+        assertThat(byStatus.get("SCHEDULED").get("visits").asLong()).isEqualTo(1);
+        assertThat(byStatus.get("SCHEDULED").get("revenue").decimalValue()).isEqualByComparingTo("25.00");
+        // The deleted visits' time is free again
+        visits.create(otherPetId, veterinarianId, clinicId, day.atTime(9, 0));
+    }
+
+    @Test
+    void invalidRangeIsRejected() throws Exception {
+        Long clinicId = clinicRepository.findAll().get(0).getId();
+        mockMvc.perform(get("/api/analytics/visits/clinics/{id}/daily", clinicId)
+                .param("from", "2025-02-01").param("to", "2025-01-01"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/analytics/visits/clinics/{id}/daily", clinicId)
+                .param("from", "2020-01-01").param("to", "2025-01-01"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void unknownClinicIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/analytics/visits/clinics/{id}/daily", 999999L)
+                .param("from", "2025-01-01").param("to", "2025-01-31"))
+            .andExpect(status().isNotFound());
+    }
+
+    private Map<String, JsonNode> daily(String url, Long id) throws Exception {
+        return daily(url, id, DAY);
+    }
+
+    private Map<String, JsonNode> daily(String url, Long id, LocalDate day) throws Exception {
+        JsonNode rows = objectMapper.readTree(mockMvc.perform(get(url, id)
+                .param("from", day.toString()).param("to", day.toString()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+        Map<String, JsonNode> byStatus = new HashMap<>();
+        for (JsonNode row : rows) {
+            assertThat(row.get("day").asText()).isEqualTo(day.toString());
+            byStatus.put(row.get("status").asText(), row);
+        }
+        return byStatus;
+    }
+
+    private JsonNode createAt(Long clinicId, Long veterinarianId, int hour, BigDecimal cost) throws Exception {
+        return visits.create(VisitFixtures.visit(petRepository.findAll().get(0).getId(), veterinarianId, clinicId,
+            DAY.atTime(hour, 0)).cost(cost).build());
+    }
+}
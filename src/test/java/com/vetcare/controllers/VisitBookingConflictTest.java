@@ -0,0 +1,258 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.dto.CreateVisitDTO;
+import com.vetcare.exceptions.DuplicateResourceException;
+import com.vetcare.models.Clinic;
+import com.vetcare.models.Pet;
+import com.vetcare.models.Veterinarian;
+import com.vetcare.models.Visit;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+import com.vetcare.repositories.VisitRepository;
+import com.vetcare.services.VisitService;
+import com.vetcare.services.VisitSlotSupport;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VisitBookingConflictTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VisitService visitService;
+
+    @Autowired
+    private VisitSlotSupport visitSlotSupport;
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void hundredsOfConcurrentBookingsForOneSlotSucceedOnce() throws Exception {
+        Veterinarian vet = veterinarianRepository.findAll().get(1);
+        LocalDateTime slot = LocalDateTime.of(2032, 3, 1, 10, 0);
+        int attempts = 300;
+
+        List<Callable<Boolean>> bookings = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            // Half ask for 10:00-10:30, half for 10:15-10:45: every pair overlaps
+            CreateVisitDTO request = request(vet.getId(), slot.plusMinutes(i % 2 == 0 ? 0 : 15), 30);
+            bookings.add(() -> {
+                try {
+                    visitService.create(request);
+                    return true;
+                } catch (DuplicateResourceException ex) {
+                    return false;
+                }
+            });
+        }
+
+        assertThat(runConcurrently(bookings, 32)).isEqualTo(1);
+        assertThat(activeVisits(vet.getId(), slot.minusHours(1), slot.plusHours(1))).isEqualTo(1);
+    }
+
+    // Simulates several nodes: no in-process lock, only the visit_slots primary key
+    @Test
+    void slotTableRejectsDoubleBookingWithoutTheLock() throws Exception {
+        Veterinarian vet = veterinarianRepository.findAll().get(2);
+        LocalDateTime slot = LocalDateTime.of(2032, 3, 2, 9, 0);
+        List<Callable<Boolean>> claims = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Visit visit = visitRepository.save(visit(vet, slot, 45));
+            claims.add(() -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> visitSlotSupport.occupy(List.of(visit)));
+                    return true;
+                } catch (DuplicateResourceException ex) {
+                    return false;
+                }
+            });
+        }
+
+        assertThat(runConcurrently(claims, 16)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(DISTINCT visit_id) FROM visit_slots WHERE veterinarian_id = ? AND slot_start >= ? AND slot_start < ?",
+            Long.class, vet.getId(), slot, slot.plusHours(1))).isEqualTo(1);
+    }
+
+    @Test
+    void overlapIsCheckedOnCreateAndUpdateAndCancellingFreesTheSlot() throws Exception {
+        Veterinarian vet = veterinarianRepository.findAll().get(0);
+        LocalDateTime eleven = LocalDateTime.of(2032, 3, 3, 11, 0);
+
+        Long first = create(request(vet.getId(), eleven, 30));
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request(vet.getId(), eleven.plusMinutes(15), 30))))
+            .andExpect(status().isConflict());
+        Long second = create(request(vet.getId(), eleven.plusMinutes(30), 60));
+
+        mockMvc.perform(put("/api/visits/{id}", first).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"visitDate\": \"2032-03-03T11:00:00\", \"durationMinutes\": 45, \"reason\": \"Longer\", \"status\": \"SCHEDULED\"}"))
+            .andExpect(status().isConflict());
+
+        mockMvc.perform(patch("/api/visits/{id}/status", second).param("status", "CANCELLED"))
+            .andExpect(status().isOk());
+        mockMvc.perform(put("/api/visits/{id}", first).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"visitDate\": \"2032-03-03T11:00:00\", \"durationMinutes\": 45, \"reason\": \"Longer\", \"status\": \"SCHEDULED\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.durationMinutes").value(45));
+
+        mockMvc.perform(patch("/api/visits/{id}/status", second).param("status", "SCHEDULED"))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    void offGridStartsAreRejectedSoBackToBackVisitsNeverClash() throws Exception {
+        Veterinarian vet = veterinarianRepository.findAll().get(0);
+        LocalDateTime quarterToEleven = LocalDateTime.of(2032, 3, 5, 10, 45);
+
+        // 10:50-11:20 would round down into the 10:45 slot and block an 11:15 booking it does not overlap
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request(vet.getId(), quarterToEleven.plusMinutes(5), 30))))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Visit time must start on a 15-minute boundary (:00, :15, :30 or :45)"));
+        mockMvc.perform(post("/api/visits/holds").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"veterinarianId\": %d, \"clinicId\": %d, \"visitDate\": \"2032-03-05T11:20:00\"}"
+                    .formatted(vet.getId(), clinicRepository.findAll().get(0).getId())))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/visits/batch").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(request(vet.getId(), quarterToEleven.plusSeconds(30), 30)))))
+            .andExpect(jsonPath("$.created").value(0))
+            .andExpect(jsonPath("$.results[0].error").value("Visit time must start on a 15-minute boundary (:00, :15, :30 or :45)"));
+
+        // 10:45-11:05 and 11:15-11:45 sit back to back on the grid; 11:00 really overlaps the first
+        Long first = create(request(vet.getId(), quarterToEleven, 20));
+        create(request(vet.getId(), quarterToEleven.plusMinutes(30), 30));
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request(vet.getId(), quarterToEleven.plusMinutes(15), 15))))
+            .andExpect(status().isConflict());
+
+        // Moving a visit off the grid is rejected too
+        mockMvc.perform(put("/api/visits/{id}", first).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"visitDate\": \"2032-03-05T10:40:00\", \"durationMinutes\": 20, \"reason\": \"Earlier\", \"status\": \"SCHEDULED\"}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void batchRejectsItemsThatOverlapEachOther() throws Exception {
+        Veterinarian vet = veterinarianRepository.findAll().get(0);
+        LocalDateTime nine = LocalDateTime.of(2032, 3, 4, 9, 0);
+        List<CreateVisitDTO> batch = List.of(
+            request(vet.getId(), nine, 30),
+            request(vet.getId(), nine.plusMinutes(15), 30),
+            request(vet.getId(), nine.plusMinutes(30), 30));
+
+        mockMvc.perform(post("/api/visits/batch").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.results[1].created").value(false));
+    }
+
+    private Long create(CreateVisitDTO request) throws Exception {
+        String body = mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private static int runConcurrently(List<Callable<Boolean>> tasks, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (Callable<Boolean> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> future : futures) {
+            succeeded += future.get(60, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+        return succeeded;
+    }
+
+    private long activeVisits(Long veterinarianId, LocalDateTime from, LocalDateTime to) {
+        return visitRepository.findAll().stream()
+            .filter(visit -> visit.getVeterinarian().getId().equals(veterinarianId))
+            .filter(visit -> !visit.getVisitDate().isBefore(from) && visit.getVisitDate().isBefore(to))
+            .filter(visit -> visit.getStatus() != Visit.VisitStatus.CANCELLED)
+            .count();
+    }
+
+    private CreateVisitDTO request(Long veterinarianId, LocalDateTime start, int durationMinutes) {
+        return CreateVisitDTO.builder()
+            .visitDate(start)
+            .durationMinutes(durationMinutes)
+            .reason("Booking")
+            .petId(petRepository.findAll().get(0).getId())
+            .veterinarianId(veterinarianId)
+            .clinicId(clinicRepository.findAll().get(0).getId())
+            .build();
+    }
+
+    private Visit visit(Veterinarian vet, LocalDateTime start, int durationMinutes) {
+        Pet pet = petRepository.findAll().get(0);
+        Clinic clinic = clinicRepository.findAll().get(0);
+        return Visit.builder()
+            .visitDate(start)
+            .durationMinutes(durationMinutes)
+            .reason("Other node")
+            .pet(pet)
+            .veterinarian(vet)
+            .clinic(clinic)
+            .build();
+    }
+}
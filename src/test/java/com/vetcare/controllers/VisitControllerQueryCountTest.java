@@ -0,0 +1,242 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.dto.CreateVisitDTO;
+import com.vetcare.models.Clinic;
+import com.vetcare.models.Owner;
+import com.vetcare.models.Pet;
+import com.vetcare.models.PetType;
+import com.vetcare.models.Veterinarian;
+import com.vetcare.models.Visit;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.PetTypeRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+import com.vetcare.repositories.VisitRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Statement counts are global: the waitlist's frequent offer check and the medical records
+// regenerated after the visit writes would be counted too
+@SpringBootTest(properties = {"vetcare.waitlist.offer-check-interval=PT1H", "vetcare.medical-records.refresh-delay=PT1H"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(VisitControllerQueryCountTest.StatementCounting.class)
+class VisitControllerQueryCountTest {
+
+    private static final int EXTRA_VISITS = 30;
+
+    // Hibernate statistics miss what runs through JdbcTemplate (slot reservations, rollups), so the
+    // connections are counted too
+    private static final AtomicLong JDBC_STATEMENTS = new AtomicLong();
+
+    @TestConfiguration
+    static class StatementCounting {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return counting(super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("prepare") || method.getName().equals("createStatement")) {
+                        JDBC_STATEMENTS.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetTypeRepository petTypeRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    private Long petId;
+    private Long veterinarianId;
+
+    @BeforeEach
+    void createVisitsAcrossManyPets() {
+        List<Veterinarian> vets = veterinarianRepository.findAll();
+        List<Clinic> clinics = clinicRepository.findAll();
+        Owner owner = ownerRepository.findAll().get(0);
+        PetType petType = petTypeRepository.findAll().get(0);
+        veterinarianId = vets.get(0).getId();
+
+        if (visitRepository.count() < EXTRA_VISITS) {
+            for (int i = 0; i < EXTRA_VISITS; i++) {
+                Pet pet = petRepository.save(Pet.builder()
+                    .name("Pet " + i)
+                    .birthDate(LocalDate.of(2020, 1, 1))
+                    .owner(owner)
+                    .petType(petType)
+                    .build());
+                visitRepository.save(Visit.builder()
+                    .visitDate(LocalDateTime.of(2025, 10, 1, 9, 0).plusHours(i))
+                    .reason("Check-up " + i)
+                    .cost(new BigDecimal("10000"))
+                    .pet(pet)
+                    .veterinarian(vets.get(i % vets.size()))
+                    .clinic(clinics.get(i % clinics.size()))
+                    .build());
+            }
+        }
+        petId = petRepository.findAll().get(0).getId();
+    }
+
+    @Test
+    void getAllVisitsUsesSingleStatement() throws Exception {
+        assertStatementCount("/api/visits", 1);
+    }
+
+    @Test
+    void getVisitsPageUsesSingleStatement() throws Exception {
+        assertStatementCount("/api/visits?size=10", 1);
+    }
+
+    @Test
+    void getVisitsByPetUsesSingleStatement() throws Exception {
+        assertStatementCount("/api/visits/pet/" + petId, 1);
+        assertStatementCount("/api/visits/pet/" + petId + "?size=10", 1);
+    }
+
+    @Test
+    void getVisitsByVeterinarianUsesSingleStatement() throws Exception {
+        assertStatementCount("/api/visits/veterinarian/" + veterinarianId, 1);
+        assertStatementCount("/api/visits/veterinarian/" + veterinarianId + "?size=5", 1);
+    }
+
+    @Test
+    void getVisitsByDateRangeUsesSingleStatement() throws Exception {
+        String range = "/api/visits/date-range?startDate=2000-01-01T00:00:00&endDate=2100-01-01T00:00:00";
+        assertStatementCount(range, 1);
+        assertStatementCount(range + "&size=10", 1);
+    }
+
+    @Test
+    void createVisitsBatchUsesConstantStatements() throws Exception {
+        List<Veterinarian> vets = veterinarianRepository.findAll();
+        List<Clinic> clinics = clinicRepository.findAll();
+        List<Pet> pets = petRepository.findAll();
+        List<CreateVisitDTO> batch = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            batch.add(CreateVisitDTO.builder()
+                .visitDate(LocalDateTime.of(2026, 3, 2, 9, 0).plusDays(7L * i))
+                .reason("Weekly physiotherapy")
+                .petId(pets.get(i % pets.size()).getId())
+                .veterinarianId(vets.get(i % vets.size()).getId())
+                .clinicId(clinics.get(i % clinics.size()).getId())
+                .build());
+        }
+        batch.get(3).setPetId(Long.MAX_VALUE);
+        batch.get(5).setReason(" ");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        JDBC_STATEMENTS.set(0);
+
+        mockMvc.perform(post("/api/visits/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(38))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(jsonPath("$.results[3].error").value("Pet not found with id: " + Long.MAX_VALUE))
+            .andExpect(jsonPath("$.results[5].error").value("Reason is required"))
+            .andExpect(jsonPath("$.results[39].visit.pet.petTypeName").isNotEmpty());
+
+        // Whatever the batch size: 3 IN queries, the slot conflict check, the id block reservation
+        // (select and update), the batched visit and slot inserts, the batched rollup upsert and the
+        // change counter
+        assertThat(JDBC_STATEMENTS.get()).isLessThanOrEqualTo(10);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(38);
+    }
+
+    private void assertStatementCount(String url, long expected) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount())
+            .as("statements executed by GET %s", url)
+            .isEqualTo(expected);
+    }
+}
@@ -0,0 +1,130 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.models.Clinic;
+import com.vetcare.models.Pet;
+import com.vetcare.models.Veterinarian;
+import com.vetcare.models.Visit;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.PetTypeRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+import com.vetcare.repositories.VisitRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VisitCursorPaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetTypeRepository petTypeRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    @Test
+    void followingNextCursorVisitsEveryVisitOnceWhenTimestampsTie() throws Exception {
+        Pet pet = petRepository.save(Pet.builder()
+            .name("Cursor")
+            .birthDate(LocalDate.of(2021, 4, 1))
+            .owner(ownerRepository.findAll().get(0))
+            .petType(petTypeRepository.findAll().get(0))
+            .build());
+        Veterinarian veterinarian = veterinarianRepository.findAll().get(0);
+        Clinic clinic = clinicRepository.findAll().get(0);
+        LocalDateTime tie = LocalDateTime.of(2030, 2, 3, 10, 0);
+        List<Visit> saved = new ArrayList<>();
+        // Cancelled visits hold no slots, so several can share the same time
+        for (LocalDateTime date : List.of(tie.plusDays(1), tie, tie, tie, tie, tie, tie.minusDays(1))) {
+            saved.add(visitRepository.save(Visit.builder()
+                .visitDate(date)
+                .reason("Cursor")
+                .status(Visit.VisitStatus.CANCELLED)
+                .pet(pet)
+                .veterinarian(veterinarian)
+                .clinic(clinic)
+                .build()));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/visits/pet/{petId}", pet.getId()).param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+            page.get("content").forEach(visit -> seen.add(visit.get("id").asLong()));
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+            pages++;
+        } while (cursor != null);
+
+        List<Long> expected = saved.stream()
+            .sorted(Comparator.comparing(Visit::getVisitDate).thenComparing(Visit::getId).reversed())
+            .map(Visit::getId)
+            .toList();
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(4);
+    }
+
+    @Test
+    void malformedOrTamperedCursorIsRejected() throws Exception {
+        List<String> cursors = List.of(
+            "not base64!",
+            encode("no separator"),
+            encode("2030-02-03T10:00|not-a-number"),
+            encode("2030-02-30T10:00|7"),
+            encode("|7"));
+        for (String cursor : cursors) {
+            mockMvc.perform(get("/api/visits").param("size", "5").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
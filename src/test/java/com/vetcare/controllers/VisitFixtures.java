@@ -0,0 +1,55 @@
+package com.vetcare.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.dto.CreateVisitDTO;
+
+/**
+ * Books visits through POST /api/visits, as a client would, for tests that need visits to act on.
+ */
+final class VisitFixtures {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+
+    VisitFixtures(MockMvc mockMvc, ObjectMapper objectMapper) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = objectMapper;
+    }
+
+    // A 30-minute visit; anything else is set on the returned builder
+    static CreateVisitDTO.CreateVisitDTOBuilder visit(Long petId, Long veterinarianId, Long clinicId, LocalDateTime start) {
+        return CreateVisitDTO.builder()
+            .visitDate(start)
+            .durationMinutes(30)
+            .reason("Test visit")
+            .petId(petId)
+            .veterinarianId(veterinarianId)
+            .clinicId(clinicId);
+    }
+
+    JsonNode create(Long petId, Long veterinarianId, Long clinicId, LocalDateTime start) throws Exception {
+        return create(visit(petId, veterinarianId, clinicId, start).build());
+    }
+
+    Long createId(Long petId, Long veterinarianId, Long clinicId, LocalDateTime start) throws Exception {
+        return create(petId, veterinarianId, clinicId, start).get("id").asLong();
+    }
+
+    // Expects a 201 and returns the created visit
+    JsonNode create(CreateVisitDTO visit) throws Exception {
+        String body = mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(visit)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
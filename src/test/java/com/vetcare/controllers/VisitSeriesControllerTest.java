@@ -0,0 +1,229 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.dto.CreateVisitDTO;
+import com.vetcare.dto.CreateVisitSeriesDTO;
+import com.vetcare.dto.UpdateVisitSeriesDTO;
+import com.vetcare.models.Owner;
+import com.vetcare.models.Pet;
+import com.vetcare.models.VisitSeries;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.PetTypeRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VisitSeriesControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetTypeRepository petTypeRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    @Test
+    void clashingOccurrenceRejectsTheSeriesUnlessSkipped() throws Exception {
+        Long vetId = veterinarianRepository.findAll().get(0).getId();
+        LocalDateTime first = LocalDateTime.of(2035, 3, 5, 10, 0);
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(visit(vetId, first.plusWeeks(2).plusMinutes(15)))))
+            .andExpect(status().isCreated());
+
+        CreateVisitSeriesDTO request = series(vetId, first, VisitSeries.Frequency.WEEKLY, 5);
+        mockMvc.perform(post("/api/visits/series").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isConflict());
+
+        request.setSkipConflicts(true);
+        JsonNode created = createSeries(request);
+        assertThat(created.get("visits").size()).isEqualTo(4);
+        assertThat(created.get("skippedDates").get(0).asText()).isEqualTo("2035-03-19T10:00:00");
+
+        mockMvc.perform(get("/api/visits/series/{id}", created.get("id").asLong()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.visits.length()").value(4))
+            .andExpect(jsonPath("$.visits[1].visitDate").value("2035-03-12T10:00:00"))
+            .andExpect(jsonPath("$.visits[2].visitDate").value("2035-03-26T10:00:00"))
+            .andExpect(jsonPath("$.visits[3].seriesId").value(created.get("id").asLong()));
+    }
+
+    @Test
+    void thisAndFollowingAreMovedAndCancelledTogether() throws Exception {
+        Long vetId = veterinarianRepository.findAll().get(1).getId();
+        LocalDateTime first = LocalDateTime.of(2035, 4, 2, 9, 0);
+        JsonNode created = createSeries(series(vetId, first, VisitSeries.Frequency.WEEKLY, 4));
+        Long seriesId = created.get("id").asLong();
+        Long third = created.get("visits").get(2).get("id").asLong();
+
+        mockMvc.perform(put("/api/visits/series/{id}/following", seriesId).contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(UpdateVisitSeriesDTO.builder()
+                    .fromVisitId(third).shiftMinutes(60).reason("Hydrotherapy").build())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.visits[1].visitDate").value("2035-04-09T09:00:00"))
+            .andExpect(jsonPath("$.visits[1].reason").value("Physiotherapy"))
+            .andExpect(jsonPath("$.visits[2].visitDate").value("2035-04-16T10:00:00"))
+            .andExpect(jsonPath("$.visits[3].visitDate").value("2035-04-23T10:00:00"))
+            .andExpect(jsonPath("$.visits[3].reason").value("Hydrotherapy"))
+            .andExpect(jsonPath("$.visits[3].version").value(1));
+
+        // The old times are free again, the new ones taken
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(visit(vetId, first.plusWeeks(3)))))
+            .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(visit(vetId, first.plusWeeks(3).plusHours(1)))))
+            .andExpect(status().isConflict());
+
+        // Moving back onto the visit just booked is rejected as a whole
+        mockMvc.perform(put("/api/visits/series/{id}/following", seriesId).contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(UpdateVisitSeriesDTO.builder()
+                    .fromVisitId(third).shiftMinutes(-60).build())))
+            .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/visits/series/{id}", seriesId))
+            .andExpect(jsonPath("$.visits[2].visitDate").value("2035-04-16T10:00:00"));
+
+        Long second = created.get("visits").get(1).get("id").asLong();
+        mockMvc.perform(post("/api/visits/series/{id}/cancel", seriesId).param("fromVisitId", second.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(3));
+        mockMvc.perform(get("/api/visits/series/{id}", seriesId))
+            .andExpect(jsonPath("$.visits[0].status").value("SCHEDULED"))
+            .andExpect(jsonPath("$.visits[1].status").value("CANCELLED"))
+            .andExpect(jsonPath("$.visits[3].status").value("CANCELLED"));
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(visit(vetId, first.plusWeeks(2).plusHours(1)))))
+            .andExpect(status().isCreated());
+    }
+
+    @Test
+    void monthlySeriesKeepsTheDayOfMonthAndRulesAreValidated() throws Exception {
+        Long vetId = veterinarianRepository.findAll().get(0).getId();
+        CreateVisitSeriesDTO request = series(vetId, LocalDateTime.of(2035, 1, 31, 16, 0), VisitSeries.Frequency.MONTHLY, null);
+        request.setUntil(LocalDate.of(2035, 4, 30));
+        JsonNode created = createSeries(request);
+        assertThat(created.get("visits").size()).isEqualTo(4);
+        assertThat(created.get("visits").get(1).get("visitDate").asText()).isEqualTo("2035-02-28T16:00:00");
+        assertThat(created.get("visits").get(2).get("visitDate").asText()).isEqualTo("2035-03-31T16:00:00");
+        assertThat(created.get("visits").get(3).get("visitDate").asText()).isEqualTo("2035-04-30T16:00:00");
+
+        request.setOccurrences(3);
+        mockMvc.perform(post("/api/visits/series").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/visits/series").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    series(vetId, LocalDateTime.of(2036, 1, 1, 9, 0), VisitSeries.Frequency.DAILY, 101))))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void seriesAreDeletedWithTheirPetOrVeterinarian() throws Exception {
+        Long vetId = veterinarianRepository.findAll().get(2).getId();
+        Owner owner = ownerRepository.save(Owner.builder()
+            .firstName("Series")
+            .lastName("Owner")
+            .email("series.owner." + System.nanoTime() + "@example.com")
+            .phone("555-0100")
+            .build());
+        Pet pet = petRepository.save(Pet.builder()
+            .name("Recurring")
+            .birthDate(LocalDate.of(2020, 1, 1))
+            .owner(owner)
+            .petType(petTypeRepository.findAll().get(0))
+            .build());
+        CreateVisitSeriesDTO ofPet = series(vetId, LocalDateTime.of(2035, 5, 7, 10, 0), VisitSeries.Frequency.WEEKLY, 3);
+        ofPet.setPetId(pet.getId());
+        Long petSeriesId = createSeries(ofPet).get("id").asLong();
+
+        mockMvc.perform(delete("/api/pets/{id}", pet.getId()))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/visits/series/{id}", petSeriesId))
+            .andExpect(status().isNotFound());
+
+        Long clinicId = clinicRepository.findAll().get(0).getId();
+        String body = mockMvc.perform(post("/api/veterinarians").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\": \"Series\", \"lastName\": \"Vet\", \"licenseNumber\": \"VS-DEL-1\", "
+                    + "\"email\": \"vs-del-1@vetcare.com\", \"clinicId\": " + clinicId + "}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        Long leavingVetId = objectMapper.readTree(body).get("id").asLong();
+        Long vetSeriesId = createSeries(series(leavingVetId, LocalDateTime.of(2035, 5, 8, 10, 0),
+            VisitSeries.Frequency.WEEKLY, 3)).get("id").asLong();
+
+        mockMvc.perform(delete("/api/veterinarians/{id}", leavingVetId))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/visits/series/{id}", vetSeriesId))
+            .andExpect(status().isNotFound());
+    }
+
+    private JsonNode createSeries(CreateVisitSeriesDTO request) throws Exception {
+        String body = mockMvc.perform(post("/api/visits/series").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private CreateVisitSeriesDTO series(Long vetId, LocalDateTime first, VisitSeries.Frequency frequency,
+                                        Integer occurrences) {
+        return CreateVisitSeriesDTO.builder()
+            .visitDate(first)
+            .durationMinutes(45)
+            .reason("Physiotherapy")
+            .frequency(frequency)
+            .occurrences(occurrences)
+            .petId(petRepository.findAll().get(0).getId())
+            .veterinarianId(vetId)
+            .clinicId(clinicRepository.findAll().get(0).getId())
+            .build();
+    }
+
+    private CreateVisitDTO visit(Long vetId, LocalDateTime start) {
+        return CreateVisitDTO.builder()
+            .visitDate(start)
+            .durationMinutes(30)
+            .reason("Single visit")
+            .petId(petRepository.findAll().get(1).getId())
+            .veterinarianId(vetId)
+            .clinicId(clinicRepository.findAll().get(0).getId())
+            .build();
+    }
+}
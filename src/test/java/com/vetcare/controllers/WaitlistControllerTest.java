@@ -0,0 +1,259 @@
+package com.vetcare.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetcare.dto.CreateWaitlistEntryDTO;
+import com.vetcare.dto.UpdateVisitDTO;
+import com.vetcare.models.Owner;
+import com.vetcare.models.Pet;
+import com.vetcare.models.Visit;
+import com.vetcare.repositories.ClinicRepository;
+import com.vetcare.repositories.OwnerRepository;
+import com.vetcare.repositories.PetRepository;
+import com.vetcare.repositories.PetTypeRepository;
+import com.vetcare.repositories.VeterinarianRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class WaitlistControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetTypeRepository petTypeRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    private VisitFixtures visits;
+    private Long petId;
+
+    @BeforeEach
+    void setUp() {
+        visits = new VisitFixtures(mockMvc, objectMapper);
+        petId = petRepository.findAll().get(0).getId();
+    }
+
+    @Test
+    void cancellationIsOfferedToTheBestMatchAndPassedOnWhenDeclined() throws Exception {
+        Long vetId = veterinarianRepository.findAll().get(0).getId();
+        Long clinicId = clinicRepository.findAll().get(1).getId();
+        LocalDateTime ten = LocalDateTime.of(2034, 6, 5, 10, 0);
+        Long visitId = visits.createId(petId, vetId, clinicId, ten);
+
+        Long wide = join(entry(vetId, null, ten.minusHours(1), ten.plusHours(3)));
+        Long tight = join(entry(null, clinicId, ten.minusHours(1), ten.plusHours(1)));
+        Long later = join(entry(vetId, null, ten.plusMinutes(15), ten.plusHours(1)));
+
+        mockMvc.perform(patch("/api/visits/{id}/status", visitId).param("status", "CANCELLED"))
+            .andExpect(status().isOk());
+
+        JsonNode offer = awaitStatus(tight, "OFFERED");
+        assertThat(offer.get("offeredVeterinarianId").asLong()).isEqualTo(vetId);
+        assertThat(offer.get("offeredVisitDate").asText()).isEqualTo("2034-06-05T10:00:00");
+        mockMvc.perform(post("/api/visits").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(VisitFixtures.visit(petId, vetId, clinicId, ten).build())))
+            .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/api/waitlist/{id}/decline", tight))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("WAITING"));
+        awaitStatus(wide, "OFFERED");
+        mockMvc.perform(post("/api/waitlist/{id}/accept", wide))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.visitDate").value("2034-06-05T10:00:00"));
+
+        mockMvc.perform(get("/api/waitlist/{id}", wide))
+            .andExpect(jsonPath("$.status").value("BOOKED"))
+            .andExpect(jsonPath("$.visitId").isNumber());
+        mockMvc.perform(get("/api/waitlist/{id}", later))
+            .andExpect(jsonPath("$.status").value("WAITING"));
+    }
+
+    @Test
+    void lapsedOfferPassesToTheNextEntry() throws Exception {
+        Long vetId = veterinarianRepository.findAll().get(1).getId();
+        Long clinicId = clinicRepository.findAll().get(0).getId();
+        LocalDateTime nine = LocalDateTime.of(2034, 6, 6, 9, 0);
+        Long visitId = visits.createId(petId, vetId, clinicId, nine);
+
+        Long first = join(entry(vetId, null, nine, nine.plusHours(1)));
+        Long second = join(entry(vetId, null, nine, nine.plusHours(2)));
+
+        mockMvc.perform(patch("/api/visits/{id}/status", visitId).param("status", "CANCELLED"))
+            .andExpect(status().isOk());
+        awaitStatus(first, "OFFERED");
+
+        awaitStatus(second, "OFFERED");
+        mockMvc.perform(get("/api/waitlist/{id}", first))
+            .andExpect(jsonPath("$.status").value("WAITING"));
+        mockMvc.perform(post("/api/waitlist/{id}/accept", first))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cancellingThroughAnUpdateOrDeletingAVisitIsOffered() throws Exception {
+        Long vetId = veterinarianRepository.findAll().get(2).getId();
+        Long clinicId = clinicRepository.findAll().get(0).getId();
+        LocalDateTime eleven = LocalDateTime.of(2034, 6, 8, 11, 0);
+        Long updatedId = visits.createId(petId, vetId, clinicId, eleven);
+        Long deletedId = visits.createId(petId, vetId, clinicId, eleven.plusHours(2));
+
+        Long forUpdated = join(entry(vetId, null, eleven, eleven.plusHours(1)));
+        Long forDeleted = join(entry(vetId, null, eleven.plusHours(2), eleven.plusHours(3)));
+
+        JsonNode visit = objectMapper.readTree(mockMvc.perform(get("/api/visits/{id}", updatedId))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+        UpdateVisitDTO update = UpdateVisitDTO.builder()
+            .visitDate(eleven)
+            .reason("To be cancelled")
+            .status(Visit.VisitStatus.CANCELLED)
+            .version(visit.get("version").asLong())
+            .build();
+        mockMvc.perform(put("/api/visits/{id}", updatedId).contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+            .andExpect(status().isOk());
+        assertThat(awaitStatus(forUpdated, "OFFERED").get("offeredVisitDate").asText()).isEqualTo("2034-06-08T11:00:00");
+
+        mockMvc.perform(delete("/api/visits/{id}", deletedId))
+            .andExpect(status().isNoContent());
+        assertThat(awaitStatus(forDeleted, "OFFERED").get("offeredVisitDate").asText()).isEqualTo("2034-06-08T13:00:00");
+    }
+
+    @Test
+    void entryNeedsExactlyOneTarget() throws Exception {
+        Long vetId = veterinarianRepository.findAll().get(0).getId();
+        Long clinicId = clinicRepository.findAll().get(0).getId();
+        LocalDateTime start = LocalDateTime.of(2034, 6, 7, 9, 0);
+
+        mockMvc.perform(post("/api/waitlist").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(entry(vetId, clinicId, start, start.plusHours(1)))))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/waitlist").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(entry(null, null, start, start.plusHours(1)))))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void entriesAreDeletedWithTheirPetOwnerOrVeterinarian() throws Exception {
+        Long vetId = veterinarianRepository.findAll().get(0).getId();
+        Long clinicId = clinicRepository.findAll().get(0).getId();
+        LocalDateTime start = LocalDateTime.of(2034, 6, 9, 9, 0);
+
+        Long petToDelete = savePet("Leaving").getId();
+        Long ofPet = join(entry(petToDelete, vetId, null, start, start.plusHours(1)));
+        mockMvc.perform(delete("/api/pets/{id}", petToDelete))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/waitlist/{id}", ofPet))
+            .andExpect(status().isNotFound());
+
+        Pet ownedPet = savePet("Moving");
+        Long ofOwner = join(entry(ownedPet.getId(), null, clinicId, start, start.plusHours(1)));
+        mockMvc.perform(delete("/api/owners/{id}", ownedPet.getOwner().getId()))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/waitlist/{id}", ofOwner))
+            .andExpect(status().isNotFound());
+
+        String body = mockMvc.perform(post("/api/veterinarians").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\": \"Wait\", \"lastName\": \"Listed\", \"licenseNumber\": \"WL-DEL-1\", "
+                    + "\"email\": \"wl-del-1@vetcare.com\", \"clinicId\": " + clinicId + "}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        Long leavingVetId = objectMapper.readTree(body).get("id").asLong();
+        Long forVet = join(entry(petId, leavingVetId, null, start, start.plusHours(1)));
+        mockMvc.perform(delete("/api/veterinarians/{id}", leavingVetId))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/waitlist/{id}", forVet))
+            .andExpect(status().isNotFound());
+    }
+
+    private Pet savePet(String name) {
+        Owner owner = ownerRepository.save(Owner.builder()
+            .firstName(name)
+            .lastName("Waitlist")
+            .email(name.toLowerCase() + "." + System.nanoTime() + "@example.com")
+            .phone("555-0100")
+            .build());
+        return petRepository.save(Pet.builder()
+            .name(name)
+            .birthDate(LocalDate.of(2020, 1, 1))
+            .owner(owner)
+            .petType(petTypeRepository.findAll().get(0))
+            .build());
+    }
+
+    private JsonNode awaitStatus(Long entryId, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            JsonNode entry = objectMapper.readTree(mockMvc.perform(get("/api/waitlist/{id}", entryId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+            if (expected.equals(entry.get("status").asText()) || System.currentTimeMillis() > deadline) {
+                assertThat(entry.get("status").asText()).isEqualTo(expected);
+                return entry;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private Long join(CreateWaitlistEntryDTO request) throws Exception {
+        String body = mockMvc.perform(post("/api/waitlist").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private CreateWaitlistEntryDTO entry(Long vetId, Long clinicId, LocalDateTime windowStart, LocalDateTime windowEnd) {
+        return entry(petRepository.findAll().get(1).getId(), vetId, clinicId, windowStart, windowEnd);
+    }
+
+    private CreateWaitlistEntryDTO entry(Long entryPetId, Long vetId, Long clinicId, LocalDateTime windowStart,
+                                         LocalDateTime windowEnd) {
+        return CreateWaitlistEntryDTO.builder()
+            .petId(entryPetId)
+            .veterinarianId(vetId)
+            .clinicId(clinicId)
+            .windowStart(windowStart)
+            .windowEnd(windowEnd)
+            .durationMinutes(30)
+            .reason("Waiting")
+            .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.vetcare.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vetcare.models.Clinic;
+import com.vetcare.models.Pet;
+import com.vetcare.models.Veterinarian;
+import com.vetcare.models.Visit;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Insert throughput for visits. Disabled by default, run with
+ * {@code mvn test -Dtest=VisitInsertBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VisitInsertBenchmarkTest {
+
+    private static final int TOTAL_VISITS = 100_000;
+    private static final int CHUNK_SIZE = 1_000;
+    private static final String REASON = "Benchmark visit";
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ClinicRepository clinicRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void removeBenchmarkVisits() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+            .createQuery("DELETE FROM Visit v WHERE v.reason = :reason")
+            .setParameter("reason", REASON)
+            .executeUpdate());
+    }
+
+    @Test
+    void insertVisits() {
+        Pet pet = petRepository.findAll().get(0);
+        Veterinarian vet = veterinarianRepository.findAll().get(0);
+        Clinic clinic = clinicRepository.findAll().get(0);
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 8, 0);
+        long before = visitRepository.count();
+
+        long startedAt = System.nanoTime();
+        for (int offset = 0; offset < TOTAL_VISITS; offset += CHUNK_SIZE) {
+            int from = offset;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Visit> chunk = new ArrayList<>(CHUNK_SIZE);
+                for (int i = from; i < from + CHUNK_SIZE; i++) {
+                    chunk.add(Visit.builder()
+                        .visitDate(start.plusMinutes(30L * i))
+                        .reason(REASON)
+                        .cost(new BigDecimal("10000"))
+                        .pet(entityManager.getReference(Pet.class, pet.getId()))
+                        .veterinarian(entityManager.getReference(Veterinarian.class, vet.getId()))
+                        .clinic(entityManager.getReference(Clinic.class, clinic.getId()))
+                        .build());
+                }
+                visitRepository.saveAll(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        assertThat(visitRepository.count()).isEqualTo(before + TOTAL_VISITS);
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("Inserted {} visits in {} s ({} rows/s)",
+            TOTAL_VISITS, String.format("%.2f", seconds), Math.round(TOTAL_VISITS / seconds));
+    }
+}